@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory table of the GL accounts mapped to a product, one per tenant and product, so that resolving the accounts
+ * of a journal entry does not need a database round trip per posting leg.
+ * <br>
+ * <br>
+ * A table holds the ids of the GL accounts only, never the entities, so callers load the account within their own
+ * transaction. The table of a product is loaded on first use and dropped whenever its mappings are written, see
+ * {@link TenantSnapshotCache}. When several nodes share the database without a cross node invalidation transport, a
+ * mapping changed on another node is used for the postings of this node once the table expires, after
+ * fineract.cache.snapshot.ttl-seconds; a single node keeps the table until its mappings are written.
+ */
+@Slf4j
+@Component
+public class ProductToGLAccountMappingResolver
+        extends TenantSnapshotCache<ProductToGLAccountMappingResolver.ProductKey, ProductToGLAccountMappingResolver.ProductMappings> {
+
+    public static final String CACHE_NAME = "productToGLAccountMappings";
+    public static final String HIT_METRIC = "fineract.accounting.productmapping.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.accounting.productmapping.cache.refreshes";
+
+    private final ProductToGLAccountMappingRepository repository;
+
+    public ProductToGLAccountMappingResolver(ProductToGLAccountMappingRepository repository, MultiNodeCacheManager multiNodeCacheManager,
+            MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.repository = repository;
+    }
+
+    /**
+     * @return the mappings of the given product of the current tenant, empty if the product has none
+     */
+    public ProductMappings getMappings(PortfolioProductType productType, Long productId) {
+        return get(new ProductKey(productType.getValue(), productId), this::load);
+    }
+
+    /**
+     * Drops the mappings of the given product of the current tenant on every node.
+     */
+    public void refresh(PortfolioProductType productType, Long productId) {
+        invalidate(new ProductKey(productType.getValue(), productId));
+    }
+
+    private ProductMappings load(ProductKey key) {
+        log.debug("Loading the GL account mappings of product {} of type {}", key.productId(), key.productType());
+        final Map<Integer, Long> accounts = new HashMap<>();
+        final Map<OverrideKey, Long> paymentTypeAccounts = new HashMap<>();
+        final Map<OverrideKey, Long> chargeAccounts = new HashMap<>();
+        for (ProductToGLAccountMapping mapping : repository.findByProductIdAndProductType(key.productId(), key.productType())) {
+            if (mapping.getGlAccount() == null) {
+                continue;
+            }
+            final Long glAccountId = mapping.getGlAccount().getId();
+            if (mapping.getPaymentType() != null) {
+                paymentTypeAccounts.put(new OverrideKey(mapping.getFinancialAccountType(), mapping.getPaymentType().getId()), glAccountId);
+            } else if (mapping.getCharge() != null) {
+                chargeAccounts.put(new OverrideKey(mapping.getFinancialAccountType(), mapping.getCharge().getId()), glAccountId);
+            } else {
+                accounts.put(mapping.getFinancialAccountType(), glAccountId);
+            }
+        }
+        return new ProductMappings(Map.copyOf(accounts), Map.copyOf(paymentTypeAccounts), Map.copyOf(chargeAccounts));
+    }
+
+    /**
+     * Immutable GL account mappings of a single product.
+     */
+    public static final class ProductMappings {
+
+        private final Map<Integer, Long> accounts;
+        private final Map<OverrideKey, Long> paymentTypeAccounts;
+        private final Map<OverrideKey, Long> chargeAccounts;
+
+        private ProductMappings(Map<Integer, Long> accounts, Map<OverrideKey, Long> paymentTypeAccounts,
+                Map<OverrideKey, Long> chargeAccounts) {
+            this.accounts = accounts;
+            this.paymentTypeAccounts = paymentTypeAccounts;
+            this.chargeAccounts = chargeAccounts;
+        }
+
+        /**
+         * @return the id of the GL account mapped to the given financial account type, <code>null</code> if there is no
+         *         such mapping
+         */
+        public Long getGLAccountId(int financialAccountType) {
+            return accounts.get(financialAccountType);
+        }
+
+        /**
+         * @return the id of the GL account mapped to the given financial account type for the given payment type,
+         *         <code>null</code> if there is no payment type specific mapping
+         */
+        public Long getPaymentTypeGLAccountId(int financialAccountType, Long paymentTypeId) {
+            return paymentTypeId == null ? null : paymentTypeAccounts.get(new OverrideKey(financialAccountType, paymentTypeId));
+        }
+
+        /**
+         * @return the id of the GL account mapped to the given financial account type for the given charge,
+         *         <code>null</code> if there is no charge specific mapping
+         */
+        public Long getChargeGLAccountId(int financialAccountType, Long chargeId) {
+            return chargeId == null ? null : chargeAccounts.get(new OverrideKey(financialAccountType, chargeId));
+        }
+    }
+
+    record ProductKey(int productType, Long productId) implements Serializable {
+    }
+
+    private record OverrideKey(int financialAccountType, Long id) {
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.business.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of dispatching a single business event to its listeners.
+ *
+ * Every concrete event type gets {@code listenersPerEventType} listeners and a few listeners are registered for the
+ * {@link LoanEvent} and {@link BusinessEvent} supertypes, similar to the listeners the loan module registers on
+ * startup. The events are raised round robin over all the event types. {@code legacyLinearScan} replays the previous
+ * lookup (walking every registration per event) on the same registrations as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class BusinessEventNotifierServiceBenchmark {
+
+    private static final List<Class<? extends BusinessEvent<?>>> EVENT_TYPES = List.of(LoanApprovedEvent.class,
+            LoanDisbursedEvent.class, LoanRepaymentEvent.class, LoanChargePaymentEvent.class, LoanAccrualEvent.class,
+            LoanWaiveInterestEvent.class, LoanWriteOffEvent.class, LoanChargebackEvent.class, LoanRefundEvent.class,
+            LoanStatusChangedEvent.class, LoanDelinquencyRangeChangedEvent.class, LoanBalanceChangedEvent.class);
+
+    @Param({ "1", "4" })
+    public int listenersPerEventType;
+
+    private BusinessEventNotifierServiceImpl notifierService;
+    private final Map<Class, List<BusinessEventListener>> legacyListeners = new LinkedHashMap<>();
+    private BusinessEvent<?>[] events;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        FineractProperties.FineractExternalEventsProperties externalEventsProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalEventsProperties.setEnabled(false);
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        eventsProperties.setExternal(externalEventsProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        notifierService = new BusinessEventNotifierServiceImpl(null, null, fineractProperties);
+
+        events = new BusinessEvent<?>[EVENT_TYPES.size()];
+        for (int i = 0; i < EVENT_TYPES.size(); i++) {
+            Class<? extends BusinessEvent<?>> eventType = EVENT_TYPES.get(i);
+            for (int j = 0; j < listenersPerEventType; j++) {
+                register(eventType);
+            }
+            events[i] = eventType.getDeclaredConstructor().newInstance();
+        }
+        register(LoanEvent.class);
+        register(LoanEvent.class);
+        register(BusinessEvent.class);
+    }
+
+    private void register(Class eventType) {
+        BusinessEventListener listener = event -> {};
+        notifierService.addPreBusinessEventListener(eventType, listener);
+        notifierService.addPostBusinessEventListener(eventType, listener);
+        legacyListeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
+    }
+
+    private BusinessEvent<?> nextEvent() {
+        BusinessEvent<?> event = events[next];
+        next = (next + 1) % events.length;
+        return event;
+    }
+
+    @Benchmark
+    public void notifyPreBusinessEvent() {
+        notifierService.notifyPreBusinessEvent(nextEvent());
+    }
+
+    @Benchmark
+    public void notifyPostBusinessEvent() {
+        notifierService.notifyPostBusinessEvent(nextEvent());
+    }
+
+    @Benchmark
+    public void legacyLinearScan(Blackhole blackhole) {
+        BusinessEvent<?> event = nextEvent();
+        List<BusinessEventListener> result = new ArrayList<>();
+        for (Map.Entry<Class, List<BusinessEventListener>> entry : legacyListeners.entrySet()) {
+            if (entry.getKey().isAssignableFrom(event.getClass())) {
+                result.addAll(entry.getValue());
+            }
+        }
+        for (BusinessEventListener listener : result) {
+            listener.onBusinessEvent(event);
+        }
+        blackhole.consume(result);
+    }
+
+    public interface LoanEvent extends BusinessEvent<Long> {}
+
+    public abstract static class AbstractLoanEvent implements LoanEvent {
+
+        @Override
+        public Long get() {
+            return 1L;
+        }
+
+        @Override
+        public String getType() {
+            return getClass().getSimpleName();
+        }
+
+        @Override
+        public String getCategory() {
+            return "Loan";
+        }
+
+        @Override
+        public Long getAggregateRootId() {
+            return 1L;
+        }
+    }
+
+    public static class LoanApprovedEvent extends AbstractLoanEvent {}
+
+    public static class LoanDisbursedEvent extends AbstractLoanEvent {}
+
+    public static class LoanRepaymentEvent extends AbstractLoanEvent {}
+
+    public static class LoanChargePaymentEvent extends AbstractLoanEvent {}
+
+    public static class LoanAccrualEvent extends AbstractLoanEvent {}
+
+    public static class LoanWaiveInterestEvent extends AbstractLoanEvent {}
+
+    public static class LoanWriteOffEvent extends AbstractLoanEvent {}
+
+    public static class LoanChargebackEvent extends AbstractLoanEvent {}
+
+    public static class LoanRefundEvent extends AbstractLoanEvent {}
+
+    public static class LoanStatusChangedEvent extends AbstractLoanEvent {}
+
+    public static class LoanDelinquencyRangeChangedEvent extends AbstractLoanEvent {}
+
+    public static class LoanBalanceChangedEvent extends AbstractLoanEvent {}
+}
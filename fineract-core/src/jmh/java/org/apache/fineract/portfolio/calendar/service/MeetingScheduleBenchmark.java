@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the meeting dates calculated for the repayment schedules of the loans of a centre with {@code members} JLG
+ * loans synced with the centre meeting: the first repayment date is checked against the meeting, then every
+ * installment takes the next meeting date and checks it against the working days, as the schedule generator does.
+ *
+ * {@code compiledRecurrence} goes through {@link CalendarUtils} with the compiled recurring rules.
+ * {@code ical4jRecurrence} parses the rules and calculates the dates with ical4j for every installment, as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MeetingScheduleBenchmark {
+
+    private static final String WORKING_DAYS_RULE = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR";
+    private static final LocalDate MEETING_START_DATE = LocalDate.of(2023, 1, 3);
+
+    @Param({ "FREQ=WEEKLY;INTERVAL=1;BYDAY=TU", "FREQ=MONTHLY;INTERVAL=1;BYSETPOS=1;BYDAY=TU" })
+    public String meetingRule;
+
+    @Param({ "500" })
+    public int members;
+
+    @Param({ "52" })
+    public int installments;
+
+    private String repaymentFrequency;
+    private List<LocalDate> firstRepaymentDates;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        repaymentFrequency = CalendarUtils.getICalRecur(meetingRule).getFrequency().name();
+        firstRepaymentDates = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            // the members join the centre over a year
+            firstRepaymentDates.add(MEETING_START_DATE.plusDays(30 + i % 365));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Benchmark
+    public int compiledRecurrence() {
+        int workingDays = 0;
+        for (LocalDate firstRepaymentDate : firstRepaymentDates) {
+            LocalDate dueDate = firstRepaymentDate;
+            if (!CalendarUtils.isValidRedurringDate(meetingRule, MEETING_START_DATE, dueDate, false, 0)) {
+                dueDate = CalendarUtils.getNextRepaymentMeetingDate(meetingRule, MEETING_START_DATE, dueDate, 1, repaymentFrequency,
+                        false, 0);
+            }
+            for (int installment = 0; installment < installments; installment++) {
+                dueDate = CalendarUtils.getNextRepaymentMeetingDate(meetingRule, MEETING_START_DATE, dueDate, 1, repaymentFrequency,
+                        false, 0);
+                if (CalendarUtils.isValidRedurringDate(WORKING_DAYS_RULE, dueDate, dueDate)) {
+                    workingDays++;
+                }
+            }
+        }
+        return workingDays;
+    }
+
+    @Benchmark
+    public int ical4jRecurrence() {
+        int workingDays = 0;
+        for (LocalDate firstRepaymentDate : firstRepaymentDates) {
+            LocalDate dueDate = firstRepaymentDate;
+            if (!CalendarUtils.isValidRecurringDate(CalendarUtils.getICalRecur(meetingRule), MEETING_START_DATE, dueDate, false, 0)) {
+                dueDate = CalendarUtils.getNextRecurringDate(CalendarUtils.getICalRecur(meetingRule), MEETING_START_DATE, dueDate);
+            }
+            for (int installment = 0; installment < installments; installment++) {
+                Recur recur = CalendarUtils.getICalRecur(meetingRule);
+                dueDate = CalendarUtils.getNextRecurringDate(recur, MEETING_START_DATE, dueDate);
+                if (CalendarUtils.isValidRecurringDate(CalendarUtils.getICalRecur(WORKING_DAYS_RULE), dueDate, dueDate, false, 0)) {
+                    workingDays++;
+                }
+            }
+        }
+        return workingDays;
+    }
+}
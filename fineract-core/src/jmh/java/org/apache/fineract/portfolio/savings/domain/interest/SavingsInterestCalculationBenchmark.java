@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the interest calculation of a savings account with a long transaction history: monthly posting periods with
+ * daily compounding over roughly {@code transactions / 2} days.
+ *
+ * {@code periodIndexedTimeline} hands every posting period its slice of the {@link SavingsBalanceTimeline}.
+ * {@code fullHistoryPerPeriod} hands every posting period the whole history as a baseline (the previous loop also
+ * re-filtered, re-sorted and re-converted the transactions of the account for every period on top of that).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SavingsInterestCalculationBenchmark {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final BigDecimal INTEREST_RATE = new BigDecimal("0.05");
+
+    @Param({ "5000", "10000" })
+    public int transactions;
+
+    private List<SavingsAccountTransactionDetailsForPostingPeriod> orderedTransactions;
+    private List<LocalDateInterval> postingPeriods;
+    private LocalDate upToInterestCalculationDate;
+
+    @Setup
+    public void setUp() throws Exception {
+        // MoneyHelper reads the rounding mode from the tenant configuration otherwise
+        Field roundingMode = MoneyHelper.class.getDeclaredField("roundingMode");
+        roundingMode.setAccessible(true);
+        roundingMode.set(null, RoundingMode.HALF_EVEN);
+
+        Random random = new Random(42);
+        LocalDate firstDate = LocalDate.of(2010, 1, 1);
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = firstDate;
+        for (int i = 0; i < transactions; i++) {
+            date = date.plusDays(random.nextInt(2));
+            dates.add(date);
+        }
+        upToInterestCalculationDate = date.withDayOfMonth(date.lengthOfMonth());
+
+        orderedTransactions = new ArrayList<>();
+        BigDecimal runningBalance = BigDecimal.ZERO;
+        for (int i = 0; i < dates.size(); i++) {
+            LocalDate transactionDate = dates.get(i);
+            LocalDate endOfBalanceDate = i + 1 < dates.size() ? dates.get(i + 1).minusDays(1) : upToInterestCalculationDate;
+            if (endOfBalanceDate.isBefore(transactionDate)) {
+                endOfBalanceDate = transactionDate;
+            }
+            boolean deposit = random.nextInt(3) > 0 || runningBalance.signum() <= 0;
+            BigDecimal amount = BigDecimal.valueOf(10 + random.nextInt(500));
+            runningBalance = deposit ? runningBalance.add(amount) : runningBalance.subtract(amount);
+            int balanceNumberOfDays = LocalDateInterval.create(transactionDate, endOfBalanceDate).daysInPeriodInclusiveOfEndDate();
+            orderedTransactions.add(new SavingsAccountTransactionDetailsForPostingPeriod((long) i, transactionDate, endOfBalanceDate,
+                    runningBalance, amount, CURRENCY, balanceNumberOfDays, deposit, !deposit, false, false, false));
+        }
+
+        postingPeriods = new ArrayList<>();
+        for (LocalDate start = firstDate; start.isBefore(upToInterestCalculationDate); start = start.plusMonths(1)) {
+            postingPeriods.add(LocalDateInterval.create(start, start.plusMonths(1).minusDays(1)));
+        }
+    }
+
+    @Benchmark
+    public Money periodIndexedTimeline() {
+        SavingsBalanceTimeline timeline = new SavingsBalanceTimeline(orderedTransactions);
+        Money periodStartingBalance = Money.zero(CURRENCY);
+        for (LocalDateInterval periodInterval : postingPeriods) {
+            periodStartingBalance = calculate(periodInterval, periodStartingBalance, timeline.transactionsFor(periodInterval));
+        }
+        return periodStartingBalance;
+    }
+
+    @Benchmark
+    public Money fullHistoryPerPeriod() {
+        Money periodStartingBalance = Money.zero(CURRENCY);
+        for (LocalDateInterval periodInterval : postingPeriods) {
+            periodStartingBalance = calculate(periodInterval, periodStartingBalance, orderedTransactions);
+        }
+        return periodStartingBalance;
+    }
+
+    private Money calculate(LocalDateInterval periodInterval, Money periodStartingBalance,
+            List<SavingsAccountTransactionDetailsForPostingPeriod> periodTransactions) {
+        PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance, periodTransactions, CURRENCY,
+                SavingsCompoundingInterestPeriodType.DAILY, SavingsInterestCalculationType.DAILY_BALANCE, INTEREST_RATE, 365,
+                upToInterestCalculationDate, Set.of(), false, Money.zero(CURRENCY), false, BigDecimal.ZERO, Money.zero(CURRENCY), false,
+                1);
+        return postingPeriod.closingBalance();
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.config;
+
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchApiConfiguration {
+
+    public static final String BATCH_API_TASK_EXECUTOR_BEAN_NAME = "batchApiTaskExecutor";
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Bean(BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor batchApiTaskExecutor() {
+        int parallelThreadCount = Math.max(fineractProperties.getApi().getBatch().getParallelThreadCount(), 1);
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        // bounds the number of batch root requests (and so database connections) in flight across all batch calls
+        threadPoolTaskExecutor.setCorePoolSize(parallelThreadCount);
+        threadPoolTaskExecutor.setMaxPoolSize(parallelThreadCount);
+        threadPoolTaskExecutor.setAllowCoreThreadTimeOut(true);
+        threadPoolTaskExecutor.setThreadNamePrefix("batchApi");
+        return threadPoolTaskExecutor;
+    }
+}
@@ -34,8 +34,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -45,20 +48,29 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.batch.command.CommandContext;
 import org.apache.fineract.batch.command.CommandStrategy;
 import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.config.BatchApiConfiguration;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.domain.Header;
 import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
@@ -89,6 +101,11 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     private final List<BatchRequestPreprocessor> batchPreprocessors;
 
+    private final FineractProperties fineractProperties;
+
+    @Qualifier(BatchApiConfiguration.BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    private final TaskExecutor taskExecutor;
+
     @PersistenceContext
     private final EntityManager entityManager;
 
@@ -176,14 +193,87 @@ public class BatchApiServiceImpl implements BatchApiService {
             return List.of(buildOrThrowErrorResponse(e, null));
         }
 
-        final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
-        for (BatchRequestNode rootNode : rootNodes) {
-            this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        final List<BatchResponse> responseList;
+        if (isParallelExecution(rootNodes)) {
+            responseList = callRootNodesInParallel(rootNodes, uriInfo);
+        } else {
+            responseList = new ArrayList<>(requestList.size());
+            for (BatchRequestNode rootNode : rootNodes) {
+                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+            }
         }
         responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    /**
+     * Root requests are independent of each other and, without an enclosing transaction, each one is committed on its
+     * own, so they can be executed concurrently when it is enabled.
+     */
+    private boolean isParallelExecution(List<BatchRequestNode> rootNodes) {
+        return rootNodes.size() > 1 && !BatchRequestContextHolder.isEnclosingTransaction()
+                && fineractProperties.getApi().getBatch().isParallelEnabled();
+    }
+
+    /**
+     * Executes every root request tree on the batch API executor. The child requests of a tree are still executed
+     * after their parent on the same thread.
+     *
+     * @param rootNodes
+     *            the root request nodes
+     * @param uriInfo
+     * @return the collected responses, not sorted
+     */
+    private List<BatchResponse> callRootNodesInParallel(List<BatchRequestNode> rootNodes, UriInfo uriInfo) {
+        List<CompletableFuture<List<BatchResponse>>> futures = rootNodes.stream()
+                .map(rootNode -> CompletableFuture.supplyAsync(withContext(() -> {
+                    List<BatchResponse> rootResponses = new ArrayList<>();
+                    callRequestRecursive(rootNode.getRequest(), rootNode, rootResponses, uriInfo);
+                    return rootResponses;
+                }), taskExecutor)).toList();
+        List<BatchResponse> responseList = new ArrayList<>();
+        for (CompletableFuture<List<BatchResponse>> future : futures) {
+            try {
+                responseList.addAll(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return responseList;
+    }
+
+    /**
+     * Propagates the tenant, security and logging context of the calling thread to the executor thread.
+     */
+    private <T> Supplier<T> withContext(Supplier<T> task) {
+        final Thread callerThread = Thread.currentThread();
+        final FineractContext context = ThreadLocalContextUtil.getTenant() == null ? null : ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        return () -> {
+            if (Thread.currentThread() == callerThread) {
+                return task.get();
+            }
+            if (context != null) {
+                ThreadLocalContextUtil.init(context);
+            }
+            SecurityContextHolder.setContext(securityContext);
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                return task.get();
+            } finally {
+                MDC.clear();
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.reset();
+            }
+        };
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
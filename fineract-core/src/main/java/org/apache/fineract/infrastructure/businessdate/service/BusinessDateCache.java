@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory snapshot of the stored business dates, one per tenant, so that setting up the business dates of a request
+ * does not need a database round trip.
+ * <br>
+ * <br>
+ * The snapshot of a tenant is loaded on first use and dropped whenever a business date is changed, see
+ * {@link TenantSnapshotCache}. The changing transaction sees its own dates, as no snapshot is kept while it is open.
+ * When several nodes share the database without a cross node invalidation transport, a date moved on another node
+ * (e.g. by the COB date bump) becomes visible once the snapshot expires, after fineract.cache.snapshot.ttl-seconds; a
+ * single node keeps the snapshot until a date changes.
+ */
+@Slf4j
+@Component
+public class BusinessDateCache extends TenantSnapshotCache<String, Map<BusinessDateType, LocalDate>> {
+
+    public static final String CACHE_NAME = "businessDates";
+    public static final String HIT_METRIC = "fineract.businessdate.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.businessdate.cache.refreshes";
+
+    private static final String SNAPSHOT = "businessDates";
+
+    private final BusinessDateRepository repository;
+
+    public BusinessDateCache(BusinessDateRepository repository, MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.repository = repository;
+    }
+
+    /**
+     * @return the business dates stored for the current tenant, types without a stored date are missing from the map
+     */
+    public Map<BusinessDateType, LocalDate> getStoredBusinessDates() {
+        return get(SNAPSHOT, key -> load());
+    }
+
+    /**
+     * Drops the snapshot of the current tenant on every node.
+     */
+    public void refresh() {
+        invalidateTenant();
+    }
+
+    private Map<BusinessDateType, LocalDate> load() {
+        log.debug("Loading the business dates of tenant {}", getTenantIdentifier());
+        final Map<BusinessDateType, LocalDate> snapshot = new EnumMap<>(BusinessDateType.class);
+        for (BusinessDate businessDate : repository.findAll()) {
+            snapshot.put(businessDate.getType(), businessDate.getDate());
+        }
+        return Map.copyOf(snapshot);
+    }
+}
@@ -42,6 +42,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
     private final BusinessDateRepository repository;
     private final BusinessDateMapper mapper;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateCache businessDateCache;
 
     @Override
     public List<BusinessDateData> findAll() {
@@ -73,10 +74,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
         businessDateMap.put(BusinessDateType.BUSINESS_DATE, tenantDate);
         businessDateMap.put(BusinessDateType.COB_DATE, tenantDate);
         if (configurationDomainService.isBusinessDateEnabled()) {
-            final List<BusinessDateData> businessDateDataList = this.findAll();
-            for (BusinessDateData businessDateData : businessDateDataList) {
-                businessDateMap.put(BusinessDateType.valueOf(businessDateData.getType()), businessDateData.getDate());
-            }
+            businessDateMap.putAll(businessDateCache.getStoredBusinessDates());
         }
         return businessDateMap;
     }
@@ -53,6 +53,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
     private final BusinessDateDataParserAndValidator dataValidator;
     private final BusinessDateRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateCache businessDateCache;
 
     @Override
     public CommandProcessingResult updateBusinessDate(@NotNull final JsonCommand command) {
@@ -123,6 +124,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         if (businessDate.isEmpty()) {
             BusinessDate newBusinessDate = BusinessDate.instance(businessDateType, newDate);
             repository.save(newBusinessDate);
+            businessDateCache.refresh();
             changes.put(type, newBusinessDate.getDate());
         } else {
             updateBusinessDate(businessDate.get(), newDate, changes);
@@ -137,6 +139,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         }
         businessDate.setDate(newDate);
         repository.save(businessDate);
+        businessDateCache.refresh();
         changes.put(businessDate.getType().name(), newDate);
     }
 }
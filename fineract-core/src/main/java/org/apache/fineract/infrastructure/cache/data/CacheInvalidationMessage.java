@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.data;
+
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Message sent between the nodes of a cluster running with the multi node cache. It either evicts a single key, clears
+ * a whole cache, or tells the other nodes that the cache type was switched.
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class CacheInvalidationMessage implements Serializable {
+
+    private String sourceNodeId;
+    /**
+     * Name of the cache to invalidate, <code>null</code> means every cache.
+     */
+    private String cacheName;
+    /**
+     * Java-serialized cache key, <code>null</code> means the whole cache.
+     */
+    private byte[] key;
+    /**
+     * Set only when the cache type was switched on the source node.
+     */
+    private Integer cacheType;
+}
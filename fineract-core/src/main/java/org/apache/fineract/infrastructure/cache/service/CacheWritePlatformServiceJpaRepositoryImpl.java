@@ -31,24 +31,29 @@ public class CacheWritePlatformServiceJpaRepositoryImpl implements CacheWritePla
 
     private final ConfigurationDomainService configurationDomainService;
     private final RuntimeDelegatingCacheManager cacheService;
+    private final MultiNodeCacheManager multiNodeCacheManager;
 
     @Autowired
     public CacheWritePlatformServiceJpaRepositoryImpl(final ConfigurationDomainService configurationDomainService,
-            @Qualifier("runtimeDelegatingCacheManager") final RuntimeDelegatingCacheManager cacheService) {
+            @Qualifier("runtimeDelegatingCacheManager") final RuntimeDelegatingCacheManager cacheService,
+            @Qualifier("multiNodeCacheManager") final MultiNodeCacheManager multiNodeCacheManager) {
         this.configurationDomainService = configurationDomainService;
         this.cacheService = cacheService;
+        this.multiNodeCacheManager = multiNodeCacheManager;
     }
 
     @Transactional
     @Override
     public Map<String, Object> switchToCache(final CacheType toCacheType) {
 
-        final boolean ehCacheEnabled = this.configurationDomainService.isEhcacheEnabled();
+        final CacheType currentCacheType = this.configurationDomainService.getCacheType();
 
-        final Map<String, Object> changes = this.cacheService.switchToCache(ehCacheEnabled, toCacheType);
+        final Map<String, Object> changes = this.cacheService.switchToCache(currentCacheType, toCacheType);
 
         if (!changes.isEmpty()) {
             this.configurationDomainService.updateCache(toCacheType);
+            // the other nodes of the cluster follow the switch (and drop their local caches) after the commit
+            this.multiNodeCacheManager.cacheTypeSwitched(toCacheType);
         }
 
         return changes;
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+/**
+ * Local cache of a node which reports every eviction and clear to the {@link MultiNodeCacheManager}, so it can be
+ * propagated to the other nodes. Reads and writes stay local.
+ */
+@RequiredArgsConstructor
+class InvalidationBroadcastingCache implements Cache {
+
+    private final Cache localCache;
+    private final MultiNodeCacheManager cacheManager;
+
+    @Override
+    public String getName() {
+        return localCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return localCache.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return localCache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return localCache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        localCache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return localCache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        localCache.evict(key);
+        cacheManager.keyEvicted(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = localCache.evictIfPresent(key);
+        // another node may still hold the key even if this one did not
+        cacheManager.keyEvicted(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        localCache.clear();
+        cacheManager.cacheCleared(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = localCache.invalidate();
+        cacheManager.cacheCleared(getName());
+        return invalidated;
+    }
+}
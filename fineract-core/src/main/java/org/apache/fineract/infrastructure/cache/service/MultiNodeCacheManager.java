@@ -0,0 +1,304 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CacheManager} for clustered deployments. Every node keeps its own local caches (the same ones the single node
+ * cache uses), and every eviction or clear is sent to the other nodes through the {@link CacheInvalidationPublisher}.
+ * <br>
+ * <br>
+ * Invalidations raised within a transaction are sent only after the commit, so that the other nodes cannot reload the
+ * old state into their cache before the change becomes visible.
+ * <br>
+ * <br>
+ * Caches which are not managed by Spring (e.g. in-memory snapshots of configuration tables) can take part in the
+ * invalidation through {@link #addInvalidationListener(String, Consumer)} and {@link #invalidate(String, Object)}.
+ * These work regardless of the cache type selected at runtime.
+ * <br>
+ * <br>
+ * Without a cross node transport (JMS or Kafka) the invalidations do not leave this node. That is enough when this is
+ * the only node (fineract.cache.snapshot.single-node), otherwise such snapshots are kept only for the
+ * {@link #getLocalSnapshotTimeToLive() local time to live}, see {@link #getSnapshotTimeToLive()}.
+ */
+@Slf4j
+@Component(value = "multiNodeCacheManager")
+public class MultiNodeCacheManager implements CacheManager {
+
+    public static final Duration DEFAULT_LOCAL_SNAPSHOT_TIME_TO_LIVE = Duration.ofSeconds(5);
+
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Duration localSnapshotTimeToLive;
+    private final boolean singleNode;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Consumer<Object>>> invalidationListeners = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MultiNodeCacheManager(@Qualifier("ehCacheManager") CacheManager localCacheManager,
+            CacheInvalidationPublisher invalidationPublisher, FineractProperties fineractProperties) {
+        this(localCacheManager, invalidationPublisher, localSnapshotTimeToLive(fineractProperties), isSingleNode(fineractProperties));
+        if (!isCrossNodeInvalidationEnabled()) {
+            if (singleNode) {
+                log.info("No cross node cache invalidation transport is enabled, the in-memory snapshots are kept until invalidated "
+                        + "as this is the only node; set fineract.cache.snapshot.single-node=false when several nodes share the database");
+            } else {
+                log.info("No cross node cache invalidation transport is enabled, the in-memory snapshots expire after {}",
+                        localSnapshotTimeToLive);
+            }
+        }
+    }
+
+    public MultiNodeCacheManager(CacheManager localCacheManager, CacheInvalidationPublisher invalidationPublisher) {
+        this(localCacheManager, invalidationPublisher, DEFAULT_LOCAL_SNAPSHOT_TIME_TO_LIVE);
+    }
+
+    public MultiNodeCacheManager(CacheManager localCacheManager, CacheInvalidationPublisher invalidationPublisher,
+            Duration localSnapshotTimeToLive) {
+        this(localCacheManager, invalidationPublisher, localSnapshotTimeToLive, false);
+    }
+
+    public MultiNodeCacheManager(CacheManager localCacheManager, CacheInvalidationPublisher invalidationPublisher,
+            Duration localSnapshotTimeToLive, boolean singleNode) {
+        this.localCacheManager = localCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localSnapshotTimeToLive = localSnapshotTimeToLive;
+        this.singleNode = singleNode;
+    }
+
+    private static Duration localSnapshotTimeToLive(FineractProperties fineractProperties) {
+        FineractProperties.FineractCacheProperties properties = fineractProperties.getCache();
+        if (properties == null || properties.getSnapshot() == null) {
+            return DEFAULT_LOCAL_SNAPSHOT_TIME_TO_LIVE;
+        }
+        return Duration.ofSeconds(properties.getSnapshot().getTtlSeconds());
+    }
+
+    private static boolean isSingleNode(FineractProperties fineractProperties) {
+        FineractProperties.FineractCacheProperties properties = fineractProperties.getCache();
+        if (properties == null || properties.getSnapshot() == null || !properties.getSnapshot().isSingleNode()) {
+            return false;
+        }
+        // a node which does not serve every role (e.g. a batch worker or a read only node) never runs alone
+        FineractProperties.FineractModeProperties mode = fineractProperties.getMode();
+        return mode == null
+                || (mode.isReadEnabled() && mode.isWriteEnabled() && mode.isBatchManagerEnabled() && mode.isBatchWorkerEnabled());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return whether the invalidations reach the other nodes, so that the snapshots of this node can be kept until
+     *         they get invalidated
+     */
+    public boolean isCrossNodeInvalidationEnabled() {
+        return invalidationPublisher.isCrossNode();
+    }
+
+    /**
+     * @return how long a snapshot may be kept when the invalidations do not reach the other nodes, zero disables the
+     *         snapshots
+     */
+    public Duration getLocalSnapshotTimeToLive() {
+        return localSnapshotTimeToLive;
+    }
+
+    /**
+     * @return whether this is the only node of the deployment, so that invalidations which do not leave this node still
+     *         reach every snapshot
+     */
+    public boolean isSingleNode() {
+        return singleNode;
+    }
+
+    /**
+     * @return how long a snapshot may be kept on this node, or null when it can be kept until it gets invalidated,
+     *         because the invalidations reach the other nodes or there are no other nodes
+     */
+    public Duration getSnapshotTimeToLive() {
+        return isCrossNodeInvalidationEnabled() || singleNode ? null : localSnapshotTimeToLive;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache localCache = localCacheManager.getCache(name);
+            if (localCache == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, n -> new InvalidationBroadcastingCache(localCache, this));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * Clears the local caches of this node without notifying the other nodes.
+     */
+    public void clearLocalCaches() {
+        localCacheManager.getCacheNames().forEach(name -> {
+            Cache cache = localCacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    /**
+     * Registers a listener which is called when another node invalidates the given cache. The listener receives the
+     * invalidated key, or null when the whole cache got invalidated.
+     */
+    public void addInvalidationListener(String cacheName, Consumer<Object> listener) {
+        invalidationListeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Invalidates the given key (or the whole cache when the key is null) on the other nodes, once the current
+     * transaction commits. The local state has to be invalidated by the caller.
+     */
+    public void invalidate(String cacheName, Object key) {
+        if (key == null) {
+            cacheCleared(cacheName);
+        } else {
+            keyEvicted(cacheName, key);
+        }
+    }
+
+    void keyEvicted(String cacheName, Object key) {
+        CacheInvalidationMessage message = newMessage().setCacheName(cacheName);
+        if (key instanceof Serializable serializableKey) {
+            message.setKey(SerializationUtils.serialize(serializableKey));
+        } else {
+            log.debug("Cache key {} of cache {} is not serializable, the whole cache gets invalidated on the other nodes", key, cacheName);
+        }
+        publishAfterCommit(message);
+    }
+
+    void cacheCleared(String cacheName) {
+        publishAfterCommit(newMessage().setCacheName(cacheName));
+    }
+
+    public void cacheTypeSwitched(CacheType cacheType) {
+        publishAfterCommit(newMessage().setCacheType(cacheType.getValue()));
+    }
+
+    public boolean isOwnMessage(CacheInvalidationMessage message) {
+        return nodeId.equals(message.getSourceNodeId());
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local caches. Messages sent by this node are ignored.
+     */
+    public void applyInvalidation(CacheInvalidationMessage message) {
+        if (isOwnMessage(message)) {
+            return;
+        }
+        if (message.getCacheName() == null) {
+            clearLocalCaches();
+            invalidationListeners.values().forEach(listeners -> notifyInvalidationListeners(listeners, null));
+            return;
+        }
+        Object key = null;
+        if (message.getKey() != null) {
+            try {
+                key = SerializationUtils.deserialize(message.getKey());
+            } catch (SerializationException e) {
+                log.warn("Could not deserialize the evicted key of cache {}, clearing the whole cache", message.getCacheName(), e);
+            }
+        }
+        Cache localCache = localCacheManager.getCache(message.getCacheName());
+        if (localCache != null) {
+            if (key == null) {
+                localCache.clear();
+            } else {
+                localCache.evict(key);
+            }
+        }
+        List<Consumer<Object>> listeners = invalidationListeners.get(message.getCacheName());
+        if (listeners != null) {
+            notifyInvalidationListeners(listeners, key);
+        }
+    }
+
+    private void notifyInvalidationListeners(List<Consumer<Object>> listeners, Object key) {
+        for (Consumer<Object> listener : listeners) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed", e);
+            }
+        }
+    }
+
+    private CacheInvalidationMessage newMessage() {
+        return new CacheInvalidationMessage().setSourceNodeId(nodeId);
+    }
+
+    private void publishAfterCommit(CacheInvalidationMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+        } else {
+            publish(message);
+        }
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            invalidationPublisher.publish(message);
+        } catch (RuntimeException e) {
+            log.error("Could not send cache invalidation of cache {} to the other nodes", message.getCacheName(), e);
+        }
+    }
+}
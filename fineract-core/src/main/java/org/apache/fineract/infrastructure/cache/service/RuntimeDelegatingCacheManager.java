@@ -29,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.springframework.beans.factory.InitializingBean;
@@ -42,7 +43,10 @@ import org.springframework.stereotype.Component;
  * At present this implementation of {@link CacheManager} just delegates to the real {@link CacheManager} to use.
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
- * database on startup and allow user to switch implementation through UI/API
+ * database on startup and allow user to switch implementation through UI/API.
+ *
+ * The multi node cache uses the same local caches as the single node one, but propagates the invalidations to the
+ * other nodes through the {@link MultiNodeCacheManager}.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 @RequiredArgsConstructor
@@ -53,6 +57,7 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
     private final CacheManager ehCacheManager;
     @Qualifier("defaultCacheManager")
     private final CacheManager defaultCacheManager;
+    private final MultiNodeCacheManager multiNodeCacheManager;
     private CacheManager currentCacheManager;
 
     @Override
@@ -74,34 +79,35 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
 
         final boolean noCacheEnabled = currentCacheManager == defaultCacheManager;
         final boolean ehCacheEnabled = currentCacheManager == ehCacheManager;
+        final boolean multiNodeCacheEnabled = currentCacheManager == multiNodeCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehCacheEnabled);
+        final CacheData multiNodeCache = CacheData.instance(multiNodeCacheType, multiNodeCacheEnabled);
 
-        return Arrays.asList(noCache, singleNodeCache);
+        return Arrays.asList(noCache, singleNodeCache, multiNodeCache);
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Map<String, Object> switchToCache(final CacheType currentCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-
         switch (toCacheType) {
             case INVALID -> {
                 log.warn("Invalid cache type used");
             }
             case NO_CACHE -> {
-                if (!noCacheEnabled) {
+                if (!currentCacheType.isNoCache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                 }
                 currentCacheManager = defaultCacheManager;
             }
             case SINGLE_NODE -> {
-                if (!ehcacheEnabled) {
+                if (!currentCacheType.isEhcache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                     clearEhCache();
                 }
@@ -111,12 +117,45 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
                     log.error("No caches configured for activated CacheManager {}", currentCacheManager);
                 }
             }
-            case MULTI_NODE -> throw new UnsupportedOperationException("Multi node cache is not supported");
+            case MULTI_NODE -> {
+                if (!currentCacheType.isDistributedCache()) {
+                    changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
+                    clearEhCache();
+                }
+                currentCacheManager = multiNodeCacheManager;
+
+                if (currentCacheManager.getCacheNames().isEmpty()) {
+                    log.error("No caches configured for activated CacheManager {}", currentCacheManager);
+                }
+            }
         }
 
         return changes;
     }
 
+    /**
+     * Handles a {@link CacheInvalidationMessage} received from another node of the cluster.
+     */
+    public void onInvalidationMessage(final CacheInvalidationMessage message) {
+        if (multiNodeCacheManager.isOwnMessage(message)) {
+            return;
+        }
+        if (message.getCacheType() != null) {
+            final CacheType toCacheType = CacheType.fromInt(message.getCacheType());
+            log.info("Cache type was switched to {} on node {}", toCacheType, message.getSourceNodeId());
+            switchToCache(getCurrentCacheType(), toCacheType);
+        } else {
+            multiNodeCacheManager.applyInvalidation(message);
+        }
+    }
+
+    private CacheType getCurrentCacheType() {
+        if (currentCacheManager == multiNodeCacheManager) {
+            return CacheType.MULTI_NODE;
+        }
+        return currentCacheManager == ehCacheManager ? CacheType.SINGLE_NODE : CacheType.NO_CACHE;
+    }
+
     @SuppressFBWarnings(value = "DCN_NULLPOINTER_EXCEPTION", justification = "TODO: fix this!")
     private void clearEhCache() {
         Iterable<String> cacheNames = ehCacheManager.getCacheNames();
@@ -0,0 +1,276 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base of the in-memory snapshots of rarely changing tables, kept per tenant so that hot paths do not need a database
+ * round trip for them.
+ * <br>
+ * <br>
+ * An entry is loaded on first use and dropped when the underlying data changes: on this node immediately and again
+ * when the changing transaction completes, on the other nodes through the {@link MultiNodeCacheManager} invalidation
+ * once it commits. When there are other nodes but the invalidations do not reach them (no JMS or Kafka transport is
+ * enabled), the entries expire after the {@link MultiNodeCacheManager#getSnapshotTimeToLive() snapshot time to live},
+ * so a change made on another node becomes visible within that time. A single node without a transport keeps them
+ * until invalidated, like with one.
+ * <br>
+ * <br>
+ * Loads racing with a change are returned to their caller but not kept: a load which started before an invalidation of
+ * the tenant, or which runs while a changing transaction of the tenant is still open, could otherwise keep the old (or
+ * the not yet committed) state until the next invalidation.
+ *
+ * @param <K>
+ *            the key of the entries within a tenant, it is sent to the other nodes on invalidation
+ * @param <V>
+ *            the cached value, it has to be immutable
+ */
+public abstract class TenantSnapshotCache<K extends Serializable, V> {
+
+    private final String cacheName;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final long timeToLiveNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final ConcurrentMap<String, TenantSnapshot<K, V>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a snapshot cache whose entries are kept until invalidated, or for the snapshot time to live of the
+     * {@link MultiNodeCacheManager} when the invalidations do not reach the other nodes.
+     */
+    protected TenantSnapshotCache(String cacheName, String hitMetric, String missMetric, MultiNodeCacheManager multiNodeCacheManager,
+            MeterRegistry meterRegistry) {
+        this(cacheName, hitMetric, missMetric, multiNodeCacheManager.getSnapshotTimeToLive(), multiNodeCacheManager, meterRegistry);
+    }
+
+    /**
+     * Creates a cache whose entries expire after the given time to live (null for never), regardless of the
+     * invalidation transport.
+     */
+    protected TenantSnapshotCache(String cacheName, String hitMetric, String missMetric, Duration timeToLive,
+            MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.multiNodeCacheManager = multiNodeCacheManager;
+        this.timeToLiveNanos = timeToLive == null ? -1 : timeToLive.toNanos();
+        this.hits = Counter.builder(hitMetric).description("Lookups served from the " + cacheName + " snapshot").register(meterRegistry);
+        this.misses = Counter.builder(missMetric).description("Lookups of the " + cacheName + " snapshot which had to load the data")
+                .register(meterRegistry);
+        multiNodeCacheManager.addInvalidationListener(cacheName, this::applyInvalidation);
+    }
+
+    /**
+     * @return the entry of the current tenant, loaded with the given loader when it is missing or expired
+     */
+    protected V get(K key, Function<? super K, ? extends V> loader) {
+        final TenantSnapshot<K, V> snapshot = getTenantSnapshot(getTenantIdentifier());
+        final Entry<V> entry = snapshot.entries.get(key);
+        final long now = System.nanoTime();
+        if (entry != null && isFresh(entry, now)) {
+            hits.increment();
+            return entry.value();
+        }
+        final long generation = snapshot.generation.get();
+        final V value = loader.apply(key);
+        misses.increment();
+        store(snapshot, key, value, generation, now);
+        return value;
+    }
+
+    /**
+     * @return the entry of the current tenant, or null when it is missing or expired; the metrics are left to the
+     *         caller
+     */
+    protected V getIfPresent(K key) {
+        final Entry<V> entry = getTenantSnapshot(getTenantIdentifier()).entries.get(key);
+        return entry != null && isFresh(entry, System.nanoTime()) ? entry.value() : null;
+    }
+
+    /**
+     * Keeps the given value of the current tenant on this node, unless a change of the tenant is in progress.
+     */
+    protected void put(K key, V value) {
+        final TenantSnapshot<K, V> snapshot = getTenantSnapshot(getTenantIdentifier());
+        store(snapshot, key, value, snapshot.generation.get(), System.nanoTime());
+    }
+
+    /**
+     * Drops the entry of the current tenant on every node.
+     */
+    protected void invalidate(K key) {
+        change(getTenantIdentifier(), key, null);
+    }
+
+    /**
+     * Drops every entry of the current tenant on every node.
+     */
+    protected void invalidateTenant() {
+        change(getTenantIdentifier(), null, null);
+    }
+
+    /**
+     * Replaces the entry of the current tenant with the given value on this node once the current transaction commits
+     * (or immediately when there is no transaction), and drops it on the other nodes.
+     */
+    protected void update(K key, V value) {
+        change(getTenantIdentifier(), key, value);
+    }
+
+    /**
+     * Drops the entry of the current tenant on this node only, e.g. when it turned out to be outdated.
+     */
+    protected void evictLocally(K key) {
+        evict(getTenantSnapshot(getTenantIdentifier()), key);
+    }
+
+    /**
+     * Drops the expired entries of every tenant on this node.
+     */
+    protected void removeExpired() {
+        final long now = System.nanoTime();
+        snapshots.values().forEach(snapshot -> snapshot.entries.values().removeIf(entry -> !isFresh(entry, now)));
+    }
+
+    /**
+     * @return the number of entries of every tenant on this node, expired ones included
+     */
+    protected int size() {
+        return snapshots.values().stream().mapToInt(snapshot -> snapshot.entries.size()).sum();
+    }
+
+    protected void recordHit() {
+        hits.increment();
+    }
+
+    protected void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @return the identifier of the current tenant, or null when there is none
+     */
+    protected static String getTenantIdentifier() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return tenant == null ? null : tenant.getTenantIdentifier();
+    }
+
+    private void change(String tenantIdentifier, K key, V value) {
+        final TenantSnapshot<K, V> snapshot = getTenantSnapshot(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the loads of other transactions would see the old state until the commit, this one the uncommitted one
+            snapshot.openChanges.incrementAndGet();
+            evict(snapshot, key);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(snapshot, key);
+                    if (value != null && status == STATUS_COMMITTED) {
+                        snapshot.entries.put(key, new Entry<>(value, System.nanoTime()));
+                    }
+                    snapshot.openChanges.decrementAndGet();
+                }
+            });
+        } else {
+            evict(snapshot, key);
+            if (value != null) {
+                store(snapshot, key, value, snapshot.generation.get(), System.nanoTime());
+            }
+        }
+        multiNodeCacheManager.invalidate(cacheName, key == null ? tenantIdentifier : new Invalidation<>(tenantIdentifier, key));
+    }
+
+    private void applyInvalidation(Object invalidation) {
+        if (invalidation == null) {
+            snapshots.values().forEach(snapshot -> evict(snapshot, null));
+        } else if (invalidation instanceof Invalidation<?> keyInvalidation) {
+            final TenantSnapshot<K, V> snapshot = snapshots.get(keyInvalidation.tenantIdentifier());
+            if (snapshot != null) {
+                snapshot.generation.incrementAndGet();
+                snapshot.entries.remove(keyInvalidation.key());
+            }
+        } else {
+            final TenantSnapshot<K, V> snapshot = snapshots.get(String.valueOf(invalidation));
+            if (snapshot != null) {
+                evict(snapshot, null);
+            }
+        }
+    }
+
+    private void store(TenantSnapshot<K, V> snapshot, K key, V value, long generation, long now) {
+        if (timeToLiveNanos == 0 || !snapshot.isUnchangedSince(generation)) {
+            return;
+        }
+        final Entry<V> entry = new Entry<>(value, now);
+        snapshot.entries.put(key, entry);
+        // an eviction between the check and the put has to win, it bumps the generation before removing the entries
+        if (!snapshot.isUnchangedSince(generation)) {
+            snapshot.entries.remove(key, entry);
+        }
+    }
+
+    private void evict(TenantSnapshot<K, V> snapshot, K key) {
+        snapshot.generation.incrementAndGet();
+        if (key == null) {
+            snapshot.entries.clear();
+        } else {
+            snapshot.entries.remove(key);
+        }
+    }
+
+    private boolean isFresh(Entry<V> entry, long now) {
+        return timeToLiveNanos < 0 || now - entry.loadedAt() < timeToLiveNanos;
+    }
+
+    private TenantSnapshot<K, V> getTenantSnapshot(String tenantIdentifier) {
+        if (tenantIdentifier == null) {
+            throw new IllegalStateException("No tenant is set for the " + cacheName + " snapshot");
+        }
+        return snapshots.computeIfAbsent(tenantIdentifier, identifier -> new TenantSnapshot<>());
+    }
+
+    private static final class TenantSnapshot<K, V> {
+
+        private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicInteger openChanges = new AtomicInteger();
+
+        private boolean isUnchangedSince(long loadGeneration) {
+            return openChanges.get() == 0 && generation.get() == loadGeneration;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    private record Invalidation<K extends Serializable>(String tenantIdentifier, K key) implements Serializable {
+    }
+}
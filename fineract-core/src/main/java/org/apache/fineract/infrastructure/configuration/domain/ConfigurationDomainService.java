@@ -41,6 +41,8 @@ public interface ConfigurationDomainService {
 
     boolean isEhcacheEnabled();
 
+    CacheType getCacheType();
+
     void updateCache(CacheType cacheType);
 
     Long retrievePenaltyWaitPeriod();
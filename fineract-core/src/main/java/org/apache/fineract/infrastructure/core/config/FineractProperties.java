@@ -76,6 +76,14 @@ public class FineractProperties {
 
     private FineractModulesProperties module;
 
+    private FineractCacheProperties cache;
+
+    private FineractHooksProperties hooks;
+
+    private FineractOfficeCalendarProperties officeCalendar;
+
+    private FineractReadReplicaProperties readReplica;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -284,6 +292,15 @@ public class FineractProperties {
 
         private boolean enabled;
         private FineractExternalEventsProducerProperties producer;
+        private FineractExternalEventsCoalescingProperties coalescing;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsCoalescingProperties {
+
+        private boolean enabled;
+        private List<String> keepLastPerAggregateRoot;
     }
 
     @Getter
@@ -292,6 +309,9 @@ public class FineractProperties {
 
         private FineractExternalEventsProducerJmsProperties jms;
         private FineractExternalEventsProducerKafkaProperties kafka;
+        private int serializationThreadCount;
+        private int maxRunDurationInSeconds;
+        private boolean prebuiltMessageEnvelopeEnabled;
     }
 
     @Getter
@@ -361,6 +381,15 @@ public class FineractProperties {
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private FineractReportStreamingProperties streaming;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportStreamingProperties {
+
+        private boolean enabled;
+        private int fetchSize;
     }
 
     @Getter
@@ -384,6 +413,20 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private boolean loanCobBulkFetchEnabled;
+        private int runningBalanceThreadCount;
+        private boolean savingsCobEnabled;
+        private boolean loanArrearsAgeingIncrementalEnabled;
+        private FineractMultiplexedSchedulerProperties multiplexedScheduler;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMultiplexedSchedulerProperties {
+
+        private boolean enabled;
+        private int threadCount;
+        private int tenantConcurrencyLimit;
     }
 
     @Getter
@@ -420,6 +463,15 @@ public class FineractProperties {
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelEnabled;
+        private int parallelThreadCount;
     }
 
     @Getter
@@ -485,6 +537,16 @@ public class FineractProperties {
     public static class FineractSecurityBasicAuth {
 
         private boolean enabled;
+        private FineractSecurityBasicAuthCacheProperties cache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSecurityBasicAuthCacheProperties {
+
+        private boolean enabled;
+        private int ttlSeconds;
+        private int maximumSize;
     }
 
     @Getter
@@ -530,4 +592,82 @@ public class FineractProperties {
     public static class FineractInvestorModuleProperties extends AbstractFineractModuleProperties {
 
     }
+
+    @Getter
+    @Setter
+    public static class FineractCacheProperties {
+
+        private FineractMultiNodeCacheProperties multiNode;
+        private FineractSnapshotCacheProperties snapshot;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSnapshotCacheProperties {
+
+        private long ttlSeconds;
+        private boolean singleNode;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMultiNodeCacheProperties {
+
+        private FineractMultiNodeCacheJmsProperties jms;
+        private FineractMultiNodeCacheKafkaProperties kafka;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMultiNodeCacheJmsProperties {
+
+        private boolean enabled;
+        private String topicName;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMultiNodeCacheKafkaProperties {
+
+        private boolean enabled;
+        private String topicName;
+        private String consumerGroupIdPrefix;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHooksProperties {
+
+        private FineractHookDeliveryProperties delivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookDeliveryProperties {
+
+        private int maxAttempts;
+        private long initialBackoffSeconds;
+        private long maxBackoffSeconds;
+        private int maxConcurrentDeliveriesPerHook;
+        private int batchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractOfficeCalendarProperties {
+
+        private int horizonPastDays;
+        private int horizonFutureDays;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private List<String> whitelistedGetPaths;
+        private long maxLagSeconds;
+        private long lagCheckIntervalSeconds;
+        private long readYourWritesWindowSeconds;
+    }
 }
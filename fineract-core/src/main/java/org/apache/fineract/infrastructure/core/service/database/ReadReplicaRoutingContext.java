@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Holds the details of the current thread {@link ReadReplicaRoutingService} needs to decide whether a connection can
+ * be taken from the read replica of the tenant: the type of the API request being processed, set by the tenant aware
+ * filters, and whether the transactions begun on this thread are read-only, maintained by the transaction manager.
+ */
+public final class ReadReplicaRoutingContext {
+
+    public enum RequestType {
+        READ, WHITELISTED_READ, WRITE
+    }
+
+    private static final ThreadLocal<RequestType> requestTypeContext = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Boolean>> transactionReadOnlyContext = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ReadReplicaRoutingContext() {}
+
+    public static RequestType getRequestType() {
+        return requestTypeContext.get();
+    }
+
+    public static void setRequestType(final RequestType requestType) {
+        requestTypeContext.set(requestType);
+    }
+
+    public static void beginTransaction(final boolean readOnly) {
+        transactionReadOnlyContext.get().push(readOnly);
+    }
+
+    public static void endTransaction() {
+        transactionReadOnlyContext.get().poll();
+    }
+
+    /**
+     * @return whether the innermost transaction begun on this thread is read-only, or <code>null</code> if there is no
+     *         transaction
+     */
+    public static Boolean isTransactionReadOnly() {
+        return transactionReadOnlyContext.get().peek();
+    }
+
+    public static void reset() {
+        requestTypeContext.remove();
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext.RequestType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Decides whether the connection of the current thread can be taken from the read replica of the tenant, which is the
+ * pool on the read-only schema of the tenant connection.
+ * <br>
+ * <br>
+ * Only the API reads are routed to the replica: the read-only transactions of a GET request and, for the whitelisted
+ * GET paths, every connection outside of a read-write transaction. A user who wrote recently reads from the primary
+ * until the read-your-writes window passes, and the replica is skipped while its replication lag, checked once per
+ * interval, is over the limit or cannot be determined.
+ * <br>
+ * <br>
+ * The writes are announced to the other nodes through the multi node cache invalidation, so the window holds whichever
+ * node serves the next request of the user. Without a cross node transport (JMS or Kafka) it only holds on the node
+ * which served the write, and the load balancer has to keep the users on one node (sticky sessions).
+ */
+@Slf4j
+@Service
+public class ReadReplicaRoutingService {
+
+    public static final String WRITES_CACHE_NAME = "readReplicaWrites";
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+    private static final String MYSQL_LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final List<String> MYSQL_LAG_COLUMNS = List.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+    private static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS BIGINT) END";
+
+    private final FineractProperties fineractProperties;
+    private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<Long, Optional<DataSource>> replicaDataSources = new ConcurrentHashMap<>();
+    private final Map<Long, ReplicaLag> replicaLags = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long lastWritesPurgedAt = System.nanoTime();
+
+    public ReadReplicaRoutingService(FineractProperties fineractProperties,
+            DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, DatabaseTypeResolver databaseTypeResolver,
+            MultiNodeCacheManager multiNodeCacheManager) {
+        this.fineractProperties = fineractProperties;
+        this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
+        this.databaseTypeResolver = databaseTypeResolver;
+        this.multiNodeCacheManager = multiNodeCacheManager;
+        multiNodeCacheManager.addInvalidationListener(WRITES_CACHE_NAME, this::writeRecordedOnOtherNode);
+        if (isEnabled() && !multiNodeCacheManager.isCrossNodeInvalidationEnabled()) {
+            log.warn("Read replica routing is enabled without a multi node cache transport, read-your-writes only holds"
+                    + " when the users are kept on one node");
+        }
+    }
+
+    public RequestType classifyRequest(final String method, final String path) {
+        if (!"GET".equalsIgnoreCase(method)) {
+            return RequestType.WRITE;
+        }
+        final FineractReadReplicaProperties properties = fineractProperties.getReadReplica();
+        if (properties != null && path != null && properties.getWhitelistedGetPaths() != null) {
+            for (String whitelistedPath : properties.getWhitelistedGetPaths()) {
+                if (pathMatcher.match(whitelistedPath, path)) {
+                    return RequestType.WHITELISTED_READ;
+                }
+            }
+        }
+        return RequestType.READ;
+    }
+
+    /**
+     * @return the replica data source of the tenant if the connection of the current thread can be taken from it,
+     *         otherwise <code>null</code>
+     */
+    public DataSource retrieveReplicaDataSource(final FineractPlatformTenant tenant) {
+        if (!isEnabled() || !isReplicaRequested() || isWithinReadYourWritesWindow(tenant)) {
+            return null;
+        }
+        final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
+        final Long tenantConnectionKey = tenantConnection.getConnectionId();
+        final DataSource replicaDataSource = replicaDataSources
+                .computeIfAbsent(tenantConnectionKey,
+                        key -> Optional.ofNullable(dataSourcePerTenantServiceFactory.createNewReplicaDataSourceFor(tenantConnection)))
+                .orElse(null);
+        if (replicaDataSource == null || !isWithinMaxLag(tenantConnectionKey, replicaDataSource)) {
+            return null;
+        }
+        return replicaDataSource;
+    }
+
+    /**
+     * Starts the read-your-writes window of the current user, called when a read-write transaction of a write request
+     * commits.
+     */
+    public void recordWrite() {
+        if (!isEnabled() || ReadReplicaRoutingContext.getRequestType() != RequestType.WRITE
+                || !Boolean.FALSE.equals(ReadReplicaRoutingContext.isTransactionReadOnly())) {
+            return;
+        }
+        final String key = getReadYourWritesKey(ThreadLocalContextUtil.getTenant());
+        if (key == null) {
+            return;
+        }
+        lastWriteRecorded(key);
+        // published once the transaction completes its commit
+        multiNodeCacheManager.invalidate(WRITES_CACHE_NAME, key);
+    }
+
+    private void writeRecordedOnOtherNode(Object key) {
+        // a null key is a clear of every cache, it carries no write
+        if (key instanceof String userKey && isEnabled()) {
+            lastWriteRecorded(userKey);
+        }
+    }
+
+    private void lastWriteRecorded(String key) {
+        final long now = System.nanoTime();
+        lastWrites.put(key, now);
+        final long window = getReadYourWritesWindowNanos();
+        if (now - lastWritesPurgedAt > window) {
+            lastWritesPurgedAt = now;
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= window);
+        }
+    }
+
+    private boolean isEnabled() {
+        final FineractReadReplicaProperties properties = fineractProperties.getReadReplica();
+        // in read only mode the tenant data sources point to the read-only schema already
+        return properties != null && properties.isEnabled() && !fineractProperties.getMode().isReadOnlyMode();
+    }
+
+    private boolean isReplicaRequested() {
+        final RequestType requestType = ReadReplicaRoutingContext.getRequestType();
+        if (requestType == null || requestType == RequestType.WRITE) {
+            return false;
+        }
+        final Boolean transactionReadOnly = ReadReplicaRoutingContext.isTransactionReadOnly();
+        if (transactionReadOnly != null) {
+            return transactionReadOnly;
+        }
+        return requestType == RequestType.WHITELISTED_READ;
+    }
+
+    private boolean isWithinReadYourWritesWindow(final FineractPlatformTenant tenant) {
+        final String key = getReadYourWritesKey(tenant);
+        if (key == null) {
+            return false;
+        }
+        final Long lastWrite = lastWrites.get(key);
+        return lastWrite != null && System.nanoTime() - lastWrite < getReadYourWritesWindowNanos();
+    }
+
+    private String getReadYourWritesKey(final FineractPlatformTenant tenant) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tenant == null || authentication == null) {
+            return null;
+        }
+        return tenant.getTenantIdentifier() + ":" + authentication.getName();
+    }
+
+    private long getReadYourWritesWindowNanos() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getReadReplica().getReadYourWritesWindowSeconds());
+    }
+
+    private boolean isWithinMaxLag(final Long tenantConnectionKey, final DataSource replicaDataSource) {
+        final FineractReadReplicaProperties properties = fineractProperties.getReadReplica();
+        final long lagCheckInterval = TimeUnit.SECONDS.toNanos(properties.getLagCheckIntervalSeconds());
+        ReplicaLag replicaLag = replicaLags.get(tenantConnectionKey);
+        if (replicaLag == null || System.nanoTime() - replicaLag.checkedAt() >= lagCheckInterval) {
+            // concurrent checks of the same replica are harmless, the last one wins
+            replicaLag = new ReplicaLag(retrieveLagSeconds(replicaDataSource), System.nanoTime());
+            replicaLags.put(tenantConnectionKey, replicaLag);
+        }
+        return replicaLag.lagSeconds() != null && replicaLag.lagSeconds() <= properties.getMaxLagSeconds();
+    }
+
+    private Long retrieveLagSeconds(final DataSource replicaDataSource) {
+        try (Connection connection = replicaDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            if (databaseTypeResolver.isPostgreSQL()) {
+                try (ResultSet resultSet = statement.executeQuery(POSTGRESQL_LAG_QUERY)) {
+                    resultSet.next();
+                    final long lagSeconds = resultSet.getLong(1);
+                    return resultSet.wasNull() ? null : lagSeconds;
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery(MYSQL_LAG_QUERY)) {
+                if (!resultSet.next()) {
+                    // the read-only schema is not replicated, so it cannot lag
+                    return 0L;
+                }
+                final long lagSeconds = resultSet.getLong(findLagColumn(resultSet.getMetaData()));
+                return resultSet.wasNull() ? null : lagSeconds;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not retrieve the replication lag of the read replica, reading from the primary", e);
+            return null;
+        }
+    }
+
+    private String findLagColumn(final ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (MYSQL_LAG_COLUMNS.contains(metaData.getColumnLabel(i))) {
+                return metaData.getColumnLabel(i);
+            }
+        }
+        throw new SQLException("No replication lag column in " + MYSQL_LAG_QUERY);
+    }
+
+    private record ReplicaLag(Long lagSeconds, long checkedAt) {
+    }
+}
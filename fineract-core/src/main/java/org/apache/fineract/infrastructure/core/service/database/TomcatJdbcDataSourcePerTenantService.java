@@ -50,13 +50,16 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final ReadReplicaRoutingService readReplicaRoutingService;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final ReadReplicaRoutingService readReplicaRoutingService) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.readReplicaRoutingService = readReplicaRoutingService;
     }
 
     @Override
@@ -66,6 +69,10 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         if (tenant != null) {
+            final DataSource replicaDataSource = readReplicaRoutingService.retrieveReplicaDataSource(tenant);
+            if (replicaDataSource != null) {
+                return replicaDataSource;
+            }
             final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
             Long tenantConnectionKey = tenantConnection.getConnectionId();
             // if tenantConnection information available switch to the
@@ -27,12 +27,20 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Reads the result of the query with a forward-only cursor and passes the rows to the handler as they are fetched,
+     * without holding the whole result in memory.
+     */
+    void streamGenericResultSet(String sql, int fetchSize, GenericResultsetStreamHandler handler);
+
     List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(String tableName);
 
     List<ResultsetRowData> fillResultsetRowData(String sql, List<ResultsetColumnHeaderData> columnHeaders);
 
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    String generateJsonFromResultsetRow(List<ResultsetColumnHeaderData> columnHeaders, List<Object> row);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.business.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+
+/**
+ * Resolves the listeners of a business event by the concrete event class.
+ *
+ * The listeners are registered against an event type (which can be an interface or a superclass of the raised event).
+ * Resolving them means walking every registration, so the result is computed once per concrete event class and kept
+ * in a copy-on-write map. Reads don't lock and don't allocate; registering a new listener drops the computed entries.
+ */
+@SuppressWarnings({ "rawtypes" })
+final class BusinessEventListenerDispatchTable {
+
+    private static final BusinessEventListener[] NO_LISTENERS = new BusinessEventListener[0];
+
+    private final Map<Class, List<BusinessEventListener>> registrations = new LinkedHashMap<>();
+    private volatile Map<Class, BusinessEventListener[]> dispatchTable = Map.of();
+
+    synchronized void addListener(Class<?> eventType, BusinessEventListener listener) {
+        registrations.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
+        dispatchTable = Map.of();
+    }
+
+    /**
+     * @return the listeners registered for the event class or any of its supertypes, in registration order. The
+     *         returned array is shared between callers and must not be modified.
+     */
+    BusinessEventListener[] findListeners(Class<?> eventClazz) {
+        BusinessEventListener[] listeners = dispatchTable.get(eventClazz);
+        if (listeners != null) {
+            return listeners;
+        }
+        return resolveListeners(eventClazz);
+    }
+
+    private synchronized BusinessEventListener[] resolveListeners(Class<?> eventClazz) {
+        Map<Class, BusinessEventListener[]> currentTable = dispatchTable;
+        BusinessEventListener[] listeners = currentTable.get(eventClazz);
+        if (listeners != null) {
+            return listeners;
+        }
+        List<BusinessEventListener> result = new ArrayList<>();
+        for (Map.Entry<Class, List<BusinessEventListener>> entry : registrations.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClazz)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        listeners = result.isEmpty() ? NO_LISTENERS : result.toArray(NO_LISTENERS);
+        Map<Class, BusinessEventListener[]> newTable = new HashMap<>(currentTable);
+        newTable.put(eventClazz, listeners);
+        dispatchTable = newTable;
+        return listeners;
+    }
+}
@@ -19,17 +19,20 @@
 package org.apache.fineract.infrastructure.event.business.service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsCoalescingProperties;
 import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.NoExternalEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventConfigurationCache;
 import org.apache.fineract.infrastructure.event.external.service.ExternalEventService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
@@ -40,14 +43,14 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService, InitializingBean {
 
-    private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
-    private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    private final BusinessEventListenerDispatchTable preListeners = new BusinessEventListenerDispatchTable();
+    private final BusinessEventListenerDispatchTable postListeners = new BusinessEventListenerDispatchTable();
 
     private final ThreadLocal<Boolean> eventRecordingEnabled = ThreadLocal.withInitial(() -> false);
     private final ThreadLocal<List<BusinessEvent<?>>> recordedEvents = ThreadLocal.withInitial(ArrayList::new);
 
     private final ExternalEventService externalEventService;
-    private final ExternalEventConfigurationRepository eventConfigurationRepository;
+    private final ExternalEventConfigurationCache eventConfigurationCache;
     private final FineractProperties fineractProperties;
 
     @Override
@@ -62,7 +65,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(preListeners, businessEvent.getClass());
+        BusinessEventListener[] businessEventListeners = preListeners.findListeners(businessEvent.getClass());
         for (BusinessEventListener eventListener : businessEventListeners) {
             eventListener.onBusinessEvent(businessEvent);
         }
@@ -70,19 +73,14 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
 
     @Override
     public <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            preListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        preListeners.addListener(eventType, listener);
     }
 
     @Override
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
         boolean isExternalEvent = !(businessEvent instanceof NoExternalEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(postListeners, businessEvent.getClass());
+        BusinessEventListener[] businessEventListeners = postListeners.findListeners(businessEvent.getClass());
         for (BusinessEventListener eventListener : businessEventListeners) {
             eventListener.onBusinessEvent(businessEvent);
         }
@@ -98,25 +96,9 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         }
     }
 
-    private List<BusinessEventListener> findSuitableListeners(Map<Class, List<BusinessEventListener>> listeners, Class<?> eventClazz) {
-        List<BusinessEventListener> result = new ArrayList<>();
-        for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
-            Class<?> registeredClazz = entry.getKey();
-            if (registeredClazz.isAssignableFrom(eventClazz)) {
-                result.addAll(entry.getValue());
-            }
-        }
-        return result;
-    }
-
     @Override
     public <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            postListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        postListeners.addListener(eventType, listener);
     }
 
     private boolean isExternalEventRecordingEnabled() {
@@ -128,7 +110,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     }
 
     private boolean isExternalEventConfiguredForPosting(String eventType) {
-        return eventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(eventType).isEnabled();
+        return eventConfigurationCache.isEnabled(eventType);
     }
 
     private void throwExceptionIfBulkEvent(BusinessEvent<?> businessEvent) {
@@ -148,6 +130,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         try {
             List<BusinessEvent<?>> recordedBusinessEvents = recordedEvents.get();
             if (isExternalEventPostingEnabled()) {
+                recordedBusinessEvents = coalesce(recordedBusinessEvents);
                 if (recordedBusinessEvents.isEmpty()) {
                     log.debug("Not posting a BulkBusinessEvent since there were no events recorded");
                 } else {
@@ -165,9 +148,42 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         }
     }
 
+    /**
+     * Drops the recorded events which are superseded by a later event of the same type for the same aggregate root, for
+     * the event types configured to keep only the last one. These events describe the current state of the aggregate
+     * root and are serialized from it once the recording is stopped, hence the dropped events would carry the same
+     * payload as the one which is kept. The kept event stays at the position of the last occurrence.
+     */
+    private List<BusinessEvent<?>> coalesce(List<BusinessEvent<?>> businessEvents) {
+        FineractExternalEventsCoalescingProperties coalescing = fineractProperties.getEvents().getExternal().getCoalescing();
+        if (businessEvents.size() < 2 || coalescing == null || !coalescing.isEnabled()
+                || CollectionUtils.isEmpty(coalescing.getKeepLastPerAggregateRoot())) {
+            return businessEvents;
+        }
+        List<String> keepLastEventTypes = coalescing.getKeepLastPerAggregateRoot();
+        Set<CoalescingKey> keptEvents = new HashSet<>();
+        List<BusinessEvent<?>> coalescedEvents = new ArrayList<>(businessEvents.size());
+        for (int i = businessEvents.size() - 1; i >= 0; i--) {
+            BusinessEvent<?> businessEvent = businessEvents.get(i);
+            Long aggregateRootId = businessEvent.getAggregateRootId();
+            if (aggregateRootId == null || !keepLastEventTypes.contains(businessEvent.getType())
+                    || keptEvents.add(new CoalescingKey(businessEvent.getType(), aggregateRootId))) {
+                coalescedEvents.add(businessEvent);
+            }
+        }
+        Collections.reverse(coalescedEvents);
+        if (coalescedEvents.size() < businessEvents.size()) {
+            log.debug("Coalesced the recorded {} events into {} events", businessEvents.size(), coalescedEvents.size());
+        }
+        return coalescedEvents;
+    }
+
     @Override
     public void resetEventRecording() {
         eventRecordingEnabled.set(false);
         recordedEvents.remove();
     }
+
+    private record CoalescingKey(String type, Long aggregateRootId) {
+    }
 }
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.config;
+
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExternalEventSendConfiguration {
+
+    public static final String SEND_ASYNCHRONOUS_EVENTS_TASK_EXECUTOR_BEAN_NAME = "sendAsynchronousEventsTaskExecutor";
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Bean(SEND_ASYNCHRONOUS_EVENTS_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor sendAsynchronousEventsTaskExecutor() {
+        int serializationThreadCount = fineractProperties.getEvents().getExternal().getProducer().getSerializationThreadCount();
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        // the serialization threads, plus one for reading the next batch and one for sending the current one
+        threadPoolTaskExecutor.setCorePoolSize(Math.max(serializationThreadCount, 1) + 2);
+        threadPoolTaskExecutor.setThreadNamePrefix("externalEventSend");
+        return threadPoolTaskExecutor;
+    }
+}
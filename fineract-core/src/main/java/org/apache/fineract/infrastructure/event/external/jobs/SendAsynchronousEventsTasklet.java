@@ -19,55 +19,98 @@
 package org.apache.fineract.infrastructure.event.external.jobs;
 
 import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toList;
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.config.ExternalEventSendConfiguration;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventDataFormat;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageEnvelopeCodec;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Sends the queued external events to the downstream channel.
+ * <br>
+ * <br>
+ * The events are processed as a pipeline: while the messages of a batch are being sent, the next batch is read (by
+ * keyset on the event id) and serialized. Serialization is spread over several threads by aggregate root, so the
+ * events of an aggregate root keep their order, and the batches are sent one after the other. Every batch is marked as
+ * sent in its own transaction once the producer acknowledged it. A run ends when the queue is drained or when
+ * {@code fineract.events.external.producer.max-run-duration-in-seconds} is over (0 sends a single batch per run).
+ * Events committed out of id order behind the keyset are picked up by the next run, which starts from the oldest
+ * queued event again.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SendAsynchronousEventsTasklet implements Tasklet {
 
+    public static final String SENT_EVENTS_METRIC = "fineract.events.external.sent";
+    public static final String THROUGHPUT_METRIC = "fineract.events.external.throughput";
+    public static final String LAG_ROWS_METRIC = "fineract.events.external.lag.rows";
+    public static final String LAG_AGE_METRIC = "fineract.events.external.lag.age";
+
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
     private final ExternalEventProducer eventProducer;
     private final MessageFactory messageFactory;
     private final ByteBufferConverter byteBufferConverter;
+    private final MessageEnvelopeCodec messageEnvelopeCodec;
     private final ConfigurationDomainService configurationDomainService;
+    private final PlatformTransactionManager transactionManager;
+    @Qualifier(ExternalEventSendConfiguration.SEND_ASYNCHRONOUS_EVENTS_TASK_EXECUTOR_BEAN_NAME)
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, TenantMetrics> tenantMetrics = new ConcurrentHashMap<>();
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             if (isDownstreamChannelEnabled()) {
-                List<ExternalEventView> events = getQueuedEventsBatch();
-                log.debug("Queued events size: {}", events.size());
-                sendEvents(events);
+                sendQueuedEvents();
             }
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
@@ -80,18 +123,61 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
                 || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
     }
 
-    private List<ExternalEventView> getQueuedEventsBatch() {
-        int readBatchSize = getBatchSize();
+    private void sendQueuedEvents() {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final TenantMetrics metrics = getTenantMetrics();
+        final int batchSize = getBatchSize();
+        final long startedAt = System.nanoTime();
+        final long deadline = startedAt + Duration.ofSeconds(getMaxRunDurationInSeconds()).toNanos();
+        final AtomicLong sentEvents = new AtomicLong();
+        CompletableFuture<Integer> sending = CompletableFuture.completedFuture(0);
+        try {
+            List<ExternalEventView> events = getQueuedEventsBatch(batchSize);
+            log.debug("Queued events size: {}", events.size());
+            while (!events.isEmpty()) {
+                CompletableFuture<List<ExternalEventView>> nextEvents = CompletableFuture.completedFuture(List.of());
+                if (events.size() == batchSize && getMaxRunDurationInSeconds() > 0 && System.nanoTime() < deadline) {
+                    Long lastEventId = events.get(events.size() - 1).getId();
+                    nextEvents = CompletableFuture.supplyAsync(withContext(context, () -> getQueuedEventsBatchAfter(lastEventId, batchSize)),
+                            taskExecutor);
+                }
+                Map<Long, List<byte[]>> partitions = generatePartitions(events, context);
+                List<Long> eventIds = events.stream().map(ExternalEventView::getId).toList();
+                // the previous batch has to be acknowledged before sending the next one to keep the order of events
+                sending.join();
+                sending = CompletableFuture.supplyAsync(withContext(context, () -> sendEvents(partitions, eventIds)), taskExecutor)
+                        .thenApply(sentCount -> {
+                            sentEvents.addAndGet(sentCount);
+                            metrics.sentEvents.increment(sentCount);
+                            return sentCount;
+                        });
+                events = nextEvents.join();
+            }
+            sending.join();
+        } finally {
+            // don't let the next run overlap with a send which is still in flight
+            sending.exceptionally(e -> 0).join();
+            recordThroughput(metrics, sentEvents.get(), Duration.ofNanos(System.nanoTime() - startedAt));
+            recordLag(metrics);
+        }
+    }
+
+    private List<ExternalEventView> getQueuedEventsBatch(int readBatchSize) {
         Pageable batchSize = PageRequest.ofSize(readBatchSize);
         return measure(() -> repository.findByStatusOrderById(ExternalEventStatus.TO_BE_SENT, batchSize),
                 (events, timeTaken) -> log.debug("Loaded {} events in {}ms", events.size(), timeTaken.toMillis()));
     }
 
-    private void sendEvents(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
-        List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
+    private List<ExternalEventView> getQueuedEventsBatchAfter(Long eventId, int readBatchSize) {
+        Pageable batchSize = PageRequest.ofSize(readBatchSize);
+        return measure(() -> repository.findByStatusAndIdGreaterThanOrderById(ExternalEventStatus.TO_BE_SENT, eventId, batchSize),
+                (events, timeTaken) -> log.debug("Loaded {} events after id {} in {}ms", events.size(), eventId, timeTaken.toMillis()));
+    }
+
+    private int sendEvents(Map<Long, List<byte[]>> partitions, List<Long> eventIds) {
         sendEventsToProducer(partitions);
         markEventsAsSent(eventIds);
+        return eventIds.size();
     }
 
     private void sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
@@ -100,44 +186,69 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
 
     private void markEventsAsSent(List<Long> eventIds) {
         OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
 
         // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
         List<List<Long>> partitions = Lists.partition(eventIds, 5_000);
-        partitions.forEach(partitionedEventIds -> {
+        transactionTemplate.executeWithoutResult(status -> partitions.forEach(partitionedEventIds -> {
             measure(() -> {
                 repository.markEventsSent(partitionedEventIds, sentAt);
             }, timeTaken -> {
                 log.debug("Took {}ms to update {} events", timeTaken.toMillis(), partitionedEventIds.size());
             });
-        });
+        }));
     }
 
-    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents) {
+    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents, FineractContext context) {
         Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream().collect(groupingBy(externalEvent -> {
             Long aggregateRootId = externalEvent.getAggregateRootId();
             if (aggregateRootId == null) {
                 aggregateRootId = -1L;
             }
             return aggregateRootId;
-        }));
-        Map<Long, List<byte[]>> partitions = measure(
-                () -> initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue()))),
-                timeTaken -> {
-                    log.debug("Took {}ms to create message partitions", timeTaken.toMillis());
-                });
+        }, LinkedHashMap::new, toList()));
+        return measure(() -> createMessagePartitions(initialPartitions, context), timeTaken -> {
+            log.debug("Took {}ms to create message partitions", timeTaken.toMillis());
+        });
+    }
+
+    private Map<Long, List<byte[]>> createMessagePartitions(Map<Long, List<ExternalEventView>> initialPartitions, FineractContext context) {
+        int threadCount = Math.min(getSerializationThreadCount(), initialPartitions.size());
+        if (threadCount <= 1) {
+            return createMessages(new ArrayList<>(initialPartitions.entrySet()));
+        }
+        // every aggregate root goes to exactly one thread, so its events are serialized in order
+        List<List<Map.Entry<Long, List<ExternalEventView>>>> slices = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            slices.add(new ArrayList<>());
+        }
+        int index = 0;
+        for (Map.Entry<Long, List<ExternalEventView>> partition : initialPartitions.entrySet()) {
+            slices.get(index++ % threadCount).add(partition);
+        }
+        List<CompletableFuture<Map<Long, List<byte[]>>>> serializations = slices.stream()
+                .map(slice -> CompletableFuture.supplyAsync(withContext(context, () -> createMessages(slice)), taskExecutor)).toList();
+        Map<Long, List<byte[]>> partitions = new HashMap<>();
+        serializations.forEach(serialization -> partitions.putAll(serialization.join()));
         return partitions;
     }
 
+    private Map<Long, List<byte[]>> createMessages(List<Map.Entry<Long, List<ExternalEventView>>> partitions) {
+        Map<Long, List<byte[]>> result = new HashMap<>();
+        for (Map.Entry<Long, List<ExternalEventView>> partition : partitions) {
+            result.put(partition.getKey(), createMessages(partition.getValue()));
+        }
+        return result;
+    }
+
     private List<byte[]> createMessages(List<ExternalEventView> events) {
         try {
             List<byte[]> messages = new ArrayList<>();
             for (ExternalEventView event : events) {
-                MessageV1 message = messageFactory.createMessage(event);
-                ByteBuffer toByteBuffer = message.toByteBuffer();
-                byte[] convert = byteBufferConverter.convert(toByteBuffer);
-                messages.add(convert);
-                log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
-                        message.getIdempotencyKey());
+                messages.add(createMessage(event));
+                log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", event.getId(), event.getType(),
+                        event.getIdempotencyKey());
             }
             return messages;
         } catch (IOException e) {
@@ -145,9 +256,90 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         }
     }
 
+    private byte[] createMessage(ExternalEventView event) throws IOException {
+        if (event.getDataFormat() == ExternalEventDataFormat.MESSAGE_ENVELOPE) {
+            // the envelope was built when the event was raised, only the message id is missing
+            return messageEnvelopeCodec.toMessage(event.getData(), event.getId().intValue());
+        }
+        MessageV1 message = messageFactory.createMessage(event);
+        ByteBuffer toByteBuffer = message.toByteBuffer();
+        return byteBufferConverter.convert(toByteBuffer);
+    }
+
+    /**
+     * Runs the task with the tenant context of the tasklet when it gets executed on another thread.
+     */
+    private <T> Supplier<T> withContext(FineractContext context, Supplier<T> task) {
+        return () -> {
+            boolean foreignThread = ThreadLocalContextUtil.getTenant() == null;
+            if (foreignThread) {
+                ThreadLocalContextUtil.init(context);
+            }
+            try {
+                return task.get();
+            } finally {
+                if (foreignThread) {
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+        };
+    }
+
+    private void recordThroughput(TenantMetrics metrics, long sentEvents, Duration timeTaken) {
+        if (sentEvents > 0) {
+            long eventsPerSecond = timeTaken.toMillis() == 0 ? sentEvents : sentEvents * 1000 / timeTaken.toMillis();
+            metrics.eventsPerSecond.set(eventsPerSecond);
+            log.debug("Sent {} events in {}ms ({} events/s)", sentEvents, timeTaken.toMillis(), eventsPerSecond);
+        } else {
+            metrics.eventsPerSecond.set(0);
+        }
+    }
+
+    private void recordLag(TenantMetrics metrics) {
+        try {
+            metrics.lagRows.set(repository.countByStatus(ExternalEventStatus.TO_BE_SENT));
+            OffsetDateTime oldestCreatedAt = repository.findOldestCreatedAtByStatus(ExternalEventStatus.TO_BE_SENT);
+            metrics.lagAgeSeconds.set(oldestCreatedAt == null ? 0
+                    : Math.max(0, Duration.between(oldestCreatedAt, DateUtils.getAuditOffsetDateTime()).toSeconds()));
+        } catch (RuntimeException e) {
+            log.warn("Could not determine the external event lag", e);
+        }
+    }
+
+    private TenantMetrics getTenantMetrics() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        return tenantMetrics.computeIfAbsent(tenantIdentifier, tenant -> new TenantMetrics(meterRegistry, tenant));
+    }
+
     private int getBatchSize() {
         Long externalEventBatchSize = configurationDomainService.retrieveExternalEventBatchSize();
         return externalEventBatchSize.intValue();
     }
 
+    private int getSerializationThreadCount() {
+        return fineractProperties.getEvents().getExternal().getProducer().getSerializationThreadCount();
+    }
+
+    private int getMaxRunDurationInSeconds() {
+        return fineractProperties.getEvents().getExternal().getProducer().getMaxRunDurationInSeconds();
+    }
+
+    private static final class TenantMetrics {
+
+        private final Counter sentEvents;
+        private final AtomicLong eventsPerSecond = new AtomicLong();
+        private final AtomicLong lagRows = new AtomicLong();
+        private final AtomicLong lagAgeSeconds = new AtomicLong();
+
+        private TenantMetrics(MeterRegistry meterRegistry, String tenant) {
+            sentEvents = Counter.builder(SENT_EVENTS_METRIC).description("External events sent downstream").tag("tenant", tenant)
+                    .register(meterRegistry);
+            Gauge.builder(THROUGHPUT_METRIC, eventsPerSecond, AtomicLong::get).description("Events sent per second in the last run")
+                    .baseUnit("events/s").tag("tenant", tenant).register(meterRegistry);
+            Gauge.builder(LAG_ROWS_METRIC, lagRows, AtomicLong::get).description("External events waiting to be sent").tag("tenant", tenant)
+                    .register(meterRegistry);
+            Gauge.builder(LAG_AGE_METRIC, lagAgeSeconds, AtomicLong::get).description("Age of the oldest external event waiting to be sent")
+                    .baseUnit("seconds").tag("tenant", tenant).register(meterRegistry);
+        }
+    }
 }
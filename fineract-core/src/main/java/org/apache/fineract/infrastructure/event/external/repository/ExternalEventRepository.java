@@ -35,6 +35,13 @@ public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Lo
 
     List<ExternalEventView> findByStatusOrderById(ExternalEventStatus status, Pageable batchSize);
 
+    List<ExternalEventView> findByStatusAndIdGreaterThanOrderById(ExternalEventStatus status, Long id, Pageable batchSize);
+
+    long countByStatus(ExternalEventStatus status);
+
+    @Query("select min(e.createdAt) from ExternalEvent e where e.status = :status")
+    OffsetDateTime findOldestCreatedAtByStatus(@Param("status") ExternalEventStatus status);
+
     @Modifying(flushAutomatically = true)
     @Query("delete from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithSentStatus(@Param("status") ExternalEventStatus status,
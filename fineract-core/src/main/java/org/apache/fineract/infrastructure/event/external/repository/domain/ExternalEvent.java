@@ -73,6 +73,10 @@ public class ExternalEvent extends AbstractPersistableCustom {
     @Column(name = "aggregate_root_id", nullable = true)
     private Long aggregateRootId;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_format", nullable = false)
+    private ExternalEventDataFormat dataFormat;
+
     public ExternalEvent(String type, String category, String schema, byte[] data, String idempotencyKey, Long aggregateRootId) {
         this.type = type;
         this.category = category;
@@ -83,5 +87,11 @@ public class ExternalEvent extends AbstractPersistableCustom {
         this.createdAt = DateUtils.getAuditOffsetDateTime();
         this.status = ExternalEventStatus.TO_BE_SENT;
         this.businessDate = DateUtils.getBusinessLocalDate();
+        this.dataFormat = ExternalEventDataFormat.PAYLOAD;
+    }
+
+    public void useMessageEnvelope(byte[] messageEnvelope) {
+        this.data = messageEnvelope;
+        this.dataFormat = ExternalEventDataFormat.MESSAGE_ENVELOPE;
     }
 }
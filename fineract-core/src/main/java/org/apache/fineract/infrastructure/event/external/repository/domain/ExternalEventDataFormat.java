@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.repository.domain;
+
+/**
+ * The content of {@link ExternalEvent#getData()}.
+ */
+public enum ExternalEventDataFormat {
+
+    /**
+     * The Avro encoded payload of the event, it is wrapped into a MessageV1 when the event gets sent.
+     */
+    PAYLOAD,
+    /**
+     * The Avro encoded MessageV1 envelope of the event, built when the event was raised. The message id is not part of
+     * it since the id of the event is not known at that point, it is added when the event gets sent.
+     */
+    MESSAGE_ENVELOPE
+}
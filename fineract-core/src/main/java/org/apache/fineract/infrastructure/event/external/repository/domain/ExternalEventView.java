@@ -44,4 +44,6 @@ public interface ExternalEventView {
     LocalDate getBusinessDate();
 
     Long getAggregateRootId();
+
+    ExternalEventDataFormat getDataFormat();
 }
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory snapshot of the external event configuration table, one per tenant, so that deciding whether a business
+ * event has to be posted as an external event does not need a database round trip.
+ * <br>
+ * <br>
+ * The snapshot of a tenant is loaded on first use and dropped when the configuration changes, see
+ * {@link TenantSnapshotCache}.
+ */
+@Slf4j
+@Component
+public class ExternalEventConfigurationCache extends TenantSnapshotCache<String, Map<String, Boolean>> {
+
+    public static final String CACHE_NAME = "externalEventConfigurations";
+    public static final String HIT_METRIC = "fineract.events.external.configuration.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.events.external.configuration.cache.refreshes";
+
+    private static final String SNAPSHOT = "configurations";
+
+    private final ExternalEventConfigurationRepository repository;
+
+    public ExternalEventConfigurationCache(ExternalEventConfigurationRepository repository, MultiNodeCacheManager multiNodeCacheManager,
+            MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.repository = repository;
+    }
+
+    /**
+     * @return whether the given external event type is enabled for the current tenant
+     * @throws ExternalEventConfigurationNotFoundException
+     *             if the event type has no configuration
+     */
+    public boolean isEnabled(String externalEventType) {
+        final Boolean enabled = get(SNAPSHOT, key -> load()).get(externalEventType);
+        if (enabled == null) {
+            throw new ExternalEventConfigurationNotFoundException(externalEventType);
+        }
+        return enabled;
+    }
+
+    /**
+     * Drops the snapshot of the current tenant on every node.
+     */
+    public void refresh() {
+        invalidateTenant();
+    }
+
+    private Map<String, Boolean> load() {
+        log.debug("Loading the external event configuration of tenant {}", getTenantIdentifier());
+        final Map<String, Boolean> snapshot = new HashMap<>();
+        for (ExternalEventConfiguration configuration : repository.findAll()) {
+            snapshot.put(configuration.getType(), configuration.isEnabled());
+        }
+        return Map.copyOf(snapshot);
+    }
+}
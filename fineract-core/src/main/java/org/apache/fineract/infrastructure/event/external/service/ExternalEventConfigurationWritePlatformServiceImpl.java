@@ -39,6 +39,7 @@ public class ExternalEventConfigurationWritePlatformServiceImpl implements Exter
 
     private final ExternalEventConfigurationRepository repository;
     private final ExternalEventConfigurationCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final ExternalEventConfigurationCache configurationCache;
 
     @Transactional
     @Override
@@ -59,6 +60,7 @@ public class ExternalEventConfigurationWritePlatformServiceImpl implements Exter
 
         if (!modifiedConfigurations.isEmpty()) {
             this.repository.saveAll(modifiedConfigurations);
+            this.configurationCache.refresh();
         }
 
         if (!changedConfigurations.isEmpty()) {
@@ -36,9 +36,12 @@ import org.apache.fineract.infrastructure.event.external.repository.ExternalEven
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageEnvelopeCodec;
+import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializationScope;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializerFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.eclipse.persistence.sessions.UnitOfWork;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,6 +57,8 @@ public class ExternalEventService {
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
+    private final MessageEnvelopeCodec messageEnvelopeCodec;
+    private final BusinessEventSerializationScope serializationScope;
 
     private EntityManager entityManager;
 
@@ -70,6 +75,9 @@ public class ExternalEventService {
             } else {
                 externalEvent = handleRegularBusinessEvent(event);
             }
+            if (messageEnvelopeCodec.isEnabled()) {
+                externalEvent.useMessageEnvelope(messageEnvelopeCodec.createEnvelope(externalEvent));
+            }
             repository.save(externalEvent);
             log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
                     externalEvent.getType(), externalEvent.getCategory());
@@ -111,7 +119,16 @@ public class ExternalEventService {
     }
 
     private void flushChangesBeforeSerialization() {
-        entityManager.flush();
+        if (hasPendingChanges()) {
+            entityManager.flush();
+            // the data read for the earlier events of the transaction is outdated now
+            serializationScope.invalidate();
+        }
+    }
+
+    private boolean hasPendingChanges() {
+        UnitOfWork unitOfWork = entityManager.unwrap(UnitOfWork.class);
+        return unitOfWork == null || unitOfWork.hasChanges();
     }
 
     @PersistenceContext
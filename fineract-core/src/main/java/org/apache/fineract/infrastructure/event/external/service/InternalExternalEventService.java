@@ -21,6 +21,7 @@ package org.apache.fineract.infrastructure.event.external.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
@@ -34,6 +35,8 @@ import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.infrastructure.core.boot.FineractProfiles;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventDataFormat;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageEnvelopeCodec;
 import org.apache.fineract.infrastructure.event.external.service.validation.ExternalEventDTO;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.domain.Specification;
@@ -46,6 +49,7 @@ import org.springframework.stereotype.Service;
 public class InternalExternalEventService {
 
     private final ExternalEventRepository externalEventRepository;
+    private final MessageEnvelopeCodec messageEnvelopeCodec;
 
     public void deleteAllExternalEvents() {
         externalEventRepository.deleteAll();
@@ -103,7 +107,7 @@ public class InternalExternalEventService {
         List<ExternalEventDTO> eventMessages = new ArrayList<>();
         for (ExternalEvent externalEvent : externalEvents) {
             Class<?> payLoadClass = Class.forName(externalEvent.getSchema());
-            ByteBuffer byteBuffer = ByteBuffer.wrap(externalEvent.getData());
+            ByteBuffer byteBuffer = getPayload(externalEvent);
             Method method = payLoadClass.getMethod("fromByteBuffer", ByteBuffer.class);
             Object payLoad = method.invoke(null, byteBuffer);
             if (externalEvent.getType().equalsIgnoreCase("BulkBusinessEvent")) {
@@ -129,6 +133,17 @@ public class InternalExternalEventService {
         return eventMessages;
     }
 
+    private ByteBuffer getPayload(ExternalEvent externalEvent) {
+        if (externalEvent.getDataFormat() == ExternalEventDataFormat.MESSAGE_ENVELOPE) {
+            try {
+                return messageEnvelopeCodec.getPayload(externalEvent.getData());
+            } catch (IOException e) {
+                throw new RuntimeException("Error while reading the message envelope of external event " + externalEvent.getId(), e);
+            }
+        }
+        return ByteBuffer.wrap(externalEvent.getData());
+    }
+
     private ExternalEventDTO retrieveBulkMessage(BulkMessageItemV1 messageItem, ExternalEvent externalEvent) throws ClassNotFoundException,
             InvocationTargetException, IllegalAccessException, NoSuchMethodException, JsonProcessingException {
         Class<?> messageBulkMessagePayLoad = Class.forName(messageItem.getDataschema());
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service.message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventDataFormat;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the {@link MessageV1} envelope of an external event when the event is raised, so the sender does not have to
+ * decode and encode the payload again.
+ * <br>
+ * <br>
+ * The id of the message is the id of the event, which is only known after the insert. The id is the first field of
+ * MessageV1 and in the Avro binary encoding the fields simply follow each other, so the envelope is stored without the
+ * id and the sender inserts the encoded id after the single object encoding header. See
+ * {@link ExternalEventDataFormat#MESSAGE_ENVELOPE}.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageEnvelopeCodec {
+
+    // Avro single object encoding: 2 byte marker followed by the 8 byte fingerprint of the schema
+    private static final int SINGLE_OBJECT_HEADER_LENGTH = 10;
+    private static final byte SINGLE_OBJECT_MARKER_1 = (byte) 0xC3;
+    private static final byte SINGLE_OBJECT_MARKER_2 = (byte) 0x01;
+    // the encoded form of the message id 0, see MessageFactory.createMessageWithoutId
+    private static final byte ENCODED_PLACEHOLDER_ID = 0;
+
+    private final MessageFactory messageFactory;
+    private final FineractProperties fineractProperties;
+
+    public boolean isEnabled() {
+        return fineractProperties.getEvents().getExternal().getProducer().isPrebuiltMessageEnvelopeEnabled();
+    }
+
+    /**
+     * @return the encoded MessageV1 of the not yet saved event, without the message id
+     */
+    public byte[] createEnvelope(ExternalEvent event) throws IOException {
+        ByteBuffer buffer = messageFactory.createMessageWithoutId(event).toByteBuffer();
+        int start = buffer.position();
+        if (buffer.remaining() <= SINGLE_OBJECT_HEADER_LENGTH || buffer.get(start) != SINGLE_OBJECT_MARKER_1
+                || buffer.get(start + 1) != SINGLE_OBJECT_MARKER_2 || buffer.get(start + SINGLE_OBJECT_HEADER_LENGTH) != ENCODED_PLACEHOLDER_ID) {
+            throw new IllegalStateException("Unexpected encoding of MessageV1");
+        }
+        byte[] envelope = new byte[buffer.remaining() - 1];
+        buffer.get(envelope, 0, SINGLE_OBJECT_HEADER_LENGTH);
+        buffer.position(start + SINGLE_OBJECT_HEADER_LENGTH + 1);
+        buffer.get(envelope, SINGLE_OBJECT_HEADER_LENGTH, envelope.length - SINGLE_OBJECT_HEADER_LENGTH);
+        return envelope;
+    }
+
+    /**
+     * @return the encoded MessageV1 ready to be sent, the stored envelope with the message id inserted
+     */
+    public byte[] toMessage(byte[] envelope, int messageId) {
+        // Avro encodes an int as a zig-zag variable length number
+        int encodedId = (messageId << 1) ^ (messageId >> 31);
+        int idLength = 1;
+        for (int remaining = encodedId >>> 7; remaining != 0; remaining >>>= 7) {
+            idLength++;
+        }
+        byte[] message = new byte[envelope.length + idLength];
+        System.arraycopy(envelope, 0, message, 0, SINGLE_OBJECT_HEADER_LENGTH);
+        int position = SINGLE_OBJECT_HEADER_LENGTH;
+        while ((encodedId & ~0x7F) != 0) {
+            message[position++] = (byte) ((encodedId & 0x7F) | 0x80);
+            encodedId >>>= 7;
+        }
+        message[position++] = (byte) encodedId;
+        System.arraycopy(envelope, SINGLE_OBJECT_HEADER_LENGTH, message, position, envelope.length - SINGLE_OBJECT_HEADER_LENGTH);
+        return message;
+    }
+
+    /**
+     * @return the Avro encoded payload of the event stored in the envelope
+     */
+    public ByteBuffer getPayload(byte[] envelope) throws IOException {
+        return MessageV1.fromByteBuffer(ByteBuffer.wrap(toMessage(envelope, 0))).getData();
+    }
+}
@@ -31,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
 import org.apache.fineract.infrastructure.event.external.service.message.domain.MessageBusinessDate;
 import org.apache.fineract.infrastructure.event.external.service.message.domain.MessageCategory;
@@ -95,6 +96,22 @@ public class MessageFactory implements InitializingBean {
         return createMessage(id, source, type, category, createdAt, businessDate, idempotencyKey, dataSchema, data);
     }
 
+    /**
+     * Creates the message of an event which has not been saved yet, so the message id is left at 0.
+     */
+    public MessageV1 createMessageWithoutId(ExternalEvent event) {
+        MessageId id = new MessageId(0);
+        MessageSource source = new MessageSource(SOURCE_UUID);
+        MessageType type = new MessageType(event.getType());
+        MessageCategory category = new MessageCategory(event.getCategory());
+        MessageCreatedAt createdAt = new MessageCreatedAt(event.getCreatedAt());
+        MessageBusinessDate businessDate = new MessageBusinessDate(event.getBusinessDate());
+        MessageIdempotencyKey idempotencyKey = new MessageIdempotencyKey(event.getIdempotencyKey());
+        MessageDataSchema dataSchema = new MessageDataSchema(event.getSchema());
+        MessageData data = new MessageData(byteBufferConverter.convert(event.getData()));
+        return createMessage(id, source, type, category, createdAt, businessDate, idempotencyKey, dataSchema, data);
+    }
+
     private String getTenantId() {
         return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
     }
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service.serialization.serializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Lets the serializers share the data they read while the events of one transaction are serialized.
+ * <br>
+ * <br>
+ * The snapshots live until the transaction completes, so e.g. the loan events of a COB business step chain or of one
+ * command read the loan only once, whether they are posted immediately or in a bulk event.
+ * {@link org.apache.fineract.infrastructure.event.external.service.ExternalEventService} drops them by
+ * {@link #invalidate()} whenever it flushes pending changes before a serialization, and the serializers put the version
+ * of the aggregate into the key, so a snapshot is never served for an aggregate which changed since it was read.
+ * Changes written with plain JDBC bypass both, such services must post their events before the next read or call
+ * {@link #invalidate()}. Outside of a transaction nothing is shared.
+ */
+@Component
+public class BusinessEventSerializationScope {
+
+    /**
+     * @return the snapshot read for the given key in the current transaction, read with the given loader the first
+     *         time; the loader is called every time when no transaction is active
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> V computeIfAbsent(final K key, final Function<K, V> loader) {
+        final Map<Object, Object> snapshots = getSnapshots();
+        if (snapshots == null) {
+            return loader.apply(key);
+        }
+        V snapshot = (V) snapshots.get(key);
+        if (snapshot == null) {
+            snapshot = loader.apply(key);
+            snapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops the snapshots of the current transaction, to be called when the database changed since they were read.
+     */
+    public void invalidate() {
+        final Map<Object, Object> snapshots = getSnapshots();
+        if (snapshots != null) {
+            snapshots.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> getSnapshots() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Object, Object> snapshots = (Map<Object, Object>) TransactionSynchronizationManager.getResource(this);
+        if (snapshots == null) {
+            final Map<Object, Object> transactionSnapshots = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionSnapshots);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BusinessEventSerializationScope.this);
+                }
+            });
+            snapshots = transactionSnapshots;
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayStatusType;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
+
+/**
+ * Precomputed calendar of an office: the working days of the tenant and the active holidays of the office, with one
+ * bit per day over a horizon of dates, so that checking whether a date is a working day or a holiday does not evaluate
+ * the working days recurrence or go through the holidays every time.
+ * <br>
+ * <br>
+ * Dates outside the horizon are checked against the working days and the holidays directly, which gives the same
+ * answers. Instances are immutable and shared between threads, so they keep the holidays as {@link HolidayPeriod}
+ * values rather than the entities they were built from.
+ */
+public final class OfficeCalendar {
+
+    @Getter
+    private final LocalDate horizonStart;
+    @Getter
+    private final LocalDate horizonEnd;
+    private final WorkingDays workingDays;
+    private final BitSet nonWorkingDays;
+    private final List<HolidayPeriod> holidays;
+    private final BitSet holidayDays;
+
+    private OfficeCalendar(LocalDate horizonStart, LocalDate horizonEnd, WorkingDays workingDays, BitSet nonWorkingDays,
+            List<HolidayPeriod> holidays, BitSet holidayDays) {
+        this.horizonStart = horizonStart;
+        this.horizonEnd = horizonEnd;
+        this.workingDays = workingDays;
+        this.nonWorkingDays = nonWorkingDays;
+        this.holidays = holidays;
+        this.holidayDays = holidayDays;
+    }
+
+    /**
+     * @return the non working days of the given working days between the given dates (both inclusive), one bit per day
+     *         starting from the first date
+     */
+    public static BitSet nonWorkingDays(final WorkingDays workingDays, final LocalDate horizonStart, final LocalDate horizonEnd) {
+        final int days = (int) ChronoUnit.DAYS.between(horizonStart, horizonEnd) + 1;
+        final BitSet nonWorkingDays = new BitSet(days);
+        LocalDate date = horizonStart;
+        for (int day = 0; day < days; day++) {
+            if (!WorkingDaysUtil.isWorkingDay(workingDays, date)) {
+                nonWorkingDays.set(day);
+            }
+            date = date.plusDays(1);
+        }
+        return nonWorkingDays;
+    }
+
+    /**
+     * Creates the calendar of an office.
+     *
+     * @param nonWorkingDays
+     *            the non working days over the horizon, as calculated by
+     *            {@link #nonWorkingDays(WorkingDays, LocalDate, LocalDate)}; owned by the calendar from now on
+     * @param holidays
+     *            all the active holidays of the office, only their values are kept
+     */
+    public static OfficeCalendar of(final LocalDate horizonStart, final LocalDate horizonEnd, final WorkingDays workingDays,
+            final BitSet nonWorkingDays, final List<Holiday> holidays) {
+        final BitSet holidayDays = new BitSet();
+        for (final Holiday holiday : holidays) {
+            final LocalDate from = DateUtils.isBefore(holiday.getFromDate(), horizonStart) ? horizonStart : holiday.getFromDate();
+            final LocalDate to = DateUtils.isAfter(holiday.getToDate(), horizonEnd) ? horizonEnd : holiday.getToDate();
+            if (!DateUtils.isAfter(from, to)) {
+                holidayDays.set(dayOfHorizon(horizonStart, from), dayOfHorizon(horizonStart, to) + 1);
+            }
+        }
+        final WorkingDays workingDaysCopy = copyOf(workingDays);
+        final List<HolidayPeriod> holidayPeriods = holidays.stream().map(HolidayPeriod::of).toList();
+        return new OfficeCalendar(horizonStart, horizonEnd, workingDaysCopy, nonWorkingDays, holidayPeriods, holidayDays);
+    }
+
+    public boolean isWorkingDay(final LocalDate date) {
+        if (isWithinHorizon(date)) {
+            return !nonWorkingDays.get(dayOfHorizon(horizonStart, date));
+        }
+        return WorkingDaysUtil.isWorkingDay(workingDays, date);
+    }
+
+    public boolean isNonWorkingDay(final LocalDate date) {
+        return !isWorkingDay(date);
+    }
+
+    public boolean isHoliday(final LocalDate date) {
+        if (isWithinHorizon(date)) {
+            return holidayDays.get(dayOfHorizon(horizonStart, date));
+        }
+        for (final HolidayPeriod holiday : holidays) {
+            if (holiday.includes(date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the active holidays of the office that end on or after the given date, the same holidays the holiday
+     *         repository returns for the office and date; they are new, unmanaged instances which the caller is free to
+     *         change
+     */
+    public List<Holiday> getHolidaysFrom(final LocalDate date) {
+        final List<Holiday> holidaysFrom = new ArrayList<>();
+        if (date == null) {
+            return holidaysFrom;
+        }
+        for (final HolidayPeriod holiday : holidays) {
+            if (!DateUtils.isBefore(holiday.toDate(), date)) {
+                holidaysFrom.add(holiday.toHoliday());
+            }
+        }
+        return holidaysFrom;
+    }
+
+    /**
+     * @return a copy of the working days of the tenant; callers are free to change it (the schedule generators change
+     *         the repayment rescheduling type for daily repayments)
+     */
+    public WorkingDays getWorkingDays() {
+        return copyOf(workingDays);
+    }
+
+    private boolean isWithinHorizon(final LocalDate date) {
+        return !DateUtils.isBefore(date, horizonStart) && !DateUtils.isAfter(date, horizonEnd);
+    }
+
+    private static int dayOfHorizon(final LocalDate horizonStart, final LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(horizonStart, date);
+    }
+
+    private static WorkingDays copyOf(final WorkingDays workingDays) {
+        return new WorkingDays(workingDays.getRecurrence(), workingDays.getRepaymentReschedulingType(),
+                workingDays.getExtendTermForDailyRepayments(), workingDays.getExtendTermForRepaymentsOnHolidays());
+    }
+
+    /**
+     * The values of an active holiday which the schedule generation and the date validation use.
+     */
+    public record HolidayPeriod(Long id, String name, LocalDate fromDate, LocalDate toDate, RescheduleType rescheduleType,
+            LocalDate repaymentsRescheduledTo) {
+
+        public static HolidayPeriod of(final Holiday holiday) {
+            return new HolidayPeriod(holiday.getId(), holiday.getName(), holiday.getFromDate(), holiday.getToDate(),
+                    holiday.getReScheduleType(), holiday.getRepaymentsRescheduledTo());
+        }
+
+        public boolean includes(final LocalDate date) {
+            return !DateUtils.isBefore(date, fromDate) && !DateUtils.isAfter(date, toDate);
+        }
+
+        Holiday toHoliday() {
+            final Holiday holiday = new Holiday().setName(name).setFromDate(fromDate).setToDate(toDate)
+                    .setReschedulingType(rescheduleType.getValue()).setRepaymentsRescheduledTo(repaymentsRescheduledTo)
+                    .setStatus(HolidayStatusType.ACTIVE.getValue());
+            holiday.setId(id);
+            return holiday;
+        }
+    }
+}
@@ -32,6 +32,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.extern.slf4j.Slf4j;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateList;
@@ -60,6 +62,11 @@ public final class CalendarUtils {
 
     public static final String FLOATING_TIMEZONE_PROPERTY_KEY = "net.fortuna.ical4j.timezone.date.floating";
 
+    // recurring rules are few (one per meeting frequency/interval/day and the working days), the limit only guards
+    // against unbounded growth
+    private static final int COMPILED_RECURRENCES_LIMIT = 1000;
+    private static final ConcurrentMap<String, CompiledRecurrence> COMPILED_RECURRENCES = new ConcurrentHashMap<>();
+
     private CalendarUtils() {
 
     }
@@ -106,13 +113,20 @@ public final class CalendarUtils {
         return nextRecDate == null ? null : LocalDateTime.ofInstant(nextRecDate.toInstant(), DateUtils.getDateTimeZoneOfTenant());
     }
 
-    private static LocalDate getNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
+    static LocalDate getNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
         final DateTime periodStart = new DateTime(java.util.Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final Date seed = convertToiCal4JCompatibleDate(seedDate.atStartOfDay());
         final Date nextRecDate = recur.getNextDate(seed, periodStart);
         return nextRecDate == null ? null : LocalDate.ofInstant(nextRecDate.toInstant(), DateUtils.getDateTimeZoneOfTenant());
     }
 
+    private static LocalDate getNextRecurringDate(final CompiledRecurrence recurrence, final LocalDate seedDate,
+            final LocalDate startDate) {
+        final LocalDate nextRecDate = recurrence.getNextDate(seedDate, startDate);
+        // same conversion as the ical4j date, which is the start of the day in the system time zone
+        return LocalDate.ofInstant(nextRecDate.atStartOfDay(ZoneId.systemDefault()).toInstant(), DateUtils.getDateTimeZoneOfTenant());
+    }
+
     private static Date convertToiCal4JCompatibleDate(final LocalDateTime inputDate) {
         Date formattedDate = null;
         final String seedDateStr = DateUtils.DEFAULT_DATETIME_FORMATTER.format(inputDate);
@@ -150,12 +164,38 @@ public final class CalendarUtils {
     public static Collection<LocalDate> getRecurringDates(final String recurringRule, final LocalDate seedDate,
             final LocalDate periodStartDate, final LocalDate periodEndDate, final int maxCount, boolean isSkippMeetingOnFirstDay,
             final Integer numberOfDays) {
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+        final CompiledRecurrence recurrence = getCompiledRecurrence(recurringRule);
+        if (recurrence == null) {
+            return null;
+        }
+        if (!recurrence.isExpandable(seedDate)) {
+            final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+            return getRecurringDates(recur, seedDate, periodStartDate, periodEndDate, maxCount, isSkippMeetingOnFirstDay, numberOfDays);
+        }
+        final List<LocalDate> recurringDates = recurrence.getDates(seedDate, periodStartDate, periodEndDate, maxCount);
+        return adjustRecurringDates(recurringDates, seedDate, recurrence.getFrequencyType(), isSkippMeetingOnFirstDay, numberOfDays);
+    }
 
-        return getRecurringDates(recur, seedDate, periodStartDate, periodEndDate, maxCount, isSkippMeetingOnFirstDay, numberOfDays);
+    /**
+     * @return the parsed recurring rule, shared by all the calls with the same rule, or null when the rule is not valid
+     */
+    static CompiledRecurrence getCompiledRecurrence(final String recurringRule) {
+        CompiledRecurrence recurrence = recurringRule == null ? null : COMPILED_RECURRENCES.get(recurringRule);
+        if (recurrence == null) {
+            final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+            if (recur == null) {
+                return null;
+            }
+            recurrence = CompiledRecurrence.compile(recur);
+            if (COMPILED_RECURRENCES.size() >= COMPILED_RECURRENCES_LIMIT) {
+                COMPILED_RECURRENCES.clear();
+            }
+            COMPILED_RECURRENCES.put(recurringRule, recurrence);
+        }
+        return recurrence;
     }
 
-    private static Collection<LocalDate> getRecurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
+    static Collection<LocalDate> getRecurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
             final LocalDate periodEndDate, final int maxCount, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
         if (recur == null) {
             return null;
@@ -178,7 +218,18 @@ public final class CalendarUtils {
             LocalDateTime dateTimeInProperTz = getLocalDateTimeFromICal4JDate(date);
             ZoneId tenantZoneId = DateUtils.getDateTimeZoneOfTenant();
 
-            recurringDates.add((LocalDate) adjustDate(dateTimeInProperTz.atZone(tenantZoneId).toLocalDate(), seedDate, frequencyType));
+            recurringDates.add(dateTimeInProperTz.atZone(tenantZoneId).toLocalDate());
+        }
+
+        return adjustRecurringDates(recurringDates, seedDate, frequencyType, isSkippMeetingOnFirstDay, numberOfDays);
+    }
+
+    private static Collection<LocalDate> adjustRecurringDates(final Collection<LocalDate> dates, final LocalDate seedDate,
+            final PeriodFrequencyType frequencyType, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
+        final Collection<LocalDate> recurringDates = new ArrayList<>();
+
+        for (final LocalDate date : dates) {
+            recurringDates.add((LocalDate) adjustDate(date, seedDate, frequencyType));
         }
 
         if (isSkippMeetingOnFirstDay) {
@@ -356,38 +407,48 @@ public final class CalendarUtils {
     }
 
     public static boolean isValidRedurringDate(final String recurringRule, final LocalDate seedDate, final LocalDate date) {
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
-            return false;
-        }
         final boolean isSkipRepaymentonFirstDayOfMonth = false;
         final int numberOfDays = 0;
-        return isValidRecurringDate(recur, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        return isValidRedurringDate(recurringRule, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
     }
 
     public static boolean isValidRedurringDate(final String recurringRule, final LocalDate seedDate, final LocalDate date,
             boolean isSkipRepaymentonFirstDayOfMonth, final Integer numberOfDays) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = getCompiledRecurrence(recurringRule);
+        if (recurrence == null) {
             return false;
         }
+        if (!recurrence.isExpandable(seedDate)) {
+            final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+            return isValidRecurringDate(recur, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        }
 
-        return isValidRecurringDate(recur, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        final LocalDate startDate = getValidRecurringDatePeriodStart(date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        final Collection<LocalDate> recurDate = adjustRecurringDates(recurrence.getDates(seedDate, startDate, date.plusDays(1), 1),
+                seedDate, recurrence.getFrequencyType(), isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+
+        return recurDate.contains(date);
     }
 
     public static boolean isValidRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate date,
             boolean isSkipRepaymentonFirstDayOfMonth, final int numberOfDays) {
-        LocalDate startDate = date;
-        if (isSkipRepaymentonFirstDayOfMonth && date.getDayOfMonth() == (numberOfDays + 1)) {
-            startDate = startDate.minusDays(numberOfDays);
-        }
+        final LocalDate startDate = getValidRecurringDatePeriodStart(date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
         final Collection<LocalDate> recurDate = getRecurringDates(recur, seedDate, startDate, date.plusDays(1), 1,
                 isSkipRepaymentonFirstDayOfMonth, numberOfDays);
 
         return (recurDate == null || recurDate.isEmpty()) ? false : recurDate.contains(date);
     }
 
+    private static LocalDate getValidRecurringDatePeriodStart(final LocalDate date, boolean isSkipRepaymentonFirstDayOfMonth,
+            final int numberOfDays) {
+        LocalDate startDate = date;
+        if (isSkipRepaymentonFirstDayOfMonth && date.getDayOfMonth() == (numberOfDays + 1)) {
+            startDate = startDate.minusDays(numberOfDays);
+        }
+        return startDate;
+    }
+
     public enum DayNameEnum {
 
         MO(1, "Monday"), TU(2, "Tuesday"), WE(3, "Wednesday"), TH(4, "Thursday"), FR(5, "Friday"), SA(6, "Saturday"), SU(7, "Sunday");
@@ -566,11 +627,11 @@ public final class CalendarUtils {
     public static LocalDate getNewRepaymentMeetingDate(final String recurringRule, final LocalDate seedDate,
             final LocalDate oldRepaymentDate, final Integer loanRepaymentInterval, final String frequency, final WorkingDays workingDays,
             final boolean isSkipRepaymentOnFirstDayOfMonth, final Integer numberOfDays) {
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = getCompiledRecurrence(recurringRule);
+        if (recurrence == null) {
             return null;
         }
-        if (isValidRecurringDate(recur, seedDate, oldRepaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
+        if (isValidRedurringDate(recurringRule, seedDate, oldRepaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
             return oldRepaymentDate;
         }
         LocalDate nextRepaymentDate = getNextRepaymentMeetingDate(recurringRule, seedDate, oldRepaymentDate, loanRepaymentInterval,
@@ -588,7 +649,7 @@ public final class CalendarUtils {
             return null;
         }
         LocalDate tmpDate = repaymentDate;
-        if (isValidRecurringDate(recur, seedDate, repaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
+        if (isValidRedurringDate(recurringRule, seedDate, repaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
             tmpDate = repaymentDate.plusDays(1);
         }
         /*
@@ -705,7 +766,7 @@ public final class CalendarUtils {
             return null;
         }
 
-        if (isValidRecurringDate(recur, seedDate, currentDate, isSkipMeetingOnFirstDay, numberOfDays)) {
+        if (isValidRedurringDate(recurringRule, seedDate, currentDate, isSkipMeetingOnFirstDay, numberOfDays)) {
             return currentDate;
         }
 
@@ -792,23 +853,20 @@ public final class CalendarUtils {
             final Integer loanRepaymentInterval, final String frequency, final WorkingDays workingDays,
             boolean isSkipRepaymentOnFirstDayOfMonth, final Integer numberOfDays, boolean isCalledFirstTime, boolean applyWorkingDays) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = getCompiledRecurrence(recurringRule);
+        if (recurrence == null) {
             return null;
         }
         LocalDate tmpDate = repaymentDate;
 
-        final Integer repaymentInterval = getMeetingIntervalFromFrequency(loanRepaymentInterval, frequency, recur);
+        final Integer repaymentInterval = getMeetingIntervalFromFrequency(loanRepaymentInterval, frequency, recurrence.getFrequency());
         /*
          * Recurring dates should follow loanRepaymentInterval.
          *
          * e.g. The weekly meeting will have interval of 1, if the loan product with fortnightly frequency will have
          * interval of 2, to generate right set of meeting dates reset interval same as loan repayment interval.
          */
-        int meetingInterval = recur.getInterval();
-        if (meetingInterval < 1) {
-            meetingInterval = 1;
-        }
+        int meetingInterval = recurrence.getInterval();
         int rep = repaymentInterval < meetingInterval ? 1 : repaymentInterval / meetingInterval;
 
         /*
@@ -817,22 +875,32 @@ public final class CalendarUtils {
          * repayment frequency.
          */
 
-        Recur.Builder recurBuilder = getRecurBuilder(recur);
-
-        if (recur.getFrequency().equals(Recur.Frequency.DAILY)) {
-            recurBuilder = recurBuilder.frequency(Recur.Frequency.valueOf(frequency));
+        CompiledRecurrence modifiedRecurrence = recurrence;
+        if (recurrence.getFrequency().equals(Recur.Frequency.DAILY)) {
+            modifiedRecurrence = recurrence.withFrequency(Recur.Frequency.valueOf(frequency));
         }
 
-        Recur modifiedRecur = recurBuilder.build();
-
         /**
          * Below code modified as discussed with Pramod N
          */
         LocalDate newRepaymentDate = tmpDate;
         int newRepayment = rep;
-        while (newRepayment > 0) {
-            newRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, newRepaymentDate);
-            newRepayment--;
+        if (modifiedRecurrence.isExpandable(seedDate)) {
+            while (newRepayment > 0) {
+                newRepaymentDate = getNextRecurringDate(modifiedRecurrence, seedDate, newRepaymentDate);
+                newRepayment--;
+            }
+        } else {
+            final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+            Recur.Builder recurBuilder = getRecurBuilder(recur);
+            if (recur.getFrequency().equals(Recur.Frequency.DAILY)) {
+                recurBuilder = recurBuilder.frequency(Recur.Frequency.valueOf(frequency));
+            }
+            Recur modifiedRecur = recurBuilder.build();
+            while (newRepayment > 0) {
+                newRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, newRepaymentDate);
+                newRepayment--;
+            }
         }
 
         LocalDate nextRepaymentDate = null;
@@ -869,13 +937,18 @@ public final class CalendarUtils {
     }
 
     public static Integer getMeetingIntervalFromFrequency(final Integer loanRepaymentInterval, final String frequency, final Recur recur) {
+        return getMeetingIntervalFromFrequency(loanRepaymentInterval, frequency, recur.getFrequency());
+    }
+
+    private static Integer getMeetingIntervalFromFrequency(final Integer loanRepaymentInterval, final String frequency,
+            final Recur.Frequency meetingFrequency) {
         final Integer interval = 4;
         Integer repaymentInterval = loanRepaymentInterval;
         /*
          * check loanRepaymentInterval equal to 1, if repayments frequency is monthly and meeting frequency is weekly,
          * then generate repayments schedule as every 4 weeks
          */
-        if (frequency.equals(Recur.Frequency.MONTHLY.name()) && recur.getFrequency().equals(Recur.Frequency.WEEKLY)) {
+        if (frequency.equals(Recur.Frequency.MONTHLY.name()) && meetingFrequency.equals(Recur.Frequency.WEEKLY)) {
             repaymentInterval = loanRepaymentInterval * interval;
         }
         return repaymentInterval;
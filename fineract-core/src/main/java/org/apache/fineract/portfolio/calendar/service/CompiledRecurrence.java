@@ -0,0 +1,274 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import net.fortuna.ical4j.model.Recur;
+import net.fortuna.ical4j.model.WeekDay;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+
+/**
+ * A recurring rule parsed once, which expands the rule with {@code java.time} instead of going through ical4j
+ * {@link Recur#getDates} and {@link Recur#getNextDate} for every date.
+ * <br>
+ * <br>
+ * Only the rules generated by Fineract are expanded: DAILY, WEEKLY (optionally BYDAY), MONTHLY (optionally BYMONTHDAY,
+ * or BYSETPOS with a single BYDAY) and YEARLY with an INTERVAL. The expansion gives the same dates as ical4j for these
+ * rules: the candidate of every period from the seed date, not before the seed date. For any other rule (COUNT, UNTIL,
+ * WKST, other BYxxx parts...) and for seed dates whose day does not exist in every period (monthly on the 29th or later,
+ * yearly on 29 February), {@link #isExpandable(LocalDate)} is false and the dates must be calculated by ical4j.
+ * <br>
+ * <br>
+ * Instances are immutable and shared between threads.
+ */
+final class CompiledRecurrence {
+
+    private final Recur.Frequency frequency;
+    private final int interval;
+    private final List<DayOfWeek> weekDays;
+    private final Integer monthDay;
+    private final Integer setPosition;
+    private final boolean supportedParts;
+    private final boolean expandable;
+
+    private CompiledRecurrence(final Recur.Frequency frequency, final int interval, final List<DayOfWeek> weekDays, final Integer monthDay,
+            final Integer setPosition, final boolean supportedParts) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekDays = weekDays;
+        this.monthDay = monthDay;
+        this.setPosition = setPosition;
+        this.supportedParts = supportedParts;
+        this.expandable = supportedParts && isSupportedCombination(frequency, weekDays, monthDay, setPosition);
+    }
+
+    static CompiledRecurrence compile(final Recur recur) {
+        final int interval = recur.getInterval() < 1 ? 1 : recur.getInterval();
+        boolean supportedParts = recur.getCount() == -1 && recur.getUntil() == null && recur.getSecondList().isEmpty()
+                && recur.getMinuteList().isEmpty() && recur.getHourList().isEmpty() && recur.getYearDayList().isEmpty()
+                && recur.getWeekNoList().isEmpty() && recur.getMonthList().isEmpty()
+                && (recur.getWeekStartDay() == null || WeekDay.Day.MO.equals(recur.getWeekStartDay()));
+
+        final List<DayOfWeek> weekDays = new ArrayList<>();
+        final EnumSet<DayOfWeek> distinctWeekDays = EnumSet.noneOf(DayOfWeek.class);
+        for (final WeekDay weekDay : recur.getDayList()) {
+            final DayOfWeek dayOfWeek = toDayOfWeek(weekDay.getDay());
+            if (weekDay.getOffset() != 0 || !distinctWeekDays.add(dayOfWeek)) {
+                supportedParts = false;
+            }
+            weekDays.add(dayOfWeek);
+        }
+        weekDays.sort(null);
+
+        Integer monthDay = null;
+        if (recur.getMonthDayList().size() == 1) {
+            monthDay = recur.getMonthDayList().get(0);
+            supportedParts &= monthDay == -1 || (monthDay >= 1 && monthDay <= 28);
+        } else if (!recur.getMonthDayList().isEmpty()) {
+            supportedParts = false;
+        }
+
+        Integer setPosition = null;
+        if (recur.getSetPosList().size() == 1) {
+            setPosition = recur.getSetPosList().get(0);
+            // every month has at least four of each day of the week
+            supportedParts &= setPosition != 0 && setPosition >= -4 && setPosition <= 4;
+        } else if (!recur.getSetPosList().isEmpty()) {
+            supportedParts = false;
+        }
+
+        return new CompiledRecurrence(recur.getFrequency(), interval, List.copyOf(weekDays), monthDay, setPosition, supportedParts);
+    }
+
+    private static boolean isSupportedCombination(final Recur.Frequency frequency, final List<DayOfWeek> weekDays, final Integer monthDay,
+            final Integer setPosition) {
+        return switch (frequency) {
+            case DAILY, YEARLY -> weekDays.isEmpty() && monthDay == null && setPosition == null;
+            case WEEKLY -> monthDay == null && setPosition == null;
+            // on a day of the month (the seed date's by default) or on the nth day of the week of the month
+            case MONTHLY -> (weekDays.isEmpty() && setPosition == null)
+                    || (weekDays.size() == 1 && monthDay == null && setPosition != null);
+            default -> false;
+        };
+    }
+
+    private static DayOfWeek toDayOfWeek(final WeekDay.Day day) {
+        return switch (day) {
+            case MO -> DayOfWeek.MONDAY;
+            case TU -> DayOfWeek.TUESDAY;
+            case WE -> DayOfWeek.WEDNESDAY;
+            case TH -> DayOfWeek.THURSDAY;
+            case FR -> DayOfWeek.FRIDAY;
+            case SA -> DayOfWeek.SATURDAY;
+            case SU -> DayOfWeek.SUNDAY;
+        };
+    }
+
+    /**
+     * @return the same rule with another frequency, as used for the repayments of a loan synced with a daily meeting
+     */
+    CompiledRecurrence withFrequency(final Recur.Frequency newFrequency) {
+        return new CompiledRecurrence(newFrequency, this.interval, this.weekDays, this.monthDay, this.setPosition, this.supportedParts);
+    }
+
+    Recur.Frequency getFrequency() {
+        return this.frequency;
+    }
+
+    int getInterval() {
+        return this.interval;
+    }
+
+    PeriodFrequencyType getFrequencyType() {
+        return switch (this.frequency) {
+            case DAILY -> PeriodFrequencyType.DAYS;
+            case WEEKLY -> PeriodFrequencyType.WEEKS;
+            case MONTHLY -> PeriodFrequencyType.MONTHS;
+            case YEARLY -> PeriodFrequencyType.YEARS;
+            default -> PeriodFrequencyType.INVALID;
+        };
+    }
+
+    /**
+     * @return whether the dates of the rule from the given seed date can be calculated by this class, otherwise ical4j
+     *         has to be used
+     */
+    boolean isExpandable(final LocalDate seedDate) {
+        if (!this.expandable) {
+            return false;
+        }
+        if (this.frequency == Recur.Frequency.MONTHLY && this.monthDay == null && this.setPosition == null) {
+            return seedDate.getDayOfMonth() <= 28;
+        }
+        if (this.frequency == Recur.Frequency.YEARLY) {
+            return seedDate.getMonth() != Month.FEBRUARY || seedDate.getDayOfMonth() != 29;
+        }
+        return true;
+    }
+
+    /**
+     * Same dates as {@link Recur#getDates} for a DATE value.
+     *
+     * @param periodStart
+     *            first date of the period (inclusive)
+     * @param periodEnd
+     *            last date of the period (inclusive)
+     * @param maxCount
+     *            the dates of a period of the rule are returned together, so the result can have more than
+     *            {@code maxCount} dates when the rule has more than one date per period; negative for no limit
+     */
+    List<LocalDate> getDates(final LocalDate seedDate, final LocalDate periodStart, final LocalDate periodEnd, final int maxCount) {
+        final List<LocalDate> dates = new ArrayList<>();
+        final LocalDate lowerBound = periodStart.isAfter(seedDate) ? periodStart : seedDate;
+        long period = firstPeriod(seedDate, lowerBound);
+        while (maxCount < 0 || dates.size() < maxCount) {
+            final List<LocalDate> candidates = getCandidates(seedDate, period++);
+            for (final LocalDate candidate : candidates) {
+                if (!candidate.isBefore(lowerBound) && !candidate.isAfter(periodEnd)) {
+                    dates.add(candidate);
+                }
+            }
+            if (candidates.get(candidates.size() - 1).isAfter(periodEnd)) {
+                break;
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Same date as {@link Recur#getNextDate}: the first date of the rule after the given date.
+     */
+    LocalDate getNextDate(final LocalDate seedDate, final LocalDate startDate) {
+        final LocalDate lowerBound = startDate.isBefore(seedDate) ? seedDate : startDate.plusDays(1);
+        long period = firstPeriod(seedDate, lowerBound);
+        while (true) {
+            for (final LocalDate candidate : getCandidates(seedDate, period++)) {
+                if (!candidate.isBefore(lowerBound)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a period of the rule which has no date after the given date
+     */
+    private long firstPeriod(final LocalDate seedDate, final LocalDate date) {
+        if (!date.isAfter(seedDate)) {
+            return 0;
+        }
+        final long periods = switch (this.frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(seedDate, date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(startOfWeek(seedDate), startOfWeek(date));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(seedDate), YearMonth.from(date));
+            case YEARLY -> ChronoUnit.YEARS.between(YearMonth.from(seedDate), YearMonth.from(date));
+            default -> throw new IllegalStateException("Frequency " + this.frequency + " can not be expanded");
+        };
+        return periods / this.interval;
+    }
+
+    /**
+     * @return the dates of the given period of the rule (the seed date is in the period 0), in order
+     */
+    private List<LocalDate> getCandidates(final LocalDate seedDate, final long period) {
+        final long amount = period * this.interval;
+        return switch (this.frequency) {
+            case DAILY -> List.of(seedDate.plusDays(amount));
+            case WEEKLY -> getWeeklyCandidates(seedDate, amount);
+            case MONTHLY -> List.of(getMonthlyCandidate(seedDate, amount));
+            case YEARLY -> List.of(seedDate.plusYears(amount));
+            default -> throw new IllegalStateException("Frequency " + this.frequency + " can not be expanded");
+        };
+    }
+
+    private List<LocalDate> getWeeklyCandidates(final LocalDate seedDate, final long weeks) {
+        if (this.weekDays.isEmpty()) {
+            return List.of(seedDate.plusWeeks(weeks));
+        }
+        final LocalDate startOfWeek = startOfWeek(seedDate).plusWeeks(weeks);
+        final List<LocalDate> candidates = new ArrayList<>(this.weekDays.size());
+        for (final DayOfWeek weekDay : this.weekDays) {
+            candidates.add(startOfWeek.plusDays(weekDay.getValue() - 1L));
+        }
+        return candidates;
+    }
+
+    private LocalDate getMonthlyCandidate(final LocalDate seedDate, final long months) {
+        if (this.monthDay == null && this.setPosition == null) {
+            return seedDate.plusMonths(months);
+        }
+        final YearMonth month = YearMonth.from(seedDate).plusMonths(months);
+        if (this.monthDay != null) {
+            return this.monthDay == -1 ? month.atEndOfMonth() : month.atDay(this.monthDay);
+        }
+        return month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(this.setPosition, this.weekDays.get(0)));
+    }
+
+    private static LocalDate startOfWeek(final LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
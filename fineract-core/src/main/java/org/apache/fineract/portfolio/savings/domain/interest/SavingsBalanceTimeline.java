@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * Daily balance timeline of a savings account, built once from the non interest posting transactions ordered by
+ * transaction date, which hands every posting period only the transactions that can affect it.
+ * <br>
+ * <br>
+ * The balance of a transaction lasts until the day before the next transaction, so only the transactions of the last
+ * day before a period can carry their balance into it. The slice of a period therefore starts with the transactions of
+ * that day and ends with the transactions of the day after the period (which {@link PostingPeriod} checks for interest
+ * transfers). Every other transaction is skipped by {@link PostingPeriod#createFrom} anyway.
+ */
+public final class SavingsBalanceTimeline {
+
+    private final List<SavingsAccountTransactionDetailsForPostingPeriod> orderedTransactions;
+
+    /**
+     * @param orderedTransactions
+     *            the non interest posting transactions of the account ordered by transaction date, with their derived
+     *            balance fields up to date
+     */
+    public SavingsBalanceTimeline(final List<SavingsAccountTransactionDetailsForPostingPeriod> orderedTransactions) {
+        this.orderedTransactions = List.copyOf(orderedTransactions);
+    }
+
+    public List<SavingsAccountTransactionDetailsForPostingPeriod> transactionsFor(final LocalDateInterval periodInterval) {
+        int fromIndex = firstIndexOnOrAfter(periodInterval.startDate());
+        if (fromIndex > 0) {
+            fromIndex = firstIndexOnOrAfter(this.orderedTransactions.get(fromIndex - 1).getTransactionDate());
+        }
+        final int toIndex = firstIndexOnOrAfter(periodInterval.endDate().plusDays(2));
+        return this.orderedTransactions.subList(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    private int firstIndexOnOrAfter(final LocalDate date) {
+        int low = 0;
+        int high = this.orderedTransactions.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (DateUtils.isBefore(this.orderedTransactions.get(middle).getTransactionDate(), date)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
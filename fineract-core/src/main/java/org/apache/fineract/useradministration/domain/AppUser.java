@@ -28,6 +28,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -36,6 +37,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
@@ -133,6 +135,13 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     @Column(name = "employed", nullable = true)
     private Boolean employed ;
 
+    /**
+     * Upper-cased codes of the permissions granted by the roles of the user, built on first use so that permission
+     * checks are a set lookup instead of a scan over every permission of every role.
+     */
+    @Transient
+    private transient volatile Set<String> permissionCodes;
+
 
     public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles,
             final Collection<Client> clients, final JsonCommand command) {
@@ -246,6 +255,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.permissionCodes = null;
         }
     }
 
@@ -615,14 +625,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
      * @return whether the user has the specified permission
      */
     public boolean hasSpecificPermissionTo(final String permissionCode) {
-        boolean hasPermission = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo(permissionCode)) {
-                hasPermission = true;
-                break;
-            }
-        }
-        return hasPermission;
+        return getPermissionCodes().contains(permissionCode.toUpperCase(Locale.ROOT));
     }
 
     public void validateHasReadPermission(final String resourceType) {
@@ -657,27 +660,26 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
-        if (!hasPermission) {
-            for (final Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
-        }
-        return hasPermission;
+        return hasAllFunctionsPermission() || hasSpecificPermissionTo(permissionCode);
     }
 
     private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
+        return getPermissionCodes().contains("ALL_FUNCTIONS");
+    }
+
+    private Set<String> getPermissionCodes() {
+        Set<String> codes = this.permissionCodes;
+        if (codes == null) {
+            final Set<String> grantedCodes = new HashSet<>();
+            for (final Role role : this.roles) {
+                for (final Permission permission : role.getPermissions()) {
+                    grantedCodes.add(permission.getCode().toUpperCase(Locale.ROOT));
+                }
             }
+            codes = Set.copyOf(grantedCodes);
+            this.permissionCodes = codes;
         }
-        return match;
+        return codes;
     }
 
     public boolean hasIdOf(final Long userId) {
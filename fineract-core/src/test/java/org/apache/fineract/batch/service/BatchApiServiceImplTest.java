@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BatchApiServiceImplTest {
+
+    private static final int ROOT_COUNT = 3;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private final CommandStrategyProvider strategyProvider = mock(CommandStrategyProvider.class);
+    private final Queue<String> executions = new ConcurrentLinkedQueue<>();
+    private final Map<Long, String> executingThreads = new HashMap<>();
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(new FineractProperties.FineractBatchApiProperties());
+        apiProperties.getBatch().setParallelThreadCount(ROOT_COUNT);
+        fineractProperties.setApi(apiProperties);
+
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(ROOT_COUNT);
+        taskExecutor.initialize();
+
+        underTest = new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(mock(FromJsonHelper.class)),
+                mock(PlatformTransactionManager.class), mock(ErrorHandler.class), List.of(), List.of(), fineractProperties, taskExecutor,
+                mock(EntityManager.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRootRequestsRunConcurrentlyWhenParallelEnabled() {
+        // given
+        fineractProperties.getApi().getBatch().setParallelEnabled(true);
+        // every root request waits for the others, so this only completes if they run at the same time
+        CyclicBarrier barrier = new CyclicBarrier(ROOT_COUNT);
+        givenCommandStrategy(request -> {
+            if (request.getReference() == null) {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        });
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(), null);
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == 200));
+        assertTrue(executions.contains("default:1"));
+        assertTrue(executions.stream().allMatch(execution -> execution.startsWith("default:")));
+        assertTrue(List.copyOf(executions).indexOf("default:1") < List.copyOf(executions).indexOf("default:4"));
+        assertEquals("loans/7", responses.get(3).getBody());
+        assertNotEquals(Thread.currentThread().getName(), executingThreads.get(1L));
+        assertEquals(executingThreads.get(1L), executingThreads.get(4L));
+    }
+
+    @Test
+    public void testRootRequestsRunOnCallerThreadWhenParallelDisabled() {
+        // given
+        givenCommandStrategy(request -> {});
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(), null);
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals(List.of("default:1", "default:4", "default:2", "default:3"), List.copyOf(executions));
+        assertTrue(executingThreads.values().stream().allMatch(name -> name.equals(Thread.currentThread().getName())));
+    }
+
+    private void givenCommandStrategy(RequestCallback callback) {
+        CommandStrategy commandStrategy = (request, uriInfo) -> {
+            synchronized (executingThreads) {
+                executingThreads.put(request.getRequestId(), Thread.currentThread().getName());
+            }
+            try {
+                callback.accept(request);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            executions.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + request.getRequestId());
+            String body = request.getReference() == null ? "{\"loanId\": 7}" : request.getRelativeUrl();
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody(body);
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+    }
+
+    private List<BatchRequest> requests() {
+        return List.of(request(1L, null, "loans"), request(2L, null, "loans"), request(3L, null, "loans"),
+                request(4L, 1L, "loans/$.loanId"));
+    }
+
+    private BatchRequest request(Long requestId, Long reference, String relativeUrl) {
+        return new BatchRequest().setRequestId(requestId).setReference(reference).setRelativeUrl(relativeUrl).setMethod("POST");
+    }
+
+    @FunctionalInterface
+    private interface RequestCallback {
+
+        void accept(BatchRequest request) throws Exception;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.time.Duration;
+import java.util.Map;
+import org.apache.fineract.infrastructure.cache.CacheApiConstants;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+class MultiNodeCacheManagerTest {
+
+    private LoopbackCacheInvalidationPublisher transport;
+    private ConcurrentMapCacheManager localCachesOfNode1;
+    private ConcurrentMapCacheManager localCachesOfNode2;
+    private RuntimeDelegatingCacheManager node1;
+    private RuntimeDelegatingCacheManager node2;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        transport = new LoopbackCacheInvalidationPublisher();
+        localCachesOfNode1 = new ConcurrentMapCacheManager("users", "offices");
+        localCachesOfNode2 = new ConcurrentMapCacheManager("users", "offices");
+        node1 = createNode(localCachesOfNode1);
+        node2 = createNode(localCachesOfNode2);
+        node1.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE);
+        node2.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE);
+    }
+
+    @Test
+    public void testEvictionReachesOtherNode() {
+        node1.getCache("users").put("default1", "user of node 1");
+        node2.getCache("users").put("default1", "user of node 2");
+        node2.getCache("users").put("default2", "other user of node 2");
+
+        node1.getCache("users").evict("default1");
+
+        Assertions.assertNull(localCachesOfNode1.getCache("users").get("default1"));
+        Assertions.assertNull(localCachesOfNode2.getCache("users").get("default1"));
+        Assertions.assertNotNull(localCachesOfNode2.getCache("users").get("default2"));
+    }
+
+    @Test
+    public void testClearReachesOtherNode() {
+        node2.getCache("users").put("default1", "user");
+        node2.getCache("offices").put("default1", "office");
+
+        node1.getCache("users").clear();
+
+        Assertions.assertNull(localCachesOfNode2.getCache("users").get("default1"));
+        Assertions.assertNotNull(localCachesOfNode2.getCache("offices").get("default1"));
+    }
+
+    @Test
+    public void testPutStaysLocal() {
+        node1.getCache("users").put("default1", "user");
+
+        Assertions.assertNotNull(localCachesOfNode1.getCache("users").get("default1"));
+        Assertions.assertNull(localCachesOfNode2.getCache("users").get("default1"));
+    }
+
+    @Test
+    public void testCacheTypeSwitchReachesOtherNode() {
+        MultiNodeCacheManager multiNodeCacheManagerOfNode1 = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), transport);
+        node2.getCache("users").put("default1", "user");
+
+        multiNodeCacheManagerOfNode1.cacheTypeSwitched(CacheType.NO_CACHE);
+
+        Cache noCache = node2.getCache("users");
+        noCache.put("default2", "user");
+        Assertions.assertNull(noCache.get("default2"));
+        Assertions.assertTrue(node2.retrieveAll().stream().anyMatch(
+                cacheData -> cacheData.isEnabled() && cacheData.getCacheType().getId().equals(CacheType.NO_CACHE.getValue().longValue())));
+    }
+
+    @Test
+    public void testSwitchToMultiNodeReportsChange() {
+        Map<String, Object> changes = node1.switchToCache(CacheType.SINGLE_NODE, CacheType.MULTI_NODE);
+        Assertions.assertEquals(CacheType.MULTI_NODE.getValue(), changes.get(CacheApiConstants.CACHE_TYPE_PARAMETER));
+
+        Assertions.assertTrue(node1.switchToCache(CacheType.MULTI_NODE, CacheType.MULTI_NODE).isEmpty());
+    }
+
+    @Test
+    public void testSnapshotsExpireOnlyWhenOtherNodesMissTheInvalidations() {
+        Assertions.assertNull(createSnapshotCacheManager(transport, true, true).getSnapshotTimeToLive());
+        Assertions.assertEquals(Duration.ofSeconds(7), createSnapshotCacheManager(transport, false, true).getSnapshotTimeToLive());
+        // a batch worker always shares the database with a manager
+        Assertions.assertEquals(Duration.ofSeconds(7), createSnapshotCacheManager(transport, true, false).getSnapshotTimeToLive());
+        Assertions.assertNull(createSnapshotCacheManager(message -> {}, false, false).getSnapshotTimeToLive());
+    }
+
+    private MultiNodeCacheManager createSnapshotCacheManager(CacheInvalidationPublisher publisher, boolean singleNode,
+            boolean batchManagerEnabled) {
+        FineractProperties.FineractSnapshotCacheProperties snapshotProperties = new FineractProperties.FineractSnapshotCacheProperties();
+        snapshotProperties.setTtlSeconds(7);
+        snapshotProperties.setSingleNode(singleNode);
+        FineractProperties.FineractCacheProperties cacheProperties = new FineractProperties.FineractCacheProperties();
+        cacheProperties.setSnapshot(snapshotProperties);
+        FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
+        modeProperties.setReadEnabled(true);
+        modeProperties.setWriteEnabled(true);
+        modeProperties.setBatchWorkerEnabled(true);
+        modeProperties.setBatchManagerEnabled(batchManagerEnabled);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCache(cacheProperties);
+        fineractProperties.setMode(modeProperties);
+        return new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher, fineractProperties);
+    }
+
+    private RuntimeDelegatingCacheManager createNode(ConcurrentMapCacheManager localCaches) throws Exception {
+        MultiNodeCacheManager multiNodeCacheManager = new MultiNodeCacheManager(localCaches, transport);
+        RuntimeDelegatingCacheManager node = new RuntimeDelegatingCacheManager(localCaches, new NoOpCacheManager(), multiNodeCacheManager);
+        node.afterPropertiesSet();
+        transport.subscribe(node::onInvalidationMessage);
+        return node;
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TenantSnapshotCacheTest {
+
+    private static final String HIT_METRIC = "test.cache.hits";
+    private static final String MISS_METRIC = "test.cache.misses";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testEntriesAreKeptWithCrossNodeInvalidation() {
+        TestCache underTest = new TestCache(new MultiNodeCacheManager(new ConcurrentMapCacheManager(), message -> {}, Duration.ZERO));
+
+        underTest.lookup("a");
+        underTest.lookup("a");
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter(HIT_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(MISS_METRIC).count());
+    }
+
+    @Test
+    public void testEntriesExpireWithoutCrossNodeInvalidation() {
+        TestCache underTest = new TestCache(
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO));
+
+        underTest.lookup("a");
+        underTest.lookup("a");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEntriesAreKeptOnASingleNodeWithoutCrossNodeInvalidation() {
+        TestCache underTest = new TestCache(
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO, true));
+
+        underTest.lookup("a");
+        underTest.lookup("a");
+        underTest.invalidate("a");
+        underTest.lookup("a");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoadRacingWithAnInvalidationIsNotKept() {
+        TestCache underTest = new TestCache(newCrossNodeCacheManager());
+
+        underTest.lookup("a", () -> underTest.invalidate("a"));
+        underTest.lookup("a");
+        underTest.lookup("a");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoadsAreNotKeptWhileAChangeIsOpen() {
+        TestCache underTest = new TestCache(newCrossNodeCacheManager());
+        TransactionSynchronizationManager.initSynchronization();
+
+        underTest.invalidate("a");
+        underTest.lookup("a");
+        underTest.lookup("a");
+        assertEquals(2, loads.get());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        underTest.lookup("a");
+        underTest.lookup("a");
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testUpdateIsKeptOnCommitOnly() {
+        TestCache underTest = new TestCache(newCrossNodeCacheManager());
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.update("a", "updated");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals("a-1", underTest.lookup("a"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.update("a", "updated");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals("updated", underTest.lookup("a"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidationFromAnotherNodeDropsTheKeyOnly() {
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        MultiNodeCacheManager otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        TestCache underTest = new TestCache(thisNode);
+        TestCache otherNodeCache = new TestCache(otherNode);
+
+        underTest.lookup("a");
+        underTest.lookup("b");
+        otherNodeCache.invalidate("a");
+        underTest.lookup("a");
+        underTest.lookup("b");
+
+        assertEquals(3, loads.get());
+    }
+
+    private MultiNodeCacheManager newCrossNodeCacheManager() {
+        return new MultiNodeCacheManager(new ConcurrentMapCacheManager(), message -> {});
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private final class TestCache extends TenantSnapshotCache<String, String> {
+
+        private TestCache(MultiNodeCacheManager multiNodeCacheManager) {
+            super("test", HIT_METRIC, MISS_METRIC, multiNodeCacheManager, meterRegistry);
+        }
+
+        private String lookup(String key) {
+            return lookup(key, () -> {});
+        }
+
+        private String lookup(String key, Runnable duringLoad) {
+            return get(key, k -> {
+                duringLoad.run();
+                return k + "-" + loads.incrementAndGet();
+            });
+        }
+    }
+}
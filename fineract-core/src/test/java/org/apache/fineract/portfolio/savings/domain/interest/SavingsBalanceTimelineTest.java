@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.junit.jupiter.api.Test;
+
+class SavingsBalanceTimelineTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate UP_TO_DATE = LocalDate.of(2024, 12, 31);
+
+    @Test
+    public void testEveryPeriodGetsTheTransactionsAffectingIt() {
+        List<SavingsAccountTransactionDetailsForPostingPeriod> transactions = transactions(new Random(42), LocalDate.of(2020, 1, 5), 400);
+        SavingsBalanceTimeline underTest = new SavingsBalanceTimeline(transactions);
+
+        for (LocalDate start = LocalDate.of(2019, 12, 1); start.isBefore(UP_TO_DATE); start = start.plusMonths(1)) {
+            LocalDateInterval periodInterval = LocalDateInterval.create(start, start.plusMonths(1).minusDays(1));
+            List<SavingsAccountTransactionDetailsForPostingPeriod> slice = underTest.transactionsFor(periodInterval);
+            List<SavingsAccountTransactionDetailsForPostingPeriod> expected = transactions.stream()
+                    .filter(transaction -> affects(transaction, periodInterval)).toList();
+
+            assertTrue(slice.containsAll(expected), "missing transactions for " + periodInterval.startDate());
+            assertEquals(expected, slice.stream().filter(transaction -> affects(transaction, periodInterval)).toList());
+        }
+    }
+
+    @Test
+    public void testPeriodWithoutTransactionsGetsTheBalanceCarriedIntoIt() {
+        List<SavingsAccountTransactionDetailsForPostingPeriod> transactions = withBalanceDates(List.of(
+                transaction(1L, LocalDate.of(2024, 1, 10)), transaction(2L, LocalDate.of(2024, 1, 10)),
+                transaction(3L, LocalDate.of(2024, 5, 20))));
+        SavingsBalanceTimeline underTest = new SavingsBalanceTimeline(transactions);
+
+        List<SavingsAccountTransactionDetailsForPostingPeriod> slice = underTest
+                .transactionsFor(LocalDateInterval.create(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+
+        assertEquals(List.of(1L, 2L), slice.stream().map(SavingsAccountTransactionDetailsForPostingPeriod::getId).toList());
+    }
+
+    @Test
+    public void testEmptyTimeline() {
+        SavingsBalanceTimeline underTest = new SavingsBalanceTimeline(List.of());
+
+        assertTrue(underTest.transactionsFor(LocalDateInterval.create(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31))).isEmpty());
+    }
+
+    private static boolean affects(SavingsAccountTransactionDetailsForPostingPeriod transaction, LocalDateInterval periodInterval) {
+        return transaction.fallsWithin(periodInterval) || transaction.spansAnyPortionOf(periodInterval)
+                || transaction.occursOn(periodInterval.endDate().plusDays(1));
+    }
+
+    private static List<SavingsAccountTransactionDetailsForPostingPeriod> transactions(Random random, LocalDate firstDate, int count) {
+        List<SavingsAccountTransactionDetailsForPostingPeriod> transactions = new ArrayList<>();
+        LocalDate date = firstDate;
+        for (int i = 0; i < count; i++) {
+            // several transactions on the same day and gaps of up to two months
+            date = date.plusDays(random.nextInt(4) == 0 ? 0 : random.nextInt(60));
+            transactions.add(transaction((long) i, date));
+        }
+        return withBalanceDates(transactions);
+    }
+
+    private static SavingsAccountTransactionDetailsForPostingPeriod transaction(Long id, LocalDate transactionDate) {
+        return new SavingsAccountTransactionDetailsForPostingPeriod(id, transactionDate, null, BigDecimal.TEN, BigDecimal.ONE, CURRENCY,
+                null, true, false, false, false, false);
+    }
+
+    /**
+     * Derives the balance end dates the way {@code SavingsAccount} does: every balance lasts until the day before the
+     * next transaction (but not before its own date), the last one until the interest calculation date.
+     */
+    private static List<SavingsAccountTransactionDetailsForPostingPeriod> withBalanceDates(
+            List<SavingsAccountTransactionDetailsForPostingPeriod> transactions) {
+        List<SavingsAccountTransactionDetailsForPostingPeriod> result = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            SavingsAccountTransactionDetailsForPostingPeriod transaction = transactions.get(i);
+            LocalDate endOfBalanceDate = i + 1 < transactions.size() ? transactions.get(i + 1).getTransactionDate().minusDays(1)
+                    : UP_TO_DATE;
+            if (endOfBalanceDate.isBefore(transaction.getTransactionDate())) {
+                endOfBalanceDate = transaction.getTransactionDate();
+            }
+            result.add(new SavingsAccountTransactionDetailsForPostingPeriod(transaction.getId(), transaction.getTransactionDate(),
+                    endOfBalanceDate, transaction.getRunningBalance(), transaction.getAmount(), CURRENCY, null, true, false, false, false,
+                    false));
+        }
+        return result;
+    }
+}
@@ -18,9 +18,13 @@
  */
 package org.apache.fineract.portfolio.loanaccount.data;
 
+import java.time.LocalDate;
 import java.util.List;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.holiday.service.OfficeCalendar;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
 
 public class HolidayDetailDTO {
 
@@ -29,22 +33,35 @@ public class HolidayDetailDTO {
     final WorkingDays workingDays;
     final boolean allowTransactionsOnHoliday;
     final boolean allowTransactionsOnNonWorkingDay;
+    final OfficeCalendar officeCalendar;
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays) {
-        this.isHolidayEnabled = isHolidayEnabled;
-        this.holidays = holidays;
-        this.workingDays = workingDays;
-        this.allowTransactionsOnHoliday = false;
-        this.allowTransactionsOnNonWorkingDay = false;
+        this(isHolidayEnabled, holidays, workingDays, false, false, null);
+    }
+
+    public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays,
+            final OfficeCalendar officeCalendar) {
+        this(isHolidayEnabled, holidays, workingDays, false, false, officeCalendar);
     }
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays,
             final boolean allowTransactionsOnHoliday, final boolean allowTransactionsOnNonWorkingDay) {
+        this(isHolidayEnabled, holidays, workingDays, allowTransactionsOnHoliday, allowTransactionsOnNonWorkingDay, null);
+    }
+
+    /**
+     * @param officeCalendar
+     *            the precomputed calendar the holidays and working days were taken from, used to check dates without
+     *            going through the holidays or evaluating the working days recurrence; may be null
+     */
+    public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays,
+            final boolean allowTransactionsOnHoliday, final boolean allowTransactionsOnNonWorkingDay, final OfficeCalendar officeCalendar) {
         this.isHolidayEnabled = isHolidayEnabled;
         this.holidays = holidays;
         this.workingDays = workingDays;
         this.allowTransactionsOnHoliday = allowTransactionsOnHoliday;
         this.allowTransactionsOnNonWorkingDay = allowTransactionsOnNonWorkingDay;
+        this.officeCalendar = officeCalendar;
     }
 
     public boolean isHolidayEnabled() {
@@ -66,4 +83,18 @@ public class HolidayDetailDTO {
     public boolean isAllowTransactionsOnNonWorkingDay() {
         return this.allowTransactionsOnNonWorkingDay;
     }
+
+    public boolean isNonWorkingDay(final LocalDate date) {
+        if (this.officeCalendar != null) {
+            return this.officeCalendar.isNonWorkingDay(date);
+        }
+        return WorkingDaysUtil.isNonWorkingDay(this.workingDays, date);
+    }
+
+    public Holiday getApplicableHoliday(final LocalDate date) {
+        if (this.officeCalendar != null && !this.officeCalendar.isHoliday(date)) {
+            return null;
+        }
+        return HolidayUtil.getApplicableHoliday(date, this.holidays);
+    }
 }
@@ -6231,6 +6231,10 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
         return this.accountNumber;
     }
 
+    public int getVersion() {
+        return this.version;
+    }
+
     public ExternalId getExternalId() {
         return this.externalId;
     }
@@ -553,6 +553,10 @@ public class LoanTransaction extends AbstractAuditableWithUTCDateTimeCustom {
         return !isReversed();
     }
 
+    public LocalDate getReversedOnDate() {
+        return this.reversedOnDate;
+    }
+
     public void setReversed() {
         this.reversed = true;
     }
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Measures how many basic auth requests per second the authentication provider can verify, with the same delegating
+ * (bcrypt) password encoder the API uses. {@code credentialCacheEnabled=false} is the behaviour without the
+ * {@link BasicAuthCredentialCache}; the user details lookup is an in-memory stub in both cases, so the difference is
+ * the password hash verification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BasicAuthenticationBenchmark {
+
+    private static final String USERNAME = "mifos";
+    private static final String PASSWORD = "password";
+
+    @Param({ "false", "true" })
+    public boolean credentialCacheEnabled;
+
+    private CachingDaoAuthenticationProvider authenticationProvider;
+
+    @Setup
+    public void setUp() {
+        FineractProperties.FineractSecurityBasicAuthCacheProperties cacheProperties = new FineractProperties.FineractSecurityBasicAuthCacheProperties();
+        cacheProperties.setEnabled(credentialCacheEnabled);
+        cacheProperties.setTtlSeconds(60);
+        cacheProperties.setMaximumSize(10000);
+        FineractProperties.FineractSecurityBasicAuth basicAuth = new FineractProperties.FineractSecurityBasicAuth();
+        basicAuth.setEnabled(true);
+        basicAuth.setCache(cacheProperties);
+        FineractProperties.FineractSecurityProperties security = new FineractProperties.FineractSecurityProperties();
+        security.setBasicauth(basicAuth);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSecurity(security);
+
+        MultiNodeCacheManager multiNodeCacheManager = new MultiNodeCacheManager(new ConcurrentMapCacheManager(),
+                new LoopbackCacheInvalidationPublisher());
+        BasicAuthCredentialCache credentialCache = new BasicAuthCredentialCache(fineractProperties, multiNodeCacheManager,
+                new SimpleMeterRegistry());
+
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        UserDetails user = User.withUsername(USERNAME).password(passwordEncoder.encode(PASSWORD)).authorities("ALL_FUNCTIONS").build();
+
+        authenticationProvider = new CachingDaoAuthenticationProvider(credentialCache);
+        authenticationProvider.setUserDetailsService(username -> User.withUserDetails(user).build());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @State(Scope.Thread)
+    public static class TenantContext {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticate(TenantContext tenantContext) {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+    }
+}
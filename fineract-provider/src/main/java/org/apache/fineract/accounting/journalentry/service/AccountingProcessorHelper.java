@@ -54,9 +54,9 @@ import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
 import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
-import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
-import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
 import org.apache.fineract.accounting.producttoaccountmapping.exception.ProductToGLAccountMappingNotFoundException;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver.ProductMappings;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -89,7 +89,7 @@ public class AccountingProcessorHelper {
     public static final String SHARE_TRANSACTION_IDENTIFIER = "SH";
 
     private final JournalEntryRepository glJournalEntryRepository;
-    private final ProductToGLAccountMappingRepository accountMappingRepository;
+    private final ProductToGLAccountMappingResolver accountMappingResolver;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository;
     private final GLClosureRepository closureRepository;
     private final GLAccountRepository glAccountRepository;
@@ -100,6 +100,7 @@ public class AccountingProcessorHelper {
     private final AccountTransfersReadPlatformService accountTransfersReadPlatformService;
     private final ChargeRepositoryWrapper chargeRepositoryWrapper;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final ThreadLocal<List<JournalEntry>> pendingJournalEntries = new ThreadLocal<>();
 
     public LoanDTO populateLoanDtoFromMap(final Map<String, Object> accountingBridgeData, final boolean cashBasedAccountingEnabled,
             final boolean upfrontAccrualBasedAccountingEnabled, final boolean periodicAccrualBasedAccountingEnabled) {
@@ -1041,35 +1042,33 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                    PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+            final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.LOAN, loanProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
 
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForLoan.FUND_SOURCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(loanProductId,
-                                PortfolioProductType.LOAN.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
 
-            if (accountMapping == null) {
+            if (glAccountId == null) {
                 throw new ProductToGLAccountMappingNotFoundException(PortfolioProductType.LOAN, loanProductId,
                         AccrualAccountsForLoan.fromInt(accountMappingTypeId).toString());
 
             }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getGLAccount(glAccountId);
         }
         return glAccount;
     }
 
     private GLAccount getLinkedGLAccountForLoanCharges(final Long loanProductId, final int accountMappingTypeId, final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+        final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.LOAN, loanProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1079,21 +1078,19 @@ public class AccountingProcessorHelper {
         // Vishwas TODO: remove this condition as it should always be true
         if (accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_FEES.getValue()
                 || accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_PENALTIES.getValue()) {
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(loanProductId, PortfolioProductType.LOAN.getValue(),
-                            accountMappingTypeId, chargeId);
-            if (chargeSpecificIncomeAccountMapping != null) {
-                accountMapping = chargeSpecificIncomeAccountMapping;
+            final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+            if (chargeSpecificGLAccountId != null) {
+                glAccountId = chargeSpecificGLAccountId;
             }
         }
-        return accountMapping.getGlAccount();
+        return getGLAccount(glAccountId);
     }
 
     private GLAccount getLinkedGLAccountForSavingsCharges(final Long savingsProductId, final int accountMappingTypeId,
             final Long chargeId) {
 
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+        final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.SAVING, savingsProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1108,16 +1105,14 @@ public class AccountingProcessorHelper {
             if (glAccount != null) {
                 return glAccount;
             }
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(savingsProductId, PortfolioProductType.SAVING.getValue(),
-                            accountMappingTypeId, chargeId);
-            if (chargeSpecificIncomeAccountMapping != null) {
+            final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+            if (chargeSpecificGLAccountId != null) {
 
-                accountMapping = chargeSpecificIncomeAccountMapping;
+                glAccountId = chargeSpecificGLAccountId;
             }
         }
 
-        return accountMapping.getGlAccount();
+        return getGLAccount(glAccountId);
     }
 
     private GLAccount getLinkedGLAccountForSavingsProduct(final Long savingsProductId, final int accountMappingTypeId,
@@ -1128,21 +1123,19 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                    PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+            final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.SAVING, savingsProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForSavings.SAVINGS_REFERENCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(savingsProductId,
-                                PortfolioProductType.SAVING.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getGLAccount(glAccountId);
         }
         return glAccount;
     }
@@ -1155,38 +1148,41 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(shareProductId,
-                    PortfolioProductType.SHARES.getValue(), accountMappingTypeId);
+            final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.SHARES, shareProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
 
             if (accountMappingTypeId == CashAccountsForShares.SHARES_REFERENCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(shareProductId,
-                                PortfolioProductType.SHARES.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getGLAccount(glAccountId);
         }
         return glAccount;
     }
 
     private GLAccount getLinkedGLAccountForShareCharges(final Long shareProductId, final int accountMappingTypeId, final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(shareProductId,
-                PortfolioProductType.SHARES.getValue(), accountMappingTypeId);
+        final ProductMappings mappings = this.accountMappingResolver.getMappings(PortfolioProductType.SHARES, shareProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
          * cash and accrual based accounts
          *****/
 
-        final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(shareProductId, PortfolioProductType.SHARES.getValue(),
-                        accountMappingTypeId, chargeId);
-        if (chargeSpecificIncomeAccountMapping != null) {
-            accountMapping = chargeSpecificIncomeAccountMapping;
+        final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+        if (chargeSpecificGLAccountId != null) {
+            glAccountId = chargeSpecificGLAccountId;
         }
-        return accountMapping.getGlAccount();
+        return getGLAccount(glAccountId);
+    }
+
+    /**
+     * The mapping tables only hold ids, the account itself is loaded through the current persistence context.
+     */
+    private GLAccount getGLAccount(final Long glAccountId) {
+        return glAccountId == null ? null : this.glAccountRepository.findById(glAccountId).orElse(null);
     }
 
     private boolean isOrganizationAccount(final int accountMappingTypeId) {
@@ -1263,13 +1259,61 @@ public class AccountingProcessorHelper {
         return incomeAccount;
     }
 
+    /**
+     * Runs the given postings, collecting the journal entries they create instead of flushing every single leg. The
+     * collected entries are saved with one flush once the postings are done and the journal entry created events are
+     * raised afterwards, in the order the entries were created. Nested calls join the outermost one.
+     */
+    public void batchJournalEntries(Runnable postings) {
+        if (this.pendingJournalEntries.get() != null) {
+            postings.run();
+            return;
+        }
+        this.pendingJournalEntries.set(new ArrayList<>());
+        try {
+            postings.run();
+            writePendingJournalEntries();
+        } finally {
+            this.pendingJournalEntries.remove();
+        }
+    }
+
     public JournalEntry persistJournalEntry(JournalEntry journalEntry) {
+        final List<JournalEntry> pending = this.pendingJournalEntries.get();
+        if (pending != null) {
+            if (journalEntry.isNew()) {
+                pending.add(journalEntry);
+                return journalEntry;
+            }
+            // an existing entry may reference the pending ones, they have to be written first
+            writePendingJournalEntries();
+        }
         boolean isNew = journalEntry.isNew();
         JournalEntry savedJournalEntry = this.glJournalEntryRepository.saveAndFlush(journalEntry);
-        if (isNew && journalEntry.getLoanTransactionId() != null) {
-            businessEventNotifierService.notifyPostBusinessEvent(new LoanJournalEntryCreatedBusinessEvent(savedJournalEntry));
+        if (isNew) {
+            notifyJournalEntryCreated(savedJournalEntry);
         }
         return savedJournalEntry;
     }
 
+    private void writePendingJournalEntries() {
+        final List<JournalEntry> pending = this.pendingJournalEntries.get();
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<JournalEntry> journalEntries = new ArrayList<>(pending);
+        pending.clear();
+        final List<JournalEntry> savedJournalEntries = this.glJournalEntryRepository.saveAll(journalEntries);
+        this.glJournalEntryRepository.flush();
+        for (JournalEntry savedJournalEntry : savedJournalEntries) {
+            notifyJournalEntryCreated(savedJournalEntry);
+        }
+    }
+
+    private void notifyJournalEntryCreated(JournalEntry journalEntry) {
+        if (journalEntry.getLoanTransactionId() != null) {
+            businessEventNotifierService.notifyPostBusinessEvent(new LoanJournalEntryCreatedBusinessEvent(journalEntry));
+        }
+    }
+
 }
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+
+/**
+ * Calculates the running balance of GL accounts from journal entries in (entry date, id) order.
+ *
+ * When checkpoints are tracked, the balances of the accounts touched within a calendar month are collected as
+ * checkpoints dated to the last day of that month once an entry of a later month is added. A replay can start from any
+ * of these checkpoints instead of from the first journal entry.
+ */
+final class JournalEntryRunningBalanceCalculator {
+
+    private final Map<Long, BigDecimal> balances;
+    private final boolean trackCheckpoints;
+    private final Map<Long, BigDecimal> periodBalances = new LinkedHashMap<>();
+    private final List<Checkpoint> closedCheckpoints = new ArrayList<>();
+    private LocalDate periodEndDate;
+
+    JournalEntryRunningBalanceCalculator(Map<Long, BigDecimal> openingBalances, boolean trackCheckpoints) {
+        this.balances = new HashMap<>(openingBalances);
+        this.trackCheckpoints = trackCheckpoints;
+    }
+
+    static LocalDate checkpointDateOf(LocalDate entryDate) {
+        return entryDate.with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    /**
+     * Adds the entry to the balance of its account.
+     *
+     * @return the running balance of the account including this entry
+     */
+    BigDecimal add(Long accountId, LocalDate entryDate, GLAccountType accountType, JournalEntryType entryType, BigDecimal amount) {
+        BigDecimal runningBalance = balances.getOrDefault(accountId, BigDecimal.ZERO);
+        if (isIncrease(accountType, entryType)) {
+            runningBalance = runningBalance.add(amount);
+        } else {
+            runningBalance = runningBalance.subtract(amount);
+        }
+        balances.put(accountId, runningBalance);
+        if (trackCheckpoints) {
+            LocalDate entryPeriodEndDate = checkpointDateOf(entryDate);
+            if (periodEndDate != null && !periodEndDate.equals(entryPeriodEndDate)) {
+                closePeriod();
+            }
+            periodEndDate = entryPeriodEndDate;
+            periodBalances.put(accountId, runningBalance);
+        }
+        return runningBalance;
+    }
+
+    /**
+     * Returns and forgets the checkpoints of the months which were completed since the last call.
+     */
+    List<Checkpoint> drainCheckpoints() {
+        List<Checkpoint> checkpoints = new ArrayList<>(closedCheckpoints);
+        closedCheckpoints.clear();
+        return checkpoints;
+    }
+
+    /**
+     * Completes the month of the last added entry and returns the remaining checkpoints.
+     */
+    List<Checkpoint> complete() {
+        closePeriod();
+        return drainCheckpoints();
+    }
+
+    private void closePeriod() {
+        periodBalances.forEach((accountId, balance) -> closedCheckpoints.add(new Checkpoint(periodEndDate, accountId, balance)));
+        periodBalances.clear();
+    }
+
+    private static boolean isIncrease(GLAccountType accountType, JournalEntryType entryType) {
+        return switch (accountType) {
+            case ASSET, EXPENSE -> entryType.isDebitType();
+            case EQUITY, INCOME, LIABILITY -> entryType.isCreditType();
+        };
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static final class Checkpoint {
+
+        private final LocalDate checkpointDate;
+        private final Long accountId;
+        private final BigDecimal balance;
+    }
+}
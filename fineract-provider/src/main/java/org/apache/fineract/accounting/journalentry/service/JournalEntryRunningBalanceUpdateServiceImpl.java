@@ -26,34 +26,55 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceCalculator.Checkpoint;
+import org.apache.fineract.accounting.journalentry.starter.AccountingJournalEntryConfiguration;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Updates the office and organization running balances of the journal entries.
+ *
+ * The office running balances of every (office, account) are checkpointed at the end of each month in
+ * acc_gl_running_balance_checkpoint. An update replays the entries only from the last checkpoint before the earliest
+ * uncalculated entry of the office, and the offices are replayed in parallel as their balances are independent. The
+ * organization running balances are replayed afterwards from the earliest checkpoint used by any of the offices, starting
+ * from the sum of the office checkpoints. Entries are read in keyset pages instead of being loaded at once.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
+    private static final int PAGE_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -63,20 +84,41 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
     private final FromJsonHelper fromApiJsonHelper;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
 
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
+    private final RunningBalanceEntryMapper entryMapper = new RunningBalanceEntryMapper();
 
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final PlatformTransactionManager transactionManager;
+
+    @Qualifier(AccountingJournalEntryConfiguration.RUNNING_BALANCE_TASK_EXECUTOR_BEAN_NAME)
+    private final TaskExecutor taskExecutor;
+
     @Override
     public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=false ";
-        try {
-            LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
+        final Long maxEntryId = this.jdbcTemplate.queryForObject("select max(je.id) from acc_gl_journal_entry je", Long.class);
+        final Map<Long, LocalDate> officeEntryDates = findOfficesToUpdate();
+        if (maxEntryId == null || officeEntryDates.isEmpty()) {
             log.debug("No results found for updation of running balance ");
+            return;
         }
+        final Long userId = platformSecurityContext.authenticatedUser().getId();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        final List<CompletableFuture<Optional<LocalDate>>> officeUpdates = officeEntryDates.entrySet().stream()
+                .map(officeEntryDate -> CompletableFuture.supplyAsync(withContext(context,
+                        () -> transactionTemplate.execute(status -> updateRunningBalance(officeEntryDate.getKey(),
+                                officeEntryDate.getValue(), maxEntryId, userId))),
+                        taskExecutor))
+                .toList();
+
+        // the organization balances have to be replayed from the earliest checkpoint any office was replayed from
+        Optional<LocalDate> organizationCheckpointDate = Optional.of(LocalDate.MAX);
+        for (CompletableFuture<Optional<LocalDate>> officeUpdate : officeUpdates) {
+            Optional<LocalDate> officeCheckpointDate = join(officeUpdate);
+            organizationCheckpointDate = organizationCheckpointDate
+                    .flatMap(date -> officeCheckpointDate.map(officeDate -> DateUtils.isBefore(officeDate, date) ? officeDate : date));
+        }
+        updateOrganizationRunningBalance(organizationCheckpointDate, maxEntryId, userId);
     }
 
     @Override
@@ -92,10 +134,11 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
             String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
                     + "where je.is_running_balance_calculated=false  and je.office_id=?";
-            try {
-                LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
+            LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
+            Long maxEntryId = this.jdbcTemplate.queryForObject("select max(je.id) from acc_gl_journal_entry je", Long.class);
+            if (maxEntryId != null && (entityDate != null || !hasCheckpoints(officeId))) {
+                updateRunningBalance(officeId, entityDate, maxEntryId, platformSecurityContext.authenticatedUser().getId());
+            } else {
                 log.debug("No results found for updation of office running balance with office id: {}", officeId);
             }
             commandProcessingResultBuilder.withOfficeId(officeId);
@@ -103,183 +146,222 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        final String organizationRunningBalanceQuery = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
+    /**
+     * Returns the offices with uncalculated entries mapped to the date of their earliest uncalculated entry, plus the
+     * offices which have entries but no checkpoints yet, mapped to null.
+     */
+    private Map<Long, LocalDate> findOfficesToUpdate() {
+        final Map<Long, LocalDate> officeEntryDates = new HashMap<>();
+        this.jdbcTemplate.query("select je.office_id as officeId, MIN(je.entry_date) as entityDate from acc_gl_journal_entry je "
+                + "where je.is_running_balance_calculated=false group by je.office_id", rs -> {
+                    officeEntryDates.put(rs.getLong("officeId"), JdbcSupport.getLocalDate(rs, "entityDate"));
+                });
+        this.jdbcTemplate.queryForList("select o.id from m_office o "
+                + "where not exists (select 1 from acc_gl_running_balance_checkpoint c where c.office_id = o.id) "
+                + "and exists (select 1 from acc_gl_journal_entry je where je.office_id = o.id)", Long.class)
+                .forEach(officeId -> officeEntryDates.put(officeId, null));
+        return officeEntryDates;
+    }
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-                + "from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    private boolean hasCheckpoints(Long officeId) {
+        return !this.jdbcTemplate
+                .queryForList("select c.id from acc_gl_running_balance_checkpoint c where c.office_id=? " + sqlGenerator.limit(1),
+                        Long.class, officeId)
+                .isEmpty();
+    }
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    /**
+     * Replays the office running balances from the last checkpoint before the month of the given entry date, and
+     * replaces the checkpoints after it.
+     *
+     * @param entryDate
+     *            the earliest date to be recalculated, null to replay every entry of the office
+     * @return the checkpoint date the office was replayed from, empty if it was replayed from the first entry
+     */
+    private Optional<LocalDate> updateRunningBalance(Long officeId, LocalDate entryDate, Long maxEntryId, Long userId) {
+        final Optional<LocalDate> checkpointDate = entryDate == null ? Optional.empty()
+                : Optional.ofNullable(this.jdbcTemplate.queryForObject(
+                        "select max(c.checkpoint_date) from acc_gl_running_balance_checkpoint c "
+                                + "where c.office_id=? and c.checkpoint_date < ?",
+                        LocalDate.class, officeId, entryDate.withDayOfMonth(1)));
+        final Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        if (checkpointDate.isPresent()) {
+            this.jdbcTemplate.query("select c.account_id as accountId, c.office_running_balance as runningBalance "
+                    + "from acc_gl_running_balance_checkpoint c where c.office_id=? and c.checkpoint_date = "
+                    + "(select max(c2.checkpoint_date) from acc_gl_running_balance_checkpoint c2 "
+                    + "where c2.office_id = c.office_id and c2.account_id = c.account_id and c2.checkpoint_date <= ?)", rs -> {
+                        openingBalances.put(rs.getLong("accountId"), rs.getBigDecimal("runningBalance"));
+                    }, officeId, checkpointDate.get());
+            this.jdbcTemplate.update("delete from acc_gl_running_balance_checkpoint where office_id=? and checkpoint_date > ?", officeId,
+                    checkpointDate.get());
+        } else {
+            this.jdbcTemplate.update("delete from acc_gl_running_balance_checkpoint where office_id=?", officeId);
         }
 
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper, entityDate);
-        if (entryDataList.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final int batchUpdateSize = 1000;
+        final JournalEntryRunningBalanceCalculator calculator = new JournalEntryRunningBalanceCalculator(openingBalances, true);
+        final String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=?, last_modified_by=?, last_modified_on_utc=? "
+                + "WHERE id=?";
+        forEachEntryPage("je.office_id=?", List.of(officeId), checkpointDate, maxEntryId, entries -> {
             List<Object[]> params = new ArrayList<>();
-            int batchIndex = 0;
-            String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
-                    + "office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
-            for (int index = 0; index < entryDataList.size(); index++) {
-                JournalEntryData entryData = entryDataList.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
+            for (RunningBalanceEntry entry : entries) {
+                BigDecimal runningBalance = calculator.add(entry.getAccountId(), entry.getEntryDate(), entry.getAccountType(),
+                        entry.getEntryType(), entry.getAmount());
+                if (runningBalance.compareTo(entry.getOfficeRunningBalance()) != 0) {
+                    params.add(new Object[] { runningBalance, userId, DateUtils.getAuditOffsetDateTime(), entry.getId() });
                 }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
+            }
+            batchUpdate(sql, params);
+            saveCheckpoints(officeId, calculator.drainCheckpoints());
+        });
+        saveCheckpoints(officeId, calculator.complete());
+        return checkpointDate;
+    }
+
+    private void updateOrganizationRunningBalance(Optional<LocalDate> checkpointDate, Long maxEntryId, Long userId) {
+        final Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        checkpointDate.ifPresent(date -> this.jdbcTemplate.query(
+                "select c.account_id as accountId, SUM(c.office_running_balance) as runningBalance "
+                        + "from acc_gl_running_balance_checkpoint c where c.checkpoint_date = "
+                        + "(select max(c2.checkpoint_date) from acc_gl_running_balance_checkpoint c2 "
+                        + "where c2.office_id = c.office_id and c2.account_id = c.account_id and c2.checkpoint_date <= ?) "
+                        + "group by c.account_id",
+                rs -> {
+                    openingBalances.put(rs.getLong("accountId"), rs.getBigDecimal("runningBalance"));
+                }, date));
 
-                params.add(new Object[] { Boolean.TRUE, runningBalance, officeRunningBalance,
-                        platformSecurityContext.authenticatedUser().getId(), DateUtils.getAuditOffsetDateTime(), entryData.getId() });
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDataList.size() - 1) {
-                    this.jdbcTemplate.batchUpdate(sql, params);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    params.clear();
+        final JournalEntryRunningBalanceCalculator calculator = new JournalEntryRunningBalanceCalculator(openingBalances, false);
+        final String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
+                + " last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
+        forEachEntryPage(null, List.of(), checkpointDate, maxEntryId, entries -> {
+            List<Object[]> params = new ArrayList<>();
+            for (RunningBalanceEntry entry : entries) {
+                BigDecimal runningBalance = calculator.add(entry.getAccountId(), entry.getEntryDate(), entry.getAccountType(),
+                        entry.getEntryType(), entry.getAmount());
+                if (!entry.isRunningBalanceCalculated() || runningBalance.compareTo(entry.getOrganizationRunningBalance()) != 0) {
+                    params.add(new Object[] { Boolean.TRUE, runningBalance, userId, DateUtils.getAuditOffsetDateTime(), entry.getId() });
                 }
             }
-        }
-
+            batchUpdate(sql, params);
+        });
     }
 
-    private void updateRunningBalance(Long officeId, LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    /**
+     * Reads the entries after the checkpoint date in (entry date, id) order, one keyset page at a time.
+     */
+    private void forEachEntryPage(String filter, List<?> filterParams, Optional<LocalDate> checkpointDate, Long maxEntryId,
+            Consumer<List<RunningBalanceEntry>> pageConsumer) {
+        LocalDate lastEntryDate = null;
+        Long lastEntryId = null;
+        List<RunningBalanceEntry> entries;
+        do {
+            StringBuilder sql = new StringBuilder(entryMapper.schema()).append(" where je.id <= ?");
+            List<Object> params = new ArrayList<>();
+            params.add(maxEntryId);
+            if (filter != null) {
+                sql.append(" and ").append(filter);
+                params.addAll(filterParams);
+            }
+            if (lastEntryId != null) {
+                sql.append(" and (je.entry_date > ? or (je.entry_date = ? and je.id > ?))");
+                params.add(lastEntryDate);
+                params.add(lastEntryDate);
+                params.add(lastEntryId);
+            } else if (checkpointDate.isPresent()) {
+                sql.append(" and je.entry_date > ?");
+                params.add(checkpointDate.get());
+            }
+            sql.append(" order by je.entry_date, je.id ").append(sqlGenerator.limit(PAGE_SIZE));
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            entries = this.jdbcTemplate.query(sql.toString(), entryMapper, params.toArray()); // NOSONAR
+            if (!entries.isEmpty()) {
+                pageConsumer.accept(entries);
+                RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+                lastEntryDate = lastEntry.getEntryDate();
+                lastEntryId = lastEntry.getId();
             }
+        } while (entries.size() == PAGE_SIZE);
+    }
+
+    private void saveCheckpoints(Long officeId, List<Checkpoint> checkpoints) {
+        List<Object[]> params = new ArrayList<>(checkpoints.size());
+        for (Checkpoint checkpoint : checkpoints) {
+            params.add(new Object[] { officeId, checkpoint.getAccountId(), checkpoint.getCheckpointDate(), checkpoint.getBalance() });
         }
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, officeId,
-                entityDate);
-        List<Object[]> params = new ArrayList<>();
+        batchUpdate("INSERT INTO acc_gl_running_balance_checkpoint (office_id, account_id, checkpoint_date, office_running_balance) "
+                + "VALUES (?, ?, ?, ?)", params);
+    }
 
-        String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=?, last_modified_by=?, last_modified_on_utc=? WHERE id=?";
-        for (JournalEntryData entryData : entryDataList) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            params.add(new Object[] { runningBalance, platformSecurityContext.authenticatedUser().getId(),
-                    DateUtils.getAuditOffsetDateTime(), entryData.getId() });
+    private void batchUpdate(String sql, List<Object[]> params) {
+        if (!params.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(sql, params);
         }
-        this.jdbcTemplate.batchUpdate(sql, params);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        GLAccountType accountType = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
-        boolean isIncrease = false;
-        switch (accountType) {
-            case ASSET:
-            case EXPENSE:
-                if (entryType.isDebitType()) {
-                    isIncrease = true;
-                }
-            break;
-            case EQUITY:
-            case INCOME:
-            case LIABILITY:
-                if (entryType.isCreditType()) {
-                    isIncrease = true;
+    }
+
+    private static <T> Supplier<T> withContext(FineractContext context, Supplier<T> task) {
+        return () -> {
+            boolean foreignThread = ThreadLocalContextUtil.getTenant() == null;
+            if (foreignThread) {
+                ThreadLocalContextUtil.init(context);
+            }
+            try {
+                return task.get();
+            } finally {
+                if (foreignThread) {
+                    ThreadLocalContextUtil.reset();
                 }
-            break;
-        }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
-        }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
+            }
+        };
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    @Getter
+    @RequiredArgsConstructor
+    private static final class RunningBalanceEntry {
 
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
-        }
+        private final Long id;
+        private final Long accountId;
+        private final LocalDate entryDate;
+        private final GLAccountType accountType;
+        private final JournalEntryType entryType;
+        private final BigDecimal amount;
+        private final BigDecimal officeRunningBalance;
+        private final BigDecimal organizationRunningBalance;
+        private final boolean runningBalanceCalculated;
+    }
+
+    private static final class RunningBalanceEntryMapper implements RowMapper<RunningBalanceEntry> {
 
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+        public String schema() {
+            return "select je.id as id, je.account_id as glAccountId, je.entry_date as entryDate, je.type_enum as entryType, "
+                    + "je.amount as amount, glAccount.classification_enum as classification, "
+                    + "je.office_running_balance as officeRunningBalance, je.organization_running_balance as organizationRunningBalance, "
+                    + "je.is_running_balance_calculated as runningBalanceCalculated "
+                    + "from acc_gl_journal_entry je join acc_gl_account glAccount on je.account_id = glAccount.id";
         }
 
         @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
+        public RunningBalanceEntry mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
             final Long id = rs.getLong("id");
             final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
+            final LocalDate entryDate = JdbcSupport.getLocalDate(rs, "entryDate");
+            final GLAccountType accountType = GLAccountType.fromInt(JdbcSupport.getInteger(rs, "classification"));
+            final JournalEntryType entryType = JournalEntryType.fromInt(JdbcSupport.getInteger(rs, "entryType"));
             final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
+            final BigDecimal officeRunningBalance = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "officeRunningBalance");
+            final BigDecimal organizationRunningBalance = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "organizationRunningBalance");
+            final boolean runningBalanceCalculated = rs.getBoolean("runningBalanceCalculated");
+            return new RunningBalanceEntry(id, glAccountId, entryDate, accountType, entryType, amount, officeRunningBalance,
+                    organizationRunningBalance, runningBalanceCalculated);
         }
     }
-
 }
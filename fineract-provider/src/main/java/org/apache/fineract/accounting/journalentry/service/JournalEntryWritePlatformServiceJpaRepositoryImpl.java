@@ -469,7 +469,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     upfrontAccrualBasedAccountingEnabled, periodicAccrualBasedAccountingEnabled);
             final AccountingProcessorForLoan accountingProcessorForLoan = this.accountingProcessorForLoanFactory
                     .determineProcessor(loanDTO);
-            accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO);
+            this.helper.batchJournalEntries(() -> accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO));
         }
     }
 
@@ -485,7 +485,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForSavings accountingProcessorForSavings = this.accountingProcessorForSavingsFactory
                     .determineProcessor(savingsDTO);
-            accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO);
+            this.helper.batchJournalEntries(() -> accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO));
         }
     }
 
@@ -501,7 +501,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForShares accountingProcessorForShares = this.accountingProcessorForSharesFactory
                     .determineProcessor(sharesDTO);
-            accountingProcessorForShares.createJournalEntriesForShares(sharesDTO);
+            this.helper.batchJournalEntries(() -> accountingProcessorForShares.createJournalEntriesForShares(sharesDTO));
         }
 
     }
@@ -33,8 +33,9 @@ import org.apache.fineract.accounting.journalentry.service.JournalEntryReadPlatf
 import org.apache.fineract.accounting.journalentry.service.JournalEntryReadPlatformServiceImpl;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformServiceJpaRepositoryImpl;
-import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver;
 import org.apache.fineract.accounting.rule.domain.AccountingRuleRepository;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
@@ -54,21 +55,24 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class AccountingJournalEntryConfiguration {
 
+    public static final String RUNNING_BALANCE_TASK_EXECUTOR_BEAN_NAME = "runningBalanceTaskExecutor";
+
     @Bean
     @ConditionalOnMissingBean(AccountingProcessorHelper.class)
     public AccountingProcessorHelper accountingProcessorHelper(JournalEntryRepository glJournalEntryRepository,
-            ProductToGLAccountMappingRepository accountMappingRepository,
+            ProductToGLAccountMappingResolver accountMappingResolver,
             FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository, GLClosureRepository closureRepository,
             GLAccountRepository glAccountRepository, OfficeRepository officeRepository, LoanTransactionRepository loanTransactionRepository,
             ClientTransactionRepository clientTransactionRepository,
             SavingsAccountTransactionRepository savingsAccountTransactionRepository,
             AccountTransfersReadPlatformService accountTransfersReadPlatformService, ChargeRepositoryWrapper chargeRepositoryWrapper,
             BusinessEventNotifierService businessEventNotifierService) {
-        return new AccountingProcessorHelper(glJournalEntryRepository, accountMappingRepository, financialActivityAccountRepository,
+        return new AccountingProcessorHelper(glJournalEntryRepository, accountMappingResolver, financialActivityAccountRepository,
                 closureRepository, glAccountRepository, officeRepository, loanTransactionRepository, clientTransactionRepository,
                 savingsAccountTransactionRepository, accountTransfersReadPlatformService, chargeRepositoryWrapper,
                 businessEventNotifierService);
@@ -102,4 +106,15 @@ public class AccountingJournalEntryConfiguration {
                 glAccountReadPlatformService, organisationCurrencyRepository, context, paymentDetailWritePlatformService,
                 financialActivityAccountRepositoryWrapper, accountingProcessorForClientTransactions);
     }
+
+    @Bean(RUNNING_BALANCE_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor runningBalanceTaskExecutor(FineractProperties fineractProperties) {
+        int threadCount = Math.max(fineractProperties.getJob().getRunningBalanceThreadCount(), 1);
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadCount);
+        threadPoolTaskExecutor.setMaxPoolSize(threadCount);
+        threadPoolTaskExecutor.setAllowCoreThreadTimeOut(true);
+        threadPoolTaskExecutor.setThreadNamePrefix("runningBalance");
+        return threadPoolTaskExecutor;
+    }
 }
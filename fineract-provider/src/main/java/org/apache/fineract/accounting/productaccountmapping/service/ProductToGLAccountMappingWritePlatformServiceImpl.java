@@ -34,7 +34,9 @@ import org.apache.fineract.accounting.common.AccountingConstants.LoanProductAcco
 import org.apache.fineract.accounting.common.AccountingConstants.SavingProductAccountingParams;
 import org.apache.fineract.accounting.common.AccountingConstants.SharesProductAccountingParams;
 import org.apache.fineract.accounting.common.AccountingRuleType;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
 import org.apache.fineract.accounting.producttoaccountmapping.serialization.ProductToGLAccountMappingFromApiJsonDeserializer;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver;
 import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingWritePlatformService;
 import org.apache.fineract.accounting.producttoaccountmapping.service.SavingsProductToGLAccountMappingHelper;
 import org.apache.fineract.accounting.producttoaccountmapping.service.ShareProductToGLAccountMappingHelper;
@@ -53,6 +55,7 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
     private final LoanProductToGLAccountMappingHelper loanProductToGLAccountMappingHelper;
     private final SavingsProductToGLAccountMappingHelper savingsProductToGLAccountMappingHelper;
     private final ShareProductToGLAccountMappingHelper shareProductToGLAccountMappingHelper;
+    private final ProductToGLAccountMappingResolver productToGLAccountMappingResolver;
 
     @Override
     @Transactional
@@ -209,6 +212,7 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
                 this.loanProductToGLAccountMappingHelper.saveChargesToIncomeAccountMappings(command, element, loanProductId, null);
             break;
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.LOAN, loanProductId);
     }
 
     @Override
@@ -284,6 +288,7 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
             default:
             break;
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SAVING, savingProductId);
 
     }
 
@@ -328,6 +333,9 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
             default:
             break;
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SHARES, shareProductId);
+        // the payment channel and charge mappings of share products are stored with the savings product type
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SAVING, shareProductId);
 
     }
 
@@ -359,6 +367,7 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
             this.loanProductToGLAccountMappingHelper.updatePaymentChannelToFundSourceMappings(command, element, loanProductId, changes);
             this.loanProductToGLAccountMappingHelper.updateChargesToIncomeAccountMappings(command, element, loanProductId, changes);
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.LOAN, loanProductId);
         return changes;
     }
 
@@ -391,6 +400,7 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
                     changes);
             this.savingsProductToGLAccountMappingHelper.updateChargesToIncomeAccountMappings(command, element, savingsProductId, changes);
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SAVING, savingsProductId);
         return changes;
     }
 
@@ -421,6 +431,8 @@ public class ProductToGLAccountMappingWritePlatformServiceImpl implements Produc
             this.shareProductToGLAccountMappingHelper.updatePaymentChannelToFundSourceMappings(command, element, shareProductId, changes);
             this.shareProductToGLAccountMappingHelper.updateChargesToIncomeAccountMappings(command, element, shareProductId, changes);
         }
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SHARES, shareProductId);
+        this.productToGLAccountMappingResolver.refresh(PortfolioProductType.SAVING, shareProductId);
         return changes;
     }
 }
@@ -16,33 +16,18 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.fineract.notification.cache;
+package org.apache.fineract.cob.exceptions;
 
-public class CacheNotificationResponseHeader {
+public class SavingsReadException extends Exception {
 
-    private boolean hasNotifications;
-    private Long lastFetch;
+    private final Long id;
 
-    public CacheNotificationResponseHeader() {}
-
-    public CacheNotificationResponseHeader(boolean hasNotifications, Long lastFetch) {
-        this.hasNotifications = hasNotifications;
-        this.lastFetch = lastFetch;
-    }
-
-    public boolean hasNotifications() {
-        return hasNotifications;
-    }
-
-    public void setHasNotifications(boolean hasNotifications) {
-        this.hasNotifications = hasNotifications;
-    }
-
-    public Long getLastFetch() {
-        return lastFetch;
+    public SavingsReadException(Long id, Throwable t) {
+        super(String.format("Savings account could not be read! savingsId: %d", id), t);
+        this.id = id;
     }
 
-    public void setLastFetch(Long lastFetch) {
-        this.lastFetch = lastFetch;
+    public Long getId() {
+        return id;
     }
 }
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.SavingsReadException;
+import org.apache.fineract.cob.savings.SavingsLockingService;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.serialization.ThrowableSerialization;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.annotation.OnProcessError;
+import org.springframework.batch.core.annotation.OnReadError;
+import org.springframework.batch.core.annotation.OnSkipInProcess;
+import org.springframework.batch.core.annotation.OnSkipInRead;
+import org.springframework.batch.core.annotation.OnSkipInWrite;
+import org.springframework.batch.core.annotation.OnWriteError;
+import org.springframework.batch.item.Chunk;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ChunkProcessingSavingsItemListener {
+
+    private final SavingsLockingService savingsLockingService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The lock of a failed account is released instead of being kept with the error: its last closed business date
+     * stays behind, so the next run picks it up again. Processing and writing are retried, so their locks are released
+     * only when the account is finally skipped.
+     */
+    private void releaseAccountLocks(List<Long> savingsIds) {
+        transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(@NotNull TransactionStatus status) {
+                savingsLockingService.deleteBySavingsAccountIdInAndLockOwner(savingsIds, LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+            }
+        });
+    }
+
+    @OnReadError
+    public void onReadError(Exception e) {
+        if (e instanceof SavingsReadException ee) {
+            log.warn("Error was triggered during reading of Savings (id={}) due to: {}", ee.getId(), ThrowableSerialization.serialize(e));
+            releaseAccountLocks(List.of(ee.getId()));
+        } else {
+            log.error("Could not handle read error", e);
+        }
+    }
+
+    @OnProcessError
+    public void onProcessError(@NotNull SavingsAccount item, Exception e) {
+        log.warn("Error was triggered during processing of Savings (id={}) due to: {}", item.getId(), ThrowableSerialization.serialize(e));
+    }
+
+    @OnWriteError
+    public void onWriteError(Exception e, @NotNull Chunk<? extends SavingsAccount> items) {
+        List<Long> savingsIds = items.getItems().stream().map(AbstractPersistableCustom::getId).toList();
+        log.warn("Error was triggered during writing of Savings (ids={}) due to: {}", savingsIds, ThrowableSerialization.serialize(e));
+    }
+
+    @OnSkipInRead
+    public void onSkipInRead(@NotNull Throwable e) {
+        log.warn("Skipping was triggered during read!");
+    }
+
+    @OnSkipInProcess
+    public void onSkipInProcess(@NotNull SavingsAccount item, @NotNull Throwable e) {
+        log.warn("Skipping was triggered during processing of Savings (id={})", item.getId());
+        releaseAccountLocks(List.of(item.getId()));
+    }
+
+    @OnSkipInWrite
+    public void onSkipInWrite(@NotNull SavingsAccount item, @NotNull Throwable e) {
+        log.warn("Skipping was triggered during writing of Savings (id={})", item.getId());
+        releaseAccountLocks(List.of(item.getId()));
+    }
+}
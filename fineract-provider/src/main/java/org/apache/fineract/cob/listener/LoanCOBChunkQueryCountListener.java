@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.fineract.infrastructure.core.diagnostics.jpa.QueryCountingSessionEventListener;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
+import org.springframework.batch.core.annotation.AfterRead;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * Records how many SQL statements a Loan COB chunk executes, in total and per loan. A chunk is always processed on a
+ * single thread, so the counting is bound to the thread which runs the chunk.
+ */
+public class LoanCOBChunkQueryCountListener {
+
+    public static final String QUERIES_PER_CHUNK_METRIC = "fineract.cob.loan.chunk.queries";
+    public static final String QUERIES_PER_LOAN_METRIC = "fineract.cob.loan.chunk.queries.per.loan";
+
+    private final DistributionSummary queriesPerChunk;
+    private final DistributionSummary queriesPerLoan;
+    private final ThreadLocal<int[]> loansRead = ThreadLocal.withInitial(() -> new int[1]);
+
+    public LoanCOBChunkQueryCountListener(MeterRegistry meterRegistry, String readerMode) {
+        this.queriesPerChunk = DistributionSummary.builder(QUERIES_PER_CHUNK_METRIC).tag("reader", readerMode)
+                .description("Number of SQL statements executed by a Loan COB chunk").register(meterRegistry);
+        this.queriesPerLoan = DistributionSummary.builder(QUERIES_PER_LOAN_METRIC).tag("reader", readerMode)
+                .description("Number of SQL statements executed by a Loan COB chunk divided by the loans read").register(meterRegistry);
+    }
+
+    @BeforeChunk
+    public void beforeChunk(ChunkContext context) {
+        loansRead.get()[0] = 0;
+        QueryCountingSessionEventListener.startCounting();
+    }
+
+    @AfterRead
+    public void afterRead(Loan loan) {
+        loansRead.get()[0]++;
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        long queries = QueryCountingSessionEventListener.stopCounting();
+        int loans = loansRead.get()[0];
+        queriesPerChunk.record(queries);
+        if (loans > 0) {
+            queriesPerLoan.record((double) queries / loans);
+        }
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext context) {
+        QueryCountingSessionEventListener.stopCounting();
+    }
+}
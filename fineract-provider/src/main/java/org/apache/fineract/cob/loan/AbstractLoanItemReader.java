@@ -18,9 +18,12 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.exceptions.LoanReadException;
@@ -30,29 +33,90 @@ import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
 import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ItemReader;
 
 @Slf4j
-@RequiredArgsConstructor
 public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
     protected final LoanRepository loanRepository;
 
+    /**
+     * Number of loan ids taken from the queue and loaded together with a single set-based fetch. A value of 1 keeps the
+     * one-loan-per-read behaviour.
+     */
+    private final int bulkFetchSize;
+
     @Setter(AccessLevel.PROTECTED)
     private LinkedBlockingQueue<Long> remainingData;
 
+    // The step may run on multiple threads and every chunk has its own transaction, so the prefetched loans are kept
+    // per thread and are only handed out within the chunk which fetched them.
+    private final ThreadLocal<Deque<Long>> prefetchedLoanIds = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Map<Long, Loan>> prefetchedLoans = ThreadLocal.withInitial(HashMap::new);
+
+    protected AbstractLoanItemReader(LoanRepository loanRepository) {
+        this(loanRepository, 1);
+    }
+
+    protected AbstractLoanItemReader(LoanRepository loanRepository, int bulkFetchSize) {
+        this.loanRepository = loanRepository;
+        this.bulkFetchSize = Math.max(bulkFetchSize, 1);
+    }
+
     @Override
     public Loan read() throws Exception {
+        if (bulkFetchSize > 1) {
+            return readPrefetched();
+        }
         final Long loanId = remainingData.poll();
         if (loanId != null) {
+            return readLoan(loanId);
+        }
+        return null;
+    }
+
+    private Loan readPrefetched() throws Exception {
+        Deque<Long> loanIds = prefetchedLoanIds.get();
+        Map<Long, Loan> loans = prefetchedLoans.get();
+        if (loanIds.isEmpty()) {
+            loans.clear();
+            remainingData.drainTo(loanIds, bulkFetchSize);
+            if (loanIds.isEmpty()) {
+                return null;
+            }
             try {
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                loanRepository.findAllByIdsWithCollections(loanIds).forEach(loan -> loans.put(loan.getId(), loan));
             } catch (Exception e) {
-                throw new LoanReadException(loanId, e);
+                log.warn("Bulk fetch of {} loans failed, falling back to loading them one by one", loanIds.size(), e);
             }
         }
-        return null;
+        final Long loanId = loanIds.poll();
+        Loan loan = loans.remove(loanId);
+        return loan != null ? loan : readLoan(loanId);
+    }
+
+    private Loan readLoan(Long loanId) throws LoanReadException {
+        try {
+            return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        } catch (Exception e) {
+            throw new LoanReadException(loanId, e);
+        }
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        // loans fetched by this chunk must not leak into the transaction of the next one, the remaining ids get loaded
+        // again on demand
+        prefetchedLoans.get().clear();
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext context) {
+        prefetchedLoans.get().clear();
     }
 
     @AfterStep
@@ -18,12 +18,14 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.InitialisationTasklet;
 import org.apache.fineract.cob.common.ResetContextTasklet;
 import org.apache.fineract.cob.conditions.LoanCOBWorkerCondition;
 import org.apache.fineract.cob.listener.ChunkProcessingLoanItemListener;
+import org.apache.fineract.cob.listener.LoanCOBChunkQueryCountListener;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
@@ -84,6 +86,9 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private CustomJobParameterResolver customJobParameterResolver;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean(name = LoanCOBConstant.LOAN_COB_WORKER_STEP)
     public Step loanCOBWorkerStep() {
         return stepBuilderFactory.get("Loan COB worker - Step").inputChannel(inboundRequests).flow(flow()).build();
@@ -132,6 +137,7 @@ public class LoanCOBWorkerConfiguration {
                 .skip(Exception.class) //
                 .skipLimit(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME) + 1) //
                 .listener(loanItemListener()) //
+                .listener(loanChunkQueryCountListener()) //
                 .transactionManager(transactionManager);
 
         if (propertyService.getThreadPoolMaxPoolSize(LoanCOBConstant.JOB_NAME) > 1) {
@@ -163,6 +169,11 @@ public class LoanCOBWorkerConfiguration {
         return new ChunkProcessingLoanItemListener(loanLockingService, transactionTemplate);
     }
 
+    @Bean
+    public LoanCOBChunkQueryCountListener loanChunkQueryCountListener() {
+        return new LoanCOBChunkQueryCountListener(meterRegistry, isBulkFetchEnabled() ? "bulk" : "single");
+    }
+
     @Bean
     public ApplyLoanLockTasklet applyLock() {
         return new ApplyLoanLockTasklet(fineractProperties, loanLockingService, retrieveLoanIdService, customJobParameterResolver,
@@ -177,7 +188,9 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        // in bulk fetch mode a whole chunk of loans is loaded with a few set-based queries instead of one by one
+        int bulkFetchSize = isBulkFetchEnabled() ? propertyService.getChunkSize(LoanCOBConstant.JOB_NAME) : 1;
+        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService, bulkFetchSize);
     }
 
     @Bean
@@ -193,4 +206,8 @@ public class LoanCOBWorkerConfiguration {
         repositoryItemWriter.setRepository(loanRepository);
         return repositoryItemWriter;
     }
+
+    private boolean isBulkFetchEnabled() {
+        return fineractProperties.getJob().isLoanCobBulkFetchEnabled();
+    }
 }
@@ -43,7 +43,12 @@ public class LoanItemReader extends AbstractLoanItemReader {
 
     public LoanItemReader(LoanRepository loanRepository, RetrieveLoanIdService retrieveLoanIdService,
             CustomJobParameterResolver customJobParameterResolver, LoanLockingService loanLockingService) {
-        super(loanRepository);
+        this(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService, 1);
+    }
+
+    public LoanItemReader(LoanRepository loanRepository, RetrieveLoanIdService retrieveLoanIdService,
+            CustomJobParameterResolver customJobParameterResolver, LoanLockingService loanLockingService, int bulkFetchSize) {
+        super(loanRepository, bulkFetchSize);
         this.retrieveLoanIdService = retrieveLoanIdService;
         this.customJobParameterResolver = customJobParameterResolver;
         this.loanLockingService = loanLockingService;
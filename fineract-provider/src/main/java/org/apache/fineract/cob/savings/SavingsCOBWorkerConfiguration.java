@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.common.InitialisationTasklet;
+import org.apache.fineract.cob.common.ResetContextTasklet;
+import org.apache.fineract.cob.conditions.SavingsCOBWorkerCondition;
+import org.apache.fineract.cob.listener.ChunkProcessingSavingsItemListener;
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@Conditional(SavingsCOBWorkerCondition.class)
+public class SavingsCOBWorkerConfiguration {
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RemotePartitioningWorkerStepBuilderFactory stepBuilderFactory;
+
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private SavingsAccountRepository savingsAccountRepository;
+    @Autowired
+    private SavingsAccountAssembler savingsAccountAssembler;
+    @Autowired
+    private QueueChannel inboundRequests;
+    @Autowired
+    private COBBusinessStepService cobBusinessStepService;
+    @Autowired
+    private AppUserRepositoryWrapper userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RetrieveSavingsIdService retrieveSavingsIdService;
+
+    @Autowired
+    private FineractProperties fineractProperties;
+    @Autowired
+    private SavingsLockingService savingsLockingService;
+
+    @Bean(name = SavingsCOBConstant.SAVINGS_COB_WORKER_STEP)
+    public Step savingsCOBWorkerStep() {
+        return stepBuilderFactory.get("Savings COB worker - Step").inputChannel(inboundRequests).flow(savingsCOBFlow()).build();
+    }
+
+    @Bean
+    public Flow savingsCOBFlow() {
+        return new FlowBuilder<Flow>("savingsCobFlow").start(savingsInitialisationStep(null)).next(applySavingsLockStep(null))
+                .next(savingsBusinessStep(null, null)).next(savingsResetContextStep(null)).build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsInitialisationStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Savings initialisation - Step:" + partitionName, jobRepository)
+                .tasklet(savingsInitialiseContext(), transactionManager).build();
+    }
+
+    @Bean
+    public TaskExecutor savingsCobTaskExecutor() {
+        if (propertyService.getThreadPoolMaxPoolSize(SavingsCOBConstant.JOB_NAME) == 1) {
+            return new SyncTaskExecutor();
+        }
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix("Savings-COB-Thread-");
+        taskExecutor.setThreadGroupName("Savings-COB-Thread");
+        taskExecutor.setCorePoolSize(propertyService.getThreadPoolCorePoolSize(SavingsCOBConstant.JOB_NAME));
+        taskExecutor.setMaxPoolSize(propertyService.getThreadPoolMaxPoolSize(SavingsCOBConstant.JOB_NAME));
+        taskExecutor.setQueueCapacity(propertyService.getThreadPoolQueueCapacity(SavingsCOBConstant.JOB_NAME));
+        taskExecutor.setAllowCoreThreadTimeOut(true);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        return taskExecutor;
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsBusinessStep(@Value("#{stepExecutionContext['partition']}") String partitionName,
+            TaskExecutor savingsCobTaskExecutor) {
+        SimpleStepBuilder<SavingsAccount, SavingsAccount> stepBuilder = new StepBuilder("Savings Business - Step:" + partitionName,
+                jobRepository) //
+                .<SavingsAccount, SavingsAccount>chunk(propertyService.getChunkSize(SavingsCOBConstant.JOB_NAME), transactionManager) //
+                .reader(savingsCOBWorkerItemReader()) //
+                .processor(savingsCOBWorkerItemProcessor()) //
+                .writer(savingsCOBWorkerItemWriter()) //
+                .faultTolerant() //
+                .retry(Exception.class) //
+                .retryLimit(propertyService.getRetryLimit(SavingsCOBConstant.JOB_NAME)) //
+                .skip(Exception.class) //
+                .skipLimit(propertyService.getChunkSize(SavingsCOBConstant.JOB_NAME) + 1) //
+                .listener(savingsItemListener()) //
+                .transactionManager(transactionManager);
+
+        if (propertyService.getThreadPoolMaxPoolSize(SavingsCOBConstant.JOB_NAME) > 1) {
+            stepBuilder.taskExecutor(savingsCobTaskExecutor);
+        }
+
+        return stepBuilder.build();
+    }
+
+    @Bean
+    @StepScope
+    public Step applySavingsLockStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Apply savings lock - Step:" + partitionName, jobRepository).tasklet(applySavingsLock(), transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsResetContextStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Savings reset context - Step:" + partitionName, jobRepository)
+                .tasklet(savingsResetContext(), transactionManager).build();
+    }
+
+    @Bean
+    public InitialisationTasklet savingsInitialiseContext() {
+        return new InitialisationTasklet(userRepository);
+    }
+
+    @Bean
+    public ChunkProcessingSavingsItemListener savingsItemListener() {
+        return new ChunkProcessingSavingsItemListener(savingsLockingService, transactionTemplate);
+    }
+
+    @Bean
+    public ApplySavingsLockTasklet applySavingsLock() {
+        return new ApplySavingsLockTasklet(fineractProperties, savingsLockingService, retrieveSavingsIdService, transactionTemplate);
+    }
+
+    @Bean
+    public ResetContextTasklet savingsResetContext() {
+        return new ResetContextTasklet();
+    }
+
+    @Bean
+    @StepScope
+    public SavingsItemReader savingsCOBWorkerItemReader() {
+        return new SavingsItemReader(savingsAccountAssembler, retrieveSavingsIdService, savingsLockingService);
+    }
+
+    @Bean
+    @StepScope
+    public SavingsItemProcessor savingsCOBWorkerItemProcessor() {
+        return new SavingsItemProcessor(cobBusinessStepService);
+    }
+
+    @Bean
+    @StepScope
+    public SavingsItemWriter savingsCOBWorkerItemWriter() {
+        SavingsItemWriter repositoryItemWriter = new SavingsItemWriter(savingsLockingService);
+        repositoryItemWriter.setRepository(savingsAccountRepository);
+        return repositoryItemWriter;
+    }
+}
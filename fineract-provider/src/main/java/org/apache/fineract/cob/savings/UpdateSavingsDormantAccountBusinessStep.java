@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountSubStatusEnum;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.domain.SavingsProduct;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UpdateSavingsDormantAccountBusinessStep implements SavingsCOBBusinessStep {
+
+    private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+
+    @Override
+    public SavingsAccount execute(SavingsAccount savingsAccount) {
+        SavingsProduct product = savingsAccount.savingsProduct();
+        if (!savingsAccount.isActive() || !product.isDormancyTrackingActive()) {
+            return savingsAccount;
+        }
+        log.debug("start processing dormancy business step for savings with Id [{}]", savingsAccount.getId());
+        long daysSinceLastActivity = DateUtils.getDifferenceInDays(getLastActivityDate(savingsAccount), DateUtils.getBusinessLocalDate());
+
+        // the transitions are checked in sequence, so an account can move through several sub statuses in one run just
+        // like with the former set based job
+        if (hasSubStatus(savingsAccount, SavingsAccountSubStatusEnum.NONE)
+                && isReached(daysSinceLastActivity, product.getDaysToInactive())) {
+            savingsAccountWritePlatformService.setSubStatusInactive(savingsAccount.getId());
+        }
+        if (hasSubStatus(savingsAccount, SavingsAccountSubStatusEnum.INACTIVE)
+                && isReached(daysSinceLastActivity, product.getDaysToDormancy())) {
+            savingsAccountWritePlatformService.setSubStatusDormant(savingsAccount.getId());
+        }
+        if (hasSubStatus(savingsAccount, SavingsAccountSubStatusEnum.DORMANT)
+                && isReached(daysSinceLastActivity, product.getDaysToEscheat())) {
+            savingsAccountWritePlatformService.escheat(savingsAccount.getId());
+        }
+        log.debug("end processing dormancy business step for savings with Id [{}]", savingsAccount.getId());
+        return savingsAccount;
+    }
+
+    private LocalDate getLastActivityDate(SavingsAccount savingsAccount) {
+        return savingsAccount.getTransactions().stream()
+                .filter(transaction -> !transaction.isReversed() && !transaction.isReversalTransaction()
+                        && (transaction.isDeposit() || transaction.isWithdrawal()))
+                .map(SavingsAccountTransaction::getTransactionDate).max(LocalDate::compareTo).orElse(savingsAccount.getActivationDate());
+    }
+
+    private boolean isReached(long daysSinceLastActivity, Long threshold) {
+        return threshold != null && daysSinceLastActivity >= threshold;
+    }
+
+    private boolean hasSubStatus(SavingsAccount savingsAccount, SavingsAccountSubStatusEnum subStatus) {
+        return subStatus.getValue().equals(savingsAccount.getSubStatus());
+    }
+
+    @Override
+    public String getEnumStyledName() {
+        return "UPDATE_SAVINGS_DORMANT_ACCOUNT";
+    }
+
+    @Override
+    public String getHumanReadableName() {
+        return "Update savings dormant account";
+    }
+}
@@ -27,9 +27,8 @@ import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
-import org.apache.fineract.useradministration.domain.Permission;
-import org.apache.fineract.useradministration.domain.PermissionRepository;
 import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
+import org.apache.fineract.useradministration.service.MakerCheckerPermissionCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -55,7 +54,7 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     public static final String CHARGE_ACCRUAL_DATE_CRITERIA = "charge-accrual-date";
     public static final String NEXT_PAYMENT_DUE_DATE = "next-payment-due-date";
 
-    private final PermissionRepository permissionRepository;
+    private final MakerCheckerPermissionCache makerCheckerPermissionCache;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
 
@@ -67,12 +66,12 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         final String makerCheckerConfigurationProperty = "maker-checker";
         final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(makerCheckerConfigurationProperty);
         if (property.isEnabled()) {
-            final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-            if (thisTask == null) {
+            final Boolean makerCheckerEnabled = this.makerCheckerPermissionCache.isMakerCheckerEnabled(taskPermissionCode);
+            if (makerCheckerEnabled == null) {
                 throw new PermissionNotFoundException(taskPermissionCode);
             }
 
-            return thisTask.hasMakerCheckerEnabled();
+            return makerCheckerEnabled;
         }
         return false;
     }
@@ -132,6 +131,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return this.cacheTypeRepository.findById(1L).map(PlatformCache::isEhcacheEnabled).orElseThrow();
     }
 
+    @Override
+    public CacheType getCacheType() {
+        return this.cacheTypeRepository.findById(1L).map(cache -> CacheType.fromInt(cache.getCacheType())).orElseThrow();
+    }
+
     @Transactional
     @Override
     public void updateCache(final CacheType cacheType) {
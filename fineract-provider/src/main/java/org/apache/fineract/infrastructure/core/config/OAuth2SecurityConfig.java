@@ -31,6 +31,7 @@ import org.apache.fineract.infrastructure.cache.service.CacheWritePlatformServic
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.exceptionmapper.OAuth2ExceptionEntryPoint;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
 import org.apache.fineract.infrastructure.security.data.FineractJwtAuthenticationToken;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.filter.InsecureTwoFactorAuthenticationFilter;
@@ -93,6 +94,8 @@ public class OAuth2SecurityConfig {
     @Autowired
     private BusinessDateReadPlatformService businessDateReadPlatformService;
     @Autowired
+    private ReadReplicaRoutingService readReplicaRoutingService;
+    @Autowired
     private ApplicationContext applicationContext;
 
     private static final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
@@ -133,7 +136,7 @@ public class OAuth2SecurityConfig {
 
     public TenantAwareTenantIdentifierFilter tenantAwareTenantIdentifierFilter() {
         return new TenantAwareTenantIdentifierFilter(basicAuthTenantDetailsService, toApiJsonSerializer, configurationDomainService,
-                cacheWritePlatformService, businessDateReadPlatformService);
+                cacheWritePlatformService, businessDateReadPlatformService, readReplicaRoutingService);
     }
 
     public TwoFactorAuthenticationFilter twoFactorAuthenticationFilter() {
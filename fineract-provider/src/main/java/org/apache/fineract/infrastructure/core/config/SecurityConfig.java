@@ -38,14 +38,19 @@ import org.apache.fineract.infrastructure.core.filters.IdempotencyStoreHelper;
 import org.apache.fineract.infrastructure.core.filters.RequestResponseFilter;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.MDCWrapper;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
 import org.apache.fineract.infrastructure.instancemode.filter.FineractInstanceModeApiFilter;
 import org.apache.fineract.infrastructure.jobs.filter.LoanCOBApiFilter;
 import org.apache.fineract.infrastructure.jobs.filter.LoanCOBFilterHelper;
+import org.apache.fineract.infrastructure.jobs.filter.SavingsCOBApiFilter;
+import org.apache.fineract.infrastructure.jobs.filter.SavingsCOBFilterHelper;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.filter.InsecureTwoFactorAuthenticationFilter;
 import org.apache.fineract.infrastructure.security.filter.TenantAwareBasicAuthenticationFilter;
 import org.apache.fineract.infrastructure.security.filter.TwoFactorAuthenticationFilter;
+import org.apache.fineract.infrastructure.security.service.BasicAuthCredentialCache;
 import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.apache.fineract.infrastructure.security.service.CachingDaoAuthenticationProvider;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.service.TenantAwareJpaPlatformUserDetailsService;
 import org.apache.fineract.infrastructure.security.service.TwoFactorService;
@@ -104,6 +109,8 @@ public class SecurityConfig {
     @Autowired
     private BusinessDateReadPlatformService businessDateReadPlatformService;
     @Autowired
+    private ReadReplicaRoutingService readReplicaRoutingService;
+    @Autowired
     private MDCWrapper mdcWrapper;
     @Autowired
     private CommandSourceRepository commandSourceRepository;
@@ -114,10 +121,14 @@ public class SecurityConfig {
 
     @Autowired(required = false)
     private LoanCOBFilterHelper loanCOBFilterHelper;
+    @Autowired(required = false)
+    private SavingsCOBFilterHelper savingsCOBFilterHelper;
     @Autowired
     private PlatformSecurityContext context;
     @Autowired
     private IdempotencyStoreHelper idempotencyStoreHelper;
+    @Autowired
+    private BasicAuthCredentialCache basicAuthCredentialCache;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -148,6 +159,9 @@ public class SecurityConfig {
         } else {
             http.addFilterAfter(idempotencyStoreFilter(), FineractInstanceModeApiFilter.class); //
         }
+        if (!Objects.isNull(savingsCOBFilterHelper)) {
+            http.addFilterAfter(savingsCOBApiFilter(), FineractInstanceModeApiFilter.class); //
+        }
 
         if (fineractProperties.getSecurity().getTwoFactor().isEnabled()) {
             http.addFilterAfter(twoFactorAuthenticationFilter(), CorrelationHeaderFilter.class);
@@ -169,6 +183,10 @@ public class SecurityConfig {
         return new LoanCOBApiFilter(loanCOBFilterHelper);
     }
 
+    public SavingsCOBApiFilter savingsCOBApiFilter() {
+        return new SavingsCOBApiFilter(savingsCOBFilterHelper);
+    }
+
     public TwoFactorAuthenticationFilter twoFactorAuthenticationFilter() {
         TwoFactorService twoFactorService = applicationContext.getBean(TwoFactorService.class);
         return new TwoFactorAuthenticationFilter(twoFactorService);
@@ -193,7 +211,8 @@ public class SecurityConfig {
     public TenantAwareBasicAuthenticationFilter tenantAwareBasicAuthenticationFilter() throws Exception {
         TenantAwareBasicAuthenticationFilter filter = new TenantAwareBasicAuthenticationFilter(authenticationManagerBean(),
                 basicAuthenticationEntryPoint(), toApiJsonSerializer, configurationDomainService, cacheWritePlatformService,
-                userNotificationService, basicAuthTenantDetailsService, businessDateReadPlatformService);
+                userNotificationService, basicAuthTenantDetailsService, businessDateReadPlatformService,
+                readReplicaRoutingService);
         filter.setRequestMatcher(antMatcher("/api/**"));
         return filter;
     }
@@ -207,7 +226,7 @@ public class SecurityConfig {
 
     @Bean(name = "customAuthenticationProvider")
     public DaoAuthenticationProvider authProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new CachingDaoAuthenticationProvider(basicAuthCredentialCache);
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
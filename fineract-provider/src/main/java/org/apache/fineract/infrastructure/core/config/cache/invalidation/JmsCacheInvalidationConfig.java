@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache.invalidation;
+
+import jakarta.jms.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.cache.invalidation.CacheInvalidationConditions.JmsCacheInvalidationCondition;
+import org.apache.fineract.infrastructure.springbatch.messagehandler.jms.JmsBrokerConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+
+/**
+ * Sends the cache invalidations to a JMS topic on the broker of the remote job message handler. Every node subscribes
+ * to the topic, so every node receives every invalidation.
+ */
+@Slf4j
+@Configuration
+@Conditional(JmsCacheInvalidationCondition.class)
+@Import(value = { JmsBrokerConfiguration.class })
+public class JmsCacheInvalidationConfig {
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(ConnectionFactory connectionFactory) {
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setPubSubDomain(true);
+        jmsTemplate.setDefaultDestinationName(getTopicName());
+        return jmsTemplate::convertAndSend;
+    }
+
+    @Bean
+    public DefaultMessageListenerContainer cacheInvalidationMessageListenerContainer(ConnectionFactory connectionFactory,
+            @Lazy RuntimeDelegatingCacheManager runtimeDelegatingCacheManager) {
+        SimpleMessageConverter converter = new SimpleMessageConverter();
+        DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setPubSubDomain(true);
+        container.setDestinationName(getTopicName());
+        container.setMessageListener((jakarta.jms.MessageListener) message -> {
+            try {
+                runtimeDelegatingCacheManager.onInvalidationMessage((CacheInvalidationMessage) converter.fromMessage(message));
+            } catch (Exception e) {
+                log.error("Exception while processing cache invalidation message", e);
+            }
+        });
+        return container;
+    }
+
+    private String getTopicName() {
+        return fineractProperties.getCache().getMultiNode().getJms().getTopicName();
+    }
+}
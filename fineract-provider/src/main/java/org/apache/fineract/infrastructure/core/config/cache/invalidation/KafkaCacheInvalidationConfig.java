@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache.invalidation;
+
+import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractRemoteJobMessageHandlerKafkaProperties;
+import org.apache.fineract.infrastructure.core.config.cache.invalidation.CacheInvalidationConditions.KafkaCacheInvalidationCondition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Sends the cache invalidations to a Kafka topic on the cluster of the remote job message handler. Each node consumes
+ * the topic with its own consumer group, so every node receives every invalidation.
+ */
+@Slf4j
+@Configuration
+@Conditional(KafkaCacheInvalidationCondition.class)
+public class KafkaCacheInvalidationConfig {
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher() {
+        FineractRemoteJobMessageHandlerKafkaProperties kafkaProperties = fineractProperties.getRemoteJobMessageHandler().getKafka();
+        Map<String, Object> props = new HashMap<>(kafkaProperties.getProducer().getExtraPropertiesMap());
+        props.put(BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
+        DefaultKafkaProducerFactory<String, CacheInvalidationMessage> producerFactory = new DefaultKafkaProducerFactory<>(props,
+                new StringSerializer(), new JsonSerializer<CacheInvalidationMessage>().noTypeInfo());
+        KafkaTemplate<String, CacheInvalidationMessage> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        String topicName = getTopicName();
+        return message -> kafkaTemplate.send(topicName, message.getCacheName(), message);
+    }
+
+    @Bean
+    public KafkaMessageListenerContainer<String, CacheInvalidationMessage> cacheInvalidationMessageListenerContainer(
+            @Lazy RuntimeDelegatingCacheManager runtimeDelegatingCacheManager) {
+        FineractRemoteJobMessageHandlerKafkaProperties kafkaProperties = fineractProperties.getRemoteJobMessageHandler().getKafka();
+        Map<String, Object> props = new HashMap<>(kafkaProperties.getConsumer().getExtraPropertiesMap());
+        props.put(BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
+        // every node needs its own consumer group to receive all the invalidations
+        props.put(GROUP_ID_CONFIG, fineractProperties.getCache().getMultiNode().getKafka().getConsumerGroupIdPrefix() + UUID.randomUUID());
+        // invalidations sent before this node started are irrelevant, its caches are empty
+        props.put(AUTO_OFFSET_RESET_CONFIG, "latest");
+        DefaultKafkaConsumerFactory<String, CacheInvalidationMessage> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new JsonDeserializer<>(CacheInvalidationMessage.class, false));
+
+        ContainerProperties containerProperties = new ContainerProperties(getTopicName());
+        containerProperties.setMessageListener((MessageListener<String, CacheInvalidationMessage>) record -> {
+            try {
+                runtimeDelegatingCacheManager.onInvalidationMessage(record.value());
+            } catch (Exception e) {
+                log.error("Exception while processing cache invalidation message", e);
+            }
+        });
+        return new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+    }
+
+    private String getTopicName() {
+        return fineractProperties.getCache().getMultiNode().getKafka().getTopicName();
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache.invalidation;
+
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.core.config.cache.invalidation.CacheInvalidationConditions.LoopbackCacheInvalidationCondition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Without a broker there are no other nodes to notify, so the invalidations stay within the JVM and the multi node cache
+ * behaves like the single node one.
+ */
+@Configuration
+@Conditional(LoopbackCacheInvalidationCondition.class)
+public class LoopbackCacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher() {
+        return new LoopbackCacheInvalidationPublisher();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jpa;
+
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+
+/**
+ * Counts the SQL calls EclipseLink executes on the current thread. Counting is off by default and only happens between
+ * {@link #startCounting()} and {@link #stopCounting()}, so threads which are not measured pay a single thread local
+ * lookup per call.
+ */
+public class QueryCountingSessionEventListener extends SessionEventAdapter {
+
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    public static void startCounting() {
+        COUNTER.set(new long[1]);
+    }
+
+    public static long stopCounting() {
+        long[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0L : counter[0];
+    }
+
+    @Override
+    public void postExecuteCall(SessionEvent event) {
+        long[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+}
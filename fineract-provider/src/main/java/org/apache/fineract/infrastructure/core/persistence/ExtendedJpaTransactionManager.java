@@ -23,6 +23,7 @@ import jakarta.persistence.FlushModeType;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
 import org.springframework.jdbc.datasource.JdbcTransactionObjectSupport;
 import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -40,7 +41,15 @@ public class ExtendedJpaTransactionManager extends JpaTransactionManager {
 
     @Override
     protected void doBegin(Object transaction, TransactionDefinition definition) {
-        super.doBegin(transaction, definition);
+        // the connection is acquired while beginning, so the routing data source has to know about the read-only flag
+        // before that
+        ReadReplicaRoutingContext.beginTransaction(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReadReplicaRoutingContext.endTransaction();
+            throw e;
+        }
         if (isReadOnlyTx(transaction)) {
             EntityManager entityManager = getCurrentEntityManager();
             if (entityManager != null) {
@@ -64,8 +73,12 @@ public class ExtendedJpaTransactionManager extends JpaTransactionManager {
 
     @Override
     protected void doCleanupAfterCompletion(Object transaction) {
-        super.doCleanupAfterCompletion(transaction);
-        invokeLifecycleCallbacks(TransactionLifecycleCallback::afterCompletion);
+        try {
+            super.doCleanupAfterCompletion(transaction);
+            invokeLifecycleCallbacks(TransactionLifecycleCallback::afterCompletion);
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
     }
 
     private boolean isReadOnlyTx(Object transaction) {
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the read-your-writes window of the user whenever a read-write transaction of an API write request commits, so
+ * the next reads of the user are not served by a read replica which has not caught up yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadReplicaWriteTracker implements TransactionLifecycleCallback {
+
+    private final ReadReplicaRoutingService readReplicaRoutingService;
+
+    @Override
+    public void afterCommit() {
+        readReplicaRoutingService.recordWrite();
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.infrastructure.core.service.database.IndexDetail;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of the database catalog metadata of the datatables (column headers including the code values of the
+ * code lookup columns, and index names), one per tenant and table, so that reading and writing datatable entries does
+ * not query the catalog every time.
+ * <br>
+ * <br>
+ * The metadata of a table is loaded on first use and dropped when the datatable is created, updated, deleted,
+ * registered or deregistered; the metadata of all the tables of a tenant is dropped when code values change. See
+ * {@link TenantSnapshotCache} for when the dropped metadata becomes visible on this and the other nodes.
+ */
+@Slf4j
+@Component
+public class DatatableMetadataCache extends TenantSnapshotCache<String, DatatableMetadataCache.DatatableMetadata> {
+
+    public static final String CACHE_NAME = "datatableMetadata";
+    public static final String HIT_METRIC = "fineract.datatable.metadata.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.datatable.metadata.cache.refreshes";
+
+    public DatatableMetadataCache(MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+    }
+
+    /**
+     * @return the metadata of the given table of the current tenant, loaded with the given loader when it is not in
+     *         memory yet
+     */
+    @Override
+    public DatatableMetadata get(String tableName, Function<? super String, ? extends DatatableMetadata> loader) {
+        return super.get(tableName, name -> {
+            log.debug("Loading the metadata of table {}", name);
+            return loader.apply(name);
+        });
+    }
+
+    /**
+     * Drops the metadata of the given table of the current tenant on every node.
+     */
+    public void refresh(String tableName) {
+        invalidate(tableName);
+    }
+
+    /**
+     * Drops the metadata of all the tables of the current tenant on every node.
+     */
+    public void refreshAll() {
+        invalidateTenant();
+    }
+
+    /**
+     * Immutable catalog metadata of a single table.
+     */
+    public record DatatableMetadata(List<ResultsetColumnHeaderData> columnHeaders, List<IndexDetail> indexes) {
+
+        public DatatableMetadata {
+            columnHeaders = List.copyOf(columnHeaders);
+            indexes = List.copyOf(indexes);
+        }
+    }
+}
@@ -27,7 +27,13 @@ import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColum
 import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData.DisplayType.INTEGER;
 import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData.DisplayType.TIME;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -48,12 +54,15 @@ import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeader
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableMetadataCache.DatatableMetadata;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -65,6 +74,7 @@ public class GenericDataServiceImpl implements GenericDataService {
     private final DatabaseIndependentQueryService databaseIndependentQueryService;
     private final DatatableKeywordGenerator datatableKeywordGenerator;
     private final DatabaseTypeResolver databaseTypeResolver;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
@@ -92,8 +102,65 @@ public class GenericDataServiceImpl implements GenericDataService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamGenericResultSet(final String sql, final int fetchSize, final GenericResultsetStreamHandler handler) {
+        try {
+            // PostgreSQL only uses a cursor inside a transaction, hence the read-only transaction
+            final int statementFetchSize = streamingFetchSize(fetchSize);
+            this.jdbcTemplate.query(connection -> {
+                final PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, // NOSONAR
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(statementFetchSize);
+                return statement;
+            }, (ResultSetExtractor<Void>) rs -> {
+                streamResultSet(rs, handler);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("Reporting error: {}", e.getMessage());
+            throw ErrorHandler.getMappable(e, "error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), null, e);
+        }
+    }
+
+    private int streamingFetchSize(final int fetchSize) {
+        // MySQL Connector/J reads the whole result into memory for any other fetch size (unless useCursorFetch is set),
+        // MariaDB Connector/J treats it as a fetch size of one row
+        return databaseTypeResolver.isMySQL() ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    private void streamResultSet(final ResultSet rs, final GenericResultsetStreamHandler handler) throws SQLException {
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final int columnCount = rsmd.getColumnCount();
+        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnName(i + 1), rsmd.getColumnTypeName(i + 1),
+                    databaseTypeResolver.databaseType()));
+        }
+        try {
+            handler.onColumnHeaders(columnHeaders);
+            while (rs.next()) {
+                final List<Object> columnValues = new ArrayList<>(columnCount);
+                for (int i = 0; i < columnCount; i++) {
+                    columnValues.add(toColumnValue(columnHeaders.get(i).getColumnType(), rs.getObject(i + 1)));
+                }
+                handler.onRow(columnValues);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String tableName) {
+        return getMetadata(tableName).columnHeaders();
+    }
+
+    private DatatableMetadata getMetadata(final String tableName) {
+        return datatableMetadataCache.get(tableName, this::loadMetadata);
+    }
+
+    private DatatableMetadata loadMetadata(final String tableName) {
         final SqlRowSet columnDefinitions = getTableMetaData(tableName);
         final List<IndexDetail> indexDefinitions = getDatatableIndexData(tableName);
 
@@ -131,7 +198,7 @@ public class GenericDataServiceImpl implements GenericDataService {
                     columnValues, codeName, columnIsUnique, columnIsIndexed, dialect));
         }
 
-        return columnHeaders;
+        return new DatatableMetadata(columnHeaders, indexDefinitions);
     }
 
     @NotNull
@@ -149,23 +216,26 @@ public class GenericDataServiceImpl implements GenericDataService {
             final List<Object> columnValues = new ArrayList<>();
             for (int i = 0; i < rsmd.getColumnCount(); i++) {
                 final String columnName = rsmd.getColumnName(i + 1);
-                final JdbcJavaType colType = columnHeaders.get(i).getColumnType();
-                if (colType == DATE) {
-                    Date tmpDate = (Date) rs.getObject(columnName);
-                    columnValues.add(tmpDate == null ? null : tmpDate.toLocalDate());
-                } else if (colType == DATETIME || colType == TIMESTAMP) {
-                    Object tmpDate = rs.getObject(columnName);
-                    columnValues.add(
-                            tmpDate == null ? null : (tmpDate instanceof Timestamp ? ((Timestamp) tmpDate).toLocalDateTime() : tmpDate));
-                } else {
-                    columnValues.add(rs.getObject(columnName));
-                }
+                columnValues.add(toColumnValue(columnHeaders.get(i).getColumnType(), rs.getObject(columnName)));
             }
             resultsetDataRows.add(ResultsetRowData.create(columnValues));
         }
         return resultsetDataRows;
     }
 
+    private static Object toColumnValue(final JdbcJavaType colType, final Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (colType == DATE) {
+            return ((Date) value).toLocalDate();
+        }
+        if ((colType == DATETIME || colType == TIMESTAMP) && value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
     @Override
     public String replace(final String str, final String pattern, final String replace) {
         // JPW - this replace may / may not be any better or quicker than the
@@ -204,62 +274,68 @@ public class GenericDataServiceImpl implements GenericDataService {
         final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
 
         final List<ResultsetRowData> data = grs.getData();
-        List<Object> row;
-        Integer rSize;
+        for (int i = 0; i < data.size(); i++) {
+            writer.append("\n");
+            appendJsonRow(writer, columnHeaders, data.get(i).getRow());
+            if (i < (data.size() - 1)) {
+                writer.append(",");
+            }
+        }
+
+        writer.append("\n]");
+        return writer.toString();
+    }
+
+    @Override
+    public String generateJsonFromResultsetRow(final List<ResultsetColumnHeaderData> columnHeaders, final List<Object> row) {
+        final StringBuilder writer = new StringBuilder();
+        appendJsonRow(writer, columnHeaders, row);
+        return writer.toString();
+    }
+
+    private void appendJsonRow(final StringBuilder writer, final List<ResultsetColumnHeaderData> columnHeaders, final List<Object> row) {
         final String doubleQuote = "\"";
         final String slashDoubleQuote = "\\\"";
         ResultsetColumnHeaderData.DisplayType colDisplayType;
         Object currVal;
 
-        for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
-
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                ResultsetColumnHeaderData columnHeader = columnHeaders.get(j);
-                writer.append(doubleQuote + columnHeader.getColumnName() + doubleQuote + ": ");
-                colDisplayType = columnHeader.getColumnDisplayType();
-                final JdbcJavaType colType = columnHeader.getColumnType();
-                if (colDisplayType == null) {
-                    colDisplayType = ResultsetColumnHeaderData.calcColumnDisplayType(colType);
-                }
-                currVal = row.get(j);
-                if (currVal != null && colDisplayType != null) {
-                    if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATE) {
-                        final LocalDate localDate = (LocalDate) currVal;
-                        writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
-                    } else if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATETIME) {
-                        final LocalDateTime localDateTime = (LocalDateTime) currVal;
-                        writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
-                                localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(),
-                                localDateTime.getSecond(), localDateTime.getNano()));
-                    } else if (colDisplayType == TIME) {
-                        final LocalTime localTime = (LocalTime) currVal;
-                        writer.append(format("[%d,%d,%d,%d]", localTime.getHour(), localTime.getMinute(), localTime.getSecond(),
-                                localTime.getNano()));
-                    } else if (colDisplayType == DECIMAL || colDisplayType == INTEGER || colDisplayType == CODELOOKUP) {
-                        writer.append(currVal);
-                    } else {
-                        writer.append(doubleQuote + replace(String.valueOf(currVal), doubleQuote, slashDoubleQuote) + doubleQuote);
-                    }
+        writer.append("{");
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            ResultsetColumnHeaderData columnHeader = columnHeaders.get(j);
+            writer.append(doubleQuote + columnHeader.getColumnName() + doubleQuote + ": ");
+            colDisplayType = columnHeader.getColumnDisplayType();
+            final JdbcJavaType colType = columnHeader.getColumnType();
+            if (colDisplayType == null) {
+                colDisplayType = ResultsetColumnHeaderData.calcColumnDisplayType(colType);
+            }
+            currVal = row.get(j);
+            if (currVal != null && colDisplayType != null) {
+                if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATE) {
+                    final LocalDate localDate = (LocalDate) currVal;
+                    writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
+                } else if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATETIME) {
+                    final LocalDateTime localDateTime = (LocalDateTime) currVal;
+                    writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
+                            localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond(),
+                            localDateTime.getNano()));
+                } else if (colDisplayType == TIME) {
+                    final LocalTime localTime = (LocalTime) currVal;
+                    writer.append(format("[%d,%d,%d,%d]", localTime.getHour(), localTime.getMinute(), localTime.getSecond(),
+                            localTime.getNano()));
+                } else if (colDisplayType == DECIMAL || colDisplayType == INTEGER || colDisplayType == CODELOOKUP) {
+                    writer.append(currVal);
                 } else {
-                    writer.append("null");
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
+                    writer.append(doubleQuote + replace(String.valueOf(currVal), doubleQuote, slashDoubleQuote) + doubleQuote);
                 }
-            }
-
-            if (i < (data.size() - 1)) {
-                writer.append("},");
             } else {
-                writer.append("}");
+                writer.append("null");
+            }
+            if (j < (rSize - 1)) {
+                writer.append(",\n");
             }
         }
-
-        writer.append("\n]");
-        return writer.toString();
+        writer.append("}");
     }
 
     private boolean isExplicitlyUnique(String tableName, String columnName, List<IndexDetail> indexDefinitions) {
@@ -269,7 +345,7 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public boolean isExplicitlyUnique(String tableName, String columnName) {
-        return isExplicitlyUnique(tableName, columnName, getDatatableIndexData(tableName));
+        return isExplicitlyUnique(tableName, columnName, getMetadata(tableName).indexes());
     }
 
     private boolean isExplicitlyIndexed(String tableName, String columnName, List<IndexDetail> indexDefinitions) {
@@ -279,7 +355,7 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public boolean isExplicitlyIndexed(String tableName, String columnName) {
-        return isExplicitlyIndexed(tableName, columnName, getDatatableIndexData(tableName));
+        return isExplicitlyIndexed(tableName, columnName, getMetadata(tableName).indexes());
     }
 
     private boolean checkKeyPresent(String keyNameToCheck, List<IndexDetail> indexDefinitions) {
@@ -300,9 +376,6 @@ public class GenericDataServiceImpl implements GenericDataService {
         }
     }
 
-    /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
-     */
     private List<ResultsetColumnValueData> retrieveCodeValues(final String codeName) {
         final String sql = "select v.id, v.code_score, v.code_value from m_code m join m_code_value v on v.code_id = m.id where m.code_name = ? order by v.order_position, v.id";
         final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql, codeName); // NOSONAR
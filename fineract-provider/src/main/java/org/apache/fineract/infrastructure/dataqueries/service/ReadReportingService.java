@@ -47,6 +47,11 @@ public interface ReadReportingService {
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams,
             boolean isSelfServiceUserReport);
 
+    StreamingOutput retrieveReportJson(String name, String type, Map<String, String> extractedQueryParams, boolean isSelfServiceUserReport,
+            boolean genericResultSet, boolean prettyPrint);
+
+    boolean isStreamingEnabled();
+
     // TODO This is weird, could they not be using the retrieveGenericResultset() above after all?
     // needed for smsCampaign and emailCampaign jobs where securityContext is null
     GenericResultsetData retrieveGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams);
@@ -18,17 +18,23 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -45,6 +51,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.JdbcJavaType;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
@@ -80,6 +87,15 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
+        if (isStreamingEnabled()) {
+            return out -> {
+                try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
+                    streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, new CsvStreamHandler(printer));
+                } catch (final Exception e) {
+                    throw ErrorHandler.getMappable(e);
+                }
+            };
+        }
         return out -> {
             try {
                 final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
@@ -127,6 +143,50 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return result;
     }
 
+    @Override
+    public StreamingOutput retrieveReportJson(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final boolean genericResultSet, final boolean prettyPrint) {
+        return out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                if (genericResultSet) {
+                    final GenericResultsetJsonStreamHandler handler = new GenericResultsetJsonStreamHandler(writer, prettyPrint);
+                    streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, handler);
+                    handler.finish();
+                } else {
+                    final RowsJsonStreamHandler handler = new RowsJsonStreamHandler(writer);
+                    streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, handler);
+                    handler.finish();
+                }
+            } catch (final Exception e) {
+                throw ErrorHandler.getMappable(e);
+            }
+        };
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return fineractProperties.getReport().getStreaming().isEnabled();
+    }
+
+    private void streamGenericResultset(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final GenericResultsetStreamHandler handler) {
+        final long startTime = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("STARTING STREAMED REPORT: {}   Type: {}", LogParameterEscapeUtil.escapeLogParameter(name),
+                    LogParameterEscapeUtil.escapeLogParameter(type));
+        }
+
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+
+        this.genericDataService.streamGenericResultSet(sql, fineractProperties.getReport().getStreaming().getFetchSize(), handler);
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING Streamed Report/Request Name: {} - {}     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), type.replaceAll("[\n\r\t]", "_"), elapsed);
+        }
+    }
+
     private String getSQLtoRun(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
 
@@ -513,4 +573,92 @@ public class ReadReportingServiceImpl implements ReadReportingService {
          */
         return null;
     }
+
+    @RequiredArgsConstructor
+    private static final class CsvStreamHandler implements GenericResultsetStreamHandler {
+
+        private final CSVPrinter printer;
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            printer.printRecord(columnHeaders.stream().map(ResultsetColumnHeaderData::getColumnName).toList());
+        }
+
+        @Override
+        public void onRow(final List<Object> row) throws IOException {
+            printer.printRecord(row);
+        }
+    }
+
+    /**
+     * Writes the same JSON as serializing a {@link GenericResultsetData} with the API serializer, row by row.
+     */
+    private static final class GenericResultsetJsonStreamHandler implements GenericResultsetStreamHandler {
+
+        private static final Type COLUMN_HEADERS_TYPE = new TypeToken<List<ResultsetColumnHeaderData>>() {}.getType();
+
+        private final Gson gson;
+        private final JsonWriter jsonWriter;
+
+        private GenericResultsetJsonStreamHandler(final Writer writer, final boolean prettyPrint) throws IOException {
+            this.gson = GoogleGsonSerializerHelper.createGsonBuilder(prettyPrint).create();
+            this.jsonWriter = gson.newJsonWriter(writer);
+        }
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("columnHeaders");
+            gson.toJson(columnHeaders, COLUMN_HEADERS_TYPE, jsonWriter);
+            jsonWriter.name("data");
+            jsonWriter.beginArray();
+        }
+
+        @Override
+        public void onRow(final List<Object> row) {
+            gson.toJson(ResultsetRowData.create(row), ResultsetRowData.class, jsonWriter);
+        }
+
+        private void finish() throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        }
+    }
+
+    /**
+     * Writes the same JSON as {@link GenericDataService#generateJsonFromGenericResultsetData(GenericResultsetData)}, row
+     * by row.
+     */
+    private final class RowsJsonStreamHandler implements GenericResultsetStreamHandler {
+
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean firstRow = true;
+
+        private RowsJsonStreamHandler(final Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("[");
+        }
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) {
+            this.columnHeaders = columnHeaders;
+        }
+
+        @Override
+        public void onRow(final List<Object> row) throws IOException {
+            if (!firstRow) {
+                writer.write(",");
+            }
+            firstRow = false;
+            writer.write("\n");
+            writer.write(genericDataService.generateJsonFromResultsetRow(columnHeaders, row));
+        }
+
+        private void finish() throws IOException {
+            writer.write("\n]");
+            writer.flush();
+        }
+    }
 }
@@ -111,6 +111,7 @@ import org.apache.fineract.portfolio.search.data.AdvancedQueryData;
 import org.apache.fineract.portfolio.search.data.ColumnFilterData;
 import org.apache.fineract.portfolio.search.service.SearchUtil;
 import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.service.MakerCheckerPermissionCache;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -144,6 +145,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final SqlInjectionPreventerService preventSqlInjectionService;
     private final DatatableKeywordGenerator datatableKeywordGenerator;
+    private final MakerCheckerPermissionCache makerCheckerPermissionCache;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Override
     public List<DatatableData> retrieveDatatableNames(final String appTable) {
@@ -393,6 +396,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                 this.namedParameterJdbcTemplate
                         .update("insert into c_configuration (name, value, enabled ) values( :dataTableName, '0', false)", paramMap);
             }
+            this.datatableMetadataCache.refresh(dataTableName);
 
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
             handleDataIntegrityIssues(dataTableName, null, dve.getMostSpecificCause(), dve);
@@ -460,6 +464,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlArray[3] = deleteFromConfigurationSql;
 
         this.jdbcTemplate.batchUpdate(sqlArray); // NOSONAR
+        this.makerCheckerPermissionCache.refresh();
+        this.datatableMetadataCache.refresh(datatable);
     }
 
     private void parseDatatableColumnObjectForCreate(final JsonObject column, StringBuilder sqlBuilder,
@@ -767,6 +773,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                 jdbcTemplate.execute(sqlBuilder.toString());
                 createIndexesForTable(datatableName, addColumns);
                 registerColumnCodeMapping(codeMappings);
+                // the changed columns are checked against the indexes just created
+                this.datatableMetadataCache.refresh(datatableName);
             }
             if (changeColumns != null) {
                 final StringBuilder renameBuilder = new StringBuilder();
@@ -849,6 +857,9 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                 baseDataValidator.reset().parameter("row").failWithCode("size.too.large");
             }
             baseDataValidator.throwValidationErrors();
+        } finally {
+            // most databases commit schema changes right away, whatever happens to the transaction
+            this.datatableMetadataCache.refresh(datatableName);
         }
     }
 
@@ -1244,6 +1255,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String sql = "DROP TABLE " + sqlGenerator.escape(datatableName);
             sqlArray[0] = sql;
             this.jdbcTemplate.batchUpdate(sqlArray);
+            this.datatableMetadataCache.refresh(datatableName);
         } catch (final JpaSystemException | DataIntegrityViolationException e) {
             final Throwable realCause = e.getCause();
             final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -21,6 +21,7 @@ package org.apache.fineract.infrastructure.dataqueries.service.export;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
@@ -43,6 +44,9 @@ public class JsonDatatableReportExportService implements DatatableReportExportSe
     @Override
     public ResponseHolder export(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
             boolean isSelfServiceUserReport, String parameterTypeValue) {
+        if (this.readExtraDataAndReportingService.isStreamingEnabled()) {
+            return streamedExport(reportName, queryParams, reportParams, isSelfServiceUserReport, parameterTypeValue);
+        }
 
         final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName, parameterTypeValue,
                 reportParams, isSelfServiceUserReport);
@@ -64,6 +68,17 @@ public class JsonDatatableReportExportService implements DatatableReportExportSe
 
     }
 
+    private ResponseHolder streamedExport(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
+            boolean isSelfServiceUserReport, String parameterTypeValue) {
+        DatatableExportTargetParameter exportMode = DatatableExportTargetParameter.resolverExportTarget(queryParams);
+        boolean prettyPrint = exportMode == DatatableExportTargetParameter.PRETTY_JSON;
+        boolean genericResultSet = !ApiParameterHelper.genericResultSetPassed(queryParams)
+                || ApiParameterHelper.genericResultSet(queryParams);
+        final StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJson(reportName, parameterTypeValue,
+                reportParams, isSelfServiceUserReport, genericResultSet, prettyPrint);
+        return new ResponseHolder(Response.Status.OK).entity(result).contentType(MediaType.APPLICATION_JSON);
+    }
+
     @Override
     public boolean supports(DatatableExportTargetParameter exportType) {
         return exportType == DatatableExportTargetParameter.JSON || exportType == DatatableExportTargetParameter.PRETTY_JSON;
@@ -23,6 +23,9 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -49,6 +52,9 @@ public class S3DatatableReportExportServiceImpl implements DatatableReportExport
         try {
             StreamingOutput output = this.readExtraDataAndReportingService.retrieveReportCSV(reportName, parameterTypeValue, reportParams,
                     isSelfServiceUserReport);
+            if (this.readExtraDataAndReportingService.isStreamingEnabled()) {
+                return exportThroughTemporaryFile(reportName, reportParams, output);
+            }
             try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
                 output.write(byteArrayOutputStream);
                 String folder = configurationDomainService.retrieveReportExportS3FolderName();
@@ -64,6 +70,25 @@ public class S3DatatableReportExportServiceImpl implements DatatableReportExport
         }
     }
 
+    private ResponseHolder exportThroughTemporaryFile(String reportName, Map<String, String> reportParams, StreamingOutput output)
+            throws IOException {
+        // a streamed report can be larger than the heap, so it is buffered on disk instead of in memory
+        Path tempFile = Files.createTempFile("report-export-", ".csv");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                output.write(outputStream);
+            }
+            String folder = configurationDomainService.retrieveReportExportS3FolderName();
+            String filePath = DatatableExportUtil.generateS3DatatableExportFileName(AWS_S3_MAXIMUM_KEY_LENGTH, folder, "csv", reportName,
+                    reportParams);
+            s3Client.putObject(builder -> builder.bucket(properties.getReport().getExport().getS3().getBucketName()).key(filePath).build(),
+                    RequestBody.fromFile(tempFile));
+            return new ResponseHolder(Response.Status.NO_CONTENT);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     @Override
     public boolean supports(DatatableExportTargetParameter exportType) {
         return DatatableExportTargetParameter.S3 == exportType;
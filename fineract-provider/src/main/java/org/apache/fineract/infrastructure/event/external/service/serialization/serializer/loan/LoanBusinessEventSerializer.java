@@ -29,17 +29,31 @@ import org.apache.fineract.avro.loan.v1.LoanInstallmentDelinquencyBucketDataV1;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBusinessEvent;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.loan.LoanAccountDataMapper;
+import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializationScope;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.portfolio.delinquency.service.DelinquencyReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanChargeData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanSummaryData;
-import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 import org.springframework.stereotype.Component;
 
+/**
+ * Serializes the loan events into {@link LoanAccountDataV1}.
+ * <br>
+ * <br>
+ * The transaction amounts summary, the collection data and the installment level delinquency are built from the loan
+ * aggregate of the event. The loan header, the repayment schedule and the charges are still read through the read
+ * platform services: their SQL mappers produce different data than the entity conversions would (enum option ids, the
+ * external ids, the ordering and the derived fields of the schedule), so building them from the aggregate would change
+ * the payload. These reads are shared by the loan events of one transaction through the
+ * {@link BusinessEventSerializationScope}, keyed by the loan version.
+ */
 @Component
 @RequiredArgsConstructor
 public class LoanBusinessEventSerializer implements BusinessEventSerializer {
@@ -49,6 +63,7 @@ public class LoanBusinessEventSerializer implements BusinessEventSerializer {
     private final LoanChargeReadPlatformService loanChargeReadPlatformService;
     private final DelinquencyReadPlatformService delinquencyReadPlatformService;
     private final LoanInstallmentLevelDelinquencyEventProducer installmentLevelDelinquencyEventProducer;
+    private final BusinessEventSerializationScope serializationScope;
 
     @Override
     public <T> boolean canSerialize(BusinessEvent<T> event) {
@@ -58,7 +73,15 @@ public class LoanBusinessEventSerializer implements BusinessEventSerializer {
     @Override
     public <T> ByteBufferSerializable toAvroDTO(BusinessEvent<T> rawEvent) {
         LoanBusinessEvent event = (LoanBusinessEvent) rawEvent;
-        Long loanId = event.get().getId();
+        Loan loan = event.get();
+        LoanAccountDataV1 snapshot = serializationScope.computeIfAbsent(new LoanSnapshotKey(loan.getId(), loan.getVersion()),
+                key -> toLoanAccountData(loan));
+        // data enrichers modify the serialized object, so every event gets its own copy of the shared snapshot
+        return LoanAccountDataV1.newBuilder(snapshot).build();
+    }
+
+    private LoanAccountDataV1 toLoanAccountData(Loan loan) {
+        Long loanId = loan.getId();
         LoanAccountData data = service.retrieveOne(loanId);
 
         data = service.fetchRepaymentScheduleData(data);
@@ -68,18 +91,24 @@ public class LoanBusinessEventSerializer implements BusinessEventSerializer {
             data.setCharges(loanCharges);
         }
 
-        CollectionData delinquentData = delinquencyReadPlatformService.calculateLoanCollectionData(loanId);
+        CollectionData delinquentData = delinquencyReadPlatformService.calculateLoanCollectionData(loan);
         data.setDelinquent(delinquentData);
 
         if (data.getSummary() != null) {
-            final Collection<LoanTransactionData> currentLoanTransactions = service.retrieveLoanTransactions(loanId);
-            data.setSummary(LoanSummaryData.withTransactionAmountsSummary(data.getSummary(), currentLoanTransactions));
+            // the changes are flushed before serialization, so the loan transactions of the aggregate are the same
+            // ones LoanReadPlatformService#retrieveLoanTransactions would read
+            final List<LoanTransaction> currentLoanTransactions = loan.getLoanTransactions(transaction -> {
+                LoanTransactionType type = transaction.getTypeOf();
+                return !LoanTransactionType.INVALID.equals(type) && !LoanTransactionType.CONTRA.equals(type)
+                        && (transaction.isNotReversed() || transaction.isManuallyAdjustedOrReversed());
+            });
+            data.setSummary(LoanSummaryData.withLoanTransactionAmountsSummary(data.getSummary(), currentLoanTransactions));
         } else {
             data.setSummary(LoanSummaryData.withOnlyCurrencyData(data.getCurrency()));
         }
 
         List<LoanInstallmentDelinquencyBucketDataV1> installmentsDelinquencyData = installmentLevelDelinquencyEventProducer
-                .calculateInstallmentLevelDelinquencyData(event.get(), data.getCurrency());
+                .calculateInstallmentLevelDelinquencyData(loan, data.getCurrency());
 
         LoanAccountDataV1 result = mapper.map(data);
         result.getDelinquent().setInstallmentDelinquencyBuckets(installmentsDelinquencyData);
@@ -90,4 +119,7 @@ public class LoanBusinessEventSerializer implements BusinessEventSerializer {
     public Class<? extends GenericContainer> getSupportedSchema() {
         return LoanAccountDataV1.class;
     }
+
+    private record LoanSnapshotKey(Long loanId, int version) {
+    }
 }
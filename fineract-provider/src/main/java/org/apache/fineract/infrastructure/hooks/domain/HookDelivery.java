@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * A hook payload waiting to be delivered. Rows are removed once the endpoint accepted the payload and kept as
+ * {@link HookDeliveryStatus#FAILED} once the attempts are exhausted.
+ */
+@Entity
+@Table(name = "m_hook_delivery")
+@Getter
+@NoArgsConstructor
+public class HookDelivery extends AbstractPersistableCustom {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Column(name = "hook_id", nullable = false)
+    private Long hookId;
+
+    @Column(name = "entity_name", nullable = false, length = 45)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false, length = 45)
+    private String actionName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private HookDeliveryStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    public HookDelivery(Long hookId, String entityName, String actionName, String payload, OffsetDateTime nextAttemptAt) {
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.status = HookDeliveryStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.createdAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    public void attemptFailed(String error, OffsetDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = StringUtils.abbreviate(error, MAX_ERROR_LENGTH);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void markFailed() {
+        this.status = HookDeliveryStatus.FAILED;
+    }
+}
@@ -24,11 +24,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
 import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
 import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
-import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
+import org.apache.fineract.infrastructure.hooks.service.HookEventIndex;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.stereotype.Service;
 
@@ -38,7 +39,8 @@ import org.springframework.stereotype.Service;
 public class FineractHookListener implements HookListener {
 
     private final HookProcessorProvider hookProcessorProvider;
-    private final HookReadPlatformService hookReadPlatformService;
+    private final HookEventIndex hookEventIndex;
+    private final HookRepository hookRepository;
 
     @Override
     public void onApplicationEvent(final HookEvent event) {
@@ -52,8 +54,11 @@ public class FineractHookListener implements HookListener {
         final String actionName = hookEventSource.getActionName();
         final String payload = event.getPayload();
 
-        final List<Hook> hooks = hookReadPlatformService.retrieveHooksByEvent(hookEventSource.getEntityName(),
-                hookEventSource.getActionName());
+        final List<Long> hookIds = hookEventIndex.getHookIds(entityName, actionName);
+        if (hookIds.isEmpty()) {
+            return;
+        }
+        final List<Hook> hooks = hookRepository.findAllById(hookIds);
 
         for (final Hook hook : hooks) {
             final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
@@ -23,6 +23,8 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -67,12 +69,19 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
+    /**
+     * Shared by every hook endpoint, so that deliveries reuse pooled connections instead of opening new ones.
+     */
+    private final OkHttpClient client;
+    private final ConcurrentMap<String, WebHookService> webHookServices = new ConcurrentHashMap<>();
+
     public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        client = createClient();
     }
 
     private OkHttpClient createClient() {
@@ -112,8 +121,14 @@ public final class ProcessorHelper {
         };
     }
 
+    /**
+     * @return the {@link WebHookService} of the given endpoint, created on first use and shared afterwards
+     */
     public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
+        return webHookServices.computeIfAbsent(url, this::buildWebHookService);
+    }
+
+    private WebHookService buildWebHookService(final String url) {
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
         retrofitBuilder.client(client);
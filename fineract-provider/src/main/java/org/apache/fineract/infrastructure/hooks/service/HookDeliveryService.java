@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.contentTypeName;
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.payloadURLName;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.ProcessorHelper;
+import org.apache.fineract.infrastructure.hooks.processor.WebHookService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Delivers web hook payloads through the {@link HookDelivery} outbox.
+ * <br>
+ * <br>
+ * A payload is stored before the first attempt, so it survives a failing endpoint or a restart of the node. The first
+ * attempt is made right away by the thread publishing the hook, later ones by the Send Hook Deliveries job with an
+ * exponential backoff until the configured number of attempts is reached. Every hook has a limited number of deliveries
+ * in flight on a node; a delivery finding no free slot is left to the job.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HookDeliveryService {
+
+    private final HookDeliveryRepository hookDeliveryRepository;
+    private final HookRepository hookRepository;
+    private final ProcessorHelper processorHelper;
+    private final FineractProperties fineractProperties;
+    private final ConcurrentMap<HookSlotKey, Semaphore> slots = new ConcurrentHashMap<>();
+    private final Gson gson = new Gson();
+
+    /**
+     * Stores the payload of the given hook and attempts to deliver it.
+     */
+    public void enqueueAndDeliver(final Hook hook, final String payload, final String entityName, final String actionName) {
+        // the job leaves the delivery alone while the first attempt is running
+        final OffsetDateTime nextAttemptAt = DateUtils.getAuditOffsetDateTime().plusSeconds(getProperties().getInitialBackoffSeconds());
+        final HookDelivery delivery = hookDeliveryRepository
+                .save(new HookDelivery(hook.getId(), entityName, actionName, payload, nextAttemptAt));
+        deliver(hook, delivery);
+    }
+
+    /**
+     * Attempts the pending deliveries of the current tenant which are due, at most one batch of them.
+     *
+     * @return the number of deliveries attempted
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deliverDueDeliveries() {
+        final List<Long> deliveryIds = hookDeliveryRepository.findIdsToDeliver(HookDeliveryStatus.PENDING,
+                DateUtils.getAuditOffsetDateTime(), PageRequest.of(0, getProperties().getBatchSize()));
+        int attempted = 0;
+        for (final Long deliveryId : deliveryIds) {
+            final HookDelivery delivery = hookDeliveryRepository.findById(deliveryId).orElse(null);
+            if (delivery == null) {
+                continue;
+            }
+            final Hook hook = hookRepository.findById(delivery.getHookId()).orElse(null);
+            if (hook == null || !Boolean.TRUE.equals(hook.getIsActive())) {
+                log.debug("Dropping delivery {} of removed or inactive hook {}", deliveryId, delivery.getHookId());
+                hookDeliveryRepository.delete(delivery);
+                continue;
+            }
+            if (deliver(hook, delivery)) {
+                attempted++;
+            }
+        }
+        return attempted;
+    }
+
+    /**
+     * @return whether the delivery was attempted, <code>false</code> if the hook has no free slot
+     */
+    boolean deliver(final Hook hook, final HookDelivery delivery) {
+        final HookSlotKey slotKey = new HookSlotKey(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), hook.getId());
+        final Semaphore slot = slots.computeIfAbsent(slotKey, key -> new Semaphore(getProperties().getMaxConcurrentDeliveriesPerHook()));
+        if (!slot.tryAcquire()) {
+            log.debug("Hook {} has no free delivery slot, delivery {} is left to the job", hook.getId(), delivery.getId());
+            return false;
+        }
+        try {
+            final String error = send(hook, delivery);
+            if (error == null) {
+                hookDeliveryRepository.delete(delivery);
+            } else {
+                attemptFailed(delivery, error);
+            }
+        } finally {
+            slot.release();
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String send(final Hook hook, final HookDelivery delivery) {
+        String url = "";
+        String contentType = "";
+        for (final HookConfiguration conf : hook.getConfig()) {
+            if (conf.getFieldName().equals(payloadURLName)) {
+                url = conf.getFieldValue();
+            }
+            if (conf.getFieldName().equals(contentTypeName)) {
+                contentType = conf.getFieldValue();
+            }
+        }
+
+        try {
+            final WebHookService service = processorHelper.createWebHookService(url);
+            final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+            final String fineractEndpointUrl = System.getProperty("baseUrl");
+            final Call<Void> call;
+            if (StringUtils.containsIgnoreCase(contentType, "json")) {
+                final JsonObject json = JsonParser.parseString(delivery.getPayload()).getAsJsonObject();
+                call = service.sendJsonRequest(delivery.getEntityName(), delivery.getActionName(), tenantIdentifier, fineractEndpointUrl,
+                        json);
+            } else {
+                final Map<String, String> form = gson.fromJson(delivery.getPayload(), HashMap.class);
+                call = service.sendFormRequest(delivery.getEntityName(), delivery.getActionName(), tenantIdentifier, fineractEndpointUrl,
+                        form);
+            }
+            final Response<Void> response = call.execute();
+            log.debug("URL: {} - Status: {}", url, response.code());
+            return response.isSuccessful() ? null : "HTTP " + response.code();
+        } catch (Exception e) {
+            log.warn("URL: {} - Delivery {} of hook {} failed", url, delivery.getId(), hook.getId(), e);
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private void attemptFailed(final HookDelivery delivery, final String error) {
+        final FineractProperties.FineractHookDeliveryProperties properties = getProperties();
+        final int attempts = delivery.getAttempts() + 1;
+        // exponential backoff: initial, 2 * initial, 4 * initial, ... capped by the maximum
+        final long backoffSeconds = Math.min(properties.getMaxBackoffSeconds(),
+                properties.getInitialBackoffSeconds() << Math.min(attempts - 1, 20));
+        delivery.attemptFailed(error, DateUtils.getAuditOffsetDateTime().plusSeconds(backoffSeconds));
+        if (attempts >= properties.getMaxAttempts()) {
+            log.warn("Delivery {} of hook {} gave up after {} attempts: {}", delivery.getId(), delivery.getHookId(), attempts, error);
+            delivery.markFailed();
+        }
+        hookDeliveryRepository.save(delivery);
+    }
+
+    private FineractProperties.FineractHookDeliveryProperties getProperties() {
+        return fineractProperties.getHooks().getDelivery();
+    }
+
+    private record HookSlotKey(String tenantIdentifier, Long hookId) {
+    }
+}
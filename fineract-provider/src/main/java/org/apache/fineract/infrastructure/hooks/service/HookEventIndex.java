@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the active hooks listening to each (entity, action) pair, one per tenant, so that commands nobody
+ * subscribed to neither build a hook payload nor query the hook tables.
+ * <br>
+ * <br>
+ * The index of a tenant is loaded on first use and dropped when a hook is created, updated or deleted, see
+ * {@link TenantSnapshotCache}. Only hook ids are kept, the hooks themselves are loaded by the listener within its own
+ * persistence context.
+ */
+@Slf4j
+@Component
+public class HookEventIndex extends TenantSnapshotCache<String, Map<HookEventIndex.EventKey, List<Long>>>
+        implements HookEventSubscriptions {
+
+    public static final String CACHE_NAME = "hookEvents";
+    public static final String HIT_METRIC = "fineract.hooks.index.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.hooks.index.cache.refreshes";
+
+    private static final String SNAPSHOT = "hooks";
+
+    private final HookRepository hookRepository;
+
+    public HookEventIndex(HookRepository hookRepository, MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.hookRepository = hookRepository;
+    }
+
+    @Override
+    public boolean hasSubscribers(String entityName, String actionName) {
+        return !getHookIds(entityName, actionName).isEmpty();
+    }
+
+    /**
+     * @return the ids of the active hooks of the current tenant listening to the given event, never <code>null</code>
+     */
+    public List<Long> getHookIds(String entityName, String actionName) {
+        return get(SNAPSHOT, key -> load()).getOrDefault(new EventKey(entityName, actionName), List.of());
+    }
+
+    /**
+     * Drops the index of the current tenant on every node.
+     */
+    public void refresh() {
+        invalidateTenant();
+    }
+
+    private Map<EventKey, List<Long>> load() {
+        log.debug("Loading the hook subscriptions of tenant {}", getTenantIdentifier());
+        final Map<EventKey, Set<Long>> hookIdsByEvent = new HashMap<>();
+        for (Hook hook : hookRepository.findAllActiveHooks()) {
+            for (HookResource event : hook.getEvents()) {
+                hookIdsByEvent.computeIfAbsent(new EventKey(event.getEntityName(), event.getActionName()), key -> new TreeSet<>())
+                        .add(hook.getId());
+            }
+        }
+        final Map<EventKey, List<Long>> snapshot = new HashMap<>();
+        hookIdsByEvent.forEach((key, hookIds) -> snapshot.put(key, List.copyOf(hookIds)));
+        return Map.copyOf(snapshot);
+    }
+
+    record EventKey(String entityName, String actionName) {
+    }
+}
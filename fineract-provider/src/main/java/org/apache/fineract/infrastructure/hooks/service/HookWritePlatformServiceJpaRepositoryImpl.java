@@ -81,6 +81,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl implements HookWritePlatf
     private final HookCommandFromApiJsonDeserializer fromApiJsonDeserializer;
     private final FromJsonHelper fromApiJsonHelper;
     private final ProcessorHelper processorHelper;
+    private final HookEventIndex hookEventIndex;
 
     @Transactional
     @Override
@@ -108,6 +109,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl implements HookWritePlatf
             validateHookRules(template, config, allEvents);
 
             this.hookRepository.saveAndFlush(hook);
+            this.hookEventIndex.refresh();
 
             return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(hook.getId()).build();
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
@@ -164,6 +166,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl implements HookWritePlatf
                 }
 
                 this.hookRepository.saveAndFlush(hook);
+                this.hookEventIndex.refresh();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -190,6 +193,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl implements HookWritePlatf
         final Hook hook = retrieveHookBy(hookId);
         try {
             this.hookRepository.delete(hook);
+            this.hookEventIndex.refresh();
         } catch (final JpaSystemException | DataIntegrityViolationException e) {
             throw new PlatformDataIntegrityException("error.msg.unknown.data.integrity.issue",
                     "Unknown data integrity issue with resource: " + e.getMostSpecificCause(), e);
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.conditions.SavingsCOBEnabledCondition;
+import org.apache.fineract.infrastructure.core.data.ApiGlobalErrorResponse;
+import org.apache.fineract.infrastructure.core.http.BodyCachingHttpServletRequestWrapper;
+import org.apache.fineract.infrastructure.jobs.exception.SavingsAccountLockedException;
+import org.apache.fineract.useradministration.exception.UnAuthenticatedUserException;
+import org.apache.http.HttpStatus;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects the writes to the savings accounts the savings COB is processing, as they would race with the changes of the
+ * worker. Unlike the loans there is no inline savings COB, so the request is not caught up but has to be sent again once
+ * the lock is released.
+ */
+@RequiredArgsConstructor
+@Conditional(SavingsCOBEnabledCondition.class)
+public class SavingsCOBApiFilter extends OncePerRequestFilter {
+
+    private final SavingsCOBFilterHelper helper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request = new BodyCachingHttpServletRequestWrapper(request);
+
+        if (!helper.isOnApiList(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            if (!helper.isBypassUser()) {
+                helper.checkNotLocked(helper.calculateRelevantSavingsAccountIds(request));
+            }
+        } catch (SavingsAccountLockedException e) {
+            reject(response, ApiGlobalErrorResponse.savingsAccountIsLocked(e.getSavingsAccountIdFromRequest()), HttpStatus.SC_CONFLICT);
+            return;
+        } catch (UnAuthenticatedUserException e) {
+            reject(response, ApiGlobalErrorResponse.savingsAccountIsLocked(null), HttpStatus.SC_UNAUTHORIZED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, ApiGlobalErrorResponse error, int status) throws IOException {
+        response.setStatus(status);
+        response.getWriter().write(error.toJson());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.filter;
+
+import static org.apache.fineract.batch.command.CommandStrategyUtils.isRelativeUrlVersioned;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.cob.conditions.SavingsCOBEnabledCondition;
+import org.apache.fineract.cob.savings.SavingsLockingService;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.jobs.exception.SavingsAccountLockedException;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the savings accounts a write request touches, so that the {@link SavingsCOBApiFilter} can reject it while the
+ * savings COB holds the lock of one of them.
+ */
+@RequiredArgsConstructor
+@Component
+@Conditional(SavingsCOBEnabledCondition.class)
+public class SavingsCOBFilterHelper {
+
+    private final SavingsLockingService savingsLockingService;
+    private final PlatformSecurityContext context;
+    private final SavingsAccountRepository savingsAccountRepository;
+    private final ObjectMapper objectMapper;
+
+    private static final List<HttpMethod> HTTP_METHODS = List.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE);
+
+    public static final Pattern SAVINGS_PATH_PATTERN = Pattern.compile("/v[1-9][0-9]*/savingsaccounts/(external-id/)?([^/?]+).*");
+
+    public boolean isOnApiList(HttpServletRequest request) throws IOException {
+        String pathInfo = request.getPathInfo();
+        if (StringUtils.isBlank(pathInfo)) {
+            return false;
+        }
+        if (isBatchApi(pathInfo)) {
+            for (BatchRequest batchRequest : getBatchRequests(request)) {
+                if (isApiMatching(batchRequest.getMethod(), batchRequest.getRelativeUrl())) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return isApiMatching(request.getMethod(), pathInfo);
+        }
+    }
+
+    public boolean isBypassUser() {
+        return context.authenticatedUser().isBypassUser();
+    }
+
+    public List<Long> calculateRelevantSavingsAccountIds(HttpServletRequest request) throws IOException {
+        List<Long> savingsAccountIds = new ArrayList<>();
+        String pathInfo = request.getPathInfo();
+        if (isBatchApi(pathInfo)) {
+            for (BatchRequest batchRequest : getBatchRequests(request)) {
+                // the id behind a $.resourceId reference is not known before the batch runs
+                String relativeUrl = batchRequest.getRelativeUrl();
+                if (isApiMatching(batchRequest.getMethod(), relativeUrl) && !relativeUrl.contains("$.resourceId")) {
+                    addSavingsAccountId(savingsAccountIds, relativeUrl);
+                }
+            }
+        } else {
+            addSavingsAccountId(savingsAccountIds, pathInfo);
+        }
+        return savingsAccountIds;
+    }
+
+    public void checkNotLocked(List<Long> savingsAccountIds) {
+        for (Long savingsAccountId : savingsAccountIds) {
+            if (savingsLockingService.isSavingsAccountLocked(savingsAccountId)) {
+                throw new SavingsAccountLockedException(savingsAccountId);
+            }
+        }
+    }
+
+    private void addSavingsAccountId(List<Long> savingsAccountIds, String pathInfo) {
+        Matcher matcher = SAVINGS_PATH_PATTERN.matcher(pathInfo);
+        if (!matcher.matches()) {
+            return;
+        }
+        String id = matcher.group(2);
+        if (matcher.group(1) != null) {
+            Long savingsAccountId = savingsAccountRepository.findIdByExternalId(new ExternalId(id));
+            if (savingsAccountId != null) {
+                savingsAccountIds.add(savingsAccountId);
+            }
+        } else if (StringUtils.isNumeric(id)) {
+            savingsAccountIds.add(Long.valueOf(id));
+        }
+    }
+
+    private List<BatchRequest> getBatchRequests(HttpServletRequest request) throws IOException {
+        List<BatchRequest> batchRequests = objectMapper.readValue(request.getInputStream(), new TypeReference<>() {});
+        for (BatchRequest batchRequest : batchRequests) {
+            String pathInfo = "/" + batchRequest.getRelativeUrl();
+            if (!isRelativeUrlVersioned(batchRequest.getRelativeUrl())) {
+                pathInfo = "/v1/" + batchRequest.getRelativeUrl();
+            }
+            batchRequest.setRelativeUrl(pathInfo);
+        }
+        return batchRequests;
+    }
+
+    private boolean isApiMatching(String method, String pathInfo) {
+        return HTTP_METHODS.contains(HttpMethod.valueOf(method)) && SAVINGS_PATH_PATTERN.matcher(pathInfo).matches();
+    }
+
+    private boolean isBatchApi(String pathInfo) {
+        return pathInfo.startsWith("/v1/batches");
+    }
+}
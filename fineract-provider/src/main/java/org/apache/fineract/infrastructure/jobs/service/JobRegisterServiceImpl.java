@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.TimeZone;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractMultiplexedSchedulerProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.JobIsNotFoundOrNotEnabledException;
 import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
@@ -40,6 +41,7 @@ import org.apache.fineract.infrastructure.jobs.exception.JobNodeIdMismatchingExc
 import org.apache.fineract.infrastructure.jobs.exception.JobNotFoundException;
 import org.apache.fineract.infrastructure.jobs.service.jobname.JobNameData;
 import org.apache.fineract.infrastructure.jobs.service.jobname.JobNameService;
+import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
@@ -95,6 +97,9 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     @Autowired
     private JobNameService jobNameService;
 
+    @Autowired
+    private MultiplexedJobExecutor multiplexedJobExecutor;
+
     private static final String JOB_STARTER_METHOD_NAME = "run";
 
     @SuppressFBWarnings("SLF4J_SIGN_ONLY_FORMAT")
@@ -110,7 +115,11 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
             final Scheduler scheduler = SCHEDULERS.get(schedulerName);
             final JobDetail jobDetail = createJobDetail(scheduledJobDetail, jobParameterDTOSet);
             JobKey jobKey = jobDetail.getKey();
-            if (scheduler == null || !scheduler.checkExists(jobKey)) {
+            if (isMultiplexedSchedulerEnabled()) {
+                final Scheduler multiplexedScheduler = getScheduler(scheduledJobDetail);
+                multiplexedScheduler.addJob(jobDetail, true);
+                multiplexedScheduler.triggerJob(jobKey, jobDataMap);
+            } else if (scheduler == null || !scheduler.checkExists(jobKey)) {
                 SchedulerStopListener schedulerStopListener = new SchedulerStopListener(this);
                 final String tempSchedulerName = "temp" + scheduledJobDetail.getId();
                 final Scheduler tempScheduler = createScheduler(tempSchedulerName, 1, schedulerJobListener, schedulerStopListener);
@@ -285,7 +294,12 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     private Scheduler getScheduler(final ScheduledJobDetail scheduledJobDetail) throws Exception {
         final String schedulername = getSchedulerName(scheduledJobDetail);
         Scheduler scheduler = SCHEDULERS.get(schedulername);
-        if (scheduler == null) {
+        if (scheduler == null && isMultiplexedSchedulerEnabled()) {
+            // the multiplexed scheduler only fires the triggers, the jobs run on the workers of the executor which call
+            // the listeners themselves
+            scheduler = createScheduler(schedulername, SchedulerServiceConstants.MULTIPLEXED_TRIGGER_THREAD_COUNT, new TriggerListener[0]);
+            SCHEDULERS.put(schedulername, scheduler);
+        } else if (scheduler == null) {
             int noOfThreads = SchedulerServiceConstants.DEFAULT_THREAD_COUNT;
             if (scheduledJobDetail.getSchedulerGroup() > 0) {
                 noOfThreads = SchedulerServiceConstants.GROUP_THREAD_COUNT;
@@ -307,6 +321,10 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     }
 
     private String getSchedulerName(final ScheduledJobDetail scheduledJobDetail) {
+        if (isMultiplexedSchedulerEnabled()) {
+            // the MultiplexedJobExecutor runs at most one job of a scheduler group per tenant
+            return SchedulerServiceConstants.MULTIPLEXED_SCHEDULER;
+        }
         final StringBuilder sb = new StringBuilder(20);
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         sb.append(SchedulerServiceConstants.SCHEDULER).append(tenant.getId());
@@ -316,11 +334,21 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         return sb.toString();
     }
 
+    private boolean isMultiplexedSchedulerEnabled() {
+        final FineractMultiplexedSchedulerProperties multiplexedScheduler = fineractProperties.getJob().getMultiplexedScheduler();
+        return multiplexedScheduler != null && multiplexedScheduler.isEnabled();
+    }
+
     private Scheduler createScheduler(final String name, final int noOfThreads, JobListener... jobListeners) throws Exception {
+        final TriggerListener[] globalTriggerListeners = { globalSchedulerTriggerListener };
+        return createScheduler(name, noOfThreads, globalTriggerListeners, jobListeners);
+    }
+
+    private Scheduler createScheduler(final String name, final int noOfThreads, final TriggerListener[] globalTriggerListeners,
+            JobListener... jobListeners) throws Exception {
         final SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
         schedulerFactoryBean.setSchedulerName(name);
         schedulerFactoryBean.setGlobalJobListeners(jobListeners);
-        final TriggerListener[] globalTriggerListeners = { globalSchedulerTriggerListener };
         schedulerFactoryBean.setGlobalTriggerListeners(globalTriggerListeners);
         final Properties quartzProperties = new Properties();
         quartzProperties.put(SchedulerFactoryBean.PROP_THREAD_COUNT, Integer.toString(noOfThreads));
@@ -342,6 +370,17 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
             throw new JobIsNotFoundOrNotEnabledException(e, jobName.getEnumStyleName());
         }
 
+        if (isMultiplexedSchedulerEnabled()) {
+            final JobDataMap jobDataMap = new JobDataMap();
+            jobDataMap.put(MultiplexedJobExecutor.EXECUTOR, multiplexedJobExecutor);
+            jobDataMap.put(MultiplexedJobExecutor.JOB, job);
+            jobDataMap.put(MultiplexedJobExecutor.SCHEDULED_JOB_DETAIL, scheduledJobDetail);
+            jobDataMap.put(MultiplexedJobExecutor.JOB_PARAMETERS, jobParameterDTOSet);
+            return JobBuilder.newJob(MultiplexedJobExecutor.DispatchingJob.class)
+                    .withIdentity(scheduledJobDetail.getJobName() + "JobDetail" + tenant.getId(), scheduledJobDetail.getGroupName())
+                    .usingJobData(jobDataMap).storeDurably().build();
+        }
+
         final MethodInvokingJobDetailFactoryBean jobDetailFactoryBean = new MethodInvokingJobDetailFactoryBean();
         jobDetailFactoryBean.setName(scheduledJobDetail.getJobName() + "JobDetail" + tenant.getId());
         jobDetailFactoryBean.setTargetObject(jobStarter);
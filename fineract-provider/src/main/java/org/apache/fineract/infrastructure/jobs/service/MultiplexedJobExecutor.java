@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractMultiplexedSchedulerProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.data.JobParameterDTO;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.springframework.batch.core.Job;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the jobs fired by the multiplexed scheduler of all the tenants on a bounded pool of workers.
+ * <br>
+ * <br>
+ * The fired jobs are queued per tenant. Whenever a worker is free, the next job is taken from the tenant which has the
+ * fewest jobs running and, among those, was served the longest time ago, skipping the tenants which already reached
+ * their concurrency limit. Within a tenant the job with the highest trigger priority runs first. A job which is already
+ * queued or running is not queued again when it fires.
+ * <br>
+ * <br>
+ * The jobs of a scheduler group (scheduler_group above 0) ran one at a time on their own per tenant scheduler, so at
+ * most one job of a group runs per tenant here as well: the other jobs of the group stay queued until it finishes, while
+ * the jobs of other groups may overtake them.
+ * <br>
+ * <br>
+ * The trigger and job listeners, which are registered on the per tenant schedulers otherwise, are called by the worker
+ * running the job.
+ */
+@Slf4j
+@Component
+public class MultiplexedJobExecutor implements DisposableBean {
+
+    public static final String QUEUE_DEPTH_METRIC = "fineract.job.scheduler.queue.depth";
+    public static final String RUNNING_METRIC = "fineract.job.scheduler.running";
+    public static final String WAIT_TIME_METRIC = "fineract.job.scheduler.wait";
+
+    public static final String EXECUTOR = "multiplexedJobExecutor";
+    public static final String JOB = "job";
+    public static final String SCHEDULED_JOB_DETAIL = "scheduledJobDetail";
+    public static final String JOB_PARAMETERS = "jobParameters";
+
+    private static final Comparator<QueuedJob> JOB_ORDER = Comparator.comparingInt(QueuedJob::priority).reversed()
+            .thenComparingLong(QueuedJob::sequence);
+
+    private final SchedulerTriggerListener schedulerTriggerListener;
+    private final SchedulerJobListener schedulerJobListener;
+    private final JobStarter jobStarter;
+    private final FineractProperties fineractProperties;
+    private final Timer waitTimer;
+
+    private final Map<String, TreeSet<QueuedJob>> queuedJobs = new HashMap<>();
+    private final Map<String, Integer> runningJobsPerTenant = new HashMap<>();
+    private final Map<String, Set<Integer>> runningGroupsPerTenant = new HashMap<>();
+    private final Map<String, Long> lastStartedPerTenant = new HashMap<>();
+    private final Set<JobKey> queuedJobKeys = new HashSet<>();
+    private final Set<JobKey> runningJobKeys = new HashSet<>();
+    private long sequence;
+    private long dispatches;
+    private ExecutorService workers;
+
+    public MultiplexedJobExecutor(SchedulerTriggerListener schedulerTriggerListener, SchedulerJobListener schedulerJobListener,
+            JobStarter jobStarter, FineractProperties fineractProperties, MeterRegistry meterRegistry) {
+        this.schedulerTriggerListener = schedulerTriggerListener;
+        this.schedulerJobListener = schedulerJobListener;
+        this.jobStarter = jobStarter;
+        this.fineractProperties = fineractProperties;
+        this.waitTimer = Timer.builder(WAIT_TIME_METRIC).description("Time the fired jobs wait for a worker").register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH_METRIC, this, MultiplexedJobExecutor::getQueueDepth).description("Fired jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(RUNNING_METRIC, this, MultiplexedJobExecutor::getRunningJobs).description("Jobs running on the workers")
+                .register(meterRegistry);
+    }
+
+    public synchronized void submit(JobExecutionContext context) {
+        final JobKey jobKey = context.getJobDetail().getKey();
+        if (queuedJobKeys.contains(jobKey) || runningJobKeys.contains(jobKey)) {
+            log.warn("Job {} is already queued or running, the firing is skipped", jobKey);
+            return;
+        }
+        final String tenantIdentifier = context.getMergedJobDataMap().getString(SchedulerServiceConstants.TENANT_IDENTIFIER);
+        final ScheduledJobDetail scheduledJobDetail = (ScheduledJobDetail) context.getJobDetail().getJobDataMap().get(SCHEDULED_JOB_DETAIL);
+        final int schedulerGroup = scheduledJobDetail == null || scheduledJobDetail.getSchedulerGroup() == null ? 0
+                : scheduledJobDetail.getSchedulerGroup();
+        queuedJobs.computeIfAbsent(tenantIdentifier, key -> new TreeSet<>(JOB_ORDER)).add(new QueuedJob(context, tenantIdentifier, jobKey,
+                schedulerGroup, context.getTrigger().getPriority(), ++sequence, System.nanoTime()));
+        queuedJobKeys.add(jobKey);
+        dispatch();
+    }
+
+    public synchronized int getQueueDepth() {
+        return queuedJobKeys.size();
+    }
+
+    public synchronized int getRunningJobs() {
+        return runningJobKeys.size();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void dispatch() {
+        final FineractMultiplexedSchedulerProperties properties = fineractProperties.getJob().getMultiplexedScheduler();
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(properties.getThreadCount(), new CustomizableThreadFactory("fineract-job-worker-"));
+        }
+        while (runningJobKeys.size() < properties.getThreadCount()) {
+            final QueuedJob queuedJob = pollNextJob(properties.getTenantConcurrencyLimit());
+            if (queuedJob == null) {
+                return;
+            }
+            queuedJobKeys.remove(queuedJob.jobKey());
+            runningJobKeys.add(queuedJob.jobKey());
+            runningJobsPerTenant.merge(queuedJob.tenantIdentifier(), 1, Integer::sum);
+            if (queuedJob.schedulerGroup() > 0) {
+                runningGroupsPerTenant.computeIfAbsent(queuedJob.tenantIdentifier(), key -> new HashSet<>())
+                        .add(queuedJob.schedulerGroup());
+            }
+            lastStartedPerTenant.put(queuedJob.tenantIdentifier(), ++dispatches);
+            workers.execute(() -> run(queuedJob));
+        }
+    }
+
+    private QueuedJob pollNextJob(int tenantConcurrencyLimit) {
+        QueuedJob nextJob = null;
+        int nextTenantRunningJobs = 0;
+        long nextTenantLastStarted = 0;
+        for (String tenantIdentifier : queuedJobs.keySet()) {
+            final int runningJobs = runningJobsPerTenant.getOrDefault(tenantIdentifier, 0);
+            if (runningJobs >= tenantConcurrencyLimit) {
+                continue;
+            }
+            final QueuedJob tenantJob = nextStartableJob(tenantIdentifier);
+            if (tenantJob == null) {
+                continue;
+            }
+            final long lastStarted = lastStartedPerTenant.getOrDefault(tenantIdentifier, 0L);
+            if (nextJob == null || runningJobs < nextTenantRunningJobs
+                    || (runningJobs == nextTenantRunningJobs && lastStarted < nextTenantLastStarted)) {
+                nextJob = tenantJob;
+                nextTenantRunningJobs = runningJobs;
+                nextTenantLastStarted = lastStarted;
+            }
+        }
+        if (nextJob == null) {
+            return null;
+        }
+        final TreeSet<QueuedJob> tenantJobs = queuedJobs.get(nextJob.tenantIdentifier());
+        tenantJobs.remove(nextJob);
+        if (tenantJobs.isEmpty()) {
+            queuedJobs.remove(nextJob.tenantIdentifier());
+        }
+        return nextJob;
+    }
+
+    private QueuedJob nextStartableJob(String tenantIdentifier) {
+        final Set<Integer> runningGroups = runningGroupsPerTenant.getOrDefault(tenantIdentifier, Set.of());
+        for (QueuedJob queuedJob : queuedJobs.get(tenantIdentifier)) {
+            if (queuedJob.schedulerGroup() == 0 || !runningGroups.contains(queuedJob.schedulerGroup())) {
+                return queuedJob;
+            }
+        }
+        return null;
+    }
+
+    private void run(QueuedJob queuedJob) {
+        waitTimer.record(System.nanoTime() - queuedJob.queuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            execute(queuedJob.context());
+        } finally {
+            synchronized (this) {
+                runningJobKeys.remove(queuedJob.jobKey());
+                runningJobsPerTenant.merge(queuedJob.tenantIdentifier(), -1, Integer::sum);
+                if (queuedJob.schedulerGroup() > 0) {
+                    runningGroupsPerTenant.get(queuedJob.tenantIdentifier()).remove(queuedJob.schedulerGroup());
+                }
+                dispatch();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void execute(JobExecutionContext context) {
+        try {
+            if (schedulerTriggerListener.vetoJobExecution(context.getTrigger(), context)) {
+                return;
+            }
+            schedulerJobListener.jobToBeExecuted(context);
+            JobExecutionException jobException = null;
+            try {
+                final JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
+                jobStarter.run((Job) jobDataMap.get(JOB), (ScheduledJobDetail) jobDataMap.get(SCHEDULED_JOB_DETAIL),
+                        (Set<JobParameterDTO>) jobDataMap.get(JOB_PARAMETERS));
+            } catch (Exception e) {
+                jobException = new JobExecutionException(e);
+            }
+            schedulerJobListener.jobWasExecuted(context, jobException);
+        } catch (RuntimeException e) {
+            log.error("Could not run job {}", context.getJobDetail().getKey(), e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The job the multiplexed scheduler fires, it only hands the fired job over to the {@link MultiplexedJobExecutor}.
+     */
+    public static class DispatchingJob implements org.quartz.Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            ((MultiplexedJobExecutor) context.getJobDetail().getJobDataMap().get(EXECUTOR)).submit(context);
+        }
+    }
+
+    private record QueuedJob(JobExecutionContext context, String tenantIdentifier, JobKey jobKey, int schedulerGroup, int priority,
+            long sequence, long queuedAt) {
+    }
+}
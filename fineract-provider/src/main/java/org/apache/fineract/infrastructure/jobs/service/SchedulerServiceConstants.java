@@ -37,5 +37,7 @@ public interface SchedulerServiceConstants {
     int DEFAULT_THREAD_COUNT = 7;
     int GROUP_THREAD_COUNT = 1;
     String SCHEDULER_NAME = "schedulerName";
+    String MULTIPLEXED_SCHEDULER = "MultiplexedScheduler";
+    int MULTIPLEXED_TRIGGER_THREAD_COUNT = 2;
 
 }
@@ -37,6 +37,8 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentifierException;
 import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
@@ -77,6 +79,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     private final UserNotificationService userNotificationService;
     private final BasicAuthTenantDetailsService basicAuthTenantDetailsService;
     private final BusinessDateReadPlatformService businessDateReadPlatformService;
+    private final ReadReplicaRoutingService readReplicaRoutingService;
 
     @Setter
     private RequestMatcher requestMatcher = AnyRequestMatcher.INSTANCE;
@@ -85,7 +88,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
             final AuthenticationEntryPoint authenticationEntryPoint, ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer,
             ConfigurationDomainService configurationDomainService, CacheWritePlatformService cacheWritePlatformService,
             UserNotificationService userNotificationService, BasicAuthTenantDetailsService basicAuthTenantDetailsService,
-            BusinessDateReadPlatformService businessDateReadPlatformService) {
+            BusinessDateReadPlatformService businessDateReadPlatformService, ReadReplicaRoutingService readReplicaRoutingService) {
         super(authenticationManager, authenticationEntryPoint);
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.configurationDomainService = configurationDomainService;
@@ -93,6 +96,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
         this.userNotificationService = userNotificationService;
         this.basicAuthTenantDetailsService = basicAuthTenantDetailsService;
         this.businessDateReadPlatformService = businessDateReadPlatformService;
+        this.readReplicaRoutingService = readReplicaRoutingService;
     }
 
     @Override
@@ -129,6 +133,8 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                     }
                     final FineractPlatformTenant tenant = basicAuthTenantDetailsService.loadTenantById(tenantIdentifier, isReportRequest);
                     ThreadLocalContextUtil.setTenant(tenant);
+                    ReadReplicaRoutingContext
+                            .setRequestType(readReplicaRoutingService.classifyRequest(request.getMethod(), request.getRequestURI()));
                     HashMap<BusinessDateType, LocalDate> businessDates = businessDateReadPlatformService.getBusinessDates();
                     ThreadLocalContextUtil.setBusinessDates(businessDates);
                     String authToken = request.getHeader("Authorization");
@@ -141,9 +147,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                         final String baseUrl = request.getRequestURL().toString().replace(request.getPathInfo(), "/");
                         System.setProperty("baseUrl", baseUrl);
 
-                        final boolean ehcacheEnabled = configurationDomainService.isEhcacheEnabled();
-                        if (ehcacheEnabled) {
-                            cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                        final CacheType cacheType = configurationDomainService.getCacheType();
+                        if (cacheType.isEhcache() || cacheType.isDistributedCache()) {
+                            cacheWritePlatformService.switchToCache(cacheType);
                         } else {
                             cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                         }
@@ -161,6 +167,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } finally {
             ThreadLocalContextUtil.reset();
+            ReadReplicaRoutingContext.reset();
             task.stop();
             final PlatformRequestLog msg = PlatformRequestLog.from(task, request);
             log.debug("{}", toApiJsonSerializer.serialize(msg));
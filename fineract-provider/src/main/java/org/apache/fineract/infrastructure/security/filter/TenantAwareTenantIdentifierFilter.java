@@ -40,6 +40,8 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentifierException;
 import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
@@ -69,6 +71,7 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
     private final CacheWritePlatformService cacheWritePlatformService;
 
     private final BusinessDateReadPlatformService businessDateReadPlatformService;
+    private final ReadReplicaRoutingService readReplicaRoutingService;
 
     private static final String TENANT_ID_REQUEST_HEADER = "Fineract-Platform-TenantId";
     private static final boolean EXCEPTION_IF_HEADER_MISSING = true;
@@ -116,6 +119,8 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
                 }
                 final FineractPlatformTenant tenant = basicAuthTenantDetailsService.loadTenantById(tenantIdentifier, isReportRequest);
                 ThreadLocalContextUtil.setTenant(tenant);
+                ReadReplicaRoutingContext
+                        .setRequestType(readReplicaRoutingService.classifyRequest(request.getMethod(), request.getRequestURI()));
                 HashMap<BusinessDateType, LocalDate> businessDates = businessDateReadPlatformService.getBusinessDates();
                 ThreadLocalContextUtil.setBusinessDates(businessDates);
                 String authToken = request.getHeader("Authorization");
@@ -129,9 +134,9 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
                             request.getContextPath() + API_URI);
                     System.setProperty("baseUrl", baseUrl);
 
-                    final boolean ehcacheEnabled = configurationDomainService.isEhcacheEnabled();
-                    if (ehcacheEnabled) {
-                        cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    final CacheType cacheType = configurationDomainService.getCacheType();
+                    if (cacheType.isEhcache() || cacheType.isDistributedCache()) {
+                        cacheWritePlatformService.switchToCache(cacheType);
                     } else {
                         cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
@@ -147,6 +152,7 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } finally {
             ThreadLocalContextUtil.reset();
+            ReadReplicaRoutingContext.reset();
             task.stop();
             final PlatformRequestLog logRequest = PlatformRequestLog.from(task, request);
             log.debug("{}", toApiJsonSerializer.serialize(logRequest));
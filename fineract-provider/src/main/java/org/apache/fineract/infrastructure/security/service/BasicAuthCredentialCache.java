@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the basic auth credentials which recently passed the password check, so that high frequency API clients do
+ * not pay for a password hash verification on every request.
+ * <br>
+ * <br>
+ * Only the outcome of the password check is cached: the user is still loaded for every request, so disabled users and
+ * role changes take effect immediately. The entry of a user holds an HMAC (with a random key of this node) of the
+ * tenant, the username, the presented password and the stored password hash, so neither the password nor a plain hash
+ * of it is kept, and a password change makes the entry unusable on every node. The entry of a user is also evicted on
+ * every node when the user gets changed. Since an outdated entry can never match, the entries expire after their own
+ * time to live regardless of the multi node cache invalidation transport.
+ */
+@Slf4j
+@Component
+public class BasicAuthCredentialCache extends TenantSnapshotCache<String, BasicAuthCredentialCache.CachedCredential> {
+
+    public static final String CACHE_NAME = "basicAuthCredentials";
+    public static final String HIT_METRIC = "fineract.security.basicauth.cache.hits";
+    public static final String MISS_METRIC = "fineract.security.basicauth.cache.misses";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final ThreadLocal<Mac> macs;
+
+    public BasicAuthCredentialCache(FineractProperties fineractProperties, MultiNodeCacheManager multiNodeCacheManager,
+            MeterRegistry meterRegistry) {
+        this(fineractProperties.getSecurity().getBasicauth().getCache(), multiNodeCacheManager, meterRegistry);
+    }
+
+    private BasicAuthCredentialCache(FineractProperties.FineractSecurityBasicAuthCacheProperties properties,
+            MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, MISS_METRIC, Duration.ofSeconds(properties == null ? 0 : properties.getTtlSeconds()),
+                multiNodeCacheManager, meterRegistry);
+        this.enabled = properties != null && properties.isEnabled();
+        this.maximumSize = properties == null ? 0 : properties.getMaximumSize();
+        final byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        final SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC is not available", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether the presented password passed the password check against the stored password hash within the
+     *         time to live
+     */
+    public boolean isVerified(String username, Object presentedPassword, String storedPassword) {
+        final byte[] digest = digest(username, presentedPassword, storedPassword);
+        if (digest == null) {
+            return false;
+        }
+        final CachedCredential credential = getIfPresent(username);
+        // the digest stands in for the password, so it is compared in constant time like one
+        if (credential != null && MessageDigest.isEqual(credential.digest(), digest)) {
+            recordHit();
+            return true;
+        }
+        recordMiss();
+        return false;
+    }
+
+    /**
+     * Remembers that the presented password passed the password check against the stored password hash.
+     */
+    public void verified(String username, Object presentedPassword, String storedPassword) {
+        final byte[] digest = digest(username, presentedPassword, storedPassword);
+        if (digest == null) {
+            return;
+        }
+        if (size() >= maximumSize) {
+            removeExpired();
+            if (size() >= maximumSize) {
+                log.debug("Basic auth credential cache is full, the credentials of {} are not cached", username);
+                return;
+            }
+        }
+        put(username, new CachedCredential(digest));
+    }
+
+    /**
+     * Evicts the cached credentials of the given user of the current tenant on every node.
+     */
+    public void evict(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        invalidate(username);
+    }
+
+    private byte[] digest(String username, Object presentedPassword, String storedPassword) {
+        if (!enabled || username == null || presentedPassword == null || storedPassword == null) {
+            return null;
+        }
+        final String tenantIdentifier = getTenantIdentifier();
+        if (tenantIdentifier == null) {
+            return null;
+        }
+        final Mac mac = macs.get();
+        update(mac, tenantIdentifier);
+        update(mac, username);
+        update(mac, presentedPassword.toString());
+        update(mac, storedPassword);
+        return mac.doFinal();
+    }
+
+    private static void update(Mac mac, String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // the length prefix keeps the boundaries of the values unambiguous
+        mac.update(new byte[] { (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8),
+                (byte) bytes.length });
+        mac.update(bytes);
+    }
+
+    record CachedCredential(byte[] digest) {
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.function.Predicate;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant, in-memory flags telling whether a user has unread notifications, so that the notification response
+ * header of every authenticated request does not need a database round trip.
+ * <br>
+ * <br>
+ * A flag is loaded on first use and kept up to date by the notification writes: it is set when a notification is
+ * mapped to the user and cleared when the user marks the notifications as read, on this node once the write commits and
+ * through the multi node cache invalidation (which drops the flag to be loaded again) on the other nodes. When several
+ * nodes share the database without a cross node invalidation transport the flags expire instead, see
+ * {@link TenantSnapshotCache}.
+ */
+@Component
+public class UnreadNotificationCache extends TenantSnapshotCache<Long, Boolean> {
+
+    public static final String CACHE_NAME = "unreadNotifications";
+    public static final String HIT_METRIC = "fineract.notification.unread.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.notification.unread.cache.refreshes";
+
+    public UnreadNotificationCache(MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+    }
+
+    /**
+     * @return whether the given user of the current tenant has unread notifications, asking the loader only when the
+     *         flag is not in memory yet
+     */
+    public boolean hasUnreadNotifications(Long appUserId, Predicate<Long> loader) {
+        return get(appUserId, loader::test);
+    }
+
+    /**
+     * Marks the given users of the current tenant as having unread notifications once the current transaction commits.
+     */
+    public void notificationsAdded(Collection<Long> appUserIds) {
+        for (Long appUserId : appUserIds) {
+            update(appUserId, true);
+        }
+    }
+
+    /**
+     * Marks the given user of the current tenant as having no unread notifications once the current transaction
+     * commits.
+     */
+    public void notificationsRead(Long appUserId) {
+        update(appUserId, false);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecific
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
+import org.apache.fineract.notification.cache.UnreadNotificationCache;
 import org.apache.fineract.notification.eventandlistener.NotificationEventPublisher;
 import org.apache.fineract.notification.service.NotificationDomainService;
 import org.apache.fineract.notification.service.NotificationDomainServiceImpl;
@@ -55,8 +56,10 @@ public class NotificationConfiguration {
     @Bean
     @ConditionalOnMissingBean(NotificationReadPlatformService.class)
     public NotificationReadPlatformService notificationReadPlatformService(JdbcTemplate jdbcTemplate, PlatformSecurityContext context,
-            ColumnValidator columnValidator, PaginationHelper paginationHelper, DatabaseSpecificSQLGenerator sqlGenerator) {
-        return new NotificationReadPlatformServiceImpl(jdbcTemplate, context, columnValidator, paginationHelper, sqlGenerator);
+            ColumnValidator columnValidator, PaginationHelper paginationHelper, DatabaseSpecificSQLGenerator sqlGenerator,
+            UnreadNotificationCache unreadNotificationCache) {
+        return new NotificationReadPlatformServiceImpl(jdbcTemplate, context, columnValidator, paginationHelper, sqlGenerator,
+                unreadNotificationCache);
     }
 
     @Bean
@@ -64,9 +67,11 @@ public class NotificationConfiguration {
     public NotificationWritePlatformService notificationWritePlatformService(
             NotificationGeneratorWritePlatformService notificationGeneratorWritePlatformService,
             NotificationGeneratorReadRepositoryWrapper notificationGeneratorReadRepositoryWrapper, AppUserRepository appUserRepository,
-            NotificationMapperWritePlatformService notificationMapperWritePlatformService) {
+            NotificationMapperWritePlatformService notificationMapperWritePlatformService,
+            UnreadNotificationCache unreadNotificationCache) {
         return new NotificationWritePlatformServiceImpl(notificationGeneratorWritePlatformService,
-                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService);
+                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService,
+                unreadNotificationCache);
     }
 
     @Bean
@@ -62,6 +62,7 @@ public class HolidayWritePlatformServiceJpaRepositoryImpl implements HolidayWrit
     private final PlatformSecurityContext context;
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
     private final FromJsonHelper fromApiJsonHelper;
+    private final OfficeCalendarService officeCalendarService;
 
     @Transactional
     @Override
@@ -78,6 +79,7 @@ public class HolidayWritePlatformServiceJpaRepositoryImpl implements HolidayWrit
             final Holiday holiday = Holiday.createNew(offices, command);
 
             this.holidayRepository.saveAndFlush(holiday);
+            this.officeCalendarService.refresh();
 
             return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(holiday.getId()).build();
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
@@ -112,6 +114,7 @@ public class HolidayWritePlatformServiceJpaRepositoryImpl implements HolidayWrit
             }
 
             this.holidayRepository.saveAndFlush(holiday);
+            this.officeCalendarService.refresh();
 
             return new CommandProcessingResultBuilder().withEntityId(holiday.getId()).with(changes).build();
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
@@ -132,6 +135,7 @@ public class HolidayWritePlatformServiceJpaRepositoryImpl implements HolidayWrit
 
         holiday.activate();
         this.holidayRepository.saveAndFlush(holiday);
+        this.officeCalendarService.refresh();
         return new CommandProcessingResultBuilder().withEntityId(holiday.getId()).build();
     }
 
@@ -142,6 +146,7 @@ public class HolidayWritePlatformServiceJpaRepositoryImpl implements HolidayWrit
         final Holiday holiday = this.holidayRepository.findOneWithNotFoundDetection(holidayId);
         holiday.delete();
         this.holidayRepository.saveAndFlush(holiday);
+        this.officeCalendarService.refresh();
         return new CommandProcessingResultBuilder().withEntityId(holidayId).build();
     }
 
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepository;
+import org.apache.fineract.organisation.holiday.domain.HolidayStatusType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed {@link OfficeCalendar}s, one per tenant and office, so that generating repayment schedules and
+ * validating transaction dates does not load the working days and the holidays of the office every time.
+ * <br>
+ * <br>
+ * The calendars cover a horizon around the business date of the tenant (configured with
+ * <code>fineract.office-calendar.horizon-past-days</code> and <code>fineract.office-calendar.horizon-future-days</code>)
+ * and are rebuilt when the business date moves. The calendars of a tenant are dropped when holidays or the working
+ * days change, see {@link TenantSnapshotCache}. When several nodes share the database without a cross node
+ * invalidation transport, holidays or working days changed on another node are used by this node once the calendars
+ * expire, after <code>fineract.cache.snapshot.ttl-seconds</code>; a single node keeps them until they change or the
+ * business date moves.
+ */
+@Slf4j
+@Component
+public class OfficeCalendarService extends TenantSnapshotCache<Long, OfficeCalendarService.DatedCalendar> {
+
+    public static final String CACHE_NAME = "officeCalendars";
+    public static final String HIT_METRIC = "fineract.office.calendar.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.office.calendar.cache.refreshes";
+
+    private static final Long NO_OFFICE = 0L;
+
+    private final HolidayRepository holidayRepository;
+    private final WorkingDaysRepositoryWrapper workingDaysRepository;
+    private final FineractProperties fineractProperties;
+
+    public OfficeCalendarService(HolidayRepository holidayRepository, WorkingDaysRepositoryWrapper workingDaysRepository,
+            FineractProperties fineractProperties, MultiNodeCacheManager multiNodeCacheManager, MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.holidayRepository = holidayRepository;
+        this.workingDaysRepository = workingDaysRepository;
+        this.fineractProperties = fineractProperties;
+    }
+
+    /**
+     * @return the calendar of the given office of the current tenant; without an office the calendar only knows the
+     *         working days
+     */
+    public OfficeCalendar getCalendar(Long officeId) {
+        final LocalDate businessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE);
+        final Long key = officeId == null ? NO_OFFICE : officeId;
+        DatedCalendar calendar = get(key, id -> load(businessDate, officeId));
+        if (!calendar.businessDate().equals(businessDate)) {
+            // the business date moved since the calendar was built
+            evictLocally(key);
+            calendar = get(key, id -> load(businessDate, officeId));
+            if (!calendar.businessDate().equals(businessDate)) {
+                calendar = load(businessDate, officeId);
+            }
+        }
+        return calendar.calendar();
+    }
+
+    /**
+     * Drops the calendars of all the offices of the current tenant on every node.
+     */
+    public void refresh() {
+        invalidateTenant();
+    }
+
+    private DatedCalendar load(LocalDate businessDate, Long officeId) {
+        final FineractProperties.FineractOfficeCalendarProperties properties = fineractProperties.getOfficeCalendar();
+        final LocalDate horizonStart = businessDate.minusDays(properties.getHorizonPastDays());
+        final LocalDate horizonEnd = businessDate.plusDays(properties.getHorizonFutureDays());
+        final WorkingDays workingDays = workingDaysRepository.findOne();
+        log.debug("Loading the calendar of office {} from {} to {}", officeId, horizonStart, horizonEnd);
+        final BitSet nonWorkingDays = OfficeCalendar.nonWorkingDays(workingDays, horizonStart, horizonEnd);
+        final List<Holiday> holidays = officeId == null ? List.of()
+                : holidayRepository.findByOfficeIdAndStatus(officeId, HolidayStatusType.ACTIVE.getValue());
+        return new DatedCalendar(businessDate, OfficeCalendar.of(horizonStart, horizonEnd, workingDays, nonWorkingDays, holidays));
+    }
+
+    /**
+     * The calendar of an office together with the business date its horizon was built around.
+     */
+    record DatedCalendar(LocalDate businessDate, OfficeCalendar calendar) {
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.fineract.organisation.holiday.service.HolidayReadPlatformServi
 import org.apache.fineract.organisation.holiday.service.HolidayReadPlatformServiceImpl;
 import org.apache.fineract.organisation.holiday.service.HolidayWritePlatformService;
 import org.apache.fineract.organisation.holiday.service.HolidayWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.organisation.holiday.service.OfficeCalendarService;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -46,8 +47,9 @@ public class OrganisationHolidayConfiguration {
     @ConditionalOnMissingBean(HolidayWritePlatformService.class)
     public HolidayWritePlatformService holidayWritePlatformService(HolidayDataValidator fromApiJsonDeserializer,
             HolidayRepositoryWrapper holidayRepository, PlatformSecurityContext context, OfficeRepositoryWrapper officeRepositoryWrapper,
-            FromJsonHelper fromApiJsonHelper, WorkingDaysRepositoryWrapper daysRepositoryWrapper) {
+            FromJsonHelper fromApiJsonHelper, WorkingDaysRepositoryWrapper daysRepositoryWrapper,
+            OfficeCalendarService officeCalendarService) {
         return new HolidayWritePlatformServiceJpaRepositoryImpl(fromApiJsonDeserializer, holidayRepository, daysRepositoryWrapper, context,
-                officeRepositoryWrapper, fromApiJsonHelper);
+                officeRepositoryWrapper, fromApiJsonHelper, officeCalendarService);
     }
 }
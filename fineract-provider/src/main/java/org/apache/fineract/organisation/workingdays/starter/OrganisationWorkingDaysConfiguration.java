@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.organisation.workingdays.starter;
 
+import org.apache.fineract.organisation.holiday.service.OfficeCalendarService;
 import org.apache.fineract.organisation.workingdays.data.WorkingDayValidator;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
 import org.apache.fineract.organisation.workingdays.service.WorkingDaysReadPlatformService;
@@ -41,7 +42,7 @@ public class OrganisationWorkingDaysConfiguration {
     @Bean
     @ConditionalOnMissingBean(WorkingDaysWritePlatformService.class)
     public WorkingDaysWritePlatformService workingDaysWritePlatformService(WorkingDaysRepositoryWrapper daysRepositoryWrapper,
-            WorkingDayValidator fromApiJsonDeserializer) {
-        return new WorkingDaysWritePlatformServiceJpaRepositoryImpl(daysRepositoryWrapper, fromApiJsonDeserializer);
+            WorkingDayValidator fromApiJsonDeserializer, OfficeCalendarService officeCalendarService) {
+        return new WorkingDaysWritePlatformServiceJpaRepositoryImpl(daysRepositoryWrapper, fromApiJsonDeserializer, officeCalendarService);
     }
 }
@@ -26,6 +26,7 @@ import org.apache.fineract.portfolio.delinquency.data.LoanDelinquencyTagHistoryD
 import org.apache.fineract.portfolio.delinquency.data.LoanInstallmentDelinquencyTagData;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyAction;
 import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 
 public interface DelinquencyReadPlatformService {
 
@@ -43,6 +44,11 @@ public interface DelinquencyReadPlatformService {
 
     CollectionData calculateLoanCollectionData(Long loanId);
 
+    /**
+     * Same as {@link #calculateLoanCollectionData(Long)} for a loan which is already loaded.
+     */
+    CollectionData calculateLoanCollectionData(Loan loan);
+
     Collection<LoanInstallmentDelinquencyTagData> retrieveLoanInstallmentsCurrentDelinquencyTag(Long loanId);
 
     List<LoanDelinquencyAction> retrieveLoanDelinquencyActions(Long loanId);
@@ -124,40 +124,46 @@ public class DelinquencyReadPlatformServiceImpl implements DelinquencyReadPlatfo
 
         CollectionData collectionData = CollectionData.template();
         if (optLoan.isPresent()) {
-            final Loan loan = optLoan.get();
+            collectionData = calculateLoanCollectionData(optLoan.get());
+        }
+
+        return collectionData;
+    }
 
-            // If the Loan is not Active yet, return template data
-            if (loan.isSubmittedAndPendingApproval() || loan.isApproved()) {
-                return CollectionData.template();
-            }
+    @Override
+    public CollectionData calculateLoanCollectionData(final Loan loan) {
+        // If the Loan is not Active yet, return template data
+        if (loan.isSubmittedAndPendingApproval() || loan.isApproved()) {
+            return CollectionData.template();
+        }
 
-            final List<LoanDelinquencyAction> savedDelinquencyList = retrieveLoanDelinquencyActions(loanId);
-            List<LoanDelinquencyActionData> effectiveDelinquencyList = delinquencyEffectivePauseHelper
-                    .calculateEffectiveDelinquencyList(savedDelinquencyList);
+        final Long loanId = loan.getId();
+        final List<LoanDelinquencyAction> savedDelinquencyList = retrieveLoanDelinquencyActions(loanId);
+        List<LoanDelinquencyActionData> effectiveDelinquencyList = delinquencyEffectivePauseHelper
+                .calculateEffectiveDelinquencyList(savedDelinquencyList);
 
-            final String nextPaymentDueDateConfig = configurationDomainService.getNextPaymentDateConfigForLoan();
+        final String nextPaymentDueDateConfig = configurationDomainService.getNextPaymentDateConfigForLoan();
 
-            collectionData = loanDelinquencyDomainService.getOverdueCollectionData(loan, effectiveDelinquencyList);
-            collectionData.setAvailableDisbursementAmount(loan.getApprovedPrincipal().subtract(loan.getDisbursedAmount()));
-            collectionData.setNextPaymentDueDate(loan.possibleNextRepaymentDate(nextPaymentDueDateConfig));
+        final CollectionData collectionData = loanDelinquencyDomainService.getOverdueCollectionData(loan, effectiveDelinquencyList);
+        collectionData.setAvailableDisbursementAmount(loan.getApprovedPrincipal().subtract(loan.getDisbursedAmount()));
+        collectionData.setNextPaymentDueDate(loan.possibleNextRepaymentDate(nextPaymentDueDateConfig));
 
-            final LoanTransaction lastPayment = loan.getLastPaymentTransaction();
-            if (lastPayment != null) {
-                collectionData.setLastPaymentDate(lastPayment.getTransactionDate());
-                collectionData.setLastPaymentAmount(lastPayment.getAmount());
-            }
+        final LoanTransaction lastPayment = loan.getLastPaymentTransaction();
+        if (lastPayment != null) {
+            collectionData.setLastPaymentDate(lastPayment.getTransactionDate());
+            collectionData.setLastPaymentAmount(lastPayment.getAmount());
+        }
 
-            final LoanTransaction lastRepaymentTransaction = loan.getLastRepaymentOrDownPaymentTransaction();
-            if (lastRepaymentTransaction != null) {
-                collectionData.setLastRepaymentDate(lastRepaymentTransaction.getTransactionDate());
-                collectionData.setLastRepaymentAmount(lastRepaymentTransaction.getAmount());
-            }
+        final LoanTransaction lastRepaymentTransaction = loan.getLastRepaymentOrDownPaymentTransaction();
+        if (lastRepaymentTransaction != null) {
+            collectionData.setLastRepaymentDate(lastRepaymentTransaction.getTransactionDate());
+            collectionData.setLastRepaymentAmount(lastRepaymentTransaction.getAmount());
+        }
 
-            enrichWithDelinquencyPausePeriodInfo(collectionData, effectiveDelinquencyList, ThreadLocalContextUtil.getBusinessDate());
+        enrichWithDelinquencyPausePeriodInfo(collectionData, effectiveDelinquencyList, ThreadLocalContextUtil.getBusinessDate());
 
-            if (optLoan.get().isEnableInstallmentLevelDelinquency()) {
-                addInstallmentLevelDelinquencyData(collectionData, loanId);
-            }
+        if (loan.isEnableInstallmentLevelDelinquency()) {
+            addInstallmentLevelDelinquencyData(collectionData, loanId);
         }
 
         return collectionData;
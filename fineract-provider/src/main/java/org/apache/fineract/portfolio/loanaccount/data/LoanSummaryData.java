@@ -19,11 +19,14 @@
 package org.apache.fineract.portfolio.loanaccount.data;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
 import org.springframework.util.CollectionUtils;
 
@@ -34,6 +37,9 @@ import org.springframework.util.CollectionUtils;
 @Accessors(chain = true)
 public class LoanSummaryData {
 
+    // scale of m_loan_transaction.amount, as the SQL read of the transactions returns it
+    private static final int TRANSACTION_AMOUNT_SCALE = 6;
+
     private final CurrencyData currency;
     private final BigDecimal principalDisbursed;
     private final BigDecimal principalAdjustments;
@@ -147,6 +153,33 @@ public class LoanSummaryData {
 
     public static LoanSummaryData withTransactionAmountsSummary(final LoanSummaryData defaultSummaryData,
             final Collection<LoanTransactionData> loanTransactions) {
+        final List<TransactionAmount> transactionAmounts = loanTransactions == null ? List.of()
+                : loanTransactions.stream().map(transaction -> new TransactionAmount(transaction.getType().getCode(),
+                        transaction.getReversedOnDate() != null, transaction.getAmount())).toList();
+        return withTransactionAmounts(defaultSummaryData, transactionAmounts);
+    }
+
+    /**
+     * Same as {@link #withTransactionAmountsSummary(LoanSummaryData, Collection)} but computed from the loan
+     * transactions of an already loaded loan, so the transactions do not have to be read again. The caller is expected
+     * to pass the same transactions the read platform service would return (not invalid, not contra and either active
+     * or manually adjusted / reversed). The amounts are brought to the scale of the amount column, because the amounts
+     * of transactions created in the current transaction still carry the scale of the currency.
+     */
+    public static LoanSummaryData withLoanTransactionAmountsSummary(final LoanSummaryData defaultSummaryData,
+            final Collection<LoanTransaction> loanTransactions) {
+        final List<TransactionAmount> transactionAmounts = loanTransactions == null ? List.of()
+                : loanTransactions.stream()
+                        .map(transaction -> new TransactionAmount(transaction.getTypeOf().getCode(),
+                                transaction.getReversedOnDate() != null,
+                                transaction.getAmount() == null ? BigDecimal.ZERO
+                                        : transaction.getAmount().setScale(TRANSACTION_AMOUNT_SCALE, RoundingMode.HALF_UP)))
+                        .toList();
+        return withTransactionAmounts(defaultSummaryData, transactionAmounts);
+    }
+
+    private static LoanSummaryData withTransactionAmounts(final LoanSummaryData defaultSummaryData,
+            final Collection<TransactionAmount> loanTransactions) {
 
         BigDecimal totalMerchantRefund = BigDecimal.ZERO;
         BigDecimal totalMerchantRefundReversed = BigDecimal.ZERO;
@@ -215,24 +248,27 @@ public class LoanSummaryData {
     }
 
     private static BigDecimal computeTotalAmountForReversedTransactions(LoanTransactionType transactionType,
-            Collection<LoanTransactionData> loanTransactions) {
-        return loanTransactions.stream().filter(
-                transaction -> transaction.getType().getCode().equals(transactionType.getCode()) && transaction.getReversedOnDate() != null)
-                .map(txn -> txn.getAmount()).reduce(BigDecimal.ZERO, BigDecimal::add);
+            Collection<TransactionAmount> loanTransactions) {
+        return loanTransactions.stream()
+                .filter(transaction -> transaction.typeCode().equals(transactionType.getCode()) && transaction.reversed())
+                .map(TransactionAmount::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
     private static BigDecimal computeTotalAmountForNonReversedTransactions(LoanTransactionType transactionType,
-            Collection<LoanTransactionData> loanTransactions) {
-        return loanTransactions.stream().filter(
-                transaction -> transaction.getType().getCode().equals(transactionType.getCode()) && transaction.getReversedOnDate() == null)
-                .map(txn -> txn.getAmount()).reduce(BigDecimal.ZERO, BigDecimal::add);
+            Collection<TransactionAmount> loanTransactions) {
+        return loanTransactions.stream()
+                .filter(transaction -> transaction.typeCode().equals(transactionType.getCode()) && !transaction.reversed())
+                .map(TransactionAmount::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private static BigDecimal computeTotalRepaymentTransactionAmount(Collection<LoanTransactionData> loanTransactions) {
+    private static BigDecimal computeTotalRepaymentTransactionAmount(Collection<TransactionAmount> loanTransactions) {
         BigDecimal totalRepaymentTransaction = computeTotalAmountForNonReversedTransactions(LoanTransactionType.REPAYMENT,
                 loanTransactions);
         BigDecimal totalDownPaymentTransaction = computeTotalAmountForNonReversedTransactions(LoanTransactionType.DOWN_PAYMENT,
                 loanTransactions);
         return totalRepaymentTransaction.add(totalDownPaymentTransaction);
     }
+
+    private record TransactionAmount(String typeCode, boolean reversed, BigDecimal amount) {
+    }
 }
@@ -18,18 +18,21 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.updateloanarrearsageing;
 
+import com.google.common.collect.Lists;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanArrearsAgingService;
@@ -47,21 +50,48 @@ import org.springframework.stereotype.Component;
 public class LoanArrearsAgeingUpdateHandler {
 
     private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final LoanArrearsAgingService loanArrearsAgingService;
+    private final FineractProperties fineractProperties;
 
     private void truncateLoanArrearsAgingDetails() {
         jdbcTemplate.execute("truncate table m_loan_arrears_aging");
     }
 
     private void deleteLoanArrearsAgingDetails(List<Long> loanIds) {
-        // delete existing record for loan from m_loan_arrears_aging table
-        for (Long loanId : loanIds) {
-            jdbcTemplate.update("delete from m_loan_arrears_aging where loan_id=?", loanId);
-        }
+        // delete existing records for loans from m_loan_arrears_aging table
+        namedParameterJdbcTemplate.update("delete from m_loan_arrears_aging where loan_id IN (:loanIds)",
+                new MapSqlParameterSource("loanIds", loanIds));
     }
 
+    /**
+     * Brings m_loan_arrears_aging up to date for the current business date.
+     * <br>
+     * <br>
+     * The table is rebuilt for all loans unless the incremental mode is enabled and the table was already brought up to
+     * date for an earlier (or the same) business date. In the incremental mode only the loans which were modified since
+     * the previous run and the loans which have an installment that became overdue since the previous run are
+     * recalculated. The loans affected by transactions and charges are kept up to date by
+     * {@link LoanArrearsAgingService} as the changes happen, so the rows of all the other loans are still correct.
+     */
     public void updateLoanArrearsAgeingDetailsForAllLoans() {
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final OffsetDateTime runStartedOn = DateUtils.getAuditOffsetDateTime();
+        final LocalDate previousRunBusinessDate = fineractProperties.getJob().isLoanArrearsAgeingIncrementalEnabled()
+                ? retrievePreviousRunBusinessDate()
+                : null;
+        if (previousRunBusinessDate == null || DateUtils.isBefore(businessDate, previousRunBusinessDate)) {
+            rebuildLoanArrearsAgeingDetailsForAllLoans();
+        } else {
+            updateLoanArrearsAgeingDetailsForChangedLoans(previousRunBusinessDate);
+        }
+        jdbcTemplate.update("delete from m_loan_arrears_aging_run");
+        jdbcTemplate.update("insert into m_loan_arrears_aging_run (business_date, started_on_utc) values (?, ?)", businessDate,
+                runStartedOn);
+    }
+
+    private void rebuildLoanArrearsAgeingDetailsForAllLoans() {
         truncateLoanArrearsAgingDetails();
         String insertSQLStatement = buildQueryForInsertAgeingDetails(Boolean.TRUE);
         List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalScheduleForAllLoans();
@@ -76,37 +106,50 @@ public class LoanArrearsAgeingUpdateHandler {
         }
     }
 
-    public void updateLoanArrearsAgeingDetails(List<Long> loanIdsForUpdate) {
+    private void updateLoanArrearsAgeingDetailsForChangedLoans(LocalDate previousRunBusinessDate) {
+        // loans which are not active anymore are not in arrears
+        final int deleted = jdbcTemplate.update("delete from m_loan_arrears_aging where not exists "
+                + "(select ml.id from m_loan ml where ml.id = m_loan_arrears_aging.loan_id and ml.loan_status_id = 300)");
+        final String previousRunDueDate = sqlGenerator.subDate(":previousRunBusinessDate", "COALESCE(ml.grace_on_arrears_ageing, 0)",
+                "day");
+        final String currentDueDate = sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)",
+                "day");
+        final String changedLoansSql = "select ml.id from m_loan ml where ml.loan_status_id = 300 and ("
+                + "ml.last_modified_on_utc >= (select run.started_on_utc from m_loan_arrears_aging_run run)"
+                + " or exists (select mr.id from m_loan_repayment_schedule mr where mr.loan_id = ml.id and mr.completed_derived is false"
+                + " and mr.duedate >= " + previousRunDueDate + " and mr.duedate < " + currentDueDate + ")"
+                + " or exists (select mrh.id from m_loan_repayment_schedule_history mrh where mrh.loan_id = ml.id"
+                + " and mrh.duedate >= " + previousRunDueDate + " and mrh.duedate < " + currentDueDate + "))";
+        final List<Long> changedLoanIds = namedParameterJdbcTemplate.queryForList(changedLoansSql,
+                new MapSqlParameterSource("previousRunBusinessDate", previousRunBusinessDate), Long.class);
+        log.debug("Removed {} records of inactive loans, updating arrears ageing of {} changed loans since {}", deleted,
+                changedLoanIds.size(), previousRunBusinessDate);
+        updateLoanArrearsAgeingDetails(changedLoanIds);
+    }
 
-        deleteLoanArrearsAgingDetails(loanIdsForUpdate);
-        String insertSQLStatement = buildQueryForInsertAgeingDetails(Boolean.FALSE);
-        List<Object[]> batch = new ArrayList<Object[]>();
-        if (!loanIdsForUpdate.isEmpty()) {
-            for (Long loanId : loanIdsForUpdate) {
-                Object[] values = new Object[] { loanId };
-                batch.add(values);
-            }
-        }
-        final int[] recordsUpdatedWithoutOriginalSchedule = this.jdbcTemplate.batchUpdate(insertSQLStatement, batch);
-        int[] recordsUpdatedWithOriginalSchedule = new int[0];
-        List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule(loanIdsForUpdate);
-        if (!insertStatements.isEmpty()) {
-            recordsUpdatedWithOriginalSchedule = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
+    private LocalDate retrievePreviousRunBusinessDate() {
+        final List<LocalDate> businessDates = jdbcTemplate.query("select business_date from m_loan_arrears_aging_run",
+                (rs, rowNum) -> JdbcSupport.getLocalDate(rs, "business_date"));
+        return businessDates.isEmpty() ? null : businessDates.get(0);
+    }
 
+    public void updateLoanArrearsAgeingDetails(List<Long> loanIdsForUpdate) {
+        if (loanIdsForUpdate.isEmpty()) {
+            return;
         }
-        if (log.isDebugEnabled()) {
-            int result = 0;
-            for (int recordWithoutOriginalSchedule : recordsUpdatedWithoutOriginalSchedule) {
-                result += recordWithoutOriginalSchedule;
-            }
-            if (recordsUpdatedWithOriginalSchedule.length > 0) {
-                for (int recordWithOriginalSchedule : recordsUpdatedWithOriginalSchedule) {
+        String insertSQLStatement = buildQueryForInsertAgeingDetails(Boolean.FALSE);
+        int result = 0;
+        for (List<Long> loanIds : Lists.partition(loanIdsForUpdate, fineractProperties.getQuery().getInClauseParameterSizeLimit())) {
+            deleteLoanArrearsAgingDetails(loanIds);
+            result += namedParameterJdbcTemplate.update(insertSQLStatement, new MapSqlParameterSource("loanIds", loanIds));
+            List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule(loanIds);
+            if (!insertStatements.isEmpty()) {
+                for (int recordWithOriginalSchedule : this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]))) {
                     result += recordWithOriginalSchedule;
                 }
             }
-            log.debug("Records affected by updateLoanArrearsAgeingDetails: {}", result);
         }
-
+        log.debug("Records affected by updateLoanArrearsAgeingDetails: {}", result);
     }
 
     private String buildQueryForInsertAgeingDetails(boolean isForAllLoans) {
@@ -135,7 +178,7 @@ public class LoanArrearsAgeingUpdateHandler {
         insertSqlStatementBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
         insertSqlStatementBuilder.append(" WHERE ml.loan_status_id = 300 ");// active
         if (!isForAllLoans) {
-            insertSqlStatementBuilder.append(" and ml.id IN (?)");
+            insertSqlStatementBuilder.append(" and ml.id IN (:loanIds)");
         }
         insertSqlStatementBuilder.append(" and mr.completed_derived is false ");
         insertSqlStatementBuilder.append(" and mr.duedate < ")
@@ -150,12 +193,8 @@ public class LoanArrearsAgeingUpdateHandler {
     private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule(List<Long> loanIdsForUpdate) {
         List<String> insertStatement = new ArrayList<>();
         String sqlForLoanIdentifiers = buildQueryForLoanIdentifiersWithOriginalSchedule(Boolean.FALSE);
-        List<Object> loanIdsForQuery = new ArrayList<>();
-        for (Long loanId : loanIdsForUpdate) {
-            loanIdsForQuery.add(loanId);
-        }
-        List<Long> loanIds = this.jdbcTemplate.queryForList(sqlForLoanIdentifiers, loanIdsForQuery.toArray(), new int[] { Types.BIGINT },
-                Long.class);
+        List<Long> loanIds = namedParameterJdbcTemplate.queryForList(sqlForLoanIdentifiers,
+                new MapSqlParameterSource("loanIds", loanIdsForUpdate), Long.class);
         if (!loanIds.isEmpty()) {
             Map<Long, List<LoanSchedulePeriodData>> scheduleDate = getScheduleDate(loanIds);
             List<Map<String, Object>> loanSummary = getLoanSummary(loanIds);
@@ -188,7 +227,7 @@ public class LoanArrearsAgeingUpdateHandler {
                 "inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = true  ");
         loanIdentifier.append("WHERE ml.loan_status_id = 300 ");
         if (!isForAllLoans) {
-            loanIdentifier.append(" and ml.id IN (?)");
+            loanIdentifier.append(" and ml.id IN (:loanIds)");
         }
         loanIdentifier.append(" and mr.completed_derived is false  and mr.duedate < ")
                 .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
@@ -208,17 +247,15 @@ public class LoanArrearsAgeingUpdateHandler {
         transactionsSql.append("from m_loan ml ");
         transactionsSql.append("where ml.id IN (:loanIds)").append(" order by ml.id");
 
-        final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
         SqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
-        List<Map<String, Object>> loanSummary = namedJdbcTemplate.queryForList(transactionsSql.toString(), parameters);
+        List<Map<String, Object>> loanSummary = namedParameterJdbcTemplate.queryForList(transactionsSql.toString(), parameters);
         return loanSummary;
     }
 
     private Map<Long, List<LoanSchedulePeriodData>> getScheduleDate(List<Long> loanIds) {
         LoanOriginalScheduleExtractor loanOriginalScheduleExtractor = new LoanOriginalScheduleExtractor(sqlGenerator);
-        final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
         SqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
-        return namedJdbcTemplate.query(loanOriginalScheduleExtractor.schema, parameters, loanOriginalScheduleExtractor);
+        return namedParameterJdbcTemplate.query(loanOriginalScheduleExtractor.schema, parameters, loanOriginalScheduleExtractor);
     }
 
     private static final class LoanOriginalScheduleExtractor implements ResultSetExtractor<Map<Long, List<LoanSchedulePeriodData>>> {
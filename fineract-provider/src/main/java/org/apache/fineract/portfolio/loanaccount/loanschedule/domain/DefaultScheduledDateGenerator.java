@@ -152,9 +152,9 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
          * Check Changed Schedule Date is holiday or is not a working day Then re-call this method to get the non
          * holiday and working day
          */
-        if ((holidayDetailDTO.isHolidayEnabled() && HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                holidayDetailDTO.getHolidays()) != null)
-                || WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
+        if ((holidayDetailDTO.isHolidayEnabled()
+                && holidayDetailDTO.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate()) != null)
+                || holidayDetailDTO.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
             recursivelyCheckNonWorkingDaysAndHolidaysAndWorkingDaysExemptionToGenerateNextRepaymentPeriodDate(adjustedDateDetailsDTO,
                     loanApplicationTerms, holidayDetailDTO, isFirstRepayment);
         }
@@ -174,8 +174,8 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
         if (holidayDetailDTO.isHolidayEnabled()) {
             Holiday applicableHolidayForNewAdjustedDate = null;
-            while ((applicableHolidayForNewAdjustedDate = HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                    holidayDetailDTO.getHolidays())) != null) {
+            while ((applicableHolidayForNewAdjustedDate = holidayDetailDTO
+                    .getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate())) != null) {
                 if (applicableHolidayForNewAdjustedDate.getReScheduleType().isResheduleToNextRepaymentDate()) {
                     LocalDate nextRepaymentPeriodDueDate = adjustedDateDetailsDTO.getChangedActualRepaymentDate();
                     while (!DateUtils.isAfter(nextRepaymentPeriodDueDate, adjustedDateDetailsDTO.getChangedScheduleDate())) {
@@ -204,13 +204,13 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
     private void checkAndUpdateWorkingDayIfRepaymentDateIsNonWorkingDay(final AdjustedDateDetailsDTO adjustedDateDetailsDTO,
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
 
-        while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
+        while (holidayDetailDTO.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
             final RepaymentRescheduleType repaymentRescheduleType = WorkingDaysUtil
                     .getRepaymentRescheduleType(holidayDetailDTO.getWorkingDays());
 
             if (repaymentRescheduleType.isMoveToNextRepaymentDay()) {
                 LocalDate nextRepaymentPeriodDueDate = adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate();
-                while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), nextRepaymentPeriodDueDate)
+                while (holidayDetailDTO.isNonWorkingDay(nextRepaymentPeriodDueDate)
                         || DateUtils.isAfter(adjustedDateDetailsDTO.getChangedScheduleDate(), nextRepaymentPeriodDueDate)) {
                     nextRepaymentPeriodDueDate = generateNextRepaymentDate(nextRepaymentPeriodDueDate, loanApplicationTerms,
                             isFirstRepayment);
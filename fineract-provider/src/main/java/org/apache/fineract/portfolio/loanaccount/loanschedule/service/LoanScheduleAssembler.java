@@ -42,17 +42,15 @@ import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidati
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
-import org.apache.fineract.organisation.holiday.domain.HolidayRepository;
-import org.apache.fineract.organisation.holiday.domain.HolidayStatusType;
 import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.holiday.service.OfficeCalendar;
+import org.apache.fineract.organisation.holiday.service.OfficeCalendarService;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
-import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
-import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
 import org.apache.fineract.portfolio.accountdetails.domain.AccountType;
 import org.apache.fineract.portfolio.calendar.domain.Calendar;
 import org.apache.fineract.portfolio.calendar.domain.CalendarEntityType;
@@ -128,11 +126,10 @@ public class LoanScheduleAssembler {
     private final LoanScheduleGeneratorFactory loanScheduleFactory;
     private final AprCalculator aprCalculator;
     private final CalendarRepository calendarRepository;
-    private final HolidayRepository holidayRepository;
+    private final OfficeCalendarService officeCalendarService;
     private final ConfigurationDomainService configurationDomainService;
     private final ClientRepositoryWrapper clientRepository;
     private final GroupRepositoryWrapper groupRepository;
-    private final WorkingDaysRepositoryWrapper workingDaysRepository;
     private final FloatingRatesReadPlatformService floatingRatesReadPlatformService;
     private final VariableLoanScheduleFromApiJsonValidator variableLoanScheduleFromApiJsonValidator;
     private final CalendarInstanceRepository calendarInstanceRepository;
@@ -143,9 +140,8 @@ public class LoanScheduleAssembler {
             final ApplicationCurrencyRepositoryWrapper applicationCurrencyRepository,
             final LoanScheduleGeneratorFactory loanScheduleFactory, final AprCalculator aprCalculator,
             final LoanChargeAssembler loanChargeAssembler, final CalendarRepository calendarRepository,
-            final HolidayRepository holidayRepository, final ConfigurationDomainService configurationDomainService,
+            final OfficeCalendarService officeCalendarService, final ConfigurationDomainService configurationDomainService,
             final ClientRepositoryWrapper clientRepository, final GroupRepositoryWrapper groupRepository,
-            final WorkingDaysRepositoryWrapper workingDaysRepository,
             final FloatingRatesReadPlatformService floatingRatesReadPlatformService,
             final VariableLoanScheduleFromApiJsonValidator variableLoanScheduleFromApiJsonValidator,
             final CalendarInstanceRepository calendarInstanceRepository, final LoanUtilService loanUtilService) {
@@ -156,11 +152,10 @@ public class LoanScheduleAssembler {
         this.aprCalculator = aprCalculator;
         this.loanChargeAssembler = loanChargeAssembler;
         this.calendarRepository = calendarRepository;
-        this.holidayRepository = holidayRepository;
+        this.officeCalendarService = officeCalendarService;
         this.configurationDomainService = configurationDomainService;
         this.clientRepository = clientRepository;
         this.groupRepository = groupRepository;
-        this.workingDaysRepository = workingDaysRepository;
         this.floatingRatesReadPlatformService = floatingRatesReadPlatformService;
         this.variableLoanScheduleFromApiJsonValidator = variableLoanScheduleFromApiJsonValidator;
         this.calendarInstanceRepository = calendarInstanceRepository;
@@ -447,10 +442,10 @@ public class LoanScheduleAssembler {
             officeId = group.getOffice().getId();
         }
         final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId, expectedDisbursementDate,
-                HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
-        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays);
+        final OfficeCalendar officeCalendar = this.officeCalendarService.getCalendar(officeId);
+        final List<Holiday> holidays = officeCalendar.getHolidaysFrom(expectedDisbursementDate);
+        final WorkingDays workingDays = officeCalendar.getWorkingDays();
+        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, officeCalendar);
         final boolean isInterestToBeRecoveredFirstWhenGreaterThanEMI = this.configurationDomainService
                 .isInterestToBeRecoveredFirstWhenGreaterThanEMI();
         final boolean isPrincipalCompoundingDisabledForOverdueLoans = this.configurationDomainService
@@ -649,26 +644,27 @@ public class LoanScheduleAssembler {
         }
 
         final LocalDate expectedDisbursementDate = this.fromApiJsonHelper.extractLocalDateNamed("expectedDisbursementDate", element);
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId, expectedDisbursementDate,
-                HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
+        final OfficeCalendar officeCalendar = this.officeCalendarService.getCalendar(officeId);
+        final List<Holiday> holidays = officeCalendar.getHolidaysFrom(expectedDisbursementDate);
+        final WorkingDays workingDays = officeCalendar.getWorkingDays();
 
-        validateDisbursementDateIsOnNonWorkingDay(loanApplicationTerms.getExpectedDisbursementDate(), workingDays);
+        validateDisbursementDateIsOnNonWorkingDay(loanApplicationTerms.getExpectedDisbursementDate(), officeCalendar);
         validateDisbursementDateIsOnHoliday(loanApplicationTerms.getExpectedDisbursementDate(), isHolidayEnabled, holidays);
 
         List<LoanDisbursementDetails> loanDisbursementDetails = this.loanUtilService.fetchDisbursementData(element.getAsJsonObject());
 
-        return assembleLoanScheduleFrom(loanApplicationTerms, isHolidayEnabled, holidays, workingDays, element, loanDisbursementDetails);
+        return assembleLoanScheduleFrom(loanApplicationTerms, isHolidayEnabled, holidays, workingDays, officeCalendar, element,
+                loanDisbursementDetails);
     }
 
     public LoanScheduleModel assembleLoanScheduleFrom(final LoanApplicationTerms loanApplicationTerms, final boolean isHolidayEnabled,
-            final List<Holiday> holidays, final WorkingDays workingDays, final JsonElement element,
+            final List<Holiday> holidays, final WorkingDays workingDays, final OfficeCalendar officeCalendar, final JsonElement element,
             List<LoanDisbursementDetails> disbursementDetails) {
 
         final Set<LoanCharge> loanCharges = this.loanChargeAssembler.fromParsedJson(element, disbursementDetails);
 
         final MathContext mc = MoneyHelper.getMathContext();
-        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays);
+        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, officeCalendar);
 
         LoanScheduleGenerator loanScheduleGenerator = this.loanScheduleFactory.create(loanApplicationTerms.getLoanScheduleType(),
                 loanApplicationTerms.getInterestMethod());
@@ -698,13 +694,13 @@ public class LoanScheduleAssembler {
         final MathContext mc = MoneyHelper.getMathContext();
         final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
 
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId,
-                loanApplicationTerms.getExpectedDisbursementDate(), HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
+        final OfficeCalendar officeCalendar = this.officeCalendarService.getCalendar(officeId);
+        final List<Holiday> holidays = officeCalendar.getHolidaysFrom(loanApplicationTerms.getExpectedDisbursementDate());
+        final WorkingDays workingDays = officeCalendar.getWorkingDays();
 
         final LoanScheduleGenerator loanScheduleGenerator = this.loanScheduleFactory.create(loanApplicationTerms.getLoanScheduleType(),
                 loanApplicationTerms.getInterestMethod());
-        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays);
+        HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, officeCalendar);
         return loanScheduleGenerator.rescheduleNextInstallments(mc, loanApplicationTerms, loan, detailDTO,
                 loanRepaymentScheduleTransactionProcessor, rescheduleFrom).getLoanScheduleModel();
     }
@@ -718,10 +714,10 @@ public class LoanScheduleAssembler {
         final MathContext mc = MoneyHelper.getMathContext();
 
         final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId,
-                loanApplicationTerms.getExpectedDisbursementDate(), HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
-        HolidayDetailDTO holidayDetailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays);
+        final OfficeCalendar officeCalendar = this.officeCalendarService.getCalendar(officeId);
+        final List<Holiday> holidays = officeCalendar.getHolidaysFrom(loanApplicationTerms.getExpectedDisbursementDate());
+        final WorkingDays workingDays = officeCalendar.getWorkingDays();
+        HolidayDetailDTO holidayDetailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, officeCalendar);
 
         return loanScheduleGenerator.calculatePrepaymentAmount(currency, onDate, loanApplicationTerms, mc, loan, holidayDetailDTO,
                 loanRepaymentScheduleTransactionProcessor);
@@ -1071,8 +1067,8 @@ public class LoanScheduleAssembler {
         }
     }
 
-    private void validateDisbursementDateIsOnNonWorkingDay(final LocalDate disbursementDate, final WorkingDays workingDays) {
-        if (!WorkingDaysUtil.isWorkingDay(workingDays, disbursementDate)) {
+    private void validateDisbursementDateIsOnNonWorkingDay(final LocalDate disbursementDate, final OfficeCalendar officeCalendar) {
+        if (!officeCalendar.isWorkingDay(disbursementDate)) {
             final String errorMessage = "The expected disbursement date cannot be on a non working day";
             throw new LoanApplicationDateException("disbursement.date.on.non.working.day", errorMessage, disbursementDate);
         }
@@ -36,14 +36,12 @@ import org.apache.fineract.infrastructure.entityaccess.domain.FineractEntityToEn
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
-import org.apache.fineract.organisation.holiday.domain.HolidayRepository;
-import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.holiday.service.OfficeCalendarService;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
 import org.apache.fineract.organisation.office.domain.OfficeRepository;
 import org.apache.fineract.organisation.staff.domain.StaffRepository;
 import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
 import org.apache.fineract.organisation.teller.data.CashierTransactionDataValidator;
-import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
 import org.apache.fineract.portfolio.account.domain.AccountAssociationsRepository;
 import org.apache.fineract.portfolio.account.domain.AccountTransferDetailRepository;
 import org.apache.fineract.portfolio.account.service.AccountAssociationsReadPlatformService;
@@ -259,13 +257,13 @@ public class LoanAccountConfiguration {
             LoanScheduleAssembler loanScheduleAssembler, LoanChargeAssembler loanChargeAssembler,
             LoanCollateralAssembler collateralAssembler, LoanSummaryWrapper loanSummaryWrapper,
             LoanRepaymentScheduleTransactionProcessorFactory loanRepaymentScheduleTransactionProcessorFactory,
-            HolidayRepository holidayRepository, ConfigurationDomainService configurationDomainService,
-            WorkingDaysRepositoryWrapper workingDaysRepository, LoanUtilService loanUtilService, RateAssembler rateAssembler,
-            LoanLifecycleStateMachine defaultLoanLifecycleStateMachine, ExternalIdFactory externalIdFactory) {
+            OfficeCalendarService officeCalendarService, ConfigurationDomainService configurationDomainService,
+            LoanUtilService loanUtilService, RateAssembler rateAssembler, LoanLifecycleStateMachine defaultLoanLifecycleStateMachine,
+            ExternalIdFactory externalIdFactory) {
         return new LoanAssembler(fromApiJsonHelper, loanRepository, loanProductRepository, clientRepository, groupRepository,
                 fundRepository, staffRepository, codeValueRepository, loanScheduleAssembler, loanChargeAssembler, collateralAssembler,
-                loanSummaryWrapper, loanRepaymentScheduleTransactionProcessorFactory, holidayRepository, configurationDomainService,
-                workingDaysRepository, loanUtilService, rateAssembler, defaultLoanLifecycleStateMachine, externalIdFactory);
+                loanSummaryWrapper, loanRepaymentScheduleTransactionProcessorFactory, officeCalendarService, configurationDomainService,
+                loanUtilService, rateAssembler, defaultLoanLifecycleStateMachine, externalIdFactory);
     }
 
     @Bean
@@ -367,11 +365,11 @@ public class LoanAccountConfiguration {
     @ConditionalOnMissingBean(LoanUtilService.class)
     public LoanUtilService loanUtilService(ApplicationCurrencyRepositoryWrapper applicationCurrencyRepository,
             CalendarInstanceRepository calendarInstanceRepository, ConfigurationDomainService configurationDomainService,
-            HolidayRepository holidayRepository, WorkingDaysRepositoryWrapper workingDaysRepository,
-            LoanScheduleGeneratorFactory loanScheduleFactory, FloatingRatesReadPlatformService floatingRatesReadPlatformService,
-            FromJsonHelper fromApiJsonHelper, CalendarReadPlatformService calendarReadPlatformService) {
-        return new LoanUtilService(applicationCurrencyRepository, calendarInstanceRepository, configurationDomainService, holidayRepository,
-                workingDaysRepository, loanScheduleFactory, floatingRatesReadPlatformService, fromApiJsonHelper,
+            OfficeCalendarService officeCalendarService, LoanScheduleGeneratorFactory loanScheduleFactory,
+            FloatingRatesReadPlatformService floatingRatesReadPlatformService, FromJsonHelper fromApiJsonHelper,
+            CalendarReadPlatformService calendarReadPlatformService) {
+        return new LoanUtilService(applicationCurrencyRepository, calendarInstanceRepository, configurationDomainService,
+                officeCalendarService, loanScheduleFactory, floatingRatesReadPlatformService, fromApiJsonHelper,
                 calendarReadPlatformService);
     }
 
@@ -384,8 +382,8 @@ public class LoanAccountConfiguration {
             LoanTransactionRepository loanTransactionRepository, LoanTransactionRelationRepository loanTransactionRelationRepository,
             LoanAssembler loanAssembler, JournalEntryWritePlatformService journalEntryWritePlatformService,
             CalendarInstanceRepository calendarInstanceRepository, PaymentDetailWritePlatformService paymentDetailWritePlatformService,
-            HolidayRepositoryWrapper holidayRepository, ConfigurationDomainService configurationDomainService,
-            WorkingDaysRepositoryWrapper workingDaysRepository, AccountTransfersWritePlatformService accountTransfersWritePlatformService,
+            OfficeCalendarService officeCalendarService, ConfigurationDomainService configurationDomainService,
+            AccountTransfersWritePlatformService accountTransfersWritePlatformService,
             AccountTransfersReadPlatformService accountTransfersReadPlatformService,
             AccountAssociationsReadPlatformService accountAssociationsReadPlatformService, LoanReadPlatformService loanReadPlatformService,
             FromJsonHelper fromApiJsonHelper, CalendarRepository calendarRepository,
@@ -407,13 +405,12 @@ public class LoanAccountConfiguration {
         return new LoanWritePlatformServiceJpaRepositoryImpl(context, loanEventApiJsonValidator, loanUpdateCommandFromApiJsonDeserializer,
                 loanRepositoryWrapper, loanAccountDomainService, noteRepository, loanTransactionRepository,
                 loanTransactionRelationRepository, loanAssembler, journalEntryWritePlatformService, calendarInstanceRepository,
-                paymentDetailWritePlatformService, holidayRepository, configurationDomainService, workingDaysRepository,
-                accountTransfersWritePlatformService, accountTransfersReadPlatformService, accountAssociationsReadPlatformService,
-                loanReadPlatformService, fromApiJsonHelper, calendarRepository, loanScheduleHistoryWritePlatformService,
-                loanApplicationCommandFromApiJsonHelper, accountAssociationRepository, accountTransferDetailRepository,
-                businessEventNotifierService, guarantorDomainService, loanUtilService, loanSummaryWrapper,
-                entityDatatableChecksWritePlatformService, transactionProcessingStrategy, codeValueRepository,
-                cashierTransactionDataValidator, glimRepository, loanRepository, repaymentWithPostDatedChecksAssembler,
+                paymentDetailWritePlatformService, officeCalendarService, configurationDomainService, accountTransfersWritePlatformService,
+                accountTransfersReadPlatformService, accountAssociationsReadPlatformService, loanReadPlatformService, fromApiJsonHelper,
+                calendarRepository, loanScheduleHistoryWritePlatformService, loanApplicationCommandFromApiJsonHelper,
+                accountAssociationRepository, accountTransferDetailRepository, businessEventNotifierService, guarantorDomainService,
+                loanUtilService, loanSummaryWrapper, entityDatatableChecksWritePlatformService, transactionProcessingStrategy,
+                codeValueRepository, cashierTransactionDataValidator, glimRepository, loanRepository, repaymentWithPostDatedChecksAssembler,
                 postDatedChecksRepository, loanDisbursementDetailsRepository, loanRepaymentScheduleInstallmentRepository,
                 defaultLoanLifecycleStateMachine, loanAccountLockService, externalIdFactory, replayedTransactionBusinessEventService,
                 loanAccrualTransactionBusinessEventService, errorHandler, loanDownPaymentHandlerService);
@@ -261,6 +261,8 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
         final Money minOverdraftForInterestCalculation = Money.of(savingsAccountData.getCurrency(),
                 savingsAccountData.getMinOverdraftForInterestCalculation());
         final MonetaryCurrency monetaryCurrency = MonetaryCurrency.fromCurrencyData(savingsAccountData.getCurrency());
+        final List<SavingsAccountTransactionData> orderedNonInterestPostingTransactions = retreiveOrderedNonInterestPostingTransactions(
+                savingsAccountData);
 
         for (final LocalDateInterval periodInterval : postingPeriodIntervals) {
 
@@ -269,7 +271,7 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
                 isUserPosting = true;
             }
             final PostingPeriod postingPeriod = PostingPeriod.createFromDTO(periodInterval, periodStartingBalance,
-                    retreiveOrderedNonInterestPostingTransactions(savingsAccountData), monetaryCurrency, compoundingPeriodType,
+                    orderedNonInterestPostingTransactions, monetaryCurrency, compoundingPeriodType,
                     interestCalculationType, interestRateAsFraction, daysInYearType.getValue(), upToInterestCalculationDate,
                     interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation,
                     isSavingsInterestPostingAtCurrentPeriodEnd, overdraftInterestRateAsFraction, minOverdraftForInterestCalculation,
@@ -40,6 +40,7 @@ import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.PlatformEmailSendException;
+import org.apache.fineract.infrastructure.security.service.BasicAuthCredentialCache;
 import org.apache.fineract.infrastructure.security.service.PlatformPasswordEncoder;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.Office;
@@ -83,6 +84,7 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
     private final AppUserPreviousPasswordRepository appUserPreviewPasswordRepository;
     private final StaffRepositoryWrapper staffRepositoryWrapper;
     private final ClientRepositoryWrapper clientRepositoryWrapper;
+    private final BasicAuthCredentialCache basicAuthCredentialCache;
 
     @Override
     @Transactional
@@ -164,6 +166,7 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
             this.fromApiJsonDeserializer.validateForUpdate(command.json(), this.context.authenticatedUser());
 
             final AppUser userToUpdate = this.appUserRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+            final String usernameBeforeUpdate = userToUpdate.getUsername();
 
             final AppUserPreviousPassword currentPasswordToSaveAsPreview = getCurrentPasswordToSaveAsPreview(userToUpdate, command);
 
@@ -213,6 +216,7 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
                     this.appUserPreviewPasswordRepository.save(currentPasswordToSaveAsPreview);
                 }
 
+                this.basicAuthCredentialCache.evict(usernameBeforeUpdate);
             }
 
             return new CommandProcessingResultBuilder() //
@@ -277,8 +281,10 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
             throw new UserNotFoundException(userId);
         }
 
+        final String username = user.getUsername();
         user.delete();
         this.appUserRepository.save(user);
+        this.basicAuthCredentialCache.evict(username);
 
         return new CommandProcessingResultBuilder().withEntityId(userId).withOfficeId(user.getOffice().getId()).build();
     }
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.cache.service.TenantSnapshotCache;
+import org.apache.fineract.useradministration.domain.Permission;
+import org.apache.fineract.useradministration.domain.PermissionRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the maker-checker flag of every permission, one per tenant, so that deciding whether a command has
+ * to wait for a checker does not need a database round trip.
+ * <br>
+ * <br>
+ * Codes are matched like {@link PermissionRepository#findOneByCode(String)} does, ignoring case and surrounding spaces.
+ * The index of a tenant is loaded on first use, loaded again when a code is missing from it (permissions are added
+ * when datatables and reports are registered) and dropped when permissions are changed or removed, see
+ * {@link TenantSnapshotCache}.
+ */
+@Slf4j
+@Component
+public class MakerCheckerPermissionCache extends TenantSnapshotCache<String, Map<String, Boolean>> {
+
+    public static final String CACHE_NAME = "makerCheckerPermissions";
+    public static final String HIT_METRIC = "fineract.permission.makerchecker.cache.hits";
+    public static final String REFRESH_METRIC = "fineract.permission.makerchecker.cache.refreshes";
+
+    private static final String SNAPSHOT = "permissions";
+
+    private final PermissionRepository repository;
+
+    public MakerCheckerPermissionCache(PermissionRepository repository, MultiNodeCacheManager multiNodeCacheManager,
+            MeterRegistry meterRegistry) {
+        super(CACHE_NAME, HIT_METRIC, REFRESH_METRIC, multiNodeCacheManager, meterRegistry);
+        this.repository = repository;
+    }
+
+    /**
+     * @return whether maker-checker is enabled for the given permission of the current tenant, <code>null</code> if
+     *         there is no such permission
+     */
+    public Boolean isMakerCheckerEnabled(String permissionCode) {
+        final String key = toKey(permissionCode);
+        final Map<String, Boolean> snapshot = getIfPresent(SNAPSHOT);
+        if (snapshot != null) {
+            final Boolean enabled = snapshot.get(key);
+            if (enabled != null) {
+                recordHit();
+                return enabled;
+            }
+            // the permission may have been added after the index was loaded
+            evictLocally(SNAPSHOT);
+        }
+        return get(SNAPSHOT, snapshotKey -> load()).get(key);
+    }
+
+    /**
+     * Drops the index of the current tenant on every node.
+     */
+    public void refresh() {
+        invalidateTenant();
+    }
+
+    private Map<String, Boolean> load() {
+        log.debug("Loading the maker-checker permissions of tenant {}", getTenantIdentifier());
+        final Map<String, Boolean> snapshot = new HashMap<>();
+        for (Permission permission : repository.findAll()) {
+            snapshot.put(toKey(permission.getCode()), permission.hasMakerCheckerEnabled());
+        }
+        return Map.copyOf(snapshot);
+    }
+
+    private static String toKey(String permissionCode) {
+        return permissionCode.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.useradministration.starter;
 
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.BasicAuthCredentialCache;
 import org.apache.fineract.infrastructure.security.service.PlatformPasswordEncoder;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
@@ -38,6 +39,7 @@ import org.apache.fineract.useradministration.service.AppUserReadPlatformService
 import org.apache.fineract.useradministration.service.AppUserReadPlatformServiceImpl;
 import org.apache.fineract.useradministration.service.AppUserWritePlatformService;
 import org.apache.fineract.useradministration.service.AppUserWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.useradministration.service.MakerCheckerPermissionCache;
 import org.apache.fineract.useradministration.service.PasswordPreferencesWritePlatformService;
 import org.apache.fineract.useradministration.service.PasswordPreferencesWritePlatformServiceJpaRepositoryImpl;
 import org.apache.fineract.useradministration.service.PasswordValidationPolicyReadPlatformService;
@@ -75,10 +77,10 @@ public class UserAdministrationConfiguration {
             PlatformPasswordEncoder platformPasswordEncoder, AppUserRepository appUserRepository,
             OfficeRepositoryWrapper officeRepositoryWrapper, RoleRepository roleRepository, UserDataValidator fromApiJsonDeserializer,
             AppUserPreviousPasswordRepository appUserPreviewPasswordRepository, StaffRepositoryWrapper staffRepositoryWrapper,
-            ClientRepositoryWrapper clientRepositoryWrapper) {
+            ClientRepositoryWrapper clientRepositoryWrapper, BasicAuthCredentialCache basicAuthCredentialCache) {
         return new AppUserWritePlatformServiceJpaRepositoryImpl(context, userDomainService, platformPasswordEncoder, appUserRepository,
                 officeRepositoryWrapper, roleRepository, fromApiJsonDeserializer, appUserPreviewPasswordRepository, staffRepositoryWrapper,
-                clientRepositoryWrapper);
+                clientRepositoryWrapper, basicAuthCredentialCache);
     }
 
     @Bean
@@ -105,8 +107,10 @@ public class UserAdministrationConfiguration {
     @Bean
     @ConditionalOnMissingBean(PermissionWritePlatformService.class)
     public PermissionWritePlatformService permissionWritePlatformService(PlatformSecurityContext context,
-            PermissionRepository permissionRepository, PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
-        return new PermissionWritePlatformServiceJpaRepositoryImpl(context, permissionRepository, fromApiJsonDeserializer);
+            PermissionRepository permissionRepository, PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer,
+            MakerCheckerPermissionCache makerCheckerPermissionCache) {
+        return new PermissionWritePlatformServiceJpaRepositoryImpl(context, permissionRepository, fromApiJsonDeserializer,
+                makerCheckerPermissionCache);
     }
 
     @Bean
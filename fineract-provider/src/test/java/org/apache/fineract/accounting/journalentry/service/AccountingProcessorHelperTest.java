@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AccountingProcessorHelperTest {
+
+    @Mock
+    private JournalEntryRepository glJournalEntryRepository;
+
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+
+    @Captor
+    private ArgumentCaptor<BusinessEvent<?>> events;
+
+    @InjectMocks
+    private AccountingProcessorHelper underTest;
+
+    @Test
+    void testBatchedJournalEntriesAreWrittenWithOneFlush() {
+        JournalEntry debit = newJournalEntry(1L);
+        JournalEntry credit = newJournalEntry(1L);
+        when(glJournalEntryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        underTest.batchJournalEntries(() -> {
+            underTest.persistJournalEntry(debit);
+            underTest.persistJournalEntry(credit);
+            verify(glJournalEntryRepository, never()).saveAll(anyList());
+        });
+
+        InOrder inOrder = inOrder(glJournalEntryRepository, businessEventNotifierService);
+        inOrder.verify(glJournalEntryRepository).saveAll(List.of(debit, credit));
+        inOrder.verify(glJournalEntryRepository).flush();
+        inOrder.verify(businessEventNotifierService, times(2)).notifyPostBusinessEvent(events.capture());
+        assertSame(debit, events.getAllValues().get(0).get());
+        assertSame(credit, events.getAllValues().get(1).get());
+        verify(glJournalEntryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testExistingJournalEntryWritesPendingEntriesFirst() {
+        JournalEntry reversal = newJournalEntry(null);
+        JournalEntry existing = mock(JournalEntry.class);
+        when(glJournalEntryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(glJournalEntryRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        underTest.batchJournalEntries(() -> {
+            underTest.persistJournalEntry(reversal);
+            underTest.persistJournalEntry(existing);
+        });
+
+        InOrder inOrder = inOrder(glJournalEntryRepository);
+        inOrder.verify(glJournalEntryRepository).saveAll(List.of(reversal));
+        inOrder.verify(glJournalEntryRepository).flush();
+        inOrder.verify(glJournalEntryRepository).saveAndFlush(existing);
+        verify(glJournalEntryRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testJournalEntriesAreFlushedOneByOneOutsideABatch() {
+        JournalEntry journalEntry = newJournalEntry(1L);
+        when(glJournalEntryRepository.saveAndFlush(journalEntry)).thenReturn(journalEntry);
+
+        assertEquals(journalEntry, underTest.persistJournalEntry(journalEntry));
+
+        verify(glJournalEntryRepository, times(1)).saveAndFlush(journalEntry);
+        verify(businessEventNotifierService, times(1)).notifyPostBusinessEvent(any());
+    }
+
+    private JournalEntry newJournalEntry(Long loanTransactionId) {
+        JournalEntry journalEntry = mock(JournalEntry.class);
+        when(journalEntry.isNew()).thenReturn(true);
+        when(journalEntry.getLoanTransactionId()).thenReturn(loanTransactionId);
+        return journalEntry;
+    }
+}
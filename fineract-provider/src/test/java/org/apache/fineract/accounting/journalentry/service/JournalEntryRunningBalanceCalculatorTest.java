@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceCalculator.Checkpoint;
+import org.junit.jupiter.api.Test;
+
+class JournalEntryRunningBalanceCalculatorTest {
+
+    private static final Long CASH = 1L;
+    private static final Long INCOME = 2L;
+
+    @Test
+    void testBalanceIncreasesByAccountTypeAndStartsFromOpeningBalance() {
+        JournalEntryRunningBalanceCalculator calculator = new JournalEntryRunningBalanceCalculator(Map.of(CASH, new BigDecimal("100")),
+                false);
+
+        assertBalance("150", add(calculator, CASH, "2023-01-05", GLAccountType.ASSET, JournalEntryType.DEBIT, "50"));
+        assertBalance("130", add(calculator, CASH, "2023-01-05", GLAccountType.ASSET, JournalEntryType.CREDIT, "20"));
+        assertBalance("50", add(calculator, INCOME, "2023-01-05", GLAccountType.INCOME, JournalEntryType.CREDIT, "50"));
+        assertBalance("30", add(calculator, INCOME, "2023-01-06", GLAccountType.INCOME, JournalEntryType.DEBIT, "20"));
+        assertTrue(calculator.complete().isEmpty());
+    }
+
+    @Test
+    void testCheckpointsAreClosedAtMonthEnd() {
+        JournalEntryRunningBalanceCalculator calculator = new JournalEntryRunningBalanceCalculator(Map.of(), true);
+
+        add(calculator, CASH, "2023-01-05", GLAccountType.ASSET, JournalEntryType.DEBIT, "10");
+        add(calculator, INCOME, "2023-01-31", GLAccountType.INCOME, JournalEntryType.CREDIT, "10");
+        add(calculator, CASH, "2023-01-31", GLAccountType.ASSET, JournalEntryType.DEBIT, "5");
+        assertTrue(calculator.drainCheckpoints().isEmpty());
+
+        add(calculator, CASH, "2023-03-01", GLAccountType.ASSET, JournalEntryType.CREDIT, "3");
+        List<Checkpoint> january = calculator.drainCheckpoints();
+        assertEquals(2, january.size());
+        assertCheckpoint(january.get(0), "2023-01-31", CASH, "15");
+        assertCheckpoint(january.get(1), "2023-01-31", INCOME, "10");
+        assertTrue(calculator.drainCheckpoints().isEmpty());
+
+        List<Checkpoint> march = calculator.complete();
+        assertEquals(1, march.size());
+        assertCheckpoint(march.get(0), "2023-03-31", CASH, "12");
+    }
+
+    private static BigDecimal add(JournalEntryRunningBalanceCalculator calculator, Long accountId, String entryDate,
+            GLAccountType accountType, JournalEntryType entryType, String amount) {
+        return calculator.add(accountId, LocalDate.parse(entryDate), accountType, entryType, new BigDecimal(amount));
+    }
+
+    private static void assertBalance(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    private static void assertCheckpoint(Checkpoint checkpoint, String checkpointDate, Long accountId, String balance) {
+        assertEquals(LocalDate.parse(checkpointDate), checkpoint.getCheckpointDate());
+        assertEquals(accountId, checkpoint.getAccountId());
+        assertBalance(balance, checkpoint.getBalance());
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver.ProductMappings;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.charge.domain.Charge;
+import org.apache.fineract.portfolio.paymenttype.domain.PaymentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ProductToGLAccountMappingResolverTest {
+
+    private static final Long LOAN_PRODUCT_ID = 7L;
+
+    @Mock
+    private ProductToGLAccountMappingRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductToGLAccountMappingResolver otherNodeResolver;
+    private ProductToGLAccountMappingResolver underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        MultiNodeCacheManager otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new ProductToGLAccountMappingResolver(repository, thisNode, meterRegistry);
+        otherNodeResolver = new ProductToGLAccountMappingResolver(repository, otherNode, new SimpleMeterRegistry());
+
+        ProductToGLAccountMapping fundSource = ProductToGLAccountMapping.createNew(glAccount(10L), LOAN_PRODUCT_ID,
+                PortfolioProductType.LOAN.getValue(), 1);
+        ProductToGLAccountMapping cashFundSource = ProductToGLAccountMapping.createNew(glAccount(11L), LOAN_PRODUCT_ID,
+                PortfolioProductType.LOAN.getValue(), 1).setPaymentType(paymentType(3L));
+        ProductToGLAccountMapping feeIncome = ProductToGLAccountMapping.createNew(glAccount(40L), LOAN_PRODUCT_ID,
+                PortfolioProductType.LOAN.getValue(), 4);
+        ProductToGLAccountMapping specificFeeIncome = ProductToGLAccountMapping.createNew(glAccount(41L), LOAN_PRODUCT_ID,
+                PortfolioProductType.LOAN.getValue(), 4).setCharge(charge(5L));
+        when(repository.findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue()))
+                .thenReturn(List.of(fundSource, cashFundSource, feeIncome, specificFeeIncome));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testMappingsAreResolvedFromTheTable() {
+        ProductMappings mappings = underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+
+        assertEquals(10L, mappings.getGLAccountId(1));
+        assertEquals(11L, mappings.getPaymentTypeGLAccountId(1, 3L));
+        assertNull(mappings.getPaymentTypeGLAccountId(1, 4L));
+        assertNull(mappings.getPaymentTypeGLAccountId(1, null));
+        assertEquals(40L, mappings.getGLAccountId(4));
+        assertEquals(41L, mappings.getChargeGLAccountId(4, 5L));
+        assertNull(mappings.getChargeGLAccountId(4, 6L));
+        assertNull(mappings.getGLAccountId(2));
+        verify(repository, times(1)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+        assertEquals(1.0, meterRegistry.counter(ProductToGLAccountMappingResolver.REFRESH_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(ProductToGLAccountMappingResolver.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testRefreshReloadsTheTable() {
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        underTest.refresh(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+
+        verify(repository, times(2)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+    }
+
+    @Test
+    public void testRefreshOfAnotherProductKeepsTheTable() {
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        underTest.refresh(PortfolioProductType.SAVING, LOAN_PRODUCT_ID);
+        underTest.refresh(PortfolioProductType.LOAN, 8L);
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+
+        verify(repository, times(1)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+    }
+
+    @Test
+    public void testRefreshOnAnotherNodeReloadsTheTable() {
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        otherNodeResolver.refresh(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+
+        verify(repository, times(2)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+    }
+
+    @Test
+    public void testMappingChangedOnAnotherNodeIsUsedWithoutCrossNodeInvalidation() {
+        ProductToGLAccountMappingResolver withoutSnapshots = new ProductToGLAccountMappingResolver(repository,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO),
+                new SimpleMeterRegistry());
+        withoutSnapshots.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        when(repository.findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue())).thenReturn(List
+                .of(ProductToGLAccountMapping.createNew(glAccount(12L), LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue(), 1)));
+
+        assertEquals(12L, withoutSnapshots.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID).getGLAccountId(1));
+    }
+
+    @Test
+    public void testMappingsAreKeptOnASingleNodeWithoutCrossNodeInvalidation() {
+        ProductToGLAccountMappingResolver singleNode = new ProductToGLAccountMappingResolver(repository,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO, true),
+                new SimpleMeterRegistry());
+        singleNode.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        singleNode.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        verify(repository, times(1)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+
+        singleNode.refresh(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        singleNode.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        verify(repository, times(2)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+    }
+
+    @Test
+    public void testTablesAreKeptPerTenant() {
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        otherNodeResolver.refresh(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest.getMappings(PortfolioProductType.LOAN, LOAN_PRODUCT_ID);
+
+        verify(repository, times(2)).findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue());
+    }
+
+    private static GLAccount glAccount(Long id) {
+        GLAccount glAccount = mock(GLAccount.class);
+        when(glAccount.getId()).thenReturn(id);
+        return glAccount;
+    }
+
+    private static PaymentType paymentType(Long id) {
+        PaymentType paymentType = mock(PaymentType.class);
+        when(paymentType.getId()).thenReturn(id);
+        return paymentType;
+    }
+
+    private static Charge charge(Long id) {
+        Charge charge = mock(Charge.class);
+        when(charge.getId()).thenReturn(id);
+        return charge;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.cucumber.java8.En;
+import java.util.List;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.SavingsReadException;
+import org.apache.fineract.cob.savings.SavingsLockingService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.mockito.Mockito;
+import org.springframework.batch.item.Chunk;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class SavingsItemListenerStepDefinitions implements En {
+
+    private SavingsLockingService savingsLockingService = mock(SavingsLockingService.class);
+    private TransactionTemplate transactionTemplate = spy(TransactionTemplate.class);
+
+    private ChunkProcessingSavingsItemListener savingsItemListener = new ChunkProcessingSavingsItemListener(savingsLockingService,
+            transactionTemplate);
+
+    private Exception exception;
+
+    private final SavingsAccount savingsAccount = mock(SavingsAccount.class);
+
+    public SavingsItemListenerStepDefinitions() {
+        Given("/^The SavingsItemListener.onReadError method (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            exception = new SavingsReadException(1L, new RuntimeException("fail"));
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+            when(savingsAccount.getId()).thenReturn(1L);
+        });
+
+        When("SavingsItemListener.onReadError method executed", () -> {
+            try {
+                savingsItemListener.onReadError(exception);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("SavingsItemListener.onReadError result should match", () -> {
+            verify(transactionTemplate, Mockito.times(1)).setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            verify(transactionTemplate, Mockito.times(1)).execute(any());
+            verify(savingsLockingService, Mockito.times(1)).deleteBySavingsAccountIdInAndLockOwner(List.of(1L),
+                    LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+        });
+
+        Given("/^The SavingsItemListener.onProcessError method (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            exception = new RuntimeException("fail");
+            when(savingsAccount.getId()).thenReturn(2L);
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+        });
+
+        When("SavingsItemListener.onProcessError method executed", () -> {
+            try {
+                savingsItemListener.onProcessError(savingsAccount, exception);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("SavingsItemListener.onProcessError result should match", () -> {
+            verifyNoInteractions(savingsLockingService);
+        });
+
+        Given("/^The SavingsItemListener.onSkipInProcess method (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            exception = new RuntimeException("fail");
+            when(savingsAccount.getId()).thenReturn(2L);
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+        });
+
+        When("SavingsItemListener.onSkipInProcess method executed", () -> {
+            try {
+                savingsItemListener.onSkipInProcess(savingsAccount, exception);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("SavingsItemListener.onSkipInProcess result should match", () -> {
+            verify(transactionTemplate, Mockito.times(1)).setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            verify(transactionTemplate, Mockito.times(1)).execute(any());
+            verify(savingsLockingService, Mockito.times(1)).deleteBySavingsAccountIdInAndLockOwner(List.of(2L),
+                    LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+        });
+
+        Given("/^The SavingsItemListener.onWriteError method (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            exception = new RuntimeException("fail");
+            when(savingsAccount.getId()).thenReturn(3L);
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+        });
+
+        When("SavingsItemListener.onWriteError method executed", () -> {
+            try {
+                savingsItemListener.onWriteError(exception, new Chunk<>(List.of(savingsAccount)));
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("SavingsItemListener.onWriteError result should match", () -> {
+            verifyNoInteractions(savingsLockingService);
+        });
+
+        Given("/^The SavingsItemListener.onSkipInWrite method (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            exception = new RuntimeException("fail");
+            when(savingsAccount.getId()).thenReturn(3L);
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+        });
+
+        When("SavingsItemListener.onSkipInWrite method executed", () -> {
+            try {
+                savingsItemListener.onSkipInWrite(savingsAccount, exception);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("SavingsItemListener.onSkipInWrite result should match", () -> {
+            verify(transactionTemplate, Mockito.times(1)).setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            verify(transactionTemplate, Mockito.times(1)).execute(any());
+            verify(savingsLockingService, Mockito.times(1)).deleteBySavingsAccountIdInAndLockOwner(List.of(3L),
+                    LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+        });
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob.loan;
 
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -32,10 +34,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -107,6 +111,70 @@ class LoanItemReaderTest {
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
 
+    @Test
+    public void testLoanItemReaderBulkFetch() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService, 3);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 5L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L, 5L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L, 5L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        List<Loan> loans = LongStream.rangeClosed(1, 5).mapToObj(id -> {
+            Loan mockedLoan = Mockito.mock(Loan.class);
+            when(mockedLoan.getId()).thenReturn(id);
+            return mockedLoan;
+        }).toList();
+        when(loanRepository.findAllByIdsWithCollections(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return loans.stream().filter(l -> ids.contains(l.getId())).toList();
+        });
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        for (int i = 0; i < 5; i++) {
+            Loan myLoan = loanItemReader.read();
+            Assertions.assertEquals(loans.get(i), myLoan);
+        }
+        Assertions.assertNull(loanItemReader.read());
+
+        verify(loanRepository, times(2)).findAllByIdsWithCollections(anyCollection());
+        Mockito.verifyNoMoreInteractions(loanRepository);
+    }
+
+    @Test
+    public void testLoanItemReaderBulkFetchFallsBackForMissingLoan() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService, 2);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 2L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        when(loan.getId()).thenReturn(1L);
+        when(loanRepository.findAllByIdsWithCollections(anyCollection())).thenReturn(List.of(loan));
+        when(loanRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        Assertions.assertEquals(loan, loanItemReader.read());
+        LoanReadException exception = Assertions.assertThrows(LoanReadException.class, loanItemReader::read);
+        Assertions.assertEquals(2L, exception.getId());
+        Assertions.assertNull(loanItemReader.read());
+    }
+
     @Test
     public void testLoanItemReadNoOpenLoansFound() throws Exception {
         // given
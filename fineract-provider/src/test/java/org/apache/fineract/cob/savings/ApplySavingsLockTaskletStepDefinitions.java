@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.cucumber.java8.En;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.fineract.cob.data.SavingsCOBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLock;
+import org.apache.fineract.cob.exceptions.SavingsLockCannotBeAppliedException;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SuppressFBWarnings(value = "RV_EXCEPTION_NOT_THROWN", justification = "False positive")
+public class ApplySavingsLockTaskletStepDefinitions implements En {
+
+    ArgumentCaptor<List> valueCaptor = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<LockOwner> lockOwnerValueCaptor = ArgumentCaptor.forClass(LockOwner.class);
+    private SavingsLockingService savingsLockingService = mock(SavingsLockingService.class);
+    private FineractProperties fineractProperties = mock(FineractProperties.class);
+    private FineractProperties.FineractQueryProperties fineractQueryProperties = mock(FineractProperties.FineractQueryProperties.class);
+    private RetrieveSavingsIdService retrieveSavingsIdService = mock(RetrieveSavingsIdService.class);
+    private TransactionTemplate transactionTemplate = spy(TransactionTemplate.class);
+
+    private ApplySavingsLockTasklet applySavingsLockTasklet = new ApplySavingsLockTasklet(fineractProperties, savingsLockingService,
+            retrieveSavingsIdService, transactionTemplate);
+    private RepeatStatus resultItem;
+    private StepContribution stepContribution;
+
+    public ApplySavingsLockTaskletStepDefinitions() {
+        Given("/^The ApplySavingsLockTasklet.execute method with action (.*)$/", (String action) -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            HashMap<BusinessDateType, LocalDate> businessDateMap = new HashMap<>();
+            businessDateMap.put(BusinessDateType.COB_DATE, LocalDate.now(ZoneId.systemDefault()));
+            ThreadLocalContextUtil.setBusinessDates(businessDateMap);
+            StepExecution stepExecution = new StepExecution("test", null);
+            ExecutionContext executionContext = new ExecutionContext();
+            SavingsCOBParameter savingsCOBParameter = new SavingsCOBParameter(1L, 4L);
+            executionContext.put(SavingsCOBConstant.SAVINGS_COB_PARAMETER, savingsCOBParameter);
+            lenient().when(
+                    retrieveSavingsIdService.retrieveAllActiveSavingsByLastClosedBusinessDateAndMinAndMaxSavingsId(savingsCOBParameter))
+                    .thenReturn(List.of(1L, 2L, 3L, 4L));
+            stepExecution.setExecutionContext(executionContext);
+            stepContribution = new StepContribution(stepExecution);
+            lenient().when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
+            lenient().when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(65000);
+
+            SavingsAccountLock lock1 = new SavingsAccountLock(1L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING,
+                    LocalDate.now(ZoneId.systemDefault()));
+            SavingsAccountLock lock3 = new SavingsAccountLock(3L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING,
+                    LocalDate.now(ZoneId.systemDefault()));
+            List<SavingsAccountLock> accountLocks = List.of(lock1, lock3);
+            if ("error".equals(action)) {
+                lenient().when(savingsLockingService.findAllBySavingsAccountIdIn(Mockito.anyList()))
+                        .thenThrow(new RuntimeException("fail"));
+            } else if ("db-error-first-try".equals(action)) {
+                lenient().when(savingsLockingService.findAllBySavingsAccountIdIn(Mockito.anyList())).thenReturn(accountLocks);
+                Mockito.doThrow(new RuntimeException("db error")).when(savingsLockingService).applyLock(Mockito.anyList(), any());
+            } else if ("db-error-not-recoverable".equals(action)) {
+                stepContribution.getStepExecution().setCommitCount(4);
+                lenient().when(savingsLockingService.findAllBySavingsAccountIdIn(Mockito.anyList())).thenReturn(accountLocks);
+                Mockito.doThrow(new RuntimeException("db error")).when(savingsLockingService).applyLock(Mockito.anyList(), any());
+            } else {
+                lenient().when(savingsLockingService.findAllBySavingsAccountIdIn(Mockito.anyList())).thenReturn(accountLocks);
+            }
+            transactionTemplate.setTransactionManager(mock(PlatformTransactionManager.class));
+        });
+
+        When("ApplySavingsLockTasklet.execute method executed", () -> {
+            try {
+                resultItem = applySavingsLockTasklet.execute(stepContribution, null);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+
+        Then("ApplySavingsLockTasklet.execute result should match", () -> {
+            assertEquals(RepeatStatus.FINISHED, resultItem);
+            verify(savingsLockingService, Mockito.times(1)).applyLock(valueCaptor.capture(), lockOwnerValueCaptor.capture());
+            assertEquals(List.of(2L, 4L), valueCaptor.getValue());
+            assertEquals(LockOwner.SAVINGS_COB_CHUNK_PROCESSING, lockOwnerValueCaptor.getValue());
+        });
+
+        Then("throw exception ApplySavingsLockTasklet.execute method", () -> {
+            assertThrows(RuntimeException.class, () -> {
+                resultItem = applySavingsLockTasklet.execute(stepContribution, null);
+            });
+        });
+
+        Then("throw SavingsLockCannotBeAppliedException exception ApplySavingsLockTasklet.execute method", () -> {
+            assertThrows(SavingsLockCannotBeAppliedException.class, () -> {
+                resultItem = applySavingsLockTasklet.execute(stepContribution, null);
+            });
+        });
+
+        Then("ApplySavingsLockTasklet.execute result should be retry", () -> {
+            assertEquals(RepeatStatus.CONTINUABLE, resultItem);
+        });
+    }
+}
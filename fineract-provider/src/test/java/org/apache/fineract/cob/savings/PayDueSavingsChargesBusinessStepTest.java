@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountCharge;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PayDueSavingsChargesBusinessStepTest {
+
+    @Mock
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private PayDueSavingsChargesBusinessStep underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        underTest = new PayDueSavingsChargesBusinessStep(savingsAccountWritePlatformService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenUnpaidChargeDueWhenStepExecutionThenChargeIsPaid() {
+        // given
+        SavingsAccount savingsAccount = Mockito.mock(SavingsAccount.class);
+        SavingsAccountCharge charge = Mockito.mock(SavingsAccountCharge.class);
+        when(savingsAccount.getId()).thenReturn(1L);
+        when(savingsAccount.charges()).thenReturn(List.of(charge));
+        when(charge.isActive()).thenReturn(true);
+        when(charge.isWaived()).thenReturn(false);
+        when(charge.isNotFullyPaid()).thenReturn(true);
+        when(charge.getDueDate()).thenReturn(DateUtils.getBusinessLocalDate().minusDays(1));
+        when(charge.getId()).thenReturn(2L);
+        // when
+        SavingsAccount processedSavingsAccount = underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService).applyChargeDue(2L, 1L);
+        assertEquals(savingsAccount, processedSavingsAccount);
+    }
+
+    @Test
+    public void givenChargeDueInTheFutureWhenStepExecutionThenChargeIsNotPaid() {
+        // given
+        SavingsAccount savingsAccount = Mockito.mock(SavingsAccount.class);
+        SavingsAccountCharge charge = Mockito.mock(SavingsAccountCharge.class);
+        when(savingsAccount.charges()).thenReturn(List.of(charge));
+        when(charge.isActive()).thenReturn(true);
+        when(charge.isWaived()).thenReturn(false);
+        when(charge.isNotFullyPaid()).thenReturn(true);
+        when(charge.getDueDate()).thenReturn(DateUtils.getBusinessLocalDate().plusDays(1));
+        // when
+        underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService, never()).applyChargeDue(anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenWaivedChargeWhenStepExecutionThenChargeIsNotPaid() {
+        // given
+        SavingsAccount savingsAccount = Mockito.mock(SavingsAccount.class);
+        SavingsAccountCharge charge = Mockito.mock(SavingsAccountCharge.class);
+        when(savingsAccount.charges()).thenReturn(List.of(charge));
+        when(charge.isActive()).thenReturn(true);
+        when(charge.isWaived()).thenReturn(true);
+        // when
+        underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService, never()).applyChargeDue(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.mockito.Mockito.times;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.cob.data.SavingsCOBParameter;
+import org.apache.fineract.cob.data.SavingsCOBPartition;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+public class RetrieveAllActiveSavingsIdServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<SqlParameterSource> paramsCaptor;
+    @Captor
+    private ArgumentCaptor<RowMapper<SavingsCOBPartition>> rowMapper;
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRetrieveSavingsCOBPartitionsIncludesAccountsBehind() {
+        String expectedSQL = """
+                select min(id) as min, max(id) as max, page, count(id) as count from
+                  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from
+                      (select id from m_savings_account where status_enum = :status and (last_closed_business_date <= :businessDate or last_closed_business_date is null) order by id) t) t2
+                group by page
+                order by page
+                """;
+        RetrieveAllActiveSavingsIdServiceImpl service = new RetrieveAllActiveSavingsIdServiceImpl(namedParameterJdbcTemplate);
+        service.retrieveSavingsCOBPartitions(1L, LocalDate.parse("2023-06-28"), 5);
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), paramsCaptor.capture(), rowMapper.capture());
+        Assertions.assertEquals(normalize(expectedSQL), normalize(sqlCaptor.getValue()));
+        Assertions.assertEquals(5, paramsCaptor.getValue().getValue("pageSize"));
+        Assertions.assertEquals(SavingsAccountStatusType.ACTIVE.getValue(), paramsCaptor.getValue().getValue("status"));
+        Assertions.assertEquals(LocalDate.parse("2023-06-27"), paramsCaptor.getValue().getValue("businessDate"));
+    }
+
+    @Test
+    public void testRetrieveSavingsIdsIncludesAccountsBehind() {
+        String expectedSQL = """
+                select id from m_savings_account
+                    where id between :minId and :maxId
+                    and status_enum = :status
+                    and (last_closed_business_date <= :businessDate or last_closed_business_date is null)
+                    order by id
+                """;
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.COB_DATE, LocalDate.parse("2023-06-28"))));
+        RetrieveAllActiveSavingsIdServiceImpl service = new RetrieveAllActiveSavingsIdServiceImpl(namedParameterJdbcTemplate);
+        service.retrieveAllActiveSavingsByLastClosedBusinessDateAndMinAndMaxSavingsId(new SavingsCOBParameter(1L, 10L));
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).queryForList(sqlCaptor.capture(), paramsCaptor.capture(),
+                Mockito.eq(Long.class));
+        Assertions.assertEquals(normalize(expectedSQL), normalize(sqlCaptor.getValue()));
+        Assertions.assertEquals(1L, paramsCaptor.getValue().getValue("minId"));
+        Assertions.assertEquals(10L, paramsCaptor.getValue().getValue("maxId"));
+        Assertions.assertEquals(LocalDate.parse("2023-06-27"), paramsCaptor.getValue().getValue("businessDate"));
+    }
+
+    private String normalize(String str) {
+        return str.replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.cucumber.java8.En;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.TreeMap;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+@SuppressFBWarnings(value = "RV_EXCEPTION_NOT_THROWN", justification = "False positive")
+public class SavingsItemProcessorStepDefinitions implements En {
+
+    private COBBusinessStepService cobBusinessStepService = mock(COBBusinessStepService.class);
+
+    private SavingsItemProcessor savingsItemProcessor = new SavingsItemProcessor(cobBusinessStepService);
+
+    private SavingsAccount savingsAccount = mock(SavingsAccount.class);
+
+    private SavingsAccount savingsItem;
+    private SavingsAccount processedSavingsAccount = mock(SavingsAccount.class);
+
+    private SavingsAccount resultItem;
+
+    private LocalDate businessDate;
+
+    public SavingsItemProcessorStepDefinitions() {
+        Given("/^The SavingsItemProcessor.process method with item (.*)$/", (String savingsItem) -> {
+            businessDate = LocalDate.now(ZoneId.systemDefault());
+            JobExecution jobExecution = new JobExecution(1L);
+            jobExecution.getExecutionContext().put(SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME, businessDate.toString());
+            StepExecution stepExecution = new StepExecution("test", jobExecution);
+            ExecutionContext stepExecutionContext = new ExecutionContext();
+            stepExecutionContext.put(SavingsCOBConstant.BUSINESS_STEPS, Collections.emptySet());
+            stepExecution.setExecutionContext(stepExecutionContext);
+            savingsItemProcessor.beforeStep(stepExecution);
+
+            if (savingsItem.isEmpty()) {
+                this.savingsItem = null;
+            } else {
+                this.savingsItem = savingsAccount;
+            }
+
+            lenient().when(this.cobBusinessStepService.run(any(TreeMap.class), eq(null))).thenThrow(new RuntimeException("fail"));
+            lenient().when(this.cobBusinessStepService.run(any(TreeMap.class), eq(savingsAccount))).thenReturn(processedSavingsAccount);
+        });
+
+        When("SavingsItemProcessor.process method executed", () -> {
+            resultItem = this.savingsItemProcessor.process(savingsItem);
+        });
+
+        Then("SavingsItemProcessor.process result should match", () -> {
+            assertEquals(processedSavingsAccount, resultItem);
+            verify(processedSavingsAccount).setLastClosedBusinessDate(businessDate);
+        });
+
+        Then("throw exception SavingsItemProcessor.process method", () -> {
+            assertThrows(RuntimeException.class, () -> {
+                resultItem = this.savingsItemProcessor.process(savingsItem);
+            });
+        });
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Splitter;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.cucumber.java8.En;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.cob.data.SavingsCOBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLock;
+import org.apache.fineract.cob.exceptions.SavingsReadException;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+@SuppressFBWarnings(value = "RV_EXCEPTION_NOT_THROWN", justification = "False positive")
+public class SavingsItemReaderStepDefinitions implements En {
+
+    private SavingsAccountAssembler savingsAccountAssembler = mock(SavingsAccountAssembler.class);
+
+    private RetrieveSavingsIdService retrieveSavingsIdService = mock(RetrieveSavingsIdService.class);
+
+    private SavingsLockingService lockingService = mock(SavingsLockingService.class);
+
+    private SavingsItemReader savingsItemReader = new SavingsItemReader(savingsAccountAssembler, retrieveSavingsIdService, lockingService);
+
+    private SavingsAccount savingsAccount = mock(SavingsAccount.class);
+
+    private SavingsAccount resultItem;
+
+    public SavingsItemReaderStepDefinitions() {
+        Given("/^The SavingsItemReader.read method with savingsIds (.*)$/", (String savingsIds) -> {
+            JobExecution jobExecution = new JobExecution(1L);
+            ExecutionContext jobExecutionContext = new ExecutionContext();
+            jobExecution.setExecutionContext(jobExecutionContext);
+            StepExecution stepExecution = new StepExecution("test", jobExecution);
+            ExecutionContext stepExecutionContext = new ExecutionContext();
+            Long minSavingsId = null;
+            Long maxSavingsId = null;
+            List<Long> splitAccounts = new ArrayList<>();
+            if (!savingsIds.isEmpty()) {
+                List<String> splitStr = Splitter.on(',').splitToList(savingsIds);
+                splitAccounts = splitStr.stream().map(Long::parseLong).collect(Collectors.toList());
+                minSavingsId = splitAccounts.get(0);
+                maxSavingsId = splitAccounts.get(splitAccounts.size() - 1);
+            }
+            SavingsCOBParameter savingsCOBParameter = new SavingsCOBParameter(minSavingsId, maxSavingsId);
+            stepExecutionContext.put(SavingsCOBConstant.SAVINGS_COB_PARAMETER, savingsCOBParameter);
+            stepExecution.setExecutionContext(stepExecutionContext);
+
+            lenient().when(this.retrieveSavingsIdService.retrieveAllActiveSavingsByLastClosedBusinessDateAndMinAndMaxSavingsId(
+                    savingsCOBParameter)).thenReturn(splitAccounts);
+
+            HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+            LocalDate businessDate = LocalDate.now(ZoneId.systemDefault());
+            businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate);
+            businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
+            ThreadLocalContextUtil.setBusinessDates(businessDates);
+            SavingsAccountLock savingsAccountLock = new SavingsAccountLock(1L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING,
+                    businessDate.minusDays(1));
+            SavingsAccountLock savingsAccountLockNegativeNumberTest = new SavingsAccountLock(-1L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING,
+                    businessDate.minusDays(1));
+            lenient().when(lockingService.findAllBySavingsAccountIdInAndLockOwner(List.of(1L), LockOwner.SAVINGS_COB_CHUNK_PROCESSING))
+                    .thenReturn(List.of(savingsAccountLock));
+            lenient().when(lockingService.findAllBySavingsAccountIdInAndLockOwner(List.of(1L, 2L), LockOwner.SAVINGS_COB_CHUNK_PROCESSING))
+                    .thenReturn(List.of(savingsAccountLock));
+            lenient().when(lockingService.findAllBySavingsAccountIdInAndLockOwner(List.of(-1L), LockOwner.SAVINGS_COB_CHUNK_PROCESSING))
+                    .thenReturn(List.of(savingsAccountLockNegativeNumberTest));
+
+            savingsItemReader.beforeStep(stepExecution);
+
+            lenient().when(this.savingsAccountAssembler.assembleFrom(1L, false)).thenReturn(savingsAccount);
+            lenient().when(this.savingsAccountAssembler.assembleFrom(-1L, false)).thenThrow(new RuntimeException("fail"));
+        });
+
+        When("SavingsItemReader.read method executed", () -> {
+            resultItem = this.savingsItemReader.read();
+        });
+
+        Then("The SavingsItemReader.read result should match", () -> {
+            assertEquals(savingsAccount, resultItem);
+        });
+
+        Then("The SavingsItemReader.read result null", () -> {
+            assertNull(resultItem);
+        });
+
+        Then("throw exception SavingsItemReader.read method", () -> {
+            assertThrows(SavingsReadException.class, () -> {
+                resultItem = this.savingsItemReader.read();
+            });
+        });
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.cucumber.java8.En;
+import java.util.List;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.mockito.Mockito;
+import org.springframework.batch.item.Chunk;
+
+public class SavingsItemWriterStepDefinitions implements En {
+
+    private final SavingsLockingService savingsLockingService = mock(SavingsLockingService.class);
+    private final SavingsAccountRepository savingsAccountRepository = mock(SavingsAccountRepository.class);
+
+    private final SavingsItemWriter savingsItemWriter = new SavingsItemWriter(savingsLockingService);
+
+    private Chunk<SavingsAccount> items;
+
+    public SavingsItemWriterStepDefinitions() {
+        Given("/^The SavingsItemWriter.write method with action (.*)$/", (String action) -> {
+
+            SavingsAccount savingsAccount = mock(SavingsAccount.class);
+            lenient().when(savingsAccount.getId()).thenReturn(1L);
+            if (action.equals("error")) {
+                items = new Chunk<>();
+            } else {
+                items = new Chunk<>(savingsAccount);
+                lenient().doNothing().when(savingsLockingService).deleteBySavingsAccountIdInAndLockOwner(Mockito.anyList(), Mockito.any());
+            }
+            savingsItemWriter.setRepository(savingsAccountRepository);
+        });
+
+        When("SavingsItemWriter.write method executed", () -> {
+            savingsItemWriter.write(items);
+        });
+
+        Then("SavingsItemWriter.write result should match", () -> {
+            verify(savingsLockingService, Mockito.times(1)).deleteBySavingsAccountIdInAndLockOwner(List.of(1L),
+                    LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+        });
+
+        Then("SavingsItemWriter.write should not call repository", () -> {
+            verify(savingsLockingService, Mockito.times(0)).deleteBySavingsAccountIdInAndLockOwner(Mockito.any(), Mockito.any());
+        });
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountSubStatusEnum;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.domain.SavingsProduct;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateSavingsDormantAccountBusinessStepTest {
+
+    @Mock
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private UpdateSavingsDormantAccountBusinessStep underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        underTest = new UpdateSavingsDormantAccountBusinessStep(savingsAccountWritePlatformService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenActiveAccountWithoutRecentActivityWhenStepExecutionThenSubStatusIsInactive() {
+        // given
+        SavingsProduct product = Mockito.mock(SavingsProduct.class);
+        SavingsAccount savingsAccount = mockActiveAccount(product, SavingsAccountSubStatusEnum.NONE);
+        SavingsAccountTransaction deposit = Mockito.mock(SavingsAccountTransaction.class);
+        when(deposit.isReversed()).thenReturn(false);
+        when(deposit.isReversalTransaction()).thenReturn(false);
+        when(deposit.isDeposit()).thenReturn(true);
+        when(deposit.getTransactionDate()).thenReturn(DateUtils.getBusinessLocalDate().minusDays(10));
+        when(savingsAccount.getTransactions()).thenReturn(List.of(deposit));
+        when(product.getDaysToInactive()).thenReturn(10L);
+        // when
+        SavingsAccount processedSavingsAccount = underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService).setSubStatusInactive(1L);
+        assertEquals(savingsAccount, processedSavingsAccount);
+    }
+
+    @Test
+    public void givenActiveAccountWithRecentActivityWhenStepExecutionThenSubStatusIsNotChanged() {
+        // given
+        SavingsProduct product = Mockito.mock(SavingsProduct.class);
+        SavingsAccount savingsAccount = mockActiveAccount(product, SavingsAccountSubStatusEnum.NONE);
+        SavingsAccountTransaction withdrawal = Mockito.mock(SavingsAccountTransaction.class);
+        when(withdrawal.isReversed()).thenReturn(false);
+        when(withdrawal.isReversalTransaction()).thenReturn(false);
+        when(withdrawal.isDeposit()).thenReturn(false);
+        when(withdrawal.isWithdrawal()).thenReturn(true);
+        when(withdrawal.getTransactionDate()).thenReturn(DateUtils.getBusinessLocalDate().minusDays(5));
+        when(savingsAccount.getTransactions()).thenReturn(List.of(withdrawal));
+        when(product.getDaysToInactive()).thenReturn(10L);
+        // when
+        underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService, never()).setSubStatusInactive(anyLong());
+    }
+
+    @Test
+    public void givenDormantAccountWithoutActivityWhenStepExecutionThenAccountIsEscheated() {
+        // given
+        SavingsProduct product = Mockito.mock(SavingsProduct.class);
+        SavingsAccount savingsAccount = mockActiveAccount(product, SavingsAccountSubStatusEnum.DORMANT);
+        when(savingsAccount.getTransactions()).thenReturn(List.of());
+        when(savingsAccount.getActivationDate()).thenReturn(DateUtils.getBusinessLocalDate().minusDays(30));
+        when(product.getDaysToEscheat()).thenReturn(30L);
+        // when
+        underTest.execute(savingsAccount);
+        // then
+        verify(savingsAccountWritePlatformService).escheat(1L);
+    }
+
+    @Test
+    public void givenDormancyTrackingInactiveWhenStepExecutionThenNothingIsChanged() {
+        // given
+        SavingsProduct product = Mockito.mock(SavingsProduct.class);
+        SavingsAccount savingsAccount = Mockito.mock(SavingsAccount.class);
+        when(savingsAccount.savingsProduct()).thenReturn(product);
+        when(savingsAccount.isActive()).thenReturn(true);
+        when(product.isDormancyTrackingActive()).thenReturn(false);
+        // when
+        underTest.execute(savingsAccount);
+        // then
+        Mockito.verifyNoInteractions(savingsAccountWritePlatformService);
+    }
+
+    private SavingsAccount mockActiveAccount(SavingsProduct product, SavingsAccountSubStatusEnum subStatus) {
+        SavingsAccount savingsAccount = Mockito.mock(SavingsAccount.class);
+        when(savingsAccount.savingsProduct()).thenReturn(product);
+        when(savingsAccount.isActive()).thenReturn(true);
+        when(savingsAccount.getId()).thenReturn(1L);
+        when(savingsAccount.getSubStatus()).thenReturn(subStatus.getValue());
+        when(product.isDormancyTrackingActive()).thenReturn(true);
+        return savingsAccount;
+    }
+}
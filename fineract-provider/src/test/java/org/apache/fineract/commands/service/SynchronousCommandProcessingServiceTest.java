@@ -19,6 +19,7 @@
 package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +36,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.hooks.service.HookEventSubscriptions;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.junit.jupiter.api.Assertions;
@@ -68,6 +70,8 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyResolver idempotencyKeyResolver;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private HookEventSubscriptions hookEventSubscriptions;
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -126,6 +130,8 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).saveResultSameTransaction(commandSource);
 
         assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(jsonCommand, never()).json();
+        verify(applicationContext, never()).publishEvent(Mockito.any(Object.class));
     }
 
     @Test
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class BusinessDateCacheTest {
+
+    @Mock
+    private BusinessDateRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MultiNodeCacheManager otherNode;
+    private BusinessDateCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new BusinessDateCache(repository, thisNode, meterRegistry);
+        lenient().when(repository.findAll())
+                .thenReturn(List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 13)),
+                        BusinessDate.instance(BusinessDateType.COB_DATE, LocalDate.of(2022, 6, 12))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLookupsAreServedFromTheSnapshot() {
+        Map<BusinessDateType, LocalDate> businessDates = underTest.getStoredBusinessDates();
+        underTest.getStoredBusinessDates();
+
+        assertEquals(LocalDate.of(2022, 6, 13), businessDates.get(BusinessDateType.BUSINESS_DATE));
+        assertEquals(LocalDate.of(2022, 6, 12), businessDates.get(BusinessDateType.COB_DATE));
+        verify(repository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.counter(BusinessDateCache.REFRESH_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(BusinessDateCache.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testRefreshReloadsTheSnapshot() {
+        underTest.getStoredBusinessDates();
+        underTest.refresh();
+        underTest.getStoredBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testInvalidationFromAnotherNodeReloadsTheSnapshot() {
+        underTest.getStoredBusinessDates();
+        otherNode.invalidate(BusinessDateCache.CACHE_NAME, "default");
+        underTest.getStoredBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testSnapshotLoadedDuringARefreshIsNotKept() {
+        List<BusinessDate> businessDates = List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 13)));
+        when(repository.findAll()).thenAnswer(invocation -> {
+            underTest.refresh();
+            return businessDates;
+        }).thenReturn(businessDates);
+
+        underTest.getStoredBusinessDates();
+        underTest.getStoredBusinessDates();
+        underTest.getStoredBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testDateMovedOnAnotherNodeIsSeenWithoutCrossNodeInvalidation() {
+        BusinessDateCache withoutSnapshots = new BusinessDateCache(repository,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO),
+                new SimpleMeterRegistry());
+        withoutSnapshots.getStoredBusinessDates();
+        when(repository.findAll()).thenReturn(List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 14))));
+
+        assertEquals(LocalDate.of(2022, 6, 14), withoutSnapshots.getStoredBusinessDates().get(BusinessDateType.BUSINESS_DATE));
+    }
+
+    @Test
+    public void testDatesAreKeptOnASingleNodeWithoutCrossNodeInvalidation() {
+        BusinessDateCache singleNode = new BusinessDateCache(repository,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO, true),
+                new SimpleMeterRegistry());
+        singleNode.getStoredBusinessDates();
+        singleNode.getStoredBusinessDates();
+        verify(repository, times(1)).findAll();
+
+        singleNode.refresh();
+        singleNode.getStoredBusinessDates();
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testSnapshotsAreKeptPerTenant() {
+        underTest.getStoredBusinessDates();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.getStoredBusinessDates();
+        otherNode.invalidate(BusinessDateCache.CACHE_NAME, "other");
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest.getStoredBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+}
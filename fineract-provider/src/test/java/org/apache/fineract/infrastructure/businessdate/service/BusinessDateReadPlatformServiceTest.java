@@ -53,6 +53,9 @@ public class BusinessDateReadPlatformServiceTest {
     @Mock
     private BusinessDateMapper mapper;
 
+    @Mock
+    private BusinessDateCache businessDateCache;
+
     @Test
     public void notFoundByTypeNonexistentType() {
         BusinessDateNotFoundException businessDateNotFoundException = assertThrows(BusinessDateNotFoundException.class,
@@ -21,10 +21,12 @@ package org.apache.fineract.infrastructure.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.zaxxer.hikari.HikariConfig;
@@ -352,6 +354,40 @@ public class DataSourcePerTenantServiceFactoryTest {
         assertEquals(MASTER_DB_AUTO_COMMIT_ENABLED, hikariConfig.isAutoCommit());
     }
 
+    @Test
+    void testCreateNewReplicaDataSourceFor_ShouldUseReadOnlyConfiguration_WhenInAllMode() {
+        // given
+        FineractProperties.FineractModeProperties modeProperties = createModeProps(MASTER_DB_AUTO_COMMIT_ENABLED,
+                MASTER_DB_AUTO_COMMIT_ENABLED, MASTER_DB_AUTO_COMMIT_ENABLED, MASTER_DB_AUTO_COMMIT_ENABLED);
+        given(fineractProperties.getMode()).willReturn(modeProperties);
+
+        // when
+        DataSource dataSource = underTest.createNewReplicaDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        assertNotNull(dataSource);
+        verify(hikariDataSourceFactory).create(hikariConfigCaptor.capture());
+        HikariConfig hikariConfig = hikariConfigCaptor.getValue();
+        assertTrue(hikariConfig.isReadOnly());
+        assertEquals(READONLY_DB_JDBC_URL, hikariConfig.getJdbcUrl());
+        assertEquals(READONLY_DB_SCHEMA_NAME + "_replica_pool", hikariConfig.getPoolName());
+        assertEquals(READONLY_DB_USERNAME, hikariConfig.getUsername());
+        assertEquals(READONLY_DB_PASSWORD, hikariConfig.getPassword());
+    }
+
+    @Test
+    void testCreateNewReplicaDataSourceFor_ShouldReturnNull_WhenNoReadOnlySchemaServer() {
+        // given
+        given(tenantConnection.getReadOnlySchemaServer()).willReturn(null);
+
+        // when
+        DataSource dataSource = underTest.createNewReplicaDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        assertNull(dataSource);
+        verify(hikariDataSourceFactory, never()).create(any());
+    }
+
     private FineractProperties.FineractModeProperties createModeProps(boolean readEnabled, boolean writeEnabled, boolean batchWorkerEnabled,
             boolean batchManagerEnabled) {
         FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractModeProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DataSourcePerTenantServiceFactory;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext.RequestType;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReadReplicaRoutingServiceTest {
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private DataSource replicaDataSource;
+    @Mock
+    private Connection replicaConnection;
+    @Mock
+    private Statement replicaStatement;
+    @Mock
+    private ResultSet lagResultSet;
+
+    private final FineractReadReplicaProperties readReplicaProperties = new FineractReadReplicaProperties();
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata",
+            mock(FineractPlatformTenantConnection.class));
+    private final LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+    private FineractProperties fineractProperties;
+    private ReadReplicaRoutingService underTest;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        readReplicaProperties.setEnabled(true);
+        readReplicaProperties.setWhitelistedGetPaths(List.of("/**/api/v1/loans/**"));
+        readReplicaProperties.setMaxLagSeconds(5);
+        readReplicaProperties.setLagCheckIntervalSeconds(60);
+        readReplicaProperties.setReadYourWritesWindowSeconds(60);
+        FineractModeProperties modeProperties = new FineractModeProperties();
+        modeProperties.setReadEnabled(true);
+        modeProperties.setWriteEnabled(true);
+        fineractProperties = new FineractProperties();
+        fineractProperties.setMode(modeProperties);
+        fineractProperties.setReadReplica(readReplicaProperties);
+
+        given(tenant.getConnection().getConnectionId()).willReturn(1L);
+        given(dataSourcePerTenantServiceFactory.createNewReplicaDataSourceFor(any())).willReturn(replicaDataSource);
+        given(databaseTypeResolver.isPostgreSQL()).willReturn(true);
+        given(replicaDataSource.getConnection()).willReturn(replicaConnection);
+        given(replicaConnection.createStatement()).willReturn(replicaStatement);
+        given(replicaStatement.executeQuery(any())).willReturn(lagResultSet);
+        given(lagResultSet.next()).willReturn(true);
+        givenLagSeconds(0L);
+
+        ThreadLocalContextUtil.setTenant(tenant);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("mifos", "password"));
+        underTest = createNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadReplicaRoutingContext.reset();
+        ThreadLocalContextUtil.reset();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testClassifyRequest() {
+        assertEquals(RequestType.WHITELISTED_READ, underTest.classifyRequest("GET", "/fineract-provider/api/v1/loans/1"));
+        assertEquals(RequestType.READ, underTest.classifyRequest("GET", "/fineract-provider/api/v1/users/1"));
+        assertEquals(RequestType.WRITE, underTest.classifyRequest("POST", "/fineract-provider/api/v1/loans/1"));
+    }
+
+    @Test
+    void testWhitelistedReadIsRoutedToReplicaOutsideOfReadWriteTransaction() {
+        ReadReplicaRoutingContext.setRequestType(RequestType.WHITELISTED_READ);
+        assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+
+        ReadReplicaRoutingContext.beginTransaction(false);
+        try {
+            assertNull(underTest.retrieveReplicaDataSource(tenant));
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
+    }
+
+    @Test
+    void testOnlyReadOnlyTransactionOfReadIsRoutedToReplica() {
+        ReadReplicaRoutingContext.setRequestType(RequestType.READ);
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+
+        ReadReplicaRoutingContext.beginTransaction(true);
+        try {
+            assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
+
+        ReadReplicaRoutingContext.setRequestType(RequestType.WRITE);
+        ReadReplicaRoutingContext.beginTransaction(true);
+        try {
+            assertNull(underTest.retrieveReplicaDataSource(tenant));
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
+    }
+
+    @Test
+    void testReadsOfUserAfterWriteAreRoutedToPrimaryWithinWindow() {
+        ReadReplicaRoutingContext.setRequestType(RequestType.WRITE);
+        ReadReplicaRoutingContext.beginTransaction(false);
+        try {
+            underTest.recordWrite();
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
+
+        ReadReplicaRoutingContext.setRequestType(RequestType.WHITELISTED_READ);
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("other", "password"));
+        assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+
+        readReplicaProperties.setReadYourWritesWindowSeconds(0);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("mifos", "password"));
+        assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+    }
+
+    @Test
+    void testReadsOfUserAfterWriteOnAnotherNodeAreRoutedToPrimary() {
+        ReadReplicaRoutingService otherNode = createNode();
+        ReadReplicaRoutingContext.setRequestType(RequestType.WRITE);
+        ReadReplicaRoutingContext.beginTransaction(false);
+        try {
+            otherNode.recordWrite();
+        } finally {
+            ReadReplicaRoutingContext.endTransaction();
+        }
+
+        ReadReplicaRoutingContext.setRequestType(RequestType.WHITELISTED_READ);
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("other", "password"));
+        assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+    }
+
+    @Test
+    void testLaggingReplicaIsSkippedAndLagIsCheckedOncePerInterval() throws SQLException {
+        givenLagSeconds(30L);
+        ReadReplicaRoutingContext.setRequestType(RequestType.WHITELISTED_READ);
+
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+        givenLagSeconds(0L);
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+        verify(replicaStatement, times(1)).executeQuery(any());
+
+        readReplicaProperties.setLagCheckIntervalSeconds(0);
+        assertSame(replicaDataSource, underTest.retrieveReplicaDataSource(tenant));
+        verify(replicaStatement, times(2)).executeQuery(any());
+    }
+
+    @Test
+    void testReplicaIsSkippedWhenLagIsUnknown() throws SQLException {
+        given(lagResultSet.wasNull()).willReturn(true);
+        ReadReplicaRoutingContext.setRequestType(RequestType.WHITELISTED_READ);
+
+        assertNull(underTest.retrieveReplicaDataSource(tenant));
+    }
+
+    private ReadReplicaRoutingService createNode() {
+        MultiNodeCacheManager multiNodeCacheManager = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(multiNodeCacheManager::applyInvalidation);
+        return new ReadReplicaRoutingService(fineractProperties, dataSourcePerTenantServiceFactory, databaseTypeResolver,
+                multiNodeCacheManager);
+    }
+
+    private void givenLagSeconds(long lagSeconds) throws SQLException {
+        given(lagResultSet.getLong(anyInt())).willReturn(lagSeconds);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.IndexDetail;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableMetadataCache.DatatableMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class DatatableMetadataCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> loadedTables = new ArrayList<>();
+    private final Function<String, DatatableMetadata> loader = tableName -> {
+        loadedTables.add(tableName);
+        return new DatatableMetadata(List.of(), List.of(new IndexDetail("idx_" + tableName)));
+    };
+    private MultiNodeCacheManager otherNode;
+    private DatatableMetadataCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new DatatableMetadataCache(thisNode, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testMetadataIsLoadedOncePerTable() {
+        DatatableMetadata first = underTest.get("dt_client_extra", loader);
+        DatatableMetadata second = underTest.get("dt_client_extra", loader);
+        underTest.get("dt_client_address", loader);
+
+        assertSame(first, second);
+        assertEquals(List.of("dt_client_extra", "dt_client_address"), loadedTables);
+        assertEquals(2.0, meterRegistry.counter(DatatableMetadataCache.REFRESH_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(DatatableMetadataCache.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testRefreshReloadsOnlyTheGivenTable() {
+        underTest.get("dt_client_extra", loader);
+        underTest.get("dt_client_address", loader);
+        underTest.refresh("dt_client_extra");
+        underTest.get("dt_client_extra", loader);
+        underTest.get("dt_client_address", loader);
+
+        assertEquals(List.of("dt_client_extra", "dt_client_address", "dt_client_extra"), loadedTables);
+    }
+
+    @Test
+    public void testRefreshAllReloadsEveryTableOfTheTenant() {
+        underTest.get("dt_client_extra", loader);
+        underTest.get("dt_client_address", loader);
+        underTest.refreshAll();
+        underTest.get("dt_client_extra", loader);
+        underTest.get("dt_client_address", loader);
+
+        assertEquals(4, loadedTables.size());
+    }
+
+    @Test
+    public void testMetadataIsKeptPerTenant() {
+        underTest.get("dt_client_extra", loader);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.get("dt_client_extra", loader);
+        underTest.refreshAll();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest.get("dt_client_extra", loader);
+
+        assertEquals(2, loadedTables.size());
+    }
+
+    @Test
+    public void testInvalidationFromAnotherNodeClearsTheMetadata() {
+        underTest.get("dt_client_extra", loader);
+        otherNode.invalidate(DatatableMetadataCache.CACHE_NAME, null);
+        underTest.get("dt_client_extra", loader);
+
+        assertEquals(2, loadedTables.size());
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+@ExtendWith(MockitoExtension.class)
+class GenericDataServiceImplTest {
+
+    private static final String SQL = "select * from m_loan";
+    private static final int FETCH_SIZE = 500;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private DatabaseIndependentQueryService databaseIndependentQueryService;
+    @Mock
+    private DatatableKeywordGenerator datatableKeywordGenerator;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private DatatableMetadataCache datatableMetadataCache;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+
+    private GenericDataServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        underTest = new GenericDataServiceImpl(jdbcTemplate, dataSource, databaseIndependentQueryService, datatableKeywordGenerator,
+                databaseTypeResolver, datatableMetadataCache);
+        when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+    }
+
+    @Test
+    public void testMySQLStreamsRowByRow() throws Exception {
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+
+        createStreamingStatement();
+
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void testPostgreSQLUsesTheConfiguredFetchSize() throws Exception {
+        when(databaseTypeResolver.isMySQL()).thenReturn(false);
+
+        createStreamingStatement();
+
+        verify(statement).setFetchSize(FETCH_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void createStreamingStatement() throws Exception {
+        underTest.streamGenericResultSet(SQL, FETCH_SIZE, null);
+
+        ArgumentCaptor<PreparedStatementCreator> statementCreator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(statementCreator.capture(), any(ResultSetExtractor.class));
+        statementCreator.getValue().createPreparedStatement(connection);
+        verify(connection).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+public class ReadReportingServiceImplTest {
+
+    private static final String REPORT_NAME = "Portfolio at Risk";
+    private static final int FETCH_SIZE = 10;
+
+    private final List<ResultsetColumnHeaderData> columnHeaders = List.of(
+            ResultsetColumnHeaderData.basic("client_name", "VARCHAR", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("amount", "DECIMAL", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("due_date", "DATE", DatabaseType.MYSQL));
+    private final List<List<Object>> rows = List.of(Arrays.asList("Client \"A\"", new BigDecimal("10.50"), LocalDate.of(2023, 6, 28)),
+            Arrays.asList("Client B", null, null));
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private GenericDataService genericDataService;
+    private ReadReportingServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractReportStreamingProperties streaming = new FineractProperties.FineractReportStreamingProperties();
+        streaming.setEnabled(true);
+        streaming.setFetchSize(FETCH_SIZE);
+        FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setStreaming(streaming);
+        fineractProperties.setReport(report);
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        SqlRowSet sqlRowSet = mock(SqlRowSet.class);
+        when(sqlRowSet.next()).thenReturn(true);
+        when(sqlRowSet.getString("the_sql")).thenReturn("select * from m_loan");
+        when(jdbcTemplate.queryForRowSet(anyString(), eq(REPORT_NAME))).thenReturn(sqlRowSet);
+
+        SqlInjectionPreventerService sqlInjectionPreventerService = mock(SqlInjectionPreventerService.class);
+        when(sqlInjectionPreventerService.encodeSql(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Office office = mock(Office.class);
+        when(office.getHierarchy()).thenReturn(".");
+        AppUser appUser = mock(AppUser.class);
+        when(appUser.getOffice()).thenReturn(office);
+        when(appUser.getId()).thenReturn(1L);
+        PlatformSecurityContext context = mock(PlatformSecurityContext.class);
+        when(context.authenticatedUser()).thenReturn(appUser);
+
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.currentBusinessDate()).thenReturn("'2023-06-28'");
+        when(sqlGenerator.currentTenantDateTime()).thenReturn("'2023-06-28 10:00:00'");
+
+        genericDataService = spy(new GenericDataServiceImpl(null, null, null, null, null, null));
+        doAnswer(invocation -> {
+            GenericResultsetStreamHandler handler = invocation.getArgument(2);
+            handler.onColumnHeaders(columnHeaders);
+            for (List<Object> row : rows) {
+                handler.onRow(row);
+            }
+            return null;
+        }).when(genericDataService).streamGenericResultSet(anyString(), eq(FETCH_SIZE), any(GenericResultsetStreamHandler.class));
+        doReturn(new GenericResultsetData(columnHeaders, rows.stream().map(ResultsetRowData::create).toList())).when(genericDataService)
+                .fillGenericResultSet(anyString());
+
+        underTest = new ReadReportingServiceImpl(jdbcTemplate, context, genericDataService, sqlInjectionPreventerService, sqlGenerator,
+                fineractProperties);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testStreamedGenericResultsetJsonMatchesSerializedResultset(boolean prettyPrint) throws IOException {
+        String expected = GoogleGsonSerializerHelper.createGsonBuilder(prettyPrint).create().toJson(genericResultsetData());
+
+        String actual = write(underTest.retrieveReportJson(REPORT_NAME, "report", Map.of(), false, true, prettyPrint));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testStreamedRowsJsonMatchesGeneratedJson() throws IOException {
+        String expected = genericDataService.generateJsonFromGenericResultsetData(genericResultsetData());
+
+        String actual = write(underTest.retrieveReportJson(REPORT_NAME, "report", Map.of(), false, false, false));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testStreamedCsvMatchesBufferedCsv() throws IOException {
+        String streamed = write(underTest.retrieveReportCSV(REPORT_NAME, "report", Map.of(), false));
+        fineractProperties.getReport().getStreaming().setEnabled(false);
+        String buffered = write(underTest.retrieveReportCSV(REPORT_NAME, "report", Map.of(), false));
+
+        assertEquals(buffered, streamed);
+    }
+
+    private GenericResultsetData genericResultsetData() {
+        return new GenericResultsetData(columnHeaders, rows.stream().map(ResultsetRowData::create).toList());
+    }
+
+    private static String write(StreamingOutput output) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
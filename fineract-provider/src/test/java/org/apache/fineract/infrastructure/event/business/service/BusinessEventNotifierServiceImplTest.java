@@ -23,20 +23,23 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsCoalescingProperties;
 import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
-import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventConfigurationCache;
 import org.apache.fineract.infrastructure.event.external.service.ExternalEventService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -53,7 +56,7 @@ class BusinessEventNotifierServiceImplTest {
     private ExternalEventService externalEventService;
 
     @Mock
-    private ExternalEventConfigurationRepository externalEventConfigurationRepository;
+    private ExternalEventConfigurationCache externalEventConfigurationCache;
 
     @Mock
     private FineractProperties fineractProperties;
@@ -85,8 +88,7 @@ class BusinessEventNotifierServiceImplTest {
         BusinessEventListener<MockBusinessEvent> postListener = mockListener();
         underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
 
-        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
-                .thenReturn(new ExternalEventConfiguration("aType", true));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
         // when
         underTest.notifyPostBusinessEvent(event);
         // then
@@ -98,8 +100,7 @@ class BusinessEventNotifierServiceImplTest {
     public void testNotifyPostBusinessEventShouldNotPostAnythingWhenNoEventWasRaisedExternalEventWhenRecordingEnabled() {
         // given
         configureExternalEventsProperties(true);
-        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
-                .thenReturn(new ExternalEventConfiguration("aType", true));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
         underTest.startExternalEventRecording();
         // when
         underTest.stopExternalEventRecording();
@@ -111,8 +112,7 @@ class BusinessEventNotifierServiceImplTest {
     public void testNotifyPostBusinessEventShouldNotifyPostListenersAndPostARegularExternalEventWhenRecordingEnabled() {
         // given
         configureExternalEventsProperties(true);
-        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
-                .thenReturn(new ExternalEventConfiguration("aType", true));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
         MockBusinessEvent event = new MockBusinessEvent();
         BusinessEventListener<MockBusinessEvent> postListener = mockListener();
         underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
@@ -129,8 +129,7 @@ class BusinessEventNotifierServiceImplTest {
     public void testNotifyPostBusinessEventShouldNotifyPostListenersAndPostAnBulkExternalEventWhenRecordingEnabled() {
         // given
         configureExternalEventsProperties(true);
-        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
-                .thenReturn(new ExternalEventConfiguration("aType", true));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
         MockBusinessEvent event = new MockBusinessEvent();
         MockBusinessEvent event2 = new MockBusinessEvent();
         BusinessEventListener<MockBusinessEvent> postListener = mockListener();
@@ -152,6 +151,65 @@ class BusinessEventNotifierServiceImplTest {
         assertThat(capturedEvent.get().get(1)).isEqualTo(event2);
     }
 
+    @Test
+    public void testStopExternalEventRecordingShouldKeepLastEventPerAggregateRootForCoalescedEventTypes() {
+        // given
+        configureExternalEventsProperties(true, true, List.of("BalanceChanged"));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
+        MockAggregateBusinessEvent balanceChanged1 = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        MockAggregateBusinessEvent repayment1 = new MockAggregateBusinessEvent("Repayment", 1L);
+        MockAggregateBusinessEvent balanceChanged2 = new MockAggregateBusinessEvent("BalanceChanged", 2L);
+        MockAggregateBusinessEvent repayment2 = new MockAggregateBusinessEvent("Repayment", 1L);
+        MockAggregateBusinessEvent lastBalanceChanged1 = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        underTest.startExternalEventRecording();
+        underTest.notifyPostBusinessEvent(balanceChanged1);
+        underTest.notifyPostBusinessEvent(repayment1);
+        underTest.notifyPostBusinessEvent(balanceChanged2);
+        underTest.notifyPostBusinessEvent(repayment2);
+        underTest.notifyPostBusinessEvent(lastBalanceChanged1);
+        // when
+        underTest.stopExternalEventRecording();
+        // then
+        ArgumentCaptor<BulkBusinessEvent> argumentCaptor = ArgumentCaptor.forClass(BulkBusinessEvent.class);
+        verify(externalEventService).postEvent(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().get()).containsExactly(repayment1, balanceChanged2, repayment2, lastBalanceChanged1);
+    }
+
+    @Test
+    public void testStopExternalEventRecordingShouldPostSingularEventWhenCoalescedIntoOne() {
+        // given
+        configureExternalEventsProperties(true, true, List.of("BalanceChanged"));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
+        MockAggregateBusinessEvent event = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        MockAggregateBusinessEvent event2 = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        underTest.startExternalEventRecording();
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event2);
+        // when
+        underTest.stopExternalEventRecording();
+        // then
+        verify(externalEventService).postEvent(event2);
+        verify(externalEventService, never()).postEvent(event);
+    }
+
+    @Test
+    public void testStopExternalEventRecordingShouldNotCoalesceWhenCoalescingDisabled() {
+        // given
+        configureExternalEventsProperties(true, false, List.of("BalanceChanged"));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(true);
+        MockAggregateBusinessEvent event = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        MockAggregateBusinessEvent event2 = new MockAggregateBusinessEvent("BalanceChanged", 1L);
+        underTest.startExternalEventRecording();
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event2);
+        // when
+        underTest.stopExternalEventRecording();
+        // then
+        ArgumentCaptor<BulkBusinessEvent> argumentCaptor = ArgumentCaptor.forClass(BulkBusinessEvent.class);
+        verify(externalEventService).postEvent(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().get()).containsExactly(event, event2);
+    }
+
     @Test
     public void testNotifyPreBusinessEventShouldNotifyPreListeners() {
         // given
@@ -186,8 +244,7 @@ class BusinessEventNotifierServiceImplTest {
     public void testNotifyPostBusinessEventShouldNotifyPostListenersAndShouldNotPostAnExternalEventIfNotConfiguredForPosting() {
         // given
         configureExternalEventsProperties(true);
-        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
-                .thenReturn(new ExternalEventConfiguration("aType", false));
+        when(externalEventConfigurationCache.isEnabled(Mockito.any())).thenReturn(false);
         MockBusinessEvent event = new MockBusinessEvent();
         BusinessEventListener<MockBusinessEvent> postListener = mockListener();
         underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
@@ -198,6 +255,56 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
     }
 
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersRegisteredForASupertype() {
+        // given
+        configureExternalEventsProperties(false);
+
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> postListener = mockListener();
+        BusinessEventListener<BusinessEvent> supertypePostListener = mock(BusinessEventListener.class);
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
+        underTest.addPostBusinessEventListener(BusinessEvent.class, supertypePostListener);
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        InOrder inOrder = Mockito.inOrder(postListener, supertypePostListener);
+        inOrder.verify(postListener).onBusinessEvent(event);
+        inOrder.verify(supertypePostListener).onBusinessEvent(event);
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersAddedAfterTheFirstDispatch() {
+        // given
+        configureExternalEventsProperties(false);
+
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> postListener = mockListener();
+        BusinessEventListener<MockBusinessEvent> latePostListener = mockListener();
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
+        underTest.notifyPostBusinessEvent(event);
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, latePostListener);
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(postListener, times(2)).onBusinessEvent(event);
+        verify(latePostListener).onBusinessEvent(event);
+    }
+
+    @Test
+    public void testNotifyPreBusinessEventShouldNotNotifyPostListeners() {
+        // given
+        configureExternalEventsProperties(false);
+
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> postListener = mockListener();
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
+        // when
+        underTest.notifyPreBusinessEvent(event);
+        // then
+        verifyNoInteractions(postListener);
+    }
+
     private void configureExternalEventsProperties(boolean isExternalEventsEnabled) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
@@ -206,6 +313,15 @@ class BusinessEventNotifierServiceImplTest {
         given(fineractProperties.getEvents()).willReturn(eventsProperties);
     }
 
+    private void configureExternalEventsProperties(boolean isExternalEventsEnabled, boolean isCoalescingEnabled,
+            List<String> keepLastPerAggregateRoot) {
+        configureExternalEventsProperties(isExternalEventsEnabled);
+        FineractExternalEventsCoalescingProperties coalescingProperties = new FineractExternalEventsCoalescingProperties();
+        coalescingProperties.setEnabled(isCoalescingEnabled);
+        coalescingProperties.setKeepLastPerAggregateRoot(keepLastPerAggregateRoot);
+        fineractProperties.getEvents().getExternal().setCoalescing(coalescingProperties);
+    }
+
     private BusinessEventListener<MockBusinessEvent> mockListener() {
         return (BusinessEventListener<MockBusinessEvent>) mock(BusinessEventListener.class);
     }
@@ -233,4 +349,35 @@ class BusinessEventNotifierServiceImplTest {
         }
     }
 
+    private static final class MockAggregateBusinessEvent implements BusinessEvent<Object> {
+
+        private final String type;
+        private final Long aggregateRootId;
+
+        private MockAggregateBusinessEvent(String type, Long aggregateRootId) {
+            this.type = type;
+            this.aggregateRootId = aggregateRootId;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public String getCategory() {
+            return null;
+        }
+
+        @Override
+        public Long getAggregateRootId() {
+            return aggregateRootId;
+        }
+    }
+
 }
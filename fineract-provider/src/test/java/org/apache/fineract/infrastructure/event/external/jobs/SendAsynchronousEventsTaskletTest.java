@@ -23,8 +23,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -44,7 +46,10 @@ import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventDataFormat;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageEnvelopeCodec;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.junit.jupiter.api.AfterEach;
@@ -52,6 +57,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -60,9 +66,12 @@ import org.mockito.quality.Strictness;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
 @MockitoSettings(strictness = Strictness.LENIENT)
 class SendAsynchronousEventsTaskletTest {
 
@@ -82,6 +91,10 @@ class SendAsynchronousEventsTaskletTest {
     private ByteBufferConverter byteBufferConverter;
     @Mock
     private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private FineractProperties.FineractExternalEventsProducerProperties externalEventsProducerProperties;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
 
@@ -94,8 +107,10 @@ class SendAsynchronousEventsTaskletTest {
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty();
+        meterRegistry = new SimpleMeterRegistry();
         underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
-                configurationDomainService);
+                new MessageEnvelopeCodec(messageFactory, fineractProperties), configurationDomainService, transactionManager,
+                new SyncTaskExecutor(), meterRegistry);
     }
 
     @AfterEach
@@ -106,7 +121,7 @@ class SendAsynchronousEventsTaskletTest {
     private void configureExternalEventsProducerReadBatchSizeProperty() {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
-        FineractProperties.FineractExternalEventsProducerProperties externalEventsProducerProperties = new FineractProperties.FineractExternalEventsProducerProperties();
+        externalEventsProducerProperties = new FineractProperties.FineractExternalEventsProducerProperties();
         FineractProperties.FineractExternalEventsProducerJmsProperties externalEventsProducerJMSProperties = new FineractProperties.FineractExternalEventsProducerJmsProperties();
         externalEventsProducerJMSProperties.setEnabled(true);
         externalProperties.setEnabled(true);
@@ -209,10 +224,103 @@ class SendAsynchronousEventsTaskletTest {
         assertThat(externalEventPageSizeArgumentCaptor.getValue().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    public void givenFullBatchWhenContinuousSendingThenNextBatchIsReadByKeyset() throws Exception {
+        // given
+        externalEventsProducerProperties.setMaxRunDurationInSeconds(60);
+        when(configurationDomainService.retrieveExternalEventBatchSize()).thenReturn(2L);
+        List<ExternalEventView> firstBatch = Arrays.asList(
+                createExternalEventView(1L, "aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L),
+                createExternalEventView(2L, "aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 2L));
+        List<ExternalEventView> secondBatch = List
+                .of(createExternalEventView(3L, "aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(firstBatch);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.eq(2L), Mockito.any())).thenReturn(secondBatch);
+        when(repository.countByStatus(Mockito.any())).thenReturn(5L);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        InOrder inOrder = Mockito.inOrder(eventProducer, repository);
+        inOrder.verify(eventProducer).sendEvents(Mockito.any());
+        inOrder.verify(repository).markEventsSent(Mockito.eq(List.of(1L, 2L)), Mockito.any());
+        inOrder.verify(eventProducer).sendEvents(Mockito.any());
+        inOrder.verify(repository).markEventsSent(Mockito.eq(List.of(3L)), Mockito.any());
+        verify(repository, times(1)).findByStatusOrderById(Mockito.any(), Mockito.any());
+        assertEquals(3.0, meterRegistry.get(SendAsynchronousEventsTasklet.SENT_EVENTS_METRIC).counter().count());
+        assertEquals(5.0, meterRegistry.get(SendAsynchronousEventsTasklet.LAG_ROWS_METRIC).gauge().value());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenSeveralAggregateRootsWhenSerializedInParallelThenOrderIsKeptPerAggregateRoot() throws Exception {
+        // given
+        externalEventsProducerProperties.setSerializationThreadCount(2);
+        List<ExternalEventView> events = Arrays.asList(
+                createExternalEventView(1L, "aType", "aCategory", "aSchema", new byte[] { 1 }, "aIdempotencyKey", 1L),
+                createExternalEventView(2L, "aType", "aCategory", "aSchema", new byte[] { 2 }, "aIdempotencyKey", 2L),
+                createExternalEventView(3L, "aType", "aCategory", "aSchema", new byte[] { 3 }, "aIdempotencyKey", 1L),
+                createExternalEventView(4L, "aType", "aCategory", "aSchema", new byte[] { 4 }, "aIdempotencyKey", 3L));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenAnswer(invocation -> {
+            ExternalEventView event = invocation.getArgument(0);
+            return new MessageV1(event.getId().intValue(), "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                    "anidempotencyKey", "aSchema", ByteBuffer.wrap(event.getData()));
+        });
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        ArgumentCaptor<Map<Long, List<byte[]>>> partitionsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(eventProducer).sendEvents(partitionsCaptor.capture());
+        Map<Long, List<byte[]>> partitions = partitionsCaptor.getValue();
+        assertThat(partitions.keySet()).containsExactly(1L, 2L, 3L);
+        assertThat(partitions.get(1L)).hasSize(2);
+        InOrder inOrder = Mockito.inOrder(messageFactory);
+        inOrder.verify(messageFactory).createMessage(events.get(0));
+        inOrder.verify(messageFactory).createMessage(events.get(2));
+        verify(messageFactory, times(4)).createMessage(Mockito.any());
+        verify(repository).markEventsSent(Mockito.eq(List.of(1L, 2L, 3L, 4L)), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenEventWithMessageEnvelopeWhenTaskExecutionThenStoredEnvelopeIsSent() throws Exception {
+        // given
+        ByteBufferConverter realByteBufferConverter = new ByteBufferConverter();
+        MessageFactory realMessageFactory = new MessageFactory(realByteBufferConverter);
+        MessageEnvelopeCodec messageEnvelopeCodec = new MessageEnvelopeCodec(realMessageFactory, fineractProperties);
+        ExternalEvent externalEvent = new ExternalEvent("aType", "aCategory", "aSchema", new byte[] { 1, 2, 3 }, "aIdempotencyKey", 1L);
+        byte[] envelope = messageEnvelopeCodec.createEnvelope(externalEvent);
+        ExternalEventView event = createExternalEventView(300L, "aType", "aCategory", "aSchema", envelope, "aIdempotencyKey", 1L);
+        when(event.getDataFormat()).thenReturn(ExternalEventDataFormat.MESSAGE_ENVELOPE);
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(List.of(event));
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        ArgumentCaptor<Map<Long, List<byte[]>>> partitionsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(eventProducer).sendEvents(partitionsCaptor.capture());
+        MessageV1 sentMessage = MessageV1.fromByteBuffer(ByteBuffer.wrap(partitionsCaptor.getValue().get(1L).get(0)));
+        assertEquals(300, sentMessage.getId());
+        assertEquals("aIdempotencyKey", sentMessage.getIdempotencyKey());
+        assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), sentMessage.getData());
+        verifyNoInteractions(messageFactory);
+        verify(repository).markEventsSent(Mockito.eq(List.of(300L)), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
     private ExternalEventView createExternalEventView(String type, String category, String schema, byte[] data, String idempotencyKey,
             Long aggregateRootId) {
+        return createExternalEventView(rnd.nextLong(), type, category, schema, data, idempotencyKey, aggregateRootId);
+    }
+
+    private ExternalEventView createExternalEventView(Long id, String type, String category, String schema, byte[] data,
+            String idempotencyKey, Long aggregateRootId) {
         ExternalEventView result = Mockito.mock(ExternalEventView.class);
-        Mockito.when(result.getId()).thenReturn(rnd.nextLong());
+        Mockito.when(result.getId()).thenReturn(id);
         Mockito.when(result.getType()).thenReturn(type);
         Mockito.when(result.getCategory()).thenReturn(category);
         Mockito.when(result.getSchema()).thenReturn(schema);
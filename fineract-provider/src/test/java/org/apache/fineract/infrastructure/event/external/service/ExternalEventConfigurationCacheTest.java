@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalEventConfigurationCacheTest {
+
+    @Mock
+    private ExternalEventConfigurationRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MultiNodeCacheManager otherNode;
+    private ExternalEventConfigurationCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new ExternalEventConfigurationCache(repository, thisNode, meterRegistry);
+        when(repository.findAll()).thenReturn(List.of(new ExternalEventConfiguration("LoanApprovedBusinessEvent", true),
+                new ExternalEventConfiguration("LoanRejectedBusinessEvent", false)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLookupsAreServedFromTheSnapshot() {
+        assertTrue(underTest.isEnabled("LoanApprovedBusinessEvent"));
+        assertFalse(underTest.isEnabled("LoanRejectedBusinessEvent"));
+        assertTrue(underTest.isEnabled("LoanApprovedBusinessEvent"));
+
+        verify(repository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.counter(ExternalEventConfigurationCache.REFRESH_METRIC).count());
+        assertEquals(2.0, meterRegistry.counter(ExternalEventConfigurationCache.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testUnknownEventTypeIsRejected() {
+        assertThrows(ExternalEventConfigurationNotFoundException.class, () -> underTest.isEnabled("UnknownBusinessEvent"));
+    }
+
+    @Test
+    public void testRefreshReloadsTheSnapshot() {
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+        underTest.refresh();
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+
+        verify(repository, times(2)).findAll();
+        assertEquals(2.0, meterRegistry.counter(ExternalEventConfigurationCache.REFRESH_METRIC).count());
+    }
+
+    @Test
+    public void testInvalidationFromAnotherNodeReloadsTheSnapshot() {
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+        otherNode.invalidate(ExternalEventConfigurationCache.CACHE_NAME, "default");
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testInvalidationOfAnotherTenantKeepsTheSnapshot() {
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+        otherNode.invalidate(ExternalEventConfigurationCache.CACHE_NAME, "other");
+        underTest.isEnabled("LoanApprovedBusinessEvent");
+
+        verify(repository, times(1)).findAll();
+    }
+}
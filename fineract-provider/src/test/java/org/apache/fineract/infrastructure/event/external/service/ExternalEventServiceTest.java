@@ -49,8 +49,11 @@ import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEven
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventDataFormat;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageEnvelopeCodec;
+import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializationScope;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializerFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
@@ -86,6 +89,8 @@ class ExternalEventServiceTest {
     @Mock
     private EntityManager entityManager;
     @Mock
+    private MessageEnvelopeCodec messageEnvelopeCodec;
+    @Mock
     private LoanAccountDataV1Enricher loanAccountDataV1Enricher;
     @Mock
     private LoanTransactionAdjustmentDataV1Enricher loanTransactionAdjustmentDataV1Enricher;
@@ -103,7 +108,7 @@ class ExternalEventServiceTest {
         DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(
                 Optional.of(List.of(loanAccountDataV1Enricher, loanTransactionAdjustmentDataV1Enricher, loanTransactionDataV1Enricher)));
         underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
-                bulkMessageItemFactory, dataEnricherProcessor);
+                bulkMessageItemFactory, dataEnricherProcessor, messageEnvelopeCodec, new BusinessEventSerializationScope());
         underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
@@ -171,6 +176,33 @@ class ExternalEventServiceTest {
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
 
+    @Test
+    public void testPostEventShouldStoreTheMessageEnvelopeWhenEnabled() throws IOException {
+        // given
+        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
+
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        byte[] envelope = new byte[] { 1, 2, 3 };
+
+        given(event.getType()).willReturn("TestType");
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(new byte[0]);
+        given(messageEnvelopeCodec.isEnabled()).willReturn(true);
+        given(messageEnvelopeCodec.createEnvelope(any(ExternalEvent.class))).willReturn(envelope);
+        // when
+        underTest.postEvent(event);
+        // then
+        verify(repository).save(externalEventArgumentCaptor.capture());
+        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
+        assertThat(externalEvent.getDataFormat()).isEqualTo(ExternalEventDataFormat.MESSAGE_ENVELOPE);
+        assertThat(externalEvent.getData()).isEqualTo(envelope);
+        assertThat(externalEvent.getIdempotencyKey()).isEqualTo("key");
+    }
+
     @Test
     public void testPostEventShouldWorkWithBulkEvent() throws IOException {
         // given
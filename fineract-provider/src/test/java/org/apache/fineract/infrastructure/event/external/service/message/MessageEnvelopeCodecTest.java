@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MessageEnvelopeCodecTest {
+
+    private final ByteBufferConverter byteBufferConverter = new ByteBufferConverter();
+    private final MessageFactory messageFactory = new MessageFactory(byteBufferConverter);
+    private final MessageEnvelopeCodec underTest = new MessageEnvelopeCodec(messageFactory, new FineractProperties());
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 63, 64, 300, 1_000_000, Integer.MAX_VALUE, -1 })
+    public void testEnvelopeWithIdIsEncodedLikeTheMessage(int messageId) throws Exception {
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        ExternalEvent event = new ExternalEvent("LoanApprovedBusinessEvent", "Loan", "org.apache.fineract.avro.loan.v1.LoanAccountDataV1",
+                payload, "idempotencyKey", 1L);
+        MessageV1 expectedMessage = messageFactory.createMessageWithoutId(event);
+        expectedMessage.setId(messageId);
+
+        byte[] message = underTest.toMessage(underTest.createEnvelope(event), messageId);
+
+        assertArrayEquals(byteBufferConverter.convert(expectedMessage.toByteBuffer()), message);
+        MessageV1 decodedMessage = MessageV1.fromByteBuffer(ByteBuffer.wrap(message));
+        assertEquals(messageId, decodedMessage.getId());
+        assertEquals("LoanApprovedBusinessEvent", decodedMessage.getType());
+        assertEquals("default", decodedMessage.getTenantId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "payload" })
+    public void testPayloadCanBeReadFromTheEnvelope(String payload) throws Exception {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        ExternalEvent event = new ExternalEvent("LoanApprovedBusinessEvent", "Loan", "org.apache.fineract.avro.loan.v1.LoanAccountDataV1",
+                payloadBytes, "idempotencyKey", 1L);
+
+        ByteBuffer readPayload = underTest.getPayload(underTest.createEnvelope(event));
+
+        assertArrayEquals(payloadBytes, byteBufferConverter.convert(readPayload));
+    }
+}
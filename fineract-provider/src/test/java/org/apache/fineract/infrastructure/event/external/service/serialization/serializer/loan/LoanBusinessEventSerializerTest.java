@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service.serialization.serializer.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.fineract.avro.loan.v1.CollectionDataV1;
+import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBalanceChangedBusinessEvent;
+import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.loan.LoanAccountDataMapper;
+import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializationScope;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanSummaryData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.apache.fineract.portfolio.loanaccount.service.LoanChargeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanBusinessEventSerializerTest {
+
+    private static final CurrencyData CURRENCY = new CurrencyData("USD", "US Dollar", 2, 0, "$", "USD");
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+
+    @Mock
+    private LoanAccountDataMapper loanAccountDataMapper;
+
+    @Mock
+    private LoanChargeReadPlatformService loanChargeReadPlatformService;
+
+    @Mock
+    private DelinquencyReadPlatformService delinquencyReadPlatformService;
+
+    @Mock
+    private LoanInstallmentLevelDelinquencyEventProducer installmentLevelDelinquencyEventProducer;
+
+    private final BusinessEventSerializationScope serializationScope = new BusinessEventSerializationScope();
+
+    private LoanBusinessEventSerializer serializer;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+
+        serializer = new LoanBusinessEventSerializer(loanReadPlatformService, loanAccountDataMapper, loanChargeReadPlatformService,
+                delinquencyReadPlatformService, installmentLevelDelinquencyEventProducer, serializationScope);
+
+        when(loanReadPlatformService.retrieveOne(anyLong()))
+                .thenAnswer(invocation -> new LoanAccountData().setId(invocation.getArgument(0)).setCurrency(CURRENCY)
+                        .setSummary(LoanSummaryData.withOnlyCurrencyData(CURRENCY)));
+        when(loanReadPlatformService.fetchRepaymentScheduleData(any(LoanAccountData.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(delinquencyReadPlatformService.calculateLoanCollectionData(any(Loan.class))).thenReturn(CollectionData.template());
+        when(installmentLevelDelinquencyEventProducer.calculateInstallmentLevelDelinquencyData(any(Loan.class), any()))
+                .thenReturn(List.of());
+        when(loanAccountDataMapper.map(any(LoanAccountData.class))).thenAnswer(invocation -> {
+            LoanAccountData data = invocation.getArgument(0);
+            return LoanAccountDataV1.newBuilder().setId(data.getId()).setDelinquent(new CollectionDataV1()).build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testTransactionAmountsSummaryOfLoanMatchesReadPlatformService() {
+        // given
+        List<LoanTransaction> loanTransactions = List.of(transaction(LoanTransactionType.DISBURSEMENT, "1000.00", false, false),
+                transaction(LoanTransactionType.REPAYMENT, "100.00", false, false),
+                transaction(LoanTransactionType.REPAYMENT, "50.00", true, true),
+                transaction(LoanTransactionType.REPAYMENT, "70.00", true, false),
+                transaction(LoanTransactionType.DOWN_PAYMENT, "250.00", false, false),
+                transaction(LoanTransactionType.MERCHANT_ISSUED_REFUND, "30.00", false, false),
+                transaction(LoanTransactionType.MERCHANT_ISSUED_REFUND, "20.00", true, true),
+                transaction(LoanTransactionType.PAYOUT_REFUND, "10.00", false, false),
+                transaction(LoanTransactionType.GOODWILL_CREDIT, "5.00", true, true),
+                transaction(LoanTransactionType.CHARGE_ADJUSTMENT, "15.00", false, false),
+                transaction(LoanTransactionType.CHARGEBACK, "40.00", false, false),
+                transaction(LoanTransactionType.CREDIT_BALANCE_REFUND, "12.00", false, false),
+                transaction(LoanTransactionType.CONTRA, "999.00", false, false));
+        // the rows LoanReadPlatformService#retrieveLoanTransactions reads for the same loan, with the scale of the amount
+        // column while the transactions of the aggregate carry the scale of the currency
+        List<LoanTransactionData> loanTransactionData = List.of(
+                transactionData(LoanTransactionType.DISBURSEMENT, "1000.000000", false),
+                transactionData(LoanTransactionType.REPAYMENT, "100.000000", false),
+                transactionData(LoanTransactionType.REPAYMENT, "50.000000", true),
+                transactionData(LoanTransactionType.DOWN_PAYMENT, "250.000000", false),
+                transactionData(LoanTransactionType.MERCHANT_ISSUED_REFUND, "30.000000", false),
+                transactionData(LoanTransactionType.MERCHANT_ISSUED_REFUND, "20.000000", true),
+                transactionData(LoanTransactionType.PAYOUT_REFUND, "10.000000", false),
+                transactionData(LoanTransactionType.GOODWILL_CREDIT, "5.000000", true),
+                transactionData(LoanTransactionType.CHARGE_ADJUSTMENT, "15.000000", false),
+                transactionData(LoanTransactionType.CHARGEBACK, "40.000000", false),
+                transactionData(LoanTransactionType.CREDIT_BALANCE_REFUND, "12.000000", false));
+        Loan loan = loan(1L, loanTransactions);
+
+        // when
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+
+        // then
+        ArgumentCaptor<LoanAccountData> dataCaptor = ArgumentCaptor.forClass(LoanAccountData.class);
+        verify(loanAccountDataMapper).map(dataCaptor.capture());
+        LoanSummaryData actual = dataCaptor.getValue().getSummary();
+        LoanSummaryData expected = LoanSummaryData.withTransactionAmountsSummary(LoanSummaryData.withOnlyCurrencyData(CURRENCY),
+                loanTransactionData);
+        assertEquals(expected, actual);
+        assertEquals(new BigDecimal("350.000000"), actual.getTotalRepaymentTransaction());
+        assertEquals(new BigDecimal("50.000000"), actual.getTotalRepaymentTransactionReversed());
+        verify(loanReadPlatformService, times(0)).retrieveLoanTransactions(anyLong());
+    }
+
+    @Test
+    public void testLoanIsReadOnceWithinTransaction() {
+        // given
+        Loan loan = loan(1L, List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        LoanAccountDataV1 first = (LoanAccountDataV1) serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+        LoanAccountDataV1 second = (LoanAccountDataV1) serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan(2L, List.of())));
+
+        // then
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertNotSame(first.getDelinquent(), second.getDelinquent());
+        verify(loanReadPlatformService, times(1)).retrieveOne(1L);
+        verify(loanReadPlatformService, times(1)).retrieveOne(2L);
+        verify(loanChargeReadPlatformService, times(1)).retrieveLoanCharges(1L);
+    }
+
+    @Test
+    public void testLoanIsReadAgainWhenItChangedWithinTransaction() {
+        // given
+        Loan loan = loan(1L, List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+        when(loan.getVersion()).thenReturn(1);
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+        serializationScope.invalidate();
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+
+        // then
+        verify(loanReadPlatformService, times(3)).retrieveOne(1L);
+    }
+
+    @Test
+    public void testLoanIsReadAgainInNextTransaction() {
+        // given
+        Loan loan = loan(1L, List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+
+        // then
+        verify(loanReadPlatformService, times(2)).retrieveOne(1L);
+    }
+
+    @Test
+    public void testLoanIsReadForEveryEventOutsideOfTransaction() {
+        // given
+        Loan loan = loan(1L, List.of());
+
+        // when
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+        serializer.toAvroDTO(new LoanBalanceChangedBusinessEvent(loan));
+
+        // then
+        verify(loanReadPlatformService, times(2)).retrieveOne(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Loan loan(Long id, List<LoanTransaction> loanTransactions) {
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        when(loan.getLoanTransactions()).thenReturn(loanTransactions);
+        when(loan.getLoanTransactions(any(Predicate.class)))
+                .thenAnswer(invocation -> loanTransactions.stream().filter(invocation.<Predicate<LoanTransaction>>getArgument(0)).toList());
+        return loan;
+    }
+
+    private LoanTransaction transaction(LoanTransactionType type, String amount, boolean reversed, boolean manuallyAdjustedOrReversed) {
+        LoanTransaction transaction = mock(LoanTransaction.class);
+        when(transaction.getTypeOf()).thenReturn(type);
+        when(transaction.getAmount()).thenReturn(new BigDecimal(amount));
+        when(transaction.isReversed()).thenReturn(reversed);
+        when(transaction.isNotReversed()).thenReturn(!reversed);
+        when(transaction.isManuallyAdjustedOrReversed()).thenReturn(manuallyAdjustedOrReversed);
+        when(transaction.getReversedOnDate()).thenReturn(reversed ? LocalDate.of(2023, 1, 10) : null);
+        return transaction;
+    }
+
+    private LoanTransactionData transactionData(LoanTransactionType type, String amount, boolean reversed) {
+        LoanTransactionData transactionData = mock(LoanTransactionData.class);
+        when(transactionData.getType()).thenReturn(LoanEnumerations.transactionType(type));
+        when(transactionData.getAmount()).thenReturn(new BigDecimal(amount));
+        when(transactionData.getReversedOnDate()).thenReturn(reversed ? LocalDate.of(2023, 1, 10) : null);
+        return transactionData;
+    }
+}
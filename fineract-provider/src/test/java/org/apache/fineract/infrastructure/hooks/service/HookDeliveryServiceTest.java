@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.api.HookApiConstants;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.ProcessorHelper;
+import org.apache.fineract.infrastructure.hooks.processor.WebHookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class HookDeliveryServiceTest {
+
+    private static final String PAYLOAD = "{\"entityName\":\"CLIENT\",\"actionName\":\"CREATE\",\"clientId\":1}";
+
+    @Mock
+    private HookDeliveryRepository hookDeliveryRepository;
+    @Mock
+    private HookRepository hookRepository;
+
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final List<String> receivedEntityHeaders = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 200;
+    private volatile CountDownLatch requestReceived = new CountDownLatch(0);
+    private volatile CountDownLatch releaseResponse = new CountDownLatch(0);
+
+    private HttpServer server;
+    private FineractProperties.FineractHookDeliveryProperties deliveryProperties;
+    private Hook hook;
+    private HookDeliveryService underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(null);
+        server.start();
+
+        deliveryProperties = new FineractProperties.FineractHookDeliveryProperties();
+        deliveryProperties.setMaxAttempts(3);
+        deliveryProperties.setInitialBackoffSeconds(30);
+        deliveryProperties.setMaxBackoffSeconds(3600);
+        deliveryProperties.setMaxConcurrentDeliveriesPerHook(1);
+        deliveryProperties.setBatchSize(10);
+        FineractProperties.FineractHooksProperties hooksProperties = new FineractProperties.FineractHooksProperties();
+        hooksProperties.setDelivery(deliveryProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHooks(hooksProperties);
+
+        hook = new Hook().setIsActive(true);
+        hook.setId(1L);
+        hook.setConfig(Set.of(
+                HookConfiguration.createNew(hook, "string", HookApiConstants.payloadURLName,
+                        "http://localhost:" + server.getAddress().getPort() + "/"),
+                HookConfiguration.createNew(hook, "string", HookApiConstants.contentTypeName, "json")));
+
+        lenient().when(hookDeliveryRepository.save(any(HookDelivery.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        underTest = new HookDeliveryService(hookDeliveryRepository, hookRepository, new ProcessorHelper(), fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseResponse.countDown();
+        server.stop(0);
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testDeliveredPayloadIsRemovedFromTheOutbox() {
+        underTest.enqueueAndDeliver(hook, PAYLOAD, "CLIENT", "CREATE");
+
+        assertEquals(List.of(PAYLOAD), receivedBodies);
+        assertEquals(List.of("CLIENT"), receivedEntityHeaders);
+        ArgumentCaptor<HookDelivery> delivery = ArgumentCaptor.forClass(HookDelivery.class);
+        verify(hookDeliveryRepository).save(delivery.capture());
+        verify(hookDeliveryRepository).delete(delivery.getValue());
+    }
+
+    @Test
+    public void testFailedDeliveryIsRetriedWithBackoff() {
+        responseStatus = 500;
+        underTest.enqueueAndDeliver(hook, PAYLOAD, "CLIENT", "CREATE");
+
+        HookDelivery delivery = captureDelivery();
+        assertEquals(1, delivery.getAttempts());
+        assertEquals("HTTP 500", delivery.getLastError());
+        assertEquals(HookDeliveryStatus.PENDING, delivery.getStatus());
+        assertNextAttemptIn(delivery, 30);
+
+        delivery.setId(5L);
+        when(hookDeliveryRepository.findIdsToDeliver(any(HookDeliveryStatus.class), any(OffsetDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(5L));
+        when(hookDeliveryRepository.findById(5L)).thenReturn(Optional.of(delivery));
+        when(hookRepository.findById(1L)).thenReturn(Optional.of(hook));
+        assertEquals(1, underTest.deliverDueDeliveries());
+
+        assertEquals(2, delivery.getAttempts());
+        assertNextAttemptIn(delivery, 60);
+
+        responseStatus = 200;
+        underTest.deliverDueDeliveries();
+
+        assertEquals(3, receivedBodies.size());
+        verify(hookDeliveryRepository).delete(delivery);
+    }
+
+    @Test
+    public void testDeliveryIsMarkedFailedAfterTheLastAttempt() {
+        responseStatus = 503;
+        deliveryProperties.setMaxAttempts(1);
+        underTest.enqueueAndDeliver(hook, PAYLOAD, "CLIENT", "CREATE");
+
+        HookDelivery delivery = captureDelivery();
+        assertEquals(HookDeliveryStatus.FAILED, delivery.getStatus());
+        verify(hookDeliveryRepository, never()).delete(any(HookDelivery.class));
+    }
+
+    @Test
+    public void testDeliveryAboveTheHookLimitIsLeftToTheJob() throws Exception {
+        requestReceived = new CountDownLatch(1);
+        releaseResponse = new CountDownLatch(1);
+        Thread first = new Thread(() -> {
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+            underTest.enqueueAndDeliver(hook, PAYLOAD, "CLIENT", "CREATE");
+        });
+        first.start();
+        assertTrue(requestReceived.await(10, TimeUnit.SECONDS));
+
+        HookDelivery second = new HookDelivery(1L, "CLIENT", "UPDATE", PAYLOAD, DateUtils.getAuditOffsetDateTime());
+        assertFalse(underTest.deliver(hook, second));
+        assertEquals(0, second.getAttempts());
+
+        releaseResponse.countDown();
+        first.join(10_000);
+        assertTrue(underTest.deliver(hook, second));
+        verify(hookDeliveryRepository).delete(second);
+    }
+
+    private HookDelivery captureDelivery() {
+        ArgumentCaptor<HookDelivery> delivery = ArgumentCaptor.forClass(HookDelivery.class);
+        verify(hookDeliveryRepository, atLeastOnce()).save(delivery.capture());
+        return delivery.getValue();
+    }
+
+    private static void assertNextAttemptIn(HookDelivery delivery, long seconds) {
+        OffsetDateTime expected = DateUtils.getAuditOffsetDateTime().plusSeconds(seconds);
+        assertTrue(Math.abs(Duration.between(expected, delivery.getNextAttemptAt()).getSeconds()) <= 5);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        receivedEntityHeaders.add(exchange.getRequestHeaders().getFirst(WebHookService.ENTITY_HEADER));
+        requestReceived.countDown();
+        try {
+            releaseResponse.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.sendResponseHeaders(responseStatus, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class HookEventIndexTest {
+
+    @Mock
+    private HookRepository hookRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MultiNodeCacheManager otherNode;
+    private HookEventIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new HookEventIndex(hookRepository, thisNode, meterRegistry);
+        when(hookRepository.findAllActiveHooks()).thenReturn(List.of(hook(2L, "CLIENT", "CREATE"), hook(1L, "CLIENT", "CREATE"),
+                hook(3L, "LOAN", "APPROVE")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLookupsAreServedFromTheIndex() {
+        assertEquals(List.of(1L, 2L), underTest.getHookIds("CLIENT", "CREATE"));
+        assertTrue(underTest.hasSubscribers("LOAN", "APPROVE"));
+        assertFalse(underTest.hasSubscribers("LOAN", "CREATE"));
+
+        verify(hookRepository, times(1)).findAllActiveHooks();
+        assertEquals(1.0, meterRegistry.counter(HookEventIndex.REFRESH_METRIC).count());
+        assertEquals(2.0, meterRegistry.counter(HookEventIndex.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testRefreshReloadsTheIndex() {
+        underTest.hasSubscribers("CLIENT", "CREATE");
+        underTest.refresh();
+        underTest.hasSubscribers("CLIENT", "CREATE");
+
+        verify(hookRepository, times(2)).findAllActiveHooks();
+    }
+
+    @Test
+    public void testInvalidationFromAnotherNodeReloadsTheIndex() {
+        underTest.hasSubscribers("CLIENT", "CREATE");
+        otherNode.invalidate(HookEventIndex.CACHE_NAME, "default");
+        underTest.hasSubscribers("CLIENT", "CREATE");
+
+        verify(hookRepository, times(2)).findAllActiveHooks();
+    }
+
+    private static Hook hook(Long id, String entityName, String actionName) {
+        Hook hook = new Hook().setIsActive(true);
+        hook.setId(id);
+        hook.setEvents(Set.of(HookResource.createNewWithoutHook(entityName, actionName).setHook(hook)));
+        return hook;
+    }
+}
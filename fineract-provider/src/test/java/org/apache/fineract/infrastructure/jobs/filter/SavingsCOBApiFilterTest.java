@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.filter;
+
+import static org.apache.fineract.infrastructure.jobs.filter.SavingsCOBFilterHelper.SAVINGS_PATH_PATTERN;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.research.ws.wadl.HTTPMethods;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import org.apache.fineract.cob.savings.SavingsLockingService;
+import org.apache.fineract.infrastructure.core.http.BodyCachingHttpServletRequestWrapper;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SavingsCOBApiFilterTest {
+
+    private SavingsCOBApiFilter testObj;
+    @Mock
+    private SavingsLockingService savingsLockingService;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private SavingsAccountRepository savingsAccountRepository;
+    @Mock
+    private AppUser appUser;
+
+    @BeforeEach
+    public void setUp() {
+        testObj = new SavingsCOBApiFilter(new SavingsCOBFilterHelper(savingsLockingService, context, savingsAccountRepository,
+                new ObjectMapper()));
+        given(context.authenticatedUser()).willReturn(appUser);
+    }
+
+    @Test
+    void shouldSavingsAndExternalMatch() {
+        Assertions.assertTrue(SAVINGS_PATH_PATTERN.matcher("/v1/savingsaccounts/12").matches());
+        Assertions.assertTrue(SAVINGS_PATH_PATTERN.matcher("/v1/savingsaccounts/12/transactions?command=deposit").matches());
+        Assertions.assertTrue(SAVINGS_PATH_PATTERN.matcher("/v1/savingsaccounts/external-id/abc?command=approve").matches());
+        Assertions.assertFalse(SAVINGS_PATH_PATTERN.matcher("/v1/savingsaccounts").matches());
+        Assertions.assertFalse(SAVINGS_PATH_PATTERN.matcher("/v1/loans/12").matches());
+    }
+
+    @Test
+    void shouldProceedWhenUrlDoesNotMatch() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        given(request.getPathInfo()).willReturn("/v1/loans/2/charges");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(filterChain, times(1)).doFilter(any(HttpServletRequest.class), eq(response));
+        verifyNoInteractions(savingsLockingService);
+    }
+
+    @Test
+    void shouldProceedWhenSavingsAccountIsOnlyRead() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        given(request.getPathInfo()).willReturn("/v1/savingsaccounts/2");
+        given(request.getMethod()).willReturn(HTTPMethods.GET.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(savingsLockingService.isSavingsAccountLocked(2L)).willReturn(true);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(filterChain, times(1)).doFilter(any(HttpServletRequest.class), eq(response));
+    }
+
+    @Test
+    void shouldProceedWhenSavingsAccountIsNotLocked() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        given(request.getPathInfo()).willReturn("/v1/savingsaccounts/2/transactions");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(savingsLockingService.isSavingsAccountLocked(2L)).willReturn(false);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(savingsLockingService, times(1)).isSavingsAccountLocked(2L);
+        verify(filterChain, times(1)).doFilter(any(HttpServletRequest.class), eq(response));
+    }
+
+    @Test
+    void shouldProceedWhenUserHasBypassPermission() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+
+        given(request.getPathInfo()).willReturn("/v1/savingsaccounts/2/transactions");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(savingsLockingService.isSavingsAccountLocked(2L)).willReturn(true);
+        given(appUser.isBypassUser()).willReturn(true);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(filterChain, times(1)).doFilter(any(HttpServletRequest.class), eq(response));
+    }
+
+    @Test
+    void shouldRejectWhenSavingsAccountIsLocked() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+
+        given(request.getPathInfo()).willReturn("/v1/savingsaccounts/2/transactions");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(savingsLockingService.isSavingsAccountLocked(2L)).willReturn(true);
+        given(response.getWriter()).willReturn(writer);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void shouldRejectWhenExternalSavingsAccountIsLocked() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+
+        given(request.getPathInfo()).willReturn("/v1/savingsaccounts/external-id/abc?command=approve");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(savingsAccountRepository.findIdByExternalId(any())).willReturn(3L);
+        given(savingsLockingService.isSavingsAccountLocked(3L)).willReturn(true);
+        given(response.getWriter()).willReturn(writer);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void shouldRejectWhenBatchWritesToLockedSavingsAccount() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+        String body = """
+                [{"requestId":1,"relativeUrl":"savingsaccounts/2/transactions?command=deposit","method":"POST","body":"{}"}]
+                """;
+
+        given(request.getPathInfo()).willReturn("/v1/batches");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(
+                new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        given(savingsLockingService.isSavingsAccountLocked(2L)).willReturn(true);
+        given(response.getWriter()).willReturn(writer);
+
+        testObj.doFilterInternal(request, response, filterChain);
+        verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+}
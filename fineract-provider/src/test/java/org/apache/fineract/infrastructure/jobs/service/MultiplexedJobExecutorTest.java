@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractJobProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractMultiplexedSchedulerProperties;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MultiplexedJobExecutorTest {
+
+    private static final String BLOCKING_JOB = "blocking";
+
+    @Mock
+    private SchedulerTriggerListener schedulerTriggerListener;
+    @Mock
+    private SchedulerJobListener schedulerJobListener;
+    @Mock
+    private JobStarter jobStarter;
+
+    private final List<String> startedJobs = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MultiplexedJobExecutor underTest;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        underTest.destroy();
+    }
+
+    @Test
+    public void testTenantsAreServedInTurn() throws Exception {
+        underTest = createExecutor(1, 1);
+
+        underTest.submit(createContext("tenant1", BLOCKING_JOB, 5));
+        underTest.submit(createContext("tenant1", "job1", 5));
+        underTest.submit(createContext("tenant1", "job2", 5));
+        underTest.submit(createContext("tenant2", "job1", 5));
+        release.countDown();
+
+        verify(jobStarter, timeout(5000).times(4)).run(any(), any(), any());
+        assertEquals(List.of("tenant1-" + BLOCKING_JOB, "tenant2-job1", "tenant1-job1", "tenant1-job2"), startedJobs);
+    }
+
+    @Test
+    public void testTenantWithOlderBacklogDoesNotWinTheTurnOfOtherTenants() throws Exception {
+        underTest = createExecutor(1, 1);
+
+        underTest.submit(createContext("tenant1", BLOCKING_JOB, 5));
+        underTest.submit(createContext("tenant1", "job1", 5));
+        underTest.submit(createContext("tenant1", "job2", 5));
+        underTest.submit(createContext("tenant1", "job3", 5));
+        underTest.submit(createContext("tenant2", "job1", 5));
+        underTest.submit(createContext("tenant2", "job2", 5));
+        release.countDown();
+
+        verify(jobStarter, timeout(5000).times(6)).run(any(), any(), any());
+        assertEquals(List.of("tenant1-" + BLOCKING_JOB, "tenant2-job1", "tenant1-job1", "tenant2-job2", "tenant1-job2", "tenant1-job3"),
+                startedJobs);
+    }
+
+    @Test
+    public void testTenantConcurrencyLimitKeepsJobQueuedWhileWorkersAreFree() throws Exception {
+        underTest = createExecutor(3, 1);
+
+        underTest.submit(createContext("tenant1", BLOCKING_JOB, 5));
+        underTest.submit(createContext("tenant1", "job1", 5));
+        underTest.submit(createContext("tenant2", BLOCKING_JOB, 5));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> startedJobs.size() == 2);
+        assertEquals(2, underTest.getRunningJobs());
+        assertEquals(1, underTest.getQueueDepth());
+        assertEquals(List.of("tenant1-" + BLOCKING_JOB, "tenant2-" + BLOCKING_JOB), startedJobs.stream().sorted().toList());
+
+        release.countDown();
+        verify(jobStarter, timeout(5000).times(3)).run(any(), any(), any());
+        verify(schedulerJobListener, timeout(5000).times(3)).jobWasExecuted(any(), any());
+        assertEquals(0, underTest.getQueueDepth());
+    }
+
+    @Test
+    public void testHigherPriorityRunsFirstAndQueuedJobIsNotQueuedAgain() throws Exception {
+        underTest = createExecutor(1, 1);
+
+        underTest.submit(createContext("tenant1", BLOCKING_JOB, 5));
+        underTest.submit(createContext("tenant1", "low", 1));
+        underTest.submit(createContext("tenant1", "high", 10));
+        underTest.submit(createContext("tenant1", "low", 1));
+        assertEquals(2, underTest.getQueueDepth());
+        release.countDown();
+
+        verify(jobStarter, timeout(5000).times(3)).run(any(), any(), any());
+        TimeUnit.MILLISECONDS.sleep(100);
+        verify(jobStarter, times(3)).run(any(), any(), any());
+        assertEquals(List.of("tenant1-" + BLOCKING_JOB, "tenant1-high", "tenant1-low"), startedJobs);
+    }
+
+    @Test
+    public void testJobsOfASchedulerGroupRunOneAtATimePerTenant() throws Exception {
+        underTest = createExecutor(4, 3);
+
+        underTest.submit(createContext("tenant1", BLOCKING_JOB, 5, 3));
+        underTest.submit(createContext("tenant1", "grouped", 10, 3));
+        underTest.submit(createContext("tenant1", "ungrouped", 1, 0));
+        underTest.submit(createContext("tenant2", "grouped", 5, 3));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> startedJobs.size() == 3);
+        assertEquals(List.of("tenant1-" + BLOCKING_JOB, "tenant1-ungrouped", "tenant2-grouped"), startedJobs.stream().sorted().toList());
+        assertEquals(1, underTest.getQueueDepth());
+
+        release.countDown();
+        verify(jobStarter, timeout(5000).times(4)).run(any(), any(), any());
+        assertEquals("tenant1-grouped", startedJobs.get(3));
+    }
+
+    private MultiplexedJobExecutor createExecutor(int threadCount, int tenantConcurrencyLimit) throws Exception {
+        FineractMultiplexedSchedulerProperties multiplexedScheduler = new FineractMultiplexedSchedulerProperties();
+        multiplexedScheduler.setEnabled(true);
+        multiplexedScheduler.setThreadCount(threadCount);
+        multiplexedScheduler.setTenantConcurrencyLimit(tenantConcurrencyLimit);
+        FineractJobProperties job = new FineractJobProperties();
+        job.setMultiplexedScheduler(multiplexedScheduler);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(job);
+
+        when(jobStarter.run(any(), any(), any())).thenAnswer(invocation -> {
+            String jobName = invocation.getArgument(1, ScheduledJobDetail.class).getJobName();
+            startedJobs.add(jobName);
+            if (jobName.endsWith(BLOCKING_JOB)) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+        return new MultiplexedJobExecutor(schedulerTriggerListener, schedulerJobListener, jobStarter, fineractProperties,
+                new SimpleMeterRegistry());
+    }
+
+    private JobExecutionContext createContext(String tenantIdentifier, String jobName, int priority) {
+        return createContext(tenantIdentifier, jobName, priority, 0);
+    }
+
+    private JobExecutionContext createContext(String tenantIdentifier, String jobName, int priority, int schedulerGroup) {
+        ScheduledJobDetail scheduledJobDetail = mock(ScheduledJobDetail.class);
+        when(scheduledJobDetail.getJobName()).thenReturn(tenantIdentifier + "-" + jobName);
+        when(scheduledJobDetail.getSchedulerGroup()).thenReturn((short) schedulerGroup);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(MultiplexedJobExecutor.SCHEDULED_JOB_DETAIL, scheduledJobDetail);
+        JobDetail jobDetail = JobBuilder.newJob(MultiplexedJobExecutor.DispatchingJob.class)
+                .withIdentity(jobName + "JobDetail" + tenantIdentifier).usingJobData(jobDataMap).build();
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getPriority()).thenReturn(priority);
+        JobDataMap mergedJobDataMap = new JobDataMap();
+        mergedJobDataMap.put(SchedulerServiceConstants.TENANT_IDENTIFIER, tenantIdentifier);
+        JobExecutionContext context = mock(JobExecutionContext.class);
+        when(context.getJobDetail()).thenReturn(jobDetail);
+        when(context.getTrigger()).thenReturn(trigger);
+        when(context.getMergedJobDataMap()).thenReturn(mergedJobDataMap);
+        return context;
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDaoAuthenticationProviderTest {
+
+    private static final String USERNAME = "mifos";
+    private static final String PASSWORD = "password";
+    private static final String PASSWORD_HASH = "{bcrypt}hash";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private MultiNodeCacheManager thisNode;
+    private MultiNodeCacheManager otherNode;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties.FineractSecurityBasicAuthCacheProperties cacheProperties =
+                new FineractProperties.FineractSecurityBasicAuthCacheProperties();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setTtlSeconds(60);
+        cacheProperties.setMaximumSize(100);
+        FineractProperties.FineractSecurityBasicAuth basicAuth = new FineractProperties.FineractSecurityBasicAuth();
+        basicAuth.setEnabled(true);
+        basicAuth.setCache(cacheProperties);
+        FineractProperties.FineractSecurityProperties security = new FineractProperties.FineractSecurityProperties();
+        security.setBasicauth(basicAuth);
+        fineractProperties.setSecurity(security);
+
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testVerifiedCredentialsSkipThePasswordCheck() {
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches(PASSWORD, PASSWORD_HASH)).thenReturn(true);
+
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        verify(passwordEncoder, times(1)).matches(PASSWORD, PASSWORD_HASH);
+        assertEquals(2.0, meterRegistry.counter(BasicAuthCredentialCache.HIT_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(BasicAuthCredentialCache.MISS_METRIC).count());
+    }
+
+    @Test
+    public void testWrongPasswordIsNeverCached() {
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches("wrong", PASSWORD_HASH)).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, "wrong")));
+
+        verify(passwordEncoder, times(2)).matches("wrong", PASSWORD_HASH);
+    }
+
+    @Test
+    public void testChangedPasswordHashIsCheckedAgain() {
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches(PASSWORD, PASSWORD_HASH)).thenReturn(true);
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        userWithPassword("{bcrypt}newHash", true);
+        when(passwordEncoder.matches(PASSWORD, "{bcrypt}newHash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD)));
+    }
+
+    @Test
+    public void testDisabledUserIsRejectedEvenWithVerifiedCredentials() {
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches(PASSWORD, PASSWORD_HASH)).thenReturn(true);
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        userWithPassword(PASSWORD_HASH, false);
+
+        assertThrows(DisabledException.class, () -> underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD)));
+    }
+
+    @Test
+    public void testEvictionOnAnotherNodeDropsTheVerifiedCredentials() {
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        BasicAuthCredentialCache otherNodeCache = new BasicAuthCredentialCache(fineractProperties, otherNode, new SimpleMeterRegistry());
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches(PASSWORD, PASSWORD_HASH)).thenReturn(true);
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        otherNodeCache.evict(USERNAME);
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        verify(passwordEncoder, times(2)).matches(PASSWORD, PASSWORD_HASH);
+    }
+
+    @Test
+    public void testDisabledCacheChecksEveryRequest() {
+        fineractProperties.getSecurity().getBasicauth().getCache().setEnabled(false);
+        CachingDaoAuthenticationProvider underTest = provider(new BasicAuthCredentialCache(fineractProperties, thisNode, meterRegistry));
+        userWithPassword(PASSWORD_HASH, true);
+        when(passwordEncoder.matches(PASSWORD, PASSWORD_HASH)).thenReturn(true);
+
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+        underTest.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        verify(passwordEncoder, times(2)).matches(PASSWORD, PASSWORD_HASH);
+        assertEquals(0.0, meterRegistry.counter(BasicAuthCredentialCache.HIT_METRIC).count());
+    }
+
+    private CachingDaoAuthenticationProvider provider(BasicAuthCredentialCache credentialCache) {
+        CachingDaoAuthenticationProvider provider = new CachingDaoAuthenticationProvider(credentialCache);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+
+    private void userWithPassword(String passwordHash, boolean enabled) {
+        when(userDetailsService.loadUserByUsername(USERNAME))
+                .thenReturn(User.withUsername(USERNAME).password(passwordHash).disabled(!enabled).authorities("ALL_FUNCTIONS").build());
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class UnreadNotificationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Predicate<Long> noUnreadNotifications = appUserId -> {
+        loads.incrementAndGet();
+        return false;
+    };
+    private UnreadNotificationCache thisNode;
+    private UnreadNotificationCache otherNode;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNodeCacheManager = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        MultiNodeCacheManager otherNodeCacheManager = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNodeCacheManager::applyInvalidation);
+        publisher.subscribe(otherNodeCacheManager::applyInvalidation);
+        thisNode = new UnreadNotificationCache(thisNodeCacheManager, meterRegistry);
+        otherNode = new UnreadNotificationCache(otherNodeCacheManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFlagIsLoadedOnce() {
+        assertFalse(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        assertFalse(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter(UnreadNotificationCache.REFRESH_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(UnreadNotificationCache.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testNotificationWritesUpdateTheFlag() {
+        assertFalse(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        thisNode.notificationsAdded(List.of(1L, 2L));
+        assertTrue(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        assertTrue(thisNode.hasUnreadNotifications(2L, noUnreadNotifications));
+        thisNode.notificationsRead(1L);
+        assertFalse(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testNotificationWriteOnAnotherNodeReloadsTheFlag() {
+        thisNode.hasUnreadNotifications(1L, noUnreadNotifications);
+        otherNode.notificationsAdded(List.of(1L));
+        assertTrue(thisNode.hasUnreadNotifications(1L, appUserId -> true));
+    }
+
+    @Test
+    public void testNotificationWriteOnAnotherNodeIsSeenWithoutCrossNodeInvalidation() {
+        UnreadNotificationCache withoutSnapshots = new UnreadNotificationCache(
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO),
+                new SimpleMeterRegistry());
+        assertFalse(withoutSnapshots.hasUnreadNotifications(1L, noUnreadNotifications));
+
+        assertTrue(withoutSnapshots.hasUnreadNotifications(1L, appUserId -> true));
+    }
+
+    @Test
+    public void testFlagIsKeptOnASingleNodeWithoutCrossNodeInvalidation() {
+        UnreadNotificationCache singleNode = new UnreadNotificationCache(
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO, true),
+                new SimpleMeterRegistry());
+        assertFalse(singleNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        assertFalse(singleNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        assertEquals(1, loads.get());
+
+        singleNode.notificationsAdded(List.of(1L));
+        assertTrue(singleNode.hasUnreadNotifications(1L, appUserId -> true));
+    }
+
+    @Test
+    public void testFlagsAreKeptPerTenant() {
+        thisNode.notificationsAdded(List.of(1L));
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+
+        assertFalse(thisNode.hasUnreadNotifications(1L, noUnreadNotifications));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.cache.service.LoopbackCacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractOfficeCalendarProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepository;
+import org.apache.fineract.organisation.holiday.domain.HolidayStatusType;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class OfficeCalendarServiceTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+    private static final Long OFFICE_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WorkingDays workingDays = new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR",
+            RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), false, false);
+    private final List<Holiday> holidays = List.of(holiday(LocalDate.of(2023, 12, 25), LocalDate.of(2023, 12, 26)),
+            holiday(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 2, 20)), holiday(LocalDate.of(2024, 3, 20), LocalDate.of(2024, 3, 22)),
+            holiday(LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 20)), holiday(LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 25)));
+
+    @Mock
+    private HolidayRepository holidayRepository;
+    @Mock
+    private WorkingDaysRepositoryWrapper workingDaysRepository;
+    private MultiNodeCacheManager otherNode;
+    private OfficeCalendarService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        setBusinessDate(BUSINESS_DATE);
+        FineractOfficeCalendarProperties officeCalendarProperties = new FineractOfficeCalendarProperties();
+        officeCalendarProperties.setHorizonPastDays(30);
+        officeCalendarProperties.setHorizonFutureDays(60);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setOfficeCalendar(officeCalendarProperties);
+        LoopbackCacheInvalidationPublisher publisher = new LoopbackCacheInvalidationPublisher();
+        MultiNodeCacheManager thisNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        otherNode = new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher);
+        publisher.subscribe(thisNode::applyInvalidation);
+        publisher.subscribe(otherNode::applyInvalidation);
+        underTest = new OfficeCalendarService(holidayRepository, workingDaysRepository, fineractProperties, thisNode, meterRegistry);
+        when(workingDaysRepository.findOne()).thenReturn(workingDays);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testCalendarGivesTheSameAnswersAsTheWorkingDaysAndHolidays() {
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        OfficeCalendar calendar = underTest.getCalendar(OFFICE_ID);
+
+        assertEquals(BUSINESS_DATE.minusDays(30), calendar.getHorizonStart());
+        assertEquals(BUSINESS_DATE.plusDays(60), calendar.getHorizonEnd());
+        for (LocalDate date = LocalDate.of(2023, 12, 1); date.isBefore(LocalDate.of(2025, 2, 1)); date = date.plusDays(1)) {
+            assertEquals(WorkingDaysUtil.isWorkingDay(workingDays, date), calendar.isWorkingDay(date), date.toString());
+            assertEquals(HolidayUtil.isHoliday(date, holidays), calendar.isHoliday(date), date.toString());
+        }
+    }
+
+    @Test
+    public void testHolidaysFromDateMatchTheRepositoryQuery() {
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        OfficeCalendar calendar = underTest.getCalendar(OFFICE_ID);
+
+        assertEquals(periods(holidays.subList(2, 5)), periods(calendar.getHolidaysFrom(LocalDate.of(2024, 3, 1))));
+        assertEquals(periods(holidays.subList(2, 5)), periods(calendar.getHolidaysFrom(LocalDate.of(2024, 3, 22))));
+        assertEquals(periods(holidays.subList(3, 5)), periods(calendar.getHolidaysFrom(LocalDate.of(2024, 3, 23))));
+        assertTrue(calendar.getHolidaysFrom(null).isEmpty());
+    }
+
+    @Test
+    public void testHolidaysAreCopiedForEveryCaller() {
+        Holiday rescheduled = holiday(LocalDate.of(2024, 3, 20), LocalDate.of(2024, 3, 22))
+                .setRepaymentsRescheduledTo(LocalDate.of(2024, 3, 25))
+                .setReschedulingType(RescheduleType.RESCHEDULETOSPECIFICDATE.getValue());
+        rescheduled.setId(7L);
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(List.of(rescheduled));
+
+        OfficeCalendar calendar = underTest.getCalendar(OFFICE_ID);
+        // the entity the calendar was built from is not kept
+        rescheduled.setToDate(LocalDate.of(2024, 3, 30));
+        Holiday copy = calendar.getHolidaysFrom(BUSINESS_DATE).get(0);
+        copy.setToDate(LocalDate.of(2024, 3, 31));
+
+        assertNotSame(rescheduled, copy);
+        assertNotSame(copy, calendar.getHolidaysFrom(BUSINESS_DATE).get(0));
+        assertEquals(7L, copy.getId());
+        assertEquals(RescheduleType.RESCHEDULETOSPECIFICDATE, copy.getReScheduleType());
+        assertEquals(LocalDate.of(2024, 3, 25), copy.getRepaymentsRescheduledTo());
+        assertEquals(LocalDate.of(2024, 3, 22), calendar.getHolidaysFrom(BUSINESS_DATE).get(0).getToDate());
+        assertFalse(calendar.isHoliday(LocalDate.of(2024, 3, 23)));
+    }
+
+    @Test
+    public void testWorkingDaysAreCopiedForEveryCaller() {
+        OfficeCalendar calendar = underTest.getCalendar(null);
+
+        WorkingDays copy = calendar.getWorkingDays();
+        copy.setRepaymentReschedulingType(RepaymentRescheduleType.SAME_DAY.getValue());
+
+        assertNotSame(copy, calendar.getWorkingDays());
+        assertEquals(RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), calendar.getWorkingDays().getRepaymentReschedulingType());
+        assertFalse(calendar.isHoliday(LocalDate.of(2024, 3, 20)));
+    }
+
+    @Test
+    public void testCalendarIsBuiltOncePerOffice() {
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        OfficeCalendar first = underTest.getCalendar(OFFICE_ID);
+        OfficeCalendar second = underTest.getCalendar(OFFICE_ID);
+
+        assertSame(first, second);
+        verify(workingDaysRepository, times(1)).findOne();
+        verify(holidayRepository, times(1)).findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue());
+        assertEquals(1.0, meterRegistry.counter(OfficeCalendarService.REFRESH_METRIC).count());
+        assertEquals(1.0, meterRegistry.counter(OfficeCalendarService.HIT_METRIC).count());
+    }
+
+    @Test
+    public void testCalendarIsRebuiltWhenTheBusinessDateMoves() {
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        underTest.getCalendar(OFFICE_ID);
+        setBusinessDate(BUSINESS_DATE.plusDays(1));
+        OfficeCalendar calendar = underTest.getCalendar(OFFICE_ID);
+
+        assertEquals(BUSINESS_DATE.plusDays(1).minusDays(30), calendar.getHorizonStart());
+        verify(workingDaysRepository, times(2)).findOne();
+    }
+
+    @Test
+    public void testRefreshRebuildsTheCalendars() {
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        underTest.getCalendar(OFFICE_ID);
+        underTest.refresh();
+        underTest.getCalendar(OFFICE_ID);
+        otherNode.invalidate(OfficeCalendarService.CACHE_NAME, null);
+        underTest.getCalendar(OFFICE_ID);
+
+        verify(workingDaysRepository, times(3)).findOne();
+        verify(holidayRepository, times(3)).findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue());
+    }
+
+    @Test
+    public void testHolidayChangedOnAnotherNodeIsUsedWithoutCrossNodeInvalidation() {
+        FineractOfficeCalendarProperties officeCalendarProperties = new FineractOfficeCalendarProperties();
+        officeCalendarProperties.setHorizonPastDays(30);
+        officeCalendarProperties.setHorizonFutureDays(60);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setOfficeCalendar(officeCalendarProperties);
+        OfficeCalendarService withoutSnapshots = new OfficeCalendarService(holidayRepository, workingDaysRepository, fineractProperties,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO),
+                new SimpleMeterRegistry());
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(List.of());
+        assertFalse(withoutSnapshots.getCalendar(OFFICE_ID).isHoliday(LocalDate.of(2024, 3, 20)));
+
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+
+        assertTrue(withoutSnapshots.getCalendar(OFFICE_ID).isHoliday(LocalDate.of(2024, 3, 20)));
+    }
+
+    @Test
+    public void testCalendarIsKeptOnASingleNodeWithoutCrossNodeInvalidation() {
+        FineractOfficeCalendarProperties officeCalendarProperties = new FineractOfficeCalendarProperties();
+        officeCalendarProperties.setHorizonPastDays(30);
+        officeCalendarProperties.setHorizonFutureDays(60);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setOfficeCalendar(officeCalendarProperties);
+        OfficeCalendarService singleNode = new OfficeCalendarService(holidayRepository, workingDaysRepository, fineractProperties,
+                new MultiNodeCacheManager(new ConcurrentMapCacheManager(), new LoopbackCacheInvalidationPublisher(), Duration.ZERO, true),
+                new SimpleMeterRegistry());
+        when(holidayRepository.findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue())).thenReturn(holidays);
+        singleNode.getCalendar(OFFICE_ID);
+        singleNode.getCalendar(OFFICE_ID);
+        verify(holidayRepository, times(1)).findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue());
+
+        singleNode.refresh();
+        singleNode.getCalendar(OFFICE_ID);
+        verify(holidayRepository, times(2)).findByOfficeIdAndStatus(OFFICE_ID, HolidayStatusType.ACTIVE.getValue());
+    }
+
+    private static List<OfficeCalendar.HolidayPeriod> periods(List<Holiday> holidays) {
+        return holidays.stream().map(OfficeCalendar.HolidayPeriod::of).toList();
+    }
+
+    private static Holiday holiday(LocalDate fromDate, LocalDate toDate) {
+        return new Holiday().setName(fromDate.toString()).setFromDate(fromDate).setToDate(toDate)
+                .setStatus(HolidayStatusType.ACTIVE.getValue());
+    }
+
+    private static void setBusinessDate(LocalDate businessDate) {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, businessDate)));
+    }
+}
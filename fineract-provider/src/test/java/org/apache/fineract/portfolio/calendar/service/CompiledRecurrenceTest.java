@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import static org.apache.fineract.portfolio.calendar.service.CalendarUtils.FLOATING_TIMEZONE_PROPERTY_KEY;
+import static org.apache.fineract.util.TimeZoneConstants.EUROPE_BERLIN_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.junit.context.WithTenantContext;
+import org.apache.fineract.junit.context.WithTenantContextExtension;
+import org.apache.fineract.junit.system.WithSystemProperty;
+import org.apache.fineract.junit.system.WithSystemPropertyExtension;
+import org.apache.fineract.junit.timezone.WithSystemTimeZone;
+import org.apache.fineract.junit.timezone.WithSystemTimeZoneExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Differential tests of the {@code java.time} expansion of the recurring rules against ical4j.
+ */
+@ExtendWith({ WithSystemTimeZoneExtension.class, WithTenantContextExtension.class, WithSystemPropertyExtension.class })
+public class CompiledRecurrenceTest {
+
+    // the rules built by Calendar.constructRecurrence and the default working days
+    private static final List<String> EXPANDABLE_RULES = List.of("FREQ=DAILY", "FREQ=DAILY;INTERVAL=3", "FREQ=WEEKLY",
+            "FREQ=WEEKLY;BYDAY=MO", "FREQ=WEEKLY;INTERVAL=2;BYDAY=FR", "FREQ=WEEKLY;INTERVAL=3;BYDAY=SU",
+            "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR", "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", "FREQ=MONTHLY",
+            "FREQ=MONTHLY;INTERVAL=2", "FREQ=MONTHLY;BYMONTHDAY=15", "FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=-1",
+            "FREQ=MONTHLY;BYSETPOS=1;BYDAY=MO", "FREQ=MONTHLY;INTERVAL=2;BYSETPOS=-1;BYDAY=FR", "FREQ=MONTHLY;BYSETPOS=4;BYDAY=SA",
+            "FREQ=MONTHLY;BYSETPOS=-2;BYDAY=WE", "FREQ=YEARLY", "FREQ=YEARLY;INTERVAL=2");
+
+    private static final List<String> NOT_EXPANDABLE_RULES = List.of("FREQ=MONTHLY;BYSETPOS=5;BYDAY=TU", "FREQ=MONTHLY;BYMONTHDAY=31",
+            "FREQ=WEEKLY;COUNT=5;BYDAY=MO", "FREQ=WEEKLY;BYDAY=MO;WKST=SU", "FREQ=MONTHLY;BYDAY=2TU");
+
+    private static final List<LocalDate> SEED_DATES = List.of(LocalDate.of(2023, 1, 31), LocalDate.of(2024, 2, 29),
+            LocalDate.of(2023, 3, 15), LocalDate.of(2023, 6, 4), LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 1));
+
+    @Test
+    public void testFineractRulesAreExpandable() {
+        for (String rule : EXPANDABLE_RULES) {
+            assertTrue(CalendarUtils.getCompiledRecurrence(rule).isExpandable(LocalDate.of(2023, 3, 15)), rule);
+        }
+        for (String rule : NOT_EXPANDABLE_RULES) {
+            assertFalse(CalendarUtils.getCompiledRecurrence(rule).isExpandable(LocalDate.of(2023, 3, 15)), rule);
+        }
+        // the day of the seed date does not exist in every period
+        assertFalse(CalendarUtils.getCompiledRecurrence("FREQ=MONTHLY").isExpandable(LocalDate.of(2023, 1, 29)));
+        assertFalse(CalendarUtils.getCompiledRecurrence("FREQ=YEARLY").isExpandable(LocalDate.of(2024, 2, 29)));
+        assertTrue(CalendarUtils.getCompiledRecurrence("FREQ=MONTHLY;BYMONTHDAY=-1").isExpandable(LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    @WithSystemTimeZone(EUROPE_BERLIN_ID)
+    @WithTenantContext(tenantTimeZoneId = EUROPE_BERLIN_ID)
+    @WithSystemProperty(key = FLOATING_TIMEZONE_PROPERTY_KEY, value = "true")
+    public void testGetRecurringDatesGivesTheSameDatesAsICal4j() {
+        for (String rule : allRules()) {
+            for (LocalDate seedDate : SEED_DATES) {
+                for (int startOffset = -40; startOffset <= 400; startOffset += 73) {
+                    LocalDate periodStartDate = seedDate.plusDays(startOffset);
+                    for (int length : new int[] { 0, 6, 95, 800 }) {
+                        LocalDate periodEndDate = periodStartDate.plusDays(length);
+                        for (int maxCount : new int[] { 1, 10 }) {
+                            for (boolean isSkipMeetingOnFirstDay : new boolean[] { false, true }) {
+                                // when
+                                Collection<LocalDate> expected = CalendarUtils.getRecurringDates(CalendarUtils.getICalRecur(rule), seedDate,
+                                        periodStartDate, periodEndDate, maxCount, isSkipMeetingOnFirstDay, 2);
+                                Collection<LocalDate> actual = CalendarUtils.getRecurringDates(rule, seedDate, periodStartDate,
+                                        periodEndDate, maxCount, isSkipMeetingOnFirstDay, 2);
+
+                                // then
+                                assertEquals(new ArrayList<>(expected), new ArrayList<>(actual), rule + " from " + seedDate + " between "
+                                        + periodStartDate + " and " + periodEndDate + ", max " + maxCount);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @WithSystemTimeZone(EUROPE_BERLIN_ID)
+    @WithTenantContext(tenantTimeZoneId = EUROPE_BERLIN_ID)
+    @WithSystemProperty(key = FLOATING_TIMEZONE_PROPERTY_KEY, value = "true")
+    public void testIsValidRecurringDateGivesTheSameAnswerAsICal4j() {
+        for (String rule : allRules()) {
+            Recur recur = CalendarUtils.getICalRecur(rule);
+            for (LocalDate seedDate : SEED_DATES) {
+                for (LocalDate date = seedDate.minusDays(10); date.isBefore(seedDate.plusDays(200)); date = date.plusDays(1)) {
+                    for (boolean isSkipRepaymentOnFirstDayOfMonth : new boolean[] { false, true }) {
+                        // when
+                        boolean expected = CalendarUtils.isValidRecurringDate(recur, seedDate, date, isSkipRepaymentOnFirstDayOfMonth, 2);
+                        boolean actual = CalendarUtils.isValidRedurringDate(rule, seedDate, date, isSkipRepaymentOnFirstDayOfMonth, 2);
+
+                        // then
+                        assertEquals(expected, actual, rule + " from " + seedDate + " on " + date);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @WithSystemTimeZone(EUROPE_BERLIN_ID)
+    @WithTenantContext(tenantTimeZoneId = EUROPE_BERLIN_ID)
+    @WithSystemProperty(key = FLOATING_TIMEZONE_PROPERTY_KEY, value = "true")
+    public void testGetNextDateGivesTheSameDateAsICal4j() {
+        for (String rule : EXPANDABLE_RULES) {
+            Recur recur = CalendarUtils.getICalRecur(rule);
+            CompiledRecurrence recurrence = CalendarUtils.getCompiledRecurrence(rule);
+            for (LocalDate seedDate : SEED_DATES) {
+                if (!recurrence.isExpandable(seedDate)) {
+                    continue;
+                }
+                for (LocalDate date = seedDate.minusDays(10); date.isBefore(seedDate.plusDays(400)); date = date.plusDays(3)) {
+                    // when
+                    LocalDate expected = CalendarUtils.getNextRecurringDate(recur, seedDate, date);
+                    LocalDate actual = recurrence.getNextDate(seedDate, date);
+
+                    // then
+                    assertEquals(expected, actual, rule + " from " + seedDate + " after " + date);
+                }
+            }
+        }
+    }
+
+    @Test
+    @WithSystemTimeZone(EUROPE_BERLIN_ID)
+    @WithTenantContext(tenantTimeZoneId = EUROPE_BERLIN_ID)
+    @WithSystemProperty(key = FLOATING_TIMEZONE_PROPERTY_KEY, value = "true")
+    public void testDailyMeetingWithMonthlyRepaymentsFallsBackToICal4jForSeedDatesAtTheEndOfTheMonth() {
+        // given
+        CompiledRecurrence recurrence = CalendarUtils.getCompiledRecurrence("FREQ=DAILY").withFrequency(Recur.Frequency.MONTHLY);
+
+        // then
+        assertTrue(recurrence.isExpandable(LocalDate.of(2023, 3, 15)));
+        assertFalse(recurrence.isExpandable(LocalDate.of(2023, 1, 31)));
+        assertEquals(LocalDate.of(2023, 4, 15), CalendarUtils.getNextRepaymentMeetingDate("FREQ=DAILY", LocalDate.of(2023, 3, 15),
+                LocalDate.of(2023, 3, 15), 1, Recur.Frequency.MONTHLY.name(), false, 0));
+    }
+
+    private static List<String> allRules() {
+        List<String> rules = new ArrayList<>(EXPANDABLE_RULES);
+        rules.addAll(NOT_EXPANDABLE_RULES);
+        return rules;
+    }
+}
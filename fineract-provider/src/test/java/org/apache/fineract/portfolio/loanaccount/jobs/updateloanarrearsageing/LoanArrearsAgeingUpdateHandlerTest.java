@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.updateloanarrearsageing;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.service.LoanArrearsAgingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LoanArrearsAgeingUpdateHandlerTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2023, 3, 15);
+    private static final String CHANGED_LOANS_SQL_PREFIX = "select ml.id from m_loan ml where ml.loan_status_id = 300 and (";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Mock
+    private LoanArrearsAgingService loanArrearsAgingService;
+
+    @Mock
+    private FineractProperties fineractProperties;
+
+    @InjectMocks
+    private LoanArrearsAgeingUpdateHandler underTest;
+
+    private final FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        FineractProperties.FineractQueryProperties queryProperties = new FineractProperties.FineractQueryProperties();
+        queryProperties.setInClauseParameterSizeLimit(2);
+        given(fineractProperties.getJob()).willReturn(jobProperties);
+        given(fineractProperties.getQuery()).willReturn(queryProperties);
+        given(jdbcTemplate.batchUpdate(any(String[].class))).willReturn(new int[0]);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testAllLoansAreRebuiltWhenIncrementalModeIsDisabled() {
+        // given
+        jobProperties.setLoanArrearsAgeingIncrementalEnabled(false);
+        givenPreviousRun(BUSINESS_DATE.minusDays(1));
+        // when
+        underTest.updateLoanArrearsAgeingDetailsForAllLoans();
+        // then
+        verify(jdbcTemplate).execute("truncate table m_loan_arrears_aging");
+        verify(namedParameterJdbcTemplate, never()).queryForList(startsWith(CHANGED_LOANS_SQL_PREFIX), any(SqlParameterSource.class),
+                eq(Long.class));
+        verifyRunRecorded();
+    }
+
+    @Test
+    public void testAllLoansAreRebuiltWhenThereIsNoPreviousRun() {
+        // given
+        jobProperties.setLoanArrearsAgeingIncrementalEnabled(true);
+        givenNoPreviousRun();
+        // when
+        underTest.updateLoanArrearsAgeingDetailsForAllLoans();
+        // then
+        verify(jdbcTemplate).execute("truncate table m_loan_arrears_aging");
+        verifyRunRecorded();
+    }
+
+    @Test
+    public void testAllLoansAreRebuiltWhenBusinessDateMovedBackwards() {
+        // given
+        jobProperties.setLoanArrearsAgeingIncrementalEnabled(true);
+        givenPreviousRun(BUSINESS_DATE.plusDays(1));
+        // when
+        underTest.updateLoanArrearsAgeingDetailsForAllLoans();
+        // then
+        verify(jdbcTemplate).execute("truncate table m_loan_arrears_aging");
+        verifyRunRecorded();
+    }
+
+    @Test
+    public void testOnlyChangedLoansAreUpdatedInIncrementalMode() {
+        // given
+        jobProperties.setLoanArrearsAgeingIncrementalEnabled(true);
+        LocalDate previousRunBusinessDate = BUSINESS_DATE.minusDays(1);
+        givenPreviousRun(previousRunBusinessDate);
+        given(namedParameterJdbcTemplate.queryForList(startsWith(CHANGED_LOANS_SQL_PREFIX), any(SqlParameterSource.class), eq(Long.class)))
+                .willReturn(List.of(1L, 2L, 3L));
+        // when
+        underTest.updateLoanArrearsAgeingDetailsForAllLoans();
+        // then
+        verify(jdbcTemplate, never()).execute("truncate table m_loan_arrears_aging");
+        verify(jdbcTemplate).update(startsWith("delete from m_loan_arrears_aging where not exists"));
+        verify(namedParameterJdbcTemplate).queryForList(startsWith(CHANGED_LOANS_SQL_PREFIX),
+                argThat((SqlParameterSource parameters) -> previousRunBusinessDate.equals(parameters.getValue("previousRunBusinessDate"))),
+                eq(Long.class));
+        // one set based delete and insert per partition of the in clause size limit
+        verify(namedParameterJdbcTemplate, times(2)).update(eq("delete from m_loan_arrears_aging where loan_id IN (:loanIds)"),
+                any(MapSqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, times(2)).update(startsWith("INSERT INTO m_loan_arrears_aging"),
+                any(MapSqlParameterSource.class));
+        verifyRunRecorded();
+    }
+
+    @Test
+    public void testUpdateLoanArrearsAgeingDetailsDoesNothingForNoLoans() {
+        // when
+        underTest.updateLoanArrearsAgeingDetails(List.of());
+        // then
+        verify(namedParameterJdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenNoPreviousRun() {
+        given(jdbcTemplate.query(eq("select business_date from m_loan_arrears_aging_run"), any(RowMapper.class))).willReturn(List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPreviousRun(LocalDate businessDate) {
+        given(jdbcTemplate.query(eq("select business_date from m_loan_arrears_aging_run"), any(RowMapper.class)))
+                .willReturn(List.of(businessDate));
+    }
+
+    private void verifyRunRecorded() {
+        verify(jdbcTemplate).update("delete from m_loan_arrears_aging_run");
+        verify(jdbcTemplate).update(eq("insert into m_loan_arrears_aging_run (business_date, started_on_utc) values (?, ?)"),
+                eq(BUSINESS_DATE), any(OffsetDateTime.class));
+    }
+}
@@ -0,0 +1,70 @@
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements. See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership. The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License. You may obtain a copy of the License at
+#
+# http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied. See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+
+Feature: COB Savings item Listener
+
+  @cob
+  Scenario Outline: SavingsItemListener.onReadError - run test
+    Given The SavingsItemListener.onReadError method <action>
+    When SavingsItemListener.onReadError method executed
+    Then SavingsItemListener.onReadError result should match
+
+    Examples:
+      |action|
+      |run   |
+
+  @cob
+  Scenario Outline: SavingsItemListener.onProcessError - run test
+    Given The SavingsItemListener.onProcessError method <action>
+    When SavingsItemListener.onProcessError method executed
+    Then SavingsItemListener.onProcessError result should match
+
+    Examples:
+      |action|
+      |run   |
+
+  @cob
+  Scenario Outline: SavingsItemListener.onSkipInProcess - run test
+    Given The SavingsItemListener.onSkipInProcess method <action>
+    When SavingsItemListener.onSkipInProcess method executed
+    Then SavingsItemListener.onSkipInProcess result should match
+
+    Examples:
+      |action|
+      |run   |
+
+  @cob
+  Scenario Outline: SavingsItemListener.onWriteError - run test
+    Given The SavingsItemListener.onWriteError method <action>
+    When SavingsItemListener.onWriteError method executed
+    Then SavingsItemListener.onWriteError result should match
+
+    Examples:
+      |action|
+      |run   |
+
+  @cob
+  Scenario Outline: SavingsItemListener.onSkipInWrite - run test
+    Given The SavingsItemListener.onSkipInWrite method <action>
+    When SavingsItemListener.onSkipInWrite method executed
+    Then SavingsItemListener.onSkipInWrite result should match
+
+    Examples:
+      |action|
+      |run   |
@@ -0,0 +1,50 @@
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements. See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership. The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License. You may obtain a copy of the License at
+#
+# http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied. See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+
+Feature: COB Savings Reader
+
+  @cob
+  Scenario Outline: SavingsItemReader - run test
+    Given The SavingsItemReader.read method with savingsIds <savingsIds>
+    When SavingsItemReader.read method executed
+    Then The SavingsItemReader.read result should match
+
+    Examples:
+      |savingsIds|
+      |1         |
+      |1,2       |
+
+  @cob
+  Scenario Outline: SavingsItemReader - run test: null
+    Given The SavingsItemReader.read method with savingsIds <savingsIds>
+    When SavingsItemReader.read method executed
+    Then The SavingsItemReader.read result null
+
+    Examples:
+      |savingsIds|
+      |          |
+
+  @cob
+  Scenario Outline: SavingsItemReader - run test: exception
+    Given The SavingsItemReader.read method with savingsIds <savingsIds>
+    Then throw exception SavingsItemReader.read method
+
+    Examples:
+      |savingsIds|
+      |-1        |
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.fineract.client.models.GetLoansLoanIdSummary;
+import org.apache.fineract.client.models.PostLoanProductsResponse;
+import org.apache.fineract.client.models.PostLoansLoanIdTransactionsRequest;
+import org.apache.fineract.client.models.PostLoansLoanIdTransactionsTransactionIdRequest;
+import org.apache.fineract.infrastructure.event.external.service.validation.ExternalEventDTO;
+import org.apache.fineract.integrationtests.common.ClientHelper;
+import org.apache.fineract.integrationtests.common.ExternalEventConfigurationHelper;
+import org.apache.fineract.integrationtests.common.externalevents.ExternalEventHelper;
+import org.apache.fineract.integrationtests.common.externalevents.ExternalEventsExtension;
+import org.apache.fineract.integrationtests.common.loans.LoanTestLifecycleExtension;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith({ LoanTestLifecycleExtension.class, ExternalEventsExtension.class })
+public class LoanAccountDataEventIntegrationTest extends BaseLoanIntegrationTest {
+
+    @Test
+    public void testTransactionAmountsSummaryOfEventMatchesLoanDetails() {
+        runAt("15 January 2023", () -> {
+            enableLoanBalanceChangedBusinessEvent();
+            Long clientId = clientHelper.createClient(ClientHelper.defaultClientCreationRequest()).getClientId();
+            PostLoanProductsResponse loanProductResponse = loanProductHelper
+                    .createLoanProduct(createOnePeriod30DaysLongNoInterestPeriodicAccrualProduct());
+            Long loanId = applyAndApproveLoan(clientId, loanProductResponse.getResourceId(), "01 January 2023", 1000.0);
+            disburseLoan(loanId, BigDecimal.valueOf(1000), "01 January 2023");
+
+            addRepaymentForLoan(loanId, 100.0, "05 January 2023");
+            String reversedRepaymentExternalId = UUID.randomUUID().toString();
+            loanTransactionHelper.makeLoanRepayment(loanId, new PostLoansLoanIdTransactionsRequest().dateFormat(DATETIME_PATTERN)
+                    .transactionDate("06 January 2023").locale("en").transactionAmount(50.55).externalId(reversedRepaymentExternalId));
+            loanTransactionHelper.reverseLoanTransaction(loanId, reversedRepaymentExternalId,
+                    new PostLoansLoanIdTransactionsTransactionIdRequest().dateFormat(DATETIME_PATTERN).transactionDate("07 January 2023")
+                            .transactionAmount(0.0).locale("en"));
+            loanTransactionHelper.makeGoodwillCredit(loanId, new PostLoansLoanIdTransactionsRequest().dateFormat(DATETIME_PATTERN)
+                    .transactionDate("10 January 2023").locale("en").transactionAmount(20.25));
+
+            // the last event is serialized from the loan aggregate, the loan details read the transactions with SQL
+            Map<String, Object> eventSummary = getLastLoanBalanceChangedEventSummary(loanId);
+            GetLoansLoanIdSummary summary = loanTransactionHelper.getLoanDetails(loanId).getSummary();
+            assertAmount(summary.getTotalRepaymentTransaction(), eventSummary.get("totalRepaymentTransaction"));
+            assertAmount(summary.getTotalRepaymentTransactionReversed(), eventSummary.get("totalRepaymentTransactionReversed"));
+            assertAmount(summary.getTotalGoodwillCredit(), eventSummary.get("totalGoodwillCredit"));
+            assertAmount(summary.getTotalGoodwillCreditReversed(), eventSummary.get("totalGoodwillCreditReversed"));
+            assertAmount(summary.getTotalMerchantRefund(), eventSummary.get("totalMerchantRefund"));
+            assertAmount(summary.getTotalPayoutRefund(), eventSummary.get("totalPayoutRefund"));
+            assertAmount(summary.getTotalChargeback(), eventSummary.get("totalChargeback"));
+            assertAmount(summary.getTotalCreditBalanceRefund(), eventSummary.get("totalCreditBalanceRefund"));
+            Assertions.assertEquals(0, new BigDecimal("100").compareTo(toBigDecimal(eventSummary.get("totalRepaymentTransaction"))));
+            Assertions.assertEquals(0,
+                    new BigDecimal("50.55").compareTo(toBigDecimal(eventSummary.get("totalRepaymentTransactionReversed"))));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getLastLoanBalanceChangedEventSummary(Long loanId) {
+        List<ExternalEventDTO> events = ExternalEventHelper.getAllExternalEvents(requestSpec, responseSpec,
+                ExternalEventHelper.Filter.builder().type("LoanBalanceChangedBusinessEvent").aggregateRootId(loanId).build());
+        ExternalEventDTO lastEvent = events.stream().max(Comparator.comparing(ExternalEventDTO::getEventId)).orElseThrow();
+        return (Map<String, Object>) lastEvent.getPayLoad().get("summary");
+    }
+
+    private void assertAmount(Double expected, Object actual) {
+        Assertions.assertEquals(0, BigDecimal.valueOf(expected).compareTo(toBigDecimal(actual)));
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return new BigDecimal(String.valueOf(value));
+    }
+
+    private void enableLoanBalanceChangedBusinessEvent() {
+        final Map<String, Boolean> updatedConfigurations = ExternalEventConfigurationHelper.updateExternalEventConfigurations(requestSpec,
+                responseSpec, "{\"externalEventConfigurations\":{\"LoanBalanceChangedBusinessEvent\":true}}\n");
+        Assertions.assertTrue(updatedConfigurations.get("LoanBalanceChangedBusinessEvent"));
+    }
+}